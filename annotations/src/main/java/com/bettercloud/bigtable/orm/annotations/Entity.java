@@ -26,4 +26,30 @@ public @interface Entity {
      * @return An array of key components
      */
     KeyComponent[] keyComponents();
+
+    /**
+     * The encoding of the {@link #keyComponents()} into a row key, defaulting to {@link KeyFormat#STRING}.
+     *
+     * @return The key format
+     */
+    KeyFormat keyFormat() default KeyFormat.STRING;
+
+    enum KeyFormat {
+
+        /**
+         * Every key component is converted using {@link Object#toString()}, and the results are joined with the
+         * {@link #keyDelimiter()}. Any type may be used as a key component.
+         */
+        STRING,
+
+        /**
+         * Every key component is encoded so that row keys sort in the natural order of their components: fixed-width
+         * big-endian integers and longs with the sign bit flipped, 16 byte UUIDs, terminated and escaped UTF-8 strings,
+         * and instants as their epoch second followed by their nanosecond adjustment. The {@link #keyDelimiter()} is
+         * ignored.
+         *
+         * Only String, Integer, Long, UUID and Instant key components are supported.
+         */
+        BINARY
+    }
 }
@@ -1,10 +1,12 @@
 package com.bettercloud.bigtable.orm.process;
 
+import com.bettercloud.bigtable.orm.EntityRegistry;
 import com.bettercloud.bigtable.orm.annotations.Entity;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.JavaFile;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
@@ -14,13 +16,27 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Set;
+import java.util.TreeSet;
 
+/**
+ * Generates the entity of every {@link Entity} annotated type, and lists the generated entities of the compilation in
+ * the {@link EntityRegistry#INDEX_RESOURCE} index, from which the registry discovers them at runtime.
+ */
 @AutoService(Processor.class)
 public class EntityAnnotationProcessor extends AbstractProcessor {
 
+    private final Set<String> indexedEntities = new TreeSet<>();
+
     @Override
     public synchronized void init(final ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
@@ -41,6 +57,7 @@ public class EntityAnnotationProcessor extends AbstractProcessor {
 
                 try {
                     javaFile.writeTo(processingEnv.getFiler());
+                    indexedEntities.add(javaFile.packageName + "." + javaFile.typeSpec.name);
                 } catch (final IOException e) {
                     messager.printMessage(Diagnostic.Kind.ERROR, "An error occurred: " + e, entityElement);
                 }
@@ -49,9 +66,51 @@ public class EntityAnnotationProcessor extends AbstractProcessor {
             }
         });
 
+        if (roundEnv.processingOver() && !indexedEntities.isEmpty()) {
+            writeIndex(messager);
+        }
+
         return true;
     }
 
+    /**
+     * Entities listed by an earlier, incremental compilation of the same output are kept, as they are not processed
+     * again unless their sources changed.
+     */
+    private void writeIndex(final Messager messager) {
+        final Filer filer = processingEnv.getFiler();
+        final Set<String> entities = new TreeSet<>(indexedEntities);
+
+        try {
+            final FileObject existingIndex = filer.getResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityRegistry.INDEX_RESOURCE);
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existingIndex.openInputStream(),
+                    StandardCharsets.UTF_8))) {
+                reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty())
+                        .forEach(entities::add);
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            // No index was written by an earlier compilation
+        }
+
+        try {
+            final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    EntityRegistry.INDEX_RESOURCE);
+
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (final String entity : entities) {
+                    writer.write(entity);
+                    writer.write('\n');
+                }
+            }
+        } catch (final IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Could not write the entity index: " + e);
+        }
+    }
+
     @Override
     public Set<String> getSupportedAnnotationTypes() {
         return Collections.singleton(Entity.class.getCanonicalName());
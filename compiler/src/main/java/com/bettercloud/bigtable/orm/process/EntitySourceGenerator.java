@@ -1,10 +1,14 @@
 package com.bettercloud.bigtable.orm.process;
 
+import com.bettercloud.bigtable.orm.ColumnReference;
 import com.bettercloud.bigtable.orm.EntityConfiguration;
 import com.bettercloud.bigtable.orm.Key;
 import com.bettercloud.bigtable.orm.KeyBuilder;
+import com.bettercloud.bigtable.orm.KeyEncoder;
+import com.bettercloud.bigtable.orm.KeyLayout;
 import com.bettercloud.bigtable.orm.RegisterableEntity;
 import com.bettercloud.bigtable.orm.StringKey;
+import com.bettercloud.bigtable.orm.TypedKey;
 import com.bettercloud.bigtable.orm.annotations.Column;
 import com.bettercloud.bigtable.orm.annotations.Entity;
 import com.bettercloud.bigtable.orm.annotations.KeyComponent;
@@ -23,14 +27,17 @@ import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.WildcardTypeName;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.PackageElement;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import java.lang.annotation.Annotation;
+import java.time.Instant;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -43,6 +50,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -55,6 +63,21 @@ class EntitySourceGenerator {
 
     private static final String INDENT = "    ";
 
+    private static final Map<TypeName, KeyLayout.ComponentType> BINARY_KEY_COMPONENT_TYPES;
+
+    static {
+        final Map<TypeName, KeyLayout.ComponentType> componentTypes = new HashMap<>();
+        componentTypes.put(ClassName.get(String.class), KeyLayout.ComponentType.STRING);
+        componentTypes.put(TypeName.INT, KeyLayout.ComponentType.INT);
+        componentTypes.put(ClassName.get(Integer.class), KeyLayout.ComponentType.INT);
+        componentTypes.put(TypeName.LONG, KeyLayout.ComponentType.LONG);
+        componentTypes.put(ClassName.get(Long.class), KeyLayout.ComponentType.LONG);
+        componentTypes.put(ClassName.get(UUID.class), KeyLayout.ComponentType.UUID);
+        componentTypes.put(ClassName.get(Instant.class), KeyLayout.ComponentType.INSTANT);
+
+        BINARY_KEY_COMPONENT_TYPES = Collections.unmodifiableMap(componentTypes);
+    }
+
     private final Elements elementUtils;
 
     EntitySourceGenerator(final Elements elementUtils) {
@@ -265,6 +288,11 @@ class EntitySourceGenerator {
 
             entityBuilder.addField(typeName, lowerCamelCase, Modifier.PRIVATE);
 
+            entityBuilder.addField(FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(ColumnReference.class), entityClassName, typeName),
+                    upperCase, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("new $T<>($T.$L)", ColumnReference.class, columnsClassName, upperCase)
+                    .build());
+
             final String getter = "get" + upperCamelCase;
             final String setter = "set" + upperCamelCase;
 
@@ -651,15 +679,115 @@ class EntitySourceGenerator {
         namedBuildParameters.put("delimiter", annotatedEntity.keyDelimiter());
         namedBuildParameters.put("indent", INDENT);
 
-        keyBuilderBuildBuilder.addNamedCode("final $string:T $var:L = $stream:T.of(" + streamOfComponents + ")\n"
-                        + "$indent:L$indent:L.peek($objects:T::requireNonNull)\n"
-                        + "$indent:L$indent:L.map($object:T::toString)\n"
-                        + "$indent:L$indent:L.collect($collectors:T.joining($delimiter:S));\n",
-                namedBuildParameters)
-                .addStatement("return new $T<>($N)", StringKey.class, keyStringName);
+        final boolean binaryKey = annotatedEntity.keyFormat() == Entity.KeyFormat.BINARY;
+
+        final List<KeyLayout.ComponentType> binaryComponentTypes = new ArrayList<>();
+
+        if (binaryKey) {
+            for (int i = 0; i < keyComponents.size(); i++) {
+                if (constantComponents.containsKey(i)) {
+                    binaryComponentTypes.add(KeyLayout.ComponentType.STRING);
+                } else {
+                    final TypeName typeName = TypeName.get(getTypeMirrorFromAnnotation(keyComponents.get(i), KeyComponent::type));
+
+                    binaryComponentTypes.add(Optional.ofNullable(BINARY_KEY_COMPONENT_TYPES.get(typeName))
+                            .orElseThrow(() -> new ElementProcessingException("@KeyComponent type " + typeName
+                                    + " is not supported by the BINARY key format", entityElement)));
+                }
+            }
+        }
+
+        if (binaryKey) {
+            final CodeBlock.Builder encoderBuilder = CodeBlock.builder()
+                    .add("return new $T()", KeyEncoder.class);
+
+            for (int i = 0; i < keyComponents.size(); i++) {
+                encoderBuilder.add("\n.write$L($N)", upperCamelCase(binaryComponentTypes.get(i)),
+                        (String) namedBuildParameters.get("keyComponent" + i));
+            }
+
+            keyBuilderBuildBuilder.addStatement(encoderBuilder.add("\n.toKey()").build());
+        } else {
+            keyBuilderBuildBuilder.addNamedCode("final $string:T $var:L = $stream:T.of(" + streamOfComponents + ")\n"
+                            + "$indent:L$indent:L.peek($objects:T::requireNonNull)\n"
+                            + "$indent:L$indent:L.map($object:T::toString)\n"
+                            + "$indent:L$indent:L.collect($collectors:T.joining($delimiter:S));\n",
+                    namedBuildParameters)
+                    .addStatement("return new $T<>($N)", StringKey.class, keyStringName);
+        }
 
         keyBuilderBuilder.addMethod(keyBuilderBuildBuilder.build());
 
+        final ClassName keyClassName = entityClassName.nestedClass(entityName + "Key");
+
+        final CodeBlock keyLayout;
+
+        if (binaryKey) {
+            keyLayout = CodeBlock.of("$T.binary($L)", KeyLayout.class, binaryComponentTypes.stream()
+                    .map(componentType -> CodeBlock.of("$T.$L", KeyLayout.ComponentType.class, componentType))
+                    .collect(CodeBlock.joining(", ")));
+        } else {
+            keyLayout = CodeBlock.of("$T.delimited($S, $L)", KeyLayout.class, annotatedEntity.keyDelimiter(), keyComponents.size());
+        }
+
+        final TypeSpec.Builder keyTypeBuilder = TypeSpec.classBuilder(keyClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(ClassName.get(TypedKey.class), entityClassName))
+                .addField(FieldSpec.builder(KeyLayout.class, "LAYOUT", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(keyLayout)
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .addParameter(byte[].class, "row", Modifier.FINAL)
+                        .addStatement("super($N, $N)", "row", "LAYOUT")
+                        .build());
+
+        for (int i = 0; i < keyComponents.size(); i++) {
+            if (constantComponents.containsKey(i)) {
+                continue;
+            }
+
+            final KeyComponent keyComponent = keyComponents.get(i);
+            final TypeMirror typeMirror = getTypeMirrorFromAnnotation(keyComponent, KeyComponent::type);
+
+            final Optional<CodeBlock> componentValue;
+
+            if (binaryKey) {
+                componentValue = Optional.of(CodeBlock.of("get$LComponent($L)", upperCamelCase(binaryComponentTypes.get(i)), i));
+            } else {
+                componentValue = parseDelimitedComponent(typeMirror, CodeBlock.of("getStringComponent($L)", i));
+            }
+
+            // Components of other types cannot be recovered from their toString() value
+            componentValue.ifPresent(value -> keyTypeBuilder.addMethod(MethodSpec.methodBuilder(
+                    "get" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_CAMEL, keyComponent.name()))
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(TypeName.get(typeMirror))
+                    .addStatement("return $L", value)
+                    .build()));
+        }
+
+        entityBuilder.addMethod(MethodSpec.methodBuilder("parseKey")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(keyClassName)
+                .addParameter(parameterizedKeyName, "key", Modifier.FINAL)
+                .addStatement("$T.requireNonNull($N)", Objects.class, "key")
+                .beginControlFlow("if ($N instanceof $T)", "key", keyClassName)
+                .addStatement("return ($T) $N", keyClassName, "key")
+                .endControlFlow()
+                .addStatement("return new $T($N.toBytes())", keyClassName, "key")
+                .build());
+
+        entityConfigurationBuilder.addMethod(MethodSpec.methodBuilder("parseKey")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(parameterizedKeyName)
+                .addParameter(byte[].class, "row", Modifier.FINAL)
+                .addStatement("return new $T($N)", keyClassName, "row")
+                .build());
+
+        entityBuilder.addType(keyTypeBuilder.build());
+
         final TypeName keyBuilderTypeName = Optional.ofNullable(stepClassNames.get(0))
                 .map(TypeName.class::cast)
                 .orElse(parameterizedKeyBuilderName);
@@ -682,6 +810,33 @@ class EntitySourceGenerator {
         return JavaFile.builder(packageName, entityBuilder.build()).indent(INDENT).build();
     }
 
+    private static String upperCamelCase(final KeyLayout.ComponentType componentType) {
+        return CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, componentType.name());
+    }
+
+    private static Optional<CodeBlock> parseDelimitedComponent(final TypeMirror typeMirror, final CodeBlock component) {
+        final TypeName typeName = TypeName.get(typeMirror);
+
+        if (typeName.equals(ClassName.get(String.class))) {
+            return Optional.of(component);
+        } else if (typeName.equals(TypeName.INT)) {
+            return Optional.of(CodeBlock.of("$T.parseInt($L)", Integer.class, component));
+        } else if (typeName.equals(TypeName.LONG)) {
+            return Optional.of(CodeBlock.of("$T.parseLong($L)", Long.class, component));
+        } else if (typeName.equals(ClassName.get(Integer.class)) || typeName.equals(ClassName.get(Long.class))) {
+            return Optional.of(CodeBlock.of("$T.valueOf($L)", typeName, component));
+        } else if (typeName.equals(ClassName.get(UUID.class))) {
+            return Optional.of(CodeBlock.of("$T.fromString($L)", UUID.class, component));
+        } else if (typeName.equals(ClassName.get(Instant.class))) {
+            return Optional.of(CodeBlock.of("$T.parse($L)", Instant.class, component));
+        } else if (typeMirror.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) typeMirror).asElement().getKind() == ElementKind.ENUM) {
+            return Optional.of(CodeBlock.of("$T.valueOf($L)", typeName, component));
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * This is the stupidest thing I've ever seen, but I get it.
      *
@@ -161,6 +161,20 @@ public class GeneratedColumnTest {
         assertEquals(1, results2.size());
     }
 
+    @Test
+    public void testMultiColumnEntityExposesColumnReferenceForEachColumn() {
+        final EntityConfiguration<MultiColumnEntity> entityConfiguration = EntityRegistry.getConfigurationForType(MultiColumnEntity.class);
+
+        final List<com.bettercloud.bigtable.orm.Column> columns = StreamSupport.stream(entityConfiguration.getColumns().spliterator(), false)
+                .collect(Collectors.toList());
+
+        final ColumnReference<MultiColumnEntity, String> column1 = MultiColumnEntity.COLUMN1;
+        final ColumnReference<MultiColumnEntity, Integer> column2 = MultiColumnEntity.COLUMN2;
+
+        assertEquals(columns.get(0), column1.getColumn());
+        assertEquals(columns.get(1), column2.getColumn());
+    }
+
     @Table("column_table")
     private class EntityConfigurationTableConfiguration {
 
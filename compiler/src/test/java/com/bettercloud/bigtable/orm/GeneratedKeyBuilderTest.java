@@ -7,11 +7,13 @@ import com.bettercloud.bigtable.orm.annotations.Table;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Test;
 
+import java.time.Instant;
 import java.util.UUID;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class GeneratedKeyBuilderTest {
 
@@ -112,6 +114,47 @@ public class GeneratedKeyBuilderTest {
         assertArrayEquals(Bytes.toBytes(custom.toString()), key.toBytes());
     }
 
+    @Test
+    public void testBinaryKeyEntityKeyBuilderEncodesEachComponent() {
+        final UUID id = UUID.randomUUID();
+        final Instant timestamp = Instant.now();
+
+        final Key<BinaryKeyEntity> key = BinaryKeyEntity.keyBuilder()
+                .id(id)
+                .sequence(42L)
+                .timestamp(timestamp)
+                .build();
+
+        final byte[] expected = new KeyEncoder()
+                .writeString(KeyBuilderTableConfiguration.BinaryKeyEntity.CONSTANT_KEY_COMPONENT)
+                .writeUuid(id)
+                .writeLong(42L)
+                .writeInstant(timestamp)
+                .toBytes();
+
+        assertArrayEquals(expected, key.toBytes());
+    }
+
+    @Test
+    public void testBinaryKeyEntityKeysSortNumerically() {
+        final UUID id = UUID.randomUUID();
+        final Instant timestamp = Instant.now();
+
+        final Key<BinaryKeyEntity> nine = BinaryKeyEntity.keyBuilder().id(id).sequence(9L).timestamp(timestamp).build();
+        final Key<BinaryKeyEntity> ten = BinaryKeyEntity.keyBuilder().id(id).sequence(10L).timestamp(timestamp).build();
+
+        assertTrue(nine.compareTo(ten) < 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testBinaryKeyEntityKeyBuilderWithNullValueThrowsNullPointerException() {
+        BinaryKeyEntity.keyBuilder()
+                .id(null)
+                .sequence(1L)
+                .timestamp(Instant.now())
+                .build();
+    }
+
     @Table("key_builder_table")
     private class KeyBuilderTableConfiguration {
 
@@ -178,5 +221,19 @@ public class GeneratedKeyBuilderTest {
             @Column(family = "family")
             private String value;
         }
+
+        @Entity(keyFormat = Entity.KeyFormat.BINARY, keyComponents = {
+                @KeyComponent(constant = BinaryKeyEntity.CONSTANT_KEY_COMPONENT),
+                @KeyComponent(name = "id", type = UUID.class),
+                @KeyComponent(name = "sequence", type = Long.class),
+                @KeyComponent(name = "timestamp", type = Instant.class)
+        })
+        private class BinaryKeyEntity {
+
+            private static final String CONSTANT_KEY_COMPONENT = "binary";
+
+            @Column(family = "family")
+            private String value;
+        }
     }
 }
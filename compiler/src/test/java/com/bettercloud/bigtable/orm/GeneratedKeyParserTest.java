@@ -0,0 +1,132 @@
+package com.bettercloud.bigtable.orm;
+
+import com.bettercloud.bigtable.orm.annotations.Column;
+import com.bettercloud.bigtable.orm.annotations.Entity;
+import com.bettercloud.bigtable.orm.annotations.KeyComponent;
+import com.bettercloud.bigtable.orm.annotations.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GeneratedKeyParserTest {
+
+    @Test
+    public void testDelimitedKeyParserDecodesEachComponent() {
+        final UUID id = UUID.randomUUID();
+
+        final Key<DelimitedKeyParserEntity> key = DelimitedKeyParserEntity.keyBuilder()
+                .id(id)
+                .count(42)
+                .unit(TimeUnit.SECONDS)
+                .name("some name")
+                .build();
+
+        final DelimitedKeyParserEntity.DelimitedKeyParserEntityKey parsed = DelimitedKeyParserEntity.parseKey(key);
+
+        assertEquals(id, parsed.getId());
+        assertEquals(Integer.valueOf(42), parsed.getCount());
+        assertEquals(TimeUnit.SECONDS, parsed.getUnit());
+        assertEquals("some name", parsed.getName());
+        assertEquals(key.toString(), parsed.toString());
+        assertEquals(0, key.compareTo(parsed));
+    }
+
+    @Test
+    public void testDelimitedKeyParserKeepsDelimitersWithinLastComponent() {
+        final Key<DelimitedKeyParserEntity> key = DelimitedKeyParserEntity.keyBuilder()
+                .id(UUID.randomUUID())
+                .count(1)
+                .unit(TimeUnit.DAYS)
+                .name("a|b|c")
+                .build();
+
+        assertEquals("a|b|c", DelimitedKeyParserEntity.parseKey(key).getName());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDelimitedKeyParserRejectsRowOfAnotherShape() {
+        DelimitedKeyParserEntity.parseKey(new RawKey<>(Bytes.toBytes("entity|only"))).getName();
+    }
+
+    @Test
+    public void testBinaryKeyParserDecodesEachComponent() {
+        final UUID tenant = UUID.randomUUID();
+        final Instant timestamp = Instant.now();
+
+        final Key<BinaryKeyParserEntity> key = BinaryKeyParserEntity.keyBuilder()
+                .tenant(tenant)
+                .region("us\u0000east")
+                .sequence(-7L)
+                .timestamp(timestamp)
+                .priority(Integer.MIN_VALUE)
+                .build();
+
+        final BinaryKeyParserEntity.BinaryKeyParserEntityKey parsed = BinaryKeyParserEntity.parseKey(key);
+
+        assertEquals(tenant, parsed.getTenant());
+        assertEquals("us\u0000east", parsed.getRegion());
+        assertEquals(Long.valueOf(-7L), parsed.getSequence());
+        assertEquals(timestamp, parsed.getTimestamp());
+        assertEquals(Integer.MIN_VALUE, parsed.getPriority());
+    }
+
+    @Test
+    public void testParseKeyReturnsAlreadyParsedKey() {
+        final BinaryKeyParserEntity.BinaryKeyParserEntityKey parsed = BinaryKeyParserEntity.parseKey(BinaryKeyParserEntity.keyBuilder()
+                .tenant(UUID.randomUUID())
+                .region("region")
+                .sequence(1L)
+                .timestamp(Instant.now())
+                .priority(1)
+                .build());
+
+        assertSame(parsed, BinaryKeyParserEntity.parseKey(parsed));
+    }
+
+    @Test
+    public void testConfigurationParsesRowsIntoTypedKeys() {
+        final EntityConfiguration<DelimitedKeyParserEntity> configuration = EntityRegistry.getConfigurationForType(DelimitedKeyParserEntity.class);
+
+        final Key<DelimitedKeyParserEntity> key = configuration.parseKey(Bytes.toBytes("entity|" + new UUID(0, 1) + "|3|HOURS|name"));
+
+        assertTrue(key instanceof DelimitedKeyParserEntity.DelimitedKeyParserEntityKey);
+        assertEquals(TimeUnit.HOURS, ((DelimitedKeyParserEntity.DelimitedKeyParserEntityKey) key).getUnit());
+    }
+
+    @Table("key_parser_table")
+    private class KeyParserTableConfiguration {
+
+        @Entity(keyDelimiter = "|", keyComponents = {
+                @KeyComponent(constant = "entity"),
+                @KeyComponent(name = "id", type = UUID.class),
+                @KeyComponent(name = "count", type = Integer.class),
+                @KeyComponent(name = "unit", type = TimeUnit.class),
+                @KeyComponent(name = "name")
+        })
+        private class DelimitedKeyParserEntity {
+
+            @Column(family = "family")
+            private String value;
+        }
+
+        @Entity(keyFormat = Entity.KeyFormat.BINARY, keyComponents = {
+                @KeyComponent(name = "tenant", type = UUID.class),
+                @KeyComponent(name = "region"),
+                @KeyComponent(name = "sequence", type = Long.class),
+                @KeyComponent(name = "timestamp", type = Instant.class),
+                @KeyComponent(name = "priority", type = int.class)
+        })
+        private class BinaryKeyParserEntity {
+
+            @Column(family = "family")
+            private String value;
+        }
+    }
+}
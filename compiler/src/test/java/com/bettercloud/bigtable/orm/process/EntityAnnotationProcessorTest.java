@@ -1,10 +1,13 @@
 package com.bettercloud.bigtable.orm.process;
 
+import com.bettercloud.bigtable.orm.EntityRegistry;
 import com.google.testing.compile.Compilation;
 import com.google.testing.compile.JavaFileObjects;
 import org.junit.Test;
 
 import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
 
 import static com.google.testing.compile.Compiler.javac;
 import static org.junit.Assert.assertEquals;
@@ -29,6 +32,21 @@ public class EntityAnnotationProcessorTest {
         assertEquals(Compilation.Status.SUCCESS, generatedCompilation.status());
     }
 
+    @Test
+    public void testEntityProcessorIndexesGeneratedEntities() throws IOException {
+        final JavaFileObject javaFileObject = JavaFileObjects.forResource("ValidConfiguration.java");
+
+        final Compilation compilation = javac().withProcessors(new EntityAnnotationProcessor()).compile(javaFileObject);
+
+        assertEquals(Compilation.Status.SUCCESS, compilation.status());
+
+        final JavaFileObject index = compilation
+                .generatedFile(StandardLocation.CLASS_OUTPUT, EntityRegistry.INDEX_RESOURCE)
+                .orElseThrow(IllegalStateException::new);
+
+        assertEquals(PACKAGE_NAME + ".MyEntity\n", index.getCharContent(true).toString());
+    }
+
     @Test
     public void testEntityProcessorSucceedsWithValidArrayOnlyConfiguration() {
         final JavaFileObject javaFileObject = JavaFileObjects.forResource("ValidArrayOnlyConfiguration.java");
@@ -168,4 +186,13 @@ public class EntityAnnotationProcessorTest {
 
         assertEquals(Compilation.Status.FAILURE, compilation.status());
     }
+
+    @Test
+    public void testEntityProcessorFailsWhenBinaryKeyComponentTypeIsUnsupported() {
+        final JavaFileObject javaFileObject = JavaFileObjects.forResource("UnsupportedBinaryKeyComponent.java");
+
+        final Compilation compilation = javac().withProcessors(new EntityAnnotationProcessor()).compile(javaFileObject);
+
+        assertEquals(Compilation.Status.FAILURE, compilation.status());
+    }
 }
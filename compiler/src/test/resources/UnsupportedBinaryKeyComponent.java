@@ -0,0 +1,19 @@
+package com.bettercloud.bigtable.orm.test;
+
+import com.bettercloud.bigtable.orm.annotations.Column;
+import com.bettercloud.bigtable.orm.annotations.Entity;
+import com.bettercloud.bigtable.orm.annotations.KeyComponent;
+import com.bettercloud.bigtable.orm.annotations.Table;
+
+@Table("test")
+class UnsupportedBinaryKeyComponent {
+
+    @Entity(keyFormat = Entity.KeyFormat.BINARY, keyComponents = {
+            @KeyComponent(name = "value", type = Double.class)
+    })
+    private class MyEntity {
+
+        @Column(family = "family", qualifier = "qualifier")
+        private String value;
+    }
+}
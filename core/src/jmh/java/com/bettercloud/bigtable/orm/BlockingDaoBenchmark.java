@@ -0,0 +1,204 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.AsyncTableRegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a single row from each of many concurrent callers, through the {@link BigTableEntityDao} of a blocking table
+ * and through the {@link AsyncBackedDao} of an async table, with and without batching. Both tables respond after the
+ * same simulated latency, the blocking table by sleeping in the calling thread and the async table by completing its
+ * futures from a scheduler.
+ *
+ * On Java 21 the callers are virtual threads, otherwise a pool of at most {@value #MAX_PLATFORM_CALLERS} platform
+ * threads, so results are only comparable between runs on the same Java version.
+ *
+ * Run with {@code ./gradlew :bigtable-orm-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BlockingDaoBenchmark {
+
+    private static final int MAX_PLATFORM_CALLERS = 1000;
+
+    private static final long LATENCY_MILLIS = 5;
+
+    @Param({"1000", "10000", "100000"})
+    private int callers;
+
+    private ScheduledExecutorService responder;
+
+    private ExecutorService callerExecutor;
+
+    private Dao<BenchmarkEntity> tableDao;
+
+    private Dao<BenchmarkEntity> asyncBackedDao;
+
+    private Dao<BenchmarkEntity> batchingAsyncBackedDao;
+
+    @Setup
+    public void setup() {
+        responder = Executors.newScheduledThreadPool(4);
+        callerExecutor = newCallerExecutor(callers);
+
+        final ObjectMapper objectMapper = new ObjectMapper();
+
+        tableDao = new BigTableEntityDao<>(blockingTable(), Collections.emptyList(), BenchmarkEntity::new,
+                entity -> null, objectMapper);
+
+        asyncBackedDao = asyncBackedDao(null, objectMapper);
+
+        batchingAsyncBackedDao = asyncBackedDao(BatchingOptions.builder()
+                .setMaxBatchSize(100)
+                .setMaxWait(Duration.ofMillis(1))
+                .setScheduler(responder)
+                .build(), objectMapper);
+    }
+
+    @TearDown
+    public void tearDown() {
+        callerExecutor.shutdownNow();
+        responder.shutdownNow();
+    }
+
+    @Benchmark
+    public int getFromBigTableEntityDao() throws Exception {
+        return getFromEveryCaller(tableDao);
+    }
+
+    @Benchmark
+    public int getFromAsyncBackedDao() throws Exception {
+        return getFromEveryCaller(asyncBackedDao);
+    }
+
+    @Benchmark
+    public int getFromBatchingAsyncBackedDao() throws Exception {
+        return getFromEveryCaller(batchingAsyncBackedDao);
+    }
+
+    private int getFromEveryCaller(final Dao<BenchmarkEntity> dao) throws Exception {
+        final List<Future<Integer>> calls = new ArrayList<>(callers);
+
+        for (int i = 0; i < callers; i++) {
+            final StringKey<BenchmarkEntity> key = new StringKey<>("row-" + i);
+
+            calls.add(callerExecutor.submit(() -> dao.getAll(Collections.singleton(key)).size()));
+        }
+
+        int found = 0;
+
+        for (final Future<Integer> call : calls) {
+            found += call.get();
+        }
+
+        return found;
+    }
+
+    private Dao<BenchmarkEntity> asyncBackedDao(final BatchingOptions batchingOptions, final ObjectMapper objectMapper) {
+        final BigTableEntityAsyncDao<BenchmarkEntity> dao = new BigTableEntityAsyncDao<>(asyncTable(),
+                Collections.emptyList(), BenchmarkEntity::new, entity -> null, RawKey::wrap, objectMapper,
+                AbsentKeyCache.disabled(), null, batchingOptions, null, null);
+
+        return new AsyncBackedDao<>(dao, dao, unsupported(AsyncTableRegionLocator.class));
+    }
+
+    private Table blockingTable() {
+        return (Table) Proxy.newProxyInstance(Table.class.getClassLoader(), new Class<?>[]{Table.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("get") && args[0] instanceof List) {
+                        Thread.sleep(LATENCY_MILLIS);
+
+                        final Result[] results = new Result[((List<?>) args[0]).size()];
+                        Arrays.fill(results, Result.EMPTY_RESULT);
+                        return results;
+                    } else if (method.getName().equals("getName")) {
+                        return TableName.valueOf("benchmark");
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private AsyncTable<?> asyncTable() {
+        return (AsyncTable<?>) Proxy.newProxyInstance(AsyncTable.class.getClassLoader(), new Class<?>[]{AsyncTable.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getAll") && args[0] instanceof List) {
+                        return respondLater(Collections.nCopies(((List<?>) args[0]).size(), Result.EMPTY_RESULT));
+                    } else if (method.getName().equals("get") && args[0] instanceof List) {
+                        final List<CompletableFuture<Result>> results = new ArrayList<>();
+
+                        final CompletableFuture<Object> response = respondLater(null);
+
+                        for (int i = 0; i < ((List<?>) args[0]).size(); i++) {
+                            results.add(response.thenApply(v -> Result.EMPTY_RESULT));
+                        }
+
+                        return results;
+                    } else if (method.getName().equals("getName")) {
+                        return TableName.valueOf("benchmark");
+                    }
+
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private <R> CompletableFuture<R> respondLater(final R response) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        responder.schedule(() -> future.complete(response), LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+
+        return future;
+    }
+
+    private static <I> I unsupported(final Class<I> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        }));
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() is only available from Java 21, while the project targets Java 11.
+     */
+    private static ExecutorService newCallerExecutor(final int callers) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.min(callers, MAX_PLATFORM_CALLERS));
+        }
+    }
+
+    public static class BenchmarkEntity implements Entity {
+    }
+}
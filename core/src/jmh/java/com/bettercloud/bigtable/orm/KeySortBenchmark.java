@@ -0,0 +1,101 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts keys the way scan results are sorted, comparing cached encodings against re-encoding on every comparison.
+ *
+ * Run with {@code ./gradlew :bigtable-orm-core:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KeySortBenchmark {
+
+    /**
+     * The previous behavior of {@link StringKey#compareTo(Key)}, which encoded both keys for every comparison.
+     */
+    private static final Comparator<StringKey<Entity>> REENCODING_COMPARATOR =
+            (a, b) -> Bytes.compareTo(Bytes.toBytes(a.toString()), Bytes.toBytes(b.toString()));
+
+    @Param("1000000")
+    private int size;
+
+    private StringKey<Entity>[] stringKeys;
+
+    private byte[][] rows;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        stringKeys = new StringKey[size];
+        rows = new byte[size][];
+
+        for (int i = 0; i < size; i++) {
+            final String key = "tenant-" + random.nextInt(100) + "|" + new UUID(random.nextLong(), random.nextLong());
+
+            stringKeys[i] = new StringKey<>(key);
+            rows[i] = Bytes.toBytes(key);
+        }
+    }
+
+    @Benchmark
+    public StringKey<Entity>[] sortStringKeys() {
+        final StringKey<Entity>[] keys = Arrays.copyOf(stringKeys, size);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    @Benchmark
+    public StringKey<Entity>[] sortStringKeysReencoding() {
+        final StringKey<Entity>[] keys = Arrays.copyOf(stringKeys, size);
+        Arrays.sort(keys, REENCODING_COMPARATOR);
+        return keys;
+    }
+
+    @Benchmark
+    public SortedMap<Key<Entity>, Integer> collectScanResultsCopyingRows() {
+        final SortedMap<Key<Entity>, Integer> results = new TreeMap<>();
+
+        for (int i = 0; i < size; i++) {
+            results.put(new RawKey<>(rows[i]), i);
+        }
+
+        return results;
+    }
+
+    @Benchmark
+    public SortedMap<Key<Entity>, Integer> collectScanResultsWrappingRows() {
+        final SortedMap<Key<Entity>, Integer> results = new TreeMap<>();
+
+        for (int i = 0; i < size; i++) {
+            results.put(RawKey.wrap(rows[i]), i);
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bettercloud.bigtable.orm;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers keys recently found not to exist.
+ *
+ * The set is exact rather than probabilistic, since a false positive would hide a row which does exist. A read
+ * records its absent keys against the generation observed before it was sent, and any save completing in the meantime
+ * advances the generation, so a read racing a save never leaves the saved key marked absent.
+ */
+final class AbsentKeyCache {
+
+    private static final AbsentKeyCache DISABLED = new AbsentKeyCache(null);
+
+    private final Cache<Key<?>, Boolean> keys;
+    private final AtomicLong generation = new AtomicLong();
+
+    private AbsentKeyCache(final Cache<Key<?>, Boolean> keys) {
+        this.keys = keys;
+    }
+
+    static AbsentKeyCache disabled() {
+        return DISABLED;
+    }
+
+    static AbsentKeyCache of(final NegativeCacheOptions options) {
+        if (options == null) {
+            return DISABLED;
+        }
+
+        return new AbsentKeyCache(Caffeine.newBuilder()
+                .maximumSize(options.getMaximumSize())
+                .expireAfterWrite(options.getExpireAfterWrite())
+                .build());
+    }
+
+    boolean isAbsent(final Key<?> key) {
+        return keys != null && keys.getIfPresent(cacheKey(key)) != null;
+    }
+
+    /**
+     * @return The generation to pass to {@link #recordAbsent(Key, long)}, observed before reading
+     */
+    long generation() {
+        return generation.get();
+    }
+
+    void recordAbsent(final Key<?> key, final long readGeneration) {
+        if (keys == null) {
+            return;
+        }
+
+        final Key<?> cacheKey = cacheKey(key);
+
+        keys.put(cacheKey, Boolean.TRUE);
+
+        // Checked after the put, as a concurrent save may have invalidated the key just before it
+        if (generation.get() != readGeneration) {
+            keys.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * Must be called after the row was written, so reads sent earlier are discarded by their generation.
+     */
+    void invalidate(final Iterable<? extends Key<?>> savedKeys) {
+        if (keys == null) {
+            return;
+        }
+
+        generation.incrementAndGet();
+
+        for (final Key<?> key : savedKeys) {
+            keys.invalidate(cacheKey(key));
+        }
+    }
+
+    private static Key<?> cacheKey(final Key<?> key) {
+        return RawKey.wrap(key.toBytes());
+    }
+}
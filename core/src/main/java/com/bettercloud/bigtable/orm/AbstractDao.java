@@ -11,8 +11,11 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.BinaryComparator;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.io.TimeRange;
 import org.apache.hadoop.hbase.util.Bytes;
 
 import javax.annotation.Nullable;
@@ -34,16 +37,76 @@ abstract class AbstractDao<T extends Entity> {
     private final Iterable<? extends Column> columns;
     private final Supplier<T> entityFactory;
     private final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory;
+    private final Function<byte[], Key<T>> keyParser;
     private final ObjectMapper objectMapper;
+    private final AbsentKeyCache absentKeys;
+    private final OperationRecorder operationRecorder;
 
     AbstractDao(Iterable<? extends Column> columns,
                 Supplier<T> entityFactory,
                 Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
-                ObjectMapper objectMapper) {
+                Function<byte[], Key<T>> keyParser,
+                ObjectMapper objectMapper,
+                AbsentKeyCache absentKeys,
+                OperationRecorder operationRecorder) {
         this.columns = columns;
         this.entityFactory = entityFactory;
         this.delegateFactory = delegateFactory;
+        this.keyParser = keyParser;
         this.objectMapper = objectMapper;
+        this.absentKeys = absentKeys;
+        this.operationRecorder = operationRecorder;
+    }
+
+    Key<T> parseKey(final byte[] row) {
+        return keyParser.apply(row);
+    }
+
+    AbsentKeyCache getAbsentKeys() {
+        return absentKeys;
+    }
+
+    /**
+     * @return The timer of an operation of the keys starting now, recorded to the metrics of this Dao, whose keys are
+     *         counted by the hot key detector of this Dao
+     */
+    OperationTimer startOperation(final DaoOperation.Type type, final Collection<? extends Key<?>> keys) {
+        operationRecorder.accessed(type, keys);
+
+        final OperationTimer timer = operationRecorder.start(type);
+        timer.keys(keys);
+
+        return timer;
+    }
+
+    OperationTimer startOperation(final DaoOperation.Type type, final Key<?> key) {
+        operationRecorder.accessed(type, key);
+
+        final OperationTimer timer = operationRecorder.start(type);
+        timer.key(key);
+
+        return timer;
+    }
+
+    /**
+     * @return The timer of a scan from the start row starting now, recorded to the metrics of this Dao
+     */
+    OperationTimer startOperation(final DaoOperation.Type type, final byte[] startRow) {
+        operationRecorder.accessed(type, startRow);
+
+        final OperationTimer timer = operationRecorder.start(type);
+        timer.row(startRow);
+
+        return timer;
+    }
+
+    /**
+     * @return The keys which must be read, excluding those recently found not to exist
+     */
+    <K extends Key<T>> List<K> keysToRead(final Collection<K> keys) {
+        return keys.stream()
+                .filter(key -> !absentKeys.isAbsent(key))
+                .collect(Collectors.toList());
     }
 
     T convertToEntity(final Result result) throws IOException {
@@ -60,13 +123,9 @@ abstract class AbstractDao<T extends Entity> {
             final Object value;
 
             if (cell != null) {
-                final byte[] bytes = cell.getValueArray();
+                operationRecorder.read(column, result, cell);
 
-                if (bytes.length > 0) {
-                    value = objectMapper.readValue(bytes, column.getTypeReference());
-                } else {
-                    value = null;
-                }
+                value = readValue(cell, column);
             } else {
                 value = null;
             }
@@ -85,6 +144,52 @@ abstract class AbstractDao<T extends Entity> {
         return entity;
     }
 
+    /**
+     * @return The versions of the column in the result, most recent first
+     */
+    @SuppressWarnings("unchecked")
+    <V> List<ColumnVersion<V>> convertToHistory(final Result result, final Column column) throws IOException {
+        final List<Cell> cells = result.getColumnCells(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier()));
+
+        final List<ColumnVersion<V>> versions = new ArrayList<>(cells.size());
+
+        for (final Cell cell : cells) {
+            versions.add(new ColumnVersion<>((V) readValue(cell, column), cell.getTimestamp()));
+        }
+
+        return versions;
+    }
+
+    private Object readValue(final Cell cell, final Column column) throws IOException {
+        final byte[] bytes = cell.getValueArray();
+
+        return bytes.length > 0 ? objectMapper.readValue(bytes, column.getTypeReference()) : null;
+    }
+
+    <K extends Key<T>> List<Get> keysToHistoryGets(final Collection<K> keys,
+                                                   final Column column,
+                                                   final VersionQuery query) throws IOException {
+        if (!column.isVersioned()) {
+            throw new IllegalArgumentException("Column " + column.getFamily() + ":" + column.getQualifier() + " is not versioned");
+        }
+
+        final List<Get> gets = new ArrayList<>(keys.size());
+
+        for (final K key : keys) {
+            final Get get = new Get(key.toBytes())
+                    .addColumn(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier()))
+                    .readVersions(query.getMaxVersions());
+
+            if (query.hasTimeRange()) {
+                get.setTimeRange(query.getMinTimestamp(), query.getMaxTimestamp());
+            }
+
+            gets.add(get);
+        }
+
+        return gets;
+    }
+
     <K extends Key<T>> Get keysToGets(final K key) {
         return keysToGets(Collections.singletonList(key)).get(0);
     }
@@ -101,17 +206,114 @@ abstract class AbstractDao<T extends Entity> {
                 }).collect(Collectors.toList());
     }
 
+    /**
+     * @return Gets of the configured columns which return at most the first cell of each row, without its value
+     */
+    <K extends Key<T>> List<Get> keysToKeyOnlyGets(final Collection<K> keys) {
+        final List<Get> gets = keysToGets(keys);
+
+        for (final Get get : gets) {
+            get.setFilter(keyOnlyFilter());
+        }
+
+        return gets;
+    }
+
+    /**
+     * @return A scan of the configured columns which returns the first cell of each row, without its value, up to the
+     * number of rows if defined
+     */
+    Scan rowsToKeyOnlyScan(final byte[] startRow, final boolean startRowInclusive,
+                           final byte[] stopRow, final boolean stopRowInclusive,
+                           @Nullable final Integer numRows) {
+        final Scan scan = new Scan();
+
+        for (final Column column : columns) {
+            scan.addColumn(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier()));
+        }
+
+        final Filter keyOnlyFilter = keyOnlyFilter();
+
+        scan.setFilter(numRows != null
+                ? new FilterList(FilterList.Operator.MUST_PASS_ALL, keyOnlyFilter, new PageFilter(numRows))
+                : keyOnlyFilter);
+        scan.withStartRow(startRow, startRowInclusive);
+        scan.withStopRow(stopRow, stopRowInclusive);
+
+        return scan;
+    }
+
+    /**
+     * Rows are only returned if one of the configured columns holds a cell, but that cell's value is never sent.
+     */
+    private static Filter keyOnlyFilter() {
+        return new FilterList(FilterList.Operator.MUST_PASS_ALL, new FirstKeyOnlyFilter(), new KeyOnlyFilter());
+    }
+
+    /**
+     * Limits the gets to the cells written at or before the timestamp, so the latest cell of every column as of that
+     * time is read.
+     */
+    static List<Get> readAsOf(final List<Get> gets, final Instant asOf) throws IOException {
+        for (final Get get : gets) {
+            get.setTimeRange(0, untilAsOf(asOf));
+        }
+
+        return gets;
+    }
+
+    /**
+     * Limits the scan to the cells written at or before the timestamp, so the latest cell of every column as of that
+     * time is read, and predicates are evaluated against those cells. A time range already defined by a predicate is
+     * kept, and only cut at the timestamp.
+     */
+    static Scan readAsOf(final Scan scan, final Instant asOf) throws IOException {
+        final TimeRange timeRange = scan.getTimeRange();
+        final long maxExclusive = Math.min(timeRange.getMax(), untilAsOf(asOf));
+
+        if (timeRange.getMin() >= maxExclusive) {
+            throw new IllegalArgumentException("As-of time must not be before the time range of the predicate");
+        }
+
+        return scan.setTimeRange(timeRange.getMin(), maxExclusive);
+    }
+
+    private static long untilAsOf(final Instant asOf) {
+        if (asOf.toEpochMilli() < 0) {
+            throw new IllegalArgumentException("As-of time must not be before the epoch");
+        }
+
+        // The upper bound of a time range is exclusive
+        return Math.addExact(asOf.toEpochMilli(), 1);
+    }
+
     <K extends Key<T>> Scan keysToScan(final K startKey, final boolean startKeyInclusive,
                                        final K endKey, final boolean endKeyInclusive,
                                        final int numRows, @Nullable final String constant) {
+        try {
+            return keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, null);
+        } catch (final IOException e) {
+            // Impossible, only predicates serialize values
+            throw new IllegalStateException(e);
+        }
+    }
+
+    <K extends Key<T>> Scan keysToScan(final K startKey, final boolean startKeyInclusive,
+                                       final K endKey, final boolean endKeyInclusive,
+                                       final int numRows, @Nullable final String constant,
+                                       @Nullable final EntityPredicate<T> predicate) throws IOException {
+        final Scan scan = new Scan();
+
         List<Filter> filters = new ArrayList<>();
         filters.add(new PageFilter(numRows));
         if (Objects.nonNull(constant) && !"".equals(constant)) {
             filters.add(new RowFilter(CompareOperator.EQUAL, new BinaryComparator(constant.getBytes())));
         }
+        if (Objects.nonNull(predicate)) {
+            Optional.ofNullable(predicate.compile(scan, objectMapper)).ifPresent(filters::add);
+        }
         FilterList filterList = new FilterList(FilterList.Operator.MUST_PASS_ALL, filters);
 
-        final Scan scan = new Scan();
         scan.setFilter(filterList);
         scan.withStartRow(startKey.toBytes(), startKeyInclusive);
         scan.withStopRow(endKey.toBytes(), endKeyInclusive);
@@ -119,6 +321,30 @@ abstract class AbstractDao<T extends Entity> {
         return scan;
     }
 
+    Scan rowsToScan(final byte[] startRow, final boolean startRowInclusive,
+                    final byte[] stopRow, final boolean stopRowInclusive,
+                    @Nullable final EntityPredicate<T> predicate) throws IOException {
+        final Scan scan = new Scan();
+
+        if (Objects.nonNull(predicate)) {
+            Optional.ofNullable(predicate.compile(scan, objectMapper)).ifPresent(scan::setFilter);
+        }
+
+        scan.withStartRow(startRow, startRowInclusive);
+        scan.withStopRow(stopRow, stopRowInclusive);
+
+        return scan;
+    }
+
+    Scan shardToScan(final byte[] startRow, final boolean startRowInclusive,
+                     final byte[] stopRow, final boolean stopRowInclusive,
+                     @Nullable final EntityPredicate<T> predicate,
+                     final ParallelScanOptions options) throws IOException {
+        final Scan scan = rowsToScan(startRow, startRowInclusive, stopRow, stopRowInclusive, predicate);
+
+        return options.getAsOf() != null ? readAsOf(scan, options.getAsOf()) : scan;
+    }
+
     <K extends Key<T>> PutTuple<K, T> entitiesToPuts(final K key, T entity) throws IOException {
         return entitiesToPuts(Collections.singletonMap(key, entity)).putTuples.get(0);
     }
@@ -132,7 +358,8 @@ abstract class AbstractDao<T extends Entity> {
 
             final T result = entityFactory.get();
 
-            final Put put = new Put(key.toBytes());
+            final byte[] row = key.toBytes();
+            final Put put = new Put(row);
 
             final EntityConfiguration.EntityDelegate<T> sourceDelegate = delegateFactory.apply(entity);
             final EntityConfiguration.EntityDelegate<T> resultDelegate = delegateFactory.apply(result);
@@ -145,6 +372,8 @@ abstract class AbstractDao<T extends Entity> {
 
                 if (value != null) {
                     bytes = objectMapper.writeValueAsBytes(value);
+
+                    operationRecorder.written(column, row, bytes);
                 } else {
                     bytes = null;
                 }
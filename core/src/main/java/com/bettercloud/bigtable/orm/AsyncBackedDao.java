@@ -0,0 +1,238 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.AsyncTableRegionLocator;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * A blocking {@link Dao} whose operations are sent through an {@link AsyncDao}, and which waits for their futures.
+ *
+ * Waiting on a future parks the calling thread without holding a monitor, so a virtual thread blocked on BigTable
+ * releases its carrier thread, and many callers share the async table rather than a thread each. Every caller still
+ * benefits from the caches, coalescing, batching, hedging and timeout of the AsyncDao.
+ *
+ * Failures of the futures are rethrown as the {@link IOException}s and runtime exceptions of the blocking Dao, and
+ * timeouts as {@link TimeoutIOException}s.
+ */
+final class AsyncBackedDao<T extends Entity> implements Dao<T> {
+
+    private final AsyncDao<T> dao;
+    private final BigTableEntityAsyncDao<T> tableDao;
+    private final AsyncTableRegionLocator regionLocator;
+
+    /**
+     * @param dao The AsyncDao serving every operation but parallel scans
+     * @param tableDao The AsyncDao of the table, scanning its shards on blocking scanners of the async table
+     * @param regionLocator The locator of the table's regions, at whose start keys parallel scans are split by default
+     */
+    AsyncBackedDao(final AsyncDao<T> dao,
+                   final BigTableEntityAsyncDao<T> tableDao,
+                   final AsyncTableRegionLocator regionLocator) {
+        this.dao = Objects.requireNonNull(dao);
+        this.tableDao = Objects.requireNonNull(tableDao);
+        this.regionLocator = regionLocator;
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> Optional<T> get(final K key) throws IOException {
+        return Optional.ofNullable(await(dao.get(key)));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys) throws IOException {
+        return await(dao.getAll(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys, final Instant asOf) throws IOException {
+        return await(dao.getAll(keys, asOf));
+    }
+
+    @Override
+    public <K extends Key<T>, V> Map<K, List<ColumnVersion<V>>> getColumnHistory(final Set<K> keys,
+                                                                                 final Column column,
+                                                                                 final VersionQuery query) throws IOException {
+        return await(dao.<K, V>getColumnHistory(keys, column, query));
+    }
+
+    @Override
+    public <K extends Key<T>> Set<K> exists(final Set<K> keys) throws IOException {
+        return await(dao.exists(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows) throws IOException {
+        return await(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows));
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant) throws IOException {
+        return await(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant));
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant,
+                                                        final EntityPredicate<T> predicate) throws IOException {
+        return await(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate));
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant,
+                                                        final EntityPredicate<T> predicate,
+                                                        final Instant asOf) throws IOException {
+        return await(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate, asOf));
+    }
+
+    @Override
+    public <K extends Key<T>> SortedSet<Key<T>> scanKeys(final K startKey,
+                                                         final boolean startKeyInclusive,
+                                                         final K endKey,
+                                                         final boolean endKeyInclusive,
+                                                         final int numRows) throws IOException {
+        return await(dao.scanKeys(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows));
+    }
+
+    @Override
+    public <K extends Key<T>> long count(final K startKey,
+                                         final boolean startKeyInclusive,
+                                         final K endKey,
+                                         final boolean endKeyInclusive) throws IOException {
+        return await(dao.count(startKey, startKeyInclusive, endKey, endKeyInclusive));
+    }
+
+    /**
+     * Parallel scans bypass the AsyncDao, as their rows are delivered as they are scanned rather than as one result.
+     * Their workers block on scanners of the async table, and run on the executor of the options, which may create a
+     * virtual thread per shard.
+     */
+    @Override
+    public <K extends Key<T>> void parallelScan(final K startKey,
+                                                final boolean startKeyInclusive,
+                                                final K endKey,
+                                                final boolean endKeyInclusive,
+                                                @Nullable final EntityPredicate<T> predicate,
+                                                final ParallelScanOptions options,
+                                                final BiConsumer<Key<T>, T> consumer) throws IOException {
+        Objects.requireNonNull(options);
+
+        final Collection<byte[]> splitPoints = options.getSplitPoints().isEmpty()
+                ? await(regionLocator.getStartKeys())
+                : Collections.emptyList();
+
+        tableDao.parallelScan(startKey, startKeyInclusive, endKey, endKeyInclusive, predicate, options, splitPoints,
+                consumer);
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> T save(final K key, final T entity) throws IOException {
+        return await(dao.save(key, entity));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, T> saveAll(final Map<K, T> entities) throws IOException {
+        return await(dao.saveAll(entities));
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> void delete(final K key) throws IOException {
+        await(dao.delete(key));
+    }
+
+    @Override
+    public <K extends Key<T>> void deleteAll(final Set<K> keys) throws IOException {
+        await(dao.deleteAll(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> tryGetAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        return await(dao.tryGetAll(keys, retryPolicy));
+    }
+
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> trySaveAll(final Map<K, T> entities, final RetryPolicy retryPolicy) throws IOException {
+        return await(dao.trySaveAll(entities, retryPolicy));
+    }
+
+    @Override
+    public <K extends Key<T>> BatchResult<K, Void> tryDeleteAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        return await(dao.tryDeleteAll(keys, retryPolicy));
+    }
+
+    /**
+     * The future is not cancelled when the caller is interrupted, as it may be shared with other callers by the caches
+     * or the coalescing of the AsyncDao.
+     */
+    private static <R> R await(final CompletableFuture<R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            final InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for BigTable");
+            interrupted.initCause(e);
+            throw interrupted;
+        } catch (final ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static IOException rethrow(final Throwable failure) {
+        Throwable cause = failure;
+
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        } else if (cause instanceof TimeoutException) {
+            return new TimeoutIOException(cause);
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        return new IOException(cause);
+    }
+}
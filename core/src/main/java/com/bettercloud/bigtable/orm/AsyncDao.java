@@ -1,10 +1,13 @@
 package com.bettercloud.bigtable.orm;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.concurrent.CompletableFuture;
 
 public interface AsyncDao<T extends Entity> {
@@ -15,6 +18,14 @@ public interface AsyncDao<T extends Entity> {
 
     <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys);
 
+    <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys, final Instant asOf);
+
+    <K extends Key<T>, V> CompletableFuture<Map<K, List<ColumnVersion<V>>>> getColumnHistory(final Set<K> keys,
+                                                                                             final Column column,
+                                                                                             final VersionQuery query);
+
+    <K extends Key<T>> CompletableFuture<Set<K>> exists(final Set<K> keys);
+
     <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
                                                                     final boolean startKeyInclusive,
                                                                     final K endKey,
@@ -28,6 +39,34 @@ public interface AsyncDao<T extends Entity> {
                                                                     final int numRows,
                                                                     final String constant);
 
+    <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                    final boolean startKeyInclusive,
+                                                                    final K endKey,
+                                                                    final boolean endKeyInclusive,
+                                                                    final int numRows,
+                                                                    final String constant,
+                                                                    final EntityPredicate<T> predicate);
+
+    <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                    final boolean startKeyInclusive,
+                                                                    final K endKey,
+                                                                    final boolean endKeyInclusive,
+                                                                    final int numRows,
+                                                                    final String constant,
+                                                                    final EntityPredicate<T> predicate,
+                                                                    final Instant asOf);
+
+    <K extends Key<T>> CompletableFuture<SortedSet<Key<T>>> scanKeys(final K startKey,
+                                                                     final boolean startKeyInclusive,
+                                                                     final K endKey,
+                                                                     final boolean endKeyInclusive,
+                                                                     final int numRows);
+
+    <K extends Key<T>> CompletableFuture<Long> count(final K startKey,
+                                                     final boolean startKeyInclusive,
+                                                     final K endKey,
+                                                     final boolean endKeyInclusive);
+
     <K extends Key<T>> CompletableFuture<T> save(final K key, final T entity) throws IOException;
 
     <K extends Key<T>> Map<K, CompletableFuture<T>> save(Map<K, T> entities) throws IOException;
@@ -39,4 +78,24 @@ public interface AsyncDao<T extends Entity> {
     <K extends Key<T>> List<CompletableFuture<Void>> delete(Set<K> keys);
 
     <K extends Key<T>> CompletableFuture<Void> deleteAll(final Set<K> keys);
+
+    <K extends Key<T>> CompletableFuture<BatchResult<K, T>> tryGetAll(final Set<K> keys, final RetryPolicy retryPolicy);
+
+    <K extends Key<T>> CompletableFuture<BatchResult<K, T>> trySaveAll(final Map<K, T> entities,
+                                                                       final RetryPolicy retryPolicy) throws IOException;
+
+    <K extends Key<T>> CompletableFuture<BatchResult<K, Void>> tryDeleteAll(final Set<K> keys, final RetryPolicy retryPolicy);
+
+    /**
+     * Every future returned by the returned AsyncDao fails with a {@link java.util.concurrent.TimeoutException} if its
+     * operation has not completed within the timeout, and the operation is then cancelled where possible. Cancelling a
+     * returned future cancels its operation too. A write which is cancelled or times out may still have been applied.
+     *
+     * @param timeout The time within which each operation must complete
+     * @return A view of this AsyncDao whose operations are bounded by the timeout
+     * @throws IllegalArgumentException when the timeout is not positive
+     */
+    default AsyncDao<T> withTimeout(final Duration timeout) {
+        return new DeadlineAsyncDao<>(this, timeout);
+    }
 }
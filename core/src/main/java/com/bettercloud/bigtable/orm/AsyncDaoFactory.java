@@ -1,28 +1,148 @@
 package com.bettercloud.bigtable.orm;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.bigtable.hbase.BigtableConfiguration;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.AsyncConnection;
 import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.AsyncTableRegionLocator;
 import org.apache.hadoop.hbase.client.BigtableAsyncConnection;
 
+import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-public class AsyncDaoFactory {
+/**
+ * Creates the {@link AsyncDao}s of entities, backed by tables of a single connection, or of several connections whose
+ * load is spread according to {@link ShardingOptions}.
+ *
+ * AsyncDaos are thread-safe, and are reused: requesting the AsyncDao of the same entity and table name with equal
+ * {@link Options} again returns the AsyncDao created first, with its caches, batches and hedging statistics, see
+ * {@link #daoFor(EntityConfiguration, Options)}.
+ * All AsyncDaos of a factory share a single {@link ObjectMapper}, and therefore its serializer caches.
+ *
+ * Blocking callers, such as virtual threads, may use the {@link Dao} of an AsyncDao instead, which waits for the
+ * futures of the AsyncDao, see {@link #blockingDaoFor(EntityConfiguration, Options)}.
+ *
+ * The work of the first requests of each entity may be done ahead of traffic, see
+ * {@link #warmUp(Collection, Options, WarmUpOptions)}.
+ */
+public class AsyncDaoFactory implements Closeable {
 
-    private final AsyncConnection asyncConnection;
+    private final List<AsyncConnection> asyncConnections;
+    @Nullable
+    private final ConnectionSelector selector;
+    private final boolean ownsConnection;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<DaoCacheKey, EntityDaos<?>> daos = new ConcurrentHashMap<>();
+
+    private volatile boolean closed = false;
 
     @SuppressWarnings("WeakerAccess") // Public API
     public AsyncDaoFactory(final String projectId, final String instanceId) throws IOException {
-        this(new BigtableAsyncConnection(BigtableConfiguration.configure(projectId, instanceId)));
+        this(Collections.singletonList(new BigtableAsyncConnection(BigtableConfiguration.configure(projectId, instanceId))),
+                null, true);
+    }
+
+    /**
+     * Opens a connection per app profile, so the same app profile may be repeated to open several connections with
+     * their own channel pools.
+     *
+     * @param projectId The project of the instance
+     * @param instanceId The instance of the tables
+     * @param appProfileIds The app profile of each connection
+     * @param shardingOptions How requests are spread across the connections
+     * @throws IOException when a connection cannot be opened
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public AsyncDaoFactory(final String projectId,
+                           final String instanceId,
+                           final List<String> appProfileIds,
+                           final ShardingOptions shardingOptions) throws IOException {
+        this(connect(projectId, instanceId, appProfileIds), Objects.requireNonNull(shardingOptions), true);
     }
 
     public AsyncDaoFactory(AsyncConnection asyncConnection) {
-        this.asyncConnection = asyncConnection;
+        this(Collections.singletonList(asyncConnection), null, false);
+    }
+
+    /**
+     * @param asyncConnections The connections whose tables back the AsyncDaos, which remain open when the factory is
+     *                         closed
+     * @param shardingOptions How requests are spread across the connections
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public AsyncDaoFactory(final List<AsyncConnection> asyncConnections, final ShardingOptions shardingOptions) {
+        this(asyncConnections, Objects.requireNonNull(shardingOptions), false);
+    }
+
+    private AsyncDaoFactory(final List<AsyncConnection> asyncConnections,
+                            @Nullable final ShardingOptions shardingOptions,
+                            final boolean ownsConnection) {
+        if (asyncConnections.isEmpty()) {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+
+        this.asyncConnections = new ArrayList<>(asyncConnections);
+        this.selector = shardingOptions != null
+                ? new ConnectionSelector(this.asyncConnections.stream()
+                        .map(connection -> new ConnectionMetrics(connection::isClosed))
+                        .collect(Collectors.toList()), shardingOptions)
+                : null;
+        this.ownsConnection = ownsConnection;
+    }
+
+    /**
+     * Connections opened before a failure are closed, so a failed factory leaves no connection open.
+     */
+    private static List<AsyncConnection> connect(final String projectId,
+                                                 final String instanceId,
+                                                 final List<String> appProfileIds) throws IOException {
+        final List<AsyncConnection> connections = new ArrayList<>(appProfileIds.size());
+
+        try {
+            for (final String appProfileId : appProfileIds) {
+                connections.add(new BigtableAsyncConnection(BigtableConfiguration.configure(projectId, instanceId,
+                        appProfileId)));
+            }
+        } catch (final IOException | RuntimeException e) {
+            for (final AsyncConnection connection : connections) {
+                try {
+                    connection.close();
+                } catch (final IOException closeFailure) {
+                    e.addSuppressed(closeFailure);
+                }
+            }
+
+            throw e;
+        }
+
+        return connections;
+    }
+
+    /**
+     * @return The metrics of every connection, in the order of the connections, or an empty list when this factory
+     *         was created without sharding options
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public List<ConnectionMetrics> getConnectionMetrics() {
+        return selector != null ? selector.getConnections() : Collections.emptyList();
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
@@ -39,22 +159,292 @@ public class AsyncDaoFactory {
         return daoFor(entityType, null);
     }
 
+    /**
+     * An AsyncDao is created, with its table, by the first request of an entity configuration, table name and
+     * options, and is kept until this factory is closed. Later requests with equal options return the same AsyncDao,
+     * so options may be built per request. Options are equal when their settings are equal, and when they hold the
+     * same metrics, tracer, profiler and detector instances, and the same batching, hedging and conversion options
+     * instances, as these record metrics of their own.
+     *
+     * @param entityConfiguration The configuration of the entity
+     * @param options The options of the AsyncDao, or null for the defaults
+     * @param <T> The type of the entity
+     * @return The AsyncDao of the entity, created by the first request of the entity configuration, table name and options
+     * @throws IllegalStateException when this factory is closed
+     */
     @SuppressWarnings("WeakerAccess") // Public API
     public <T extends Entity> AsyncDao<T> daoFor(final EntityConfiguration<T> entityConfiguration, final Options options) {
+        return daosFor(entityConfiguration, options).asyncDao;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public <T extends Entity> Dao<T> blockingDaoFor(final Class<T> entityType, final Options options) {
+        Objects.requireNonNull(entityType);
+
+        final EntityConfiguration<T> entityConfiguration = EntityRegistry.getConfigurationForType(entityType);
+
+        return blockingDaoFor(entityConfiguration, options);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public <T extends Entity> Dao<T> blockingDaoFor(final Class<T> entityType) {
+        return blockingDaoFor(entityType, null);
+    }
+
+    /**
+     * The returned Dao sends every operation through the AsyncDao returned by
+     * {@link #daoFor(EntityConfiguration, Options)} for the same arguments, sharing its caches, batches and hedging
+     * statistics, and blocks until the operation completes. Waiting parks the calling thread, so virtual threads do not
+     * occupy their carrier threads while BigTable responds. Timeouts of the options fail with a
+     * {@link org.apache.hadoop.hbase.exceptions.TimeoutIOException}.
+     *
+     * @param entityConfiguration The configuration of the entity
+     * @param options The options of the AsyncDao, or null for the defaults
+     * @param <T> The type of the entity
+     * @return The blocking Dao backed by the AsyncDao of the entity
+     * @throws IllegalStateException when this factory is closed
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public <T extends Entity> Dao<T> blockingDaoFor(final EntityConfiguration<T> entityConfiguration, final Options options) {
+        return daosFor(entityConfiguration, options).blockingDao;
+    }
+
+    /**
+     * Warms up the given entities with the default options, without probing their tables.
+     *
+     * @see #warmUp(Collection, Options, WarmUpOptions)
+     */
+    @SafeVarargs
+    @SuppressWarnings("WeakerAccess") // Public API
+    public final CompletableFuture<WarmUpReport> warmUp(final Class<? extends Entity>... entityTypes) {
+        return warmUp(Arrays.asList(entityTypes), null, WarmUpOptions.builder().build());
+    }
+
+    /**
+     * Warms up every entity listed in the index written by the annotation processor.
+     *
+     * @see EntityRegistry#getIndexedTypes()
+     * @see #warmUp(Collection, Options, WarmUpOptions)
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public CompletableFuture<WarmUpReport> warmUpAll(final Options options, final WarmUpOptions warmUpOptions) {
+        return warmUp(EntityRegistry.getIndexedTypes(), options, warmUpOptions);
+    }
+
+    /**
+     * Performs the work otherwise done by the first requests of each entity: initializes the generated entity,
+     * creates and caches its AsyncDao, and builds the Jackson (de)serializers of its columns. When enabled by the
+     * warm-up options, a row is also read from every table through every connection, to open their channels.
+     *
+     * @param entityTypes The entities to warm up
+     * @param options The options of the AsyncDaos, which must equal the options later passed to
+     *                {@link #daoFor(Class, Options)} for the warmed AsyncDaos to be reused, or null for the defaults
+     * @param warmUpOptions The configuration of the warm-up
+     * @return The warmed entities and tables, and the time taken, once every probe completed. Fails when a table cannot
+     *         be probed, or a column type cannot be serialized.
+     * @throws IllegalStateException when an entity is not registered, or this factory is closed
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public CompletableFuture<WarmUpReport> warmUp(final Collection<Class<? extends Entity>> entityTypes,
+                                                  final Options options,
+                                                  final WarmUpOptions warmUpOptions) {
+        Objects.requireNonNull(entityTypes);
+        Objects.requireNonNull(warmUpOptions);
+
+        final long startNanos = System.nanoTime();
+
+        final Set<String> tableNames = new LinkedHashSet<>();
+
+        try {
+            for (final Class<? extends Entity> entityType : entityTypes) {
+                Objects.requireNonNull(entityType);
+
+                tableNames.add(warmUp(EntityRegistry.getConfigurationForType(entityType), options));
+            }
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final List<CompletableFuture<Boolean>> probes = new ArrayList<>();
+
+        if (warmUpOptions.isProbingTables()) {
+            for (final String tableName : tableNames) {
+                for (final AsyncConnection connection : asyncConnections) {
+                    probes.add(connection.getTable(TableName.valueOf(tableName)).exists(WarmUp.probe()));
+                }
+            }
+        }
+
+        return CompletableFuture.allOf(probes.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> new WarmUpReport(new ArrayList<>(entityTypes), tableNames,
+                        warmUpOptions.isProbingTables(), Duration.ofNanos(System.nanoTime() - startNanos)));
+    }
+
+    private <T extends Entity> String warmUp(final EntityConfiguration<T> entityConfiguration,
+                                             final Options options) throws IOException {
+        daosFor(entityConfiguration, options);
+
+        WarmUp.prepareObjectMapper(objectMapper, entityConfiguration.getColumns());
+
+        return Optional.ofNullable(options)
+                .map(Options::getTableName)
+                .orElseGet(entityConfiguration::getDefaultTableName);
+    }
+
+    @SuppressWarnings("unchecked") // Cached AsyncDaos are keyed by their entity configuration
+    private <T extends Entity> EntityDaos<T> daosFor(final EntityConfiguration<T> entityConfiguration, final Options options) {
         Objects.requireNonNull(entityConfiguration);
 
         final String resolvedTableName = Optional.ofNullable(options)
                 .map(Options::getTableName)
                 .orElseGet(entityConfiguration::getDefaultTableName);
 
+        final DaoCacheKey key = new DaoCacheKey(entityConfiguration, resolvedTableName, options);
+
+        final EntityDaos<?> cachedDaos = daos.get(key);
+
+        if (cachedDaos != null) {
+            return (EntityDaos<T>) cachedDaos;
+        }
+
+        synchronized (daos) {
+            if (closed) {
+                throw new IllegalStateException("AsyncDaoFactory is closed");
+            }
+
+            return (EntityDaos<T>) daos.computeIfAbsent(key, k -> createDaos(entityConfiguration, resolvedTableName, options));
+        }
+    }
+
+    private <T extends Entity> EntityDaos<T> createDaos(final EntityConfiguration<T> entityConfiguration,
+                                                        final String resolvedTableName,
+                                                        final Options options) {
         final TableName hbaseTableName = TableName.valueOf(resolvedTableName);
 
-        final AsyncTable table = asyncConnection.getTable(hbaseTableName);
+        final AsyncTable<?> table = openTable(hbaseTableName);
         final Iterable<? extends Column> columns = entityConfiguration.getColumns();
         final Supplier<T> entityFactory = entityConfiguration.getEntityFactory();
         final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory = entityConfiguration::getDelegateForEntity;
 
-        return new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory);
+        final AbsentKeyCache absentKeys = AbsentKeyCache.of(Optional.ofNullable(options)
+                .map(Options::getNegativeCacheOptions)
+                .orElse(null));
+
+        final ReadCoalescer<T> readCoalescer = Optional.ofNullable(options)
+                .filter(Options::isCoalescingReads)
+                .map(o -> new ReadCoalescer<T>())
+                .orElse(null);
+
+        final BatchingOptions batchingOptions = Optional.ofNullable(options)
+                .map(Options::getBatchingOptions)
+                .orElse(null);
+
+        final HedgingOptions hedgingOptions = Optional.ofNullable(options)
+                .map(Options::getHedgingOptions)
+                .orElse(null);
+
+        final ConversionOptions conversionOptions = Optional.ofNullable(options)
+                .map(Options::getConversionOptions)
+                .orElse(null);
+
+        final OperationRecorder operationRecorder = OperationRecorder.of(
+                Optional.ofNullable(options).map(Options::getMetrics).orElse(null),
+                Optional.ofNullable(options).map(Options::getTracer).orElse(null),
+                Optional.ofNullable(options).map(Options::getPayloadProfiler).orElse(null),
+                Optional.ofNullable(options).map(Options::getHotKeyDetector).orElse(null),
+                entityConfiguration, resolvedTableName);
+
+        final BigTableEntityAsyncDao<T> tableDao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                entityConfiguration::parseKey, objectMapper, absentKeys, readCoalescer, batchingOptions, hedgingOptions,
+                conversionOptions, operationRecorder);
+
+        final AsyncDao<T> dao = Optional.ofNullable(options)
+                .map(Options::getTimeout)
+                .map(tableDao::withTimeout)
+                .orElse(tableDao);
+
+        final CacheOptions cacheOptions = Optional.ofNullable(options)
+                .map(Options::getCacheOptions)
+                .orElse(null);
+
+        final AsyncDao<T> asyncDao;
+
+        if (cacheOptions == null) {
+            asyncDao = dao;
+        } else {
+            final EntitySnapshotCodec<T> codec = new EntitySnapshotCodec<>(columns, entityFactory, delegateFactory, objectMapper);
+
+            asyncDao = new CachingEntityAsyncDao<>(dao, codec, cacheOptions);
+        }
+
+        final AsyncTableRegionLocator regionLocator = asyncConnections.get(0).getRegionLocator(hbaseTableName);
+
+        return new EntityDaos<>(asyncDao, new AsyncBackedDao<>(asyncDao, tableDao, regionLocator));
+    }
+
+    private AsyncTable<?> openTable(final TableName tableName) {
+        if (selector == null) {
+            return asyncConnections.get(0).getTable(tableName);
+        }
+
+        final List<AsyncTable<?>> shardTables = new ArrayList<>(asyncConnections.size());
+
+        for (final AsyncConnection connection : asyncConnections) {
+            shardTables.add(connection.getTable(tableName));
+        }
+
+        return ShardedTable.of(AsyncTable.class, shardTables, selector);
+    }
+
+    /**
+     * Closes the connections when they were created by this factory. The AsyncDaos must not be used once their factory
+     * is closed, and no more AsyncDaos can be created.
+     *
+     * @throws IOException when a connection fails to close, after closing the others
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (daos) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            daos.clear();
+        }
+
+        if (!ownsConnection) {
+            return;
+        }
+
+        IOException failure = null;
+
+        for (final AsyncConnection connection : asyncConnections) {
+            try {
+                connection.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static final class EntityDaos<T extends Entity> {
+
+        private final AsyncDao<T> asyncDao;
+        private final Dao<T> blockingDao;
+
+        private EntityDaos(final AsyncDao<T> asyncDao, final Dao<T> blockingDao) {
+            this.asyncDao = asyncDao;
+            this.blockingDao = blockingDao;
+        }
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
@@ -66,20 +456,126 @@ public class AsyncDaoFactory {
     public static class Options {
 
         private final String tableName;
+        private final CacheOptions cacheOptions;
+        private final NegativeCacheOptions negativeCacheOptions;
+        private final boolean coalescingReads;
+        private final BatchingOptions batchingOptions;
+        private final HedgingOptions hedgingOptions;
+        private final ConversionOptions conversionOptions;
+        private final Duration timeout;
+        private final DaoMetrics metrics;
+        private final DaoTracer tracer;
+        private final PayloadProfiler payloadProfiler;
+        private final HotKeyDetector hotKeyDetector;
 
-        private Options(final String tableName) {
-            this.tableName = tableName;
+        private Options(final OptionsBuilder builder) {
+            this.tableName = builder.tableName;
+            this.cacheOptions = builder.cacheOptions;
+            this.negativeCacheOptions = builder.negativeCacheOptions;
+            this.coalescingReads = builder.coalescingReads;
+            this.batchingOptions = builder.batchingOptions;
+            this.hedgingOptions = builder.hedgingOptions;
+            this.conversionOptions = builder.conversionOptions;
+            this.timeout = builder.timeout;
+            this.metrics = builder.metrics;
+            this.tracer = builder.tracer;
+            this.payloadProfiler = builder.payloadProfiler;
+            this.hotKeyDetector = builder.hotKeyDetector;
         }
 
         private String getTableName() {
             return tableName;
         }
+
+        private CacheOptions getCacheOptions() {
+            return cacheOptions;
+        }
+
+        private NegativeCacheOptions getNegativeCacheOptions() {
+            return negativeCacheOptions;
+        }
+
+        private boolean isCoalescingReads() {
+            return coalescingReads;
+        }
+
+        private BatchingOptions getBatchingOptions() {
+            return batchingOptions;
+        }
+
+        private HedgingOptions getHedgingOptions() {
+            return hedgingOptions;
+        }
+
+        private ConversionOptions getConversionOptions() {
+            return conversionOptions;
+        }
+
+        private Duration getTimeout() {
+            return timeout;
+        }
+
+        private DaoMetrics getMetrics() {
+            return metrics;
+        }
+
+        private DaoTracer getTracer() {
+            return tracer;
+        }
+
+        private PayloadProfiler getPayloadProfiler() {
+            return payloadProfiler;
+        }
+
+        private HotKeyDetector getHotKeyDetector() {
+            return hotKeyDetector;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Options that = (Options) o;
+            return Objects.equals(tableName, that.tableName)
+                    && Objects.equals(cacheOptions, that.cacheOptions)
+                    && Objects.equals(negativeCacheOptions, that.negativeCacheOptions)
+                    && coalescingReads == that.coalescingReads
+                    && Objects.equals(batchingOptions, that.batchingOptions)
+                    && Objects.equals(hedgingOptions, that.hedgingOptions)
+                    && Objects.equals(conversionOptions, that.conversionOptions)
+                    && Objects.equals(timeout, that.timeout)
+                    && Objects.equals(metrics, that.metrics)
+                    && Objects.equals(tracer, that.tracer)
+                    && Objects.equals(payloadProfiler, that.payloadProfiler)
+                    && Objects.equals(hotKeyDetector, that.hotKeyDetector);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableName, cacheOptions, negativeCacheOptions, coalescingReads, batchingOptions,
+                    hedgingOptions, conversionOptions, timeout, metrics, tracer, payloadProfiler, hotKeyDetector);
+        }
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
     public static class OptionsBuilder {
 
         private String tableName;
+        private CacheOptions cacheOptions;
+        private NegativeCacheOptions negativeCacheOptions;
+        private boolean coalescingReads = false;
+        private BatchingOptions batchingOptions;
+        private HedgingOptions hedgingOptions;
+        private ConversionOptions conversionOptions;
+        private Duration timeout;
+        private DaoMetrics metrics;
+        private DaoTracer tracer;
+        private PayloadProfiler payloadProfiler;
+        private HotKeyDetector hotKeyDetector;
 
         private OptionsBuilder() {
             // Only accessible via AsyncDaoFactory.optionsBuilder()
@@ -90,8 +586,150 @@ public class AsyncDaoFactory {
             return this;
         }
 
+        /**
+         * When defined, the created AsyncDao is a {@link CachingAsyncDao}, serving reads of recently read or written
+         * entities from an in-process cache.
+         *
+         * @param cacheOptions The configuration of the entity cache
+         * @return This builder
+         */
+        public OptionsBuilder setCacheOptions(final CacheOptions cacheOptions) {
+            this.cacheOptions = cacheOptions;
+            return this;
+        }
+
+        /**
+         * When defined, keys found not to exist are remembered for a short time, and are not read again until they
+         * expire or are saved through the created AsyncDao.
+         *
+         * @param negativeCacheOptions The configuration of the cache of absent keys
+         * @return This builder
+         */
+        public OptionsBuilder setNegativeCacheOptions(final NegativeCacheOptions negativeCacheOptions) {
+            this.negativeCacheOptions = negativeCacheOptions;
+            return this;
+        }
+
+        /**
+         * When coalescing, a get of a row which is already being read by another get waits for the same response,
+         * rather than sending another request. Each caller still receives its own entity instance.
+         *
+         * A coalesced get may therefore not see a save which completed after the original get was sent.
+         *
+         * @param coalescingReads Whether concurrent gets of the same rows share a single request
+         * @return This builder
+         */
+        public OptionsBuilder setCoalescingReads(final boolean coalescingReads) {
+            this.coalescingReads = coalescingReads;
+            return this;
+        }
+
+        /**
+         * When defined, single row gets, saves and deletes are collected into batches, each sent as a single request.
+         *
+         * @param batchingOptions The configuration of the batches
+         * @return This builder
+         */
+        public OptionsBuilder setBatchingOptions(final BatchingOptions batchingOptions) {
+            this.batchingOptions = batchingOptions;
+            return this;
+        }
+
+        /**
+         * When defined, rows of a get which have not been returned after the hedge delay are read again, and return
+         * whichever response arrives first.
+         *
+         * @param hedgingOptions The configuration of the hedges
+         * @return This builder
+         */
+        public OptionsBuilder setHedgingOptions(final HedgingOptions hedgingOptions) {
+            this.hedgingOptions = hedgingOptions;
+            return this;
+        }
+
+        /**
+         * When defined, rows are converted to entities on the executor of the options, rather than on the thread
+         * completing the read, and saves may serialize their entities on that executor too.
+         *
+         * @param conversionOptions The configuration of the conversion executor
+         * @return This builder
+         */
+        public OptionsBuilder setConversionOptions(final ConversionOptions conversionOptions) {
+            this.conversionOptions = conversionOptions;
+            return this;
+        }
+
+        /**
+         * When defined, every operation of the created AsyncDao fails with a
+         * {@link java.util.concurrent.TimeoutException} if it has not completed within the timeout, unless a different
+         * timeout is set with {@link AsyncDao#withTimeout(Duration)}.
+         *
+         * @param timeout The default time within which each operation must complete
+         * @return This builder
+         * @throws IllegalArgumentException when the timeout is not positive
+         */
+        public OptionsBuilder setTimeout(final Duration timeout) {
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException("Timeout must be positive");
+            }
+
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * When defined, every get, scan, save and delete of the created AsyncDao is recorded to the metrics, with the
+         * time spent serializing, waiting for BigTable and deserializing. Operations served by the entity cache are
+         * not recorded.
+         *
+         * @param metrics The metrics receiving the operations
+         * @return This builder
+         */
+        public OptionsBuilder setMetrics(final DaoMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * When defined, every get, scan, save and delete of the created AsyncDao opens a span of the tracer, nested in
+         * the span current on the calling thread. The span is made current while the rows read are converted, and
+         * while writes are serialized on the conversion executor, and is ended with the rows, retries and timings of
+         * the operation. Operations served by the entity cache are not traced.
+         *
+         * @param tracer The tracer opening the spans
+         * @return This builder
+         */
+        public OptionsBuilder setTracer(final DaoTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * When defined, the size of every value serialized by the created AsyncDao is recorded to the profiler, along
+         * with the rows holding the largest values of each column.
+         *
+         * @param payloadProfiler The profiler of the sizes of the values
+         * @return This builder
+         */
+        public OptionsBuilder setPayloadProfiler(final PayloadProfiler payloadProfiler) {
+            this.payloadProfiler = payloadProfiler;
+            return this;
+        }
+
+        /**
+         * When defined, the keys of every get, save and delete of the created AsyncDao, and the start row of its scans,
+         * are counted by the detector, which reports the most frequently accessed rows.
+         *
+         * @param hotKeyDetector The detector of the most frequently accessed rows
+         * @return This builder
+         */
+        public OptionsBuilder setHotKeyDetector(final HotKeyDetector hotKeyDetector) {
+            this.hotKeyDetector = hotKeyDetector;
+            return this;
+        }
+
         public Options build() {
-            return new Options(tableName);
+            return new Options(this);
         }
     }
 }
@@ -0,0 +1,154 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects single operations of one kind, and sends them as a batch once the batch is full or its first operation has
+ * waited for the max wait. The batch is sent as a single list request, whose per operation futures complete the
+ * futures returned to the individual callers, so one failed operation does not fail the rest of its batch.
+ */
+final class BatchDispatcher<I, O> {
+
+    private final Function<List<I>, List<CompletableFuture<O>>> sender;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Histogram batchSizes;
+    private final Histogram waitTimesMicros;
+
+    private List<Pending<I, O>> batch = new ArrayList<>();
+
+    BatchDispatcher(final Function<List<I>, List<CompletableFuture<O>>> sender,
+                    final BatchingOptions options,
+                    final BatchingMetrics.Operation operation) {
+        this.sender = sender;
+        this.maxBatchSize = options.getMaxBatchSize();
+        this.maxWaitNanos = options.getMaxWait().toNanos();
+        this.scheduler = options.getScheduler() != null ? options.getScheduler() : DefaultScheduler.get();
+        this.batchSizes = options.getMetrics().getBatchSizes(operation);
+        this.waitTimesMicros = options.getMetrics().getWaitTimesMicros(operation);
+    }
+
+    CompletableFuture<O> submit(final I item) {
+        final Pending<I, O> pending = new Pending<>(item);
+
+        final List<Pending<I, O>> fullBatch;
+        RejectedExecutionException rejection = null;
+
+        synchronized (this) {
+            batch.add(pending);
+
+            if (batch.size() >= maxBatchSize) {
+                fullBatch = batch;
+                batch = new ArrayList<>();
+            } else {
+                fullBatch = null;
+
+                if (batch.size() == 1) {
+                    final List<Pending<I, O>> scheduledBatch = batch;
+
+                    try {
+                        scheduler.schedule(() -> sendIfCurrent(scheduledBatch), maxWaitNanos, TimeUnit.NANOSECONDS);
+                    } catch (final RejectedExecutionException e) {
+                        // The operation is the only one of the batch, which would otherwise wait without a timer
+                        // and be sent with a later batch, after its caller was told it failed
+                        batch = new ArrayList<>();
+                        rejection = e;
+                    }
+                }
+            }
+        }
+
+        if (rejection != null) {
+            pending.result.completeExceptionally(rejection);
+        }
+
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+
+        return pending.result;
+    }
+
+    /**
+     * The batch may already have been sent when it filled up, in which case a later batch is left to its own schedule.
+     */
+    private void sendIfCurrent(final List<Pending<I, O>> scheduledBatch) {
+        synchronized (this) {
+            if (batch != scheduledBatch) {
+                return;
+            }
+
+            batch = new ArrayList<>();
+        }
+
+        send(scheduledBatch);
+    }
+
+    /**
+     * Operations whose caller stopped waiting while they were queued, such as by a timeout or a cancellation, are
+     * dropped rather than sent, so a write is never applied after its caller was told it failed.
+     */
+    private void send(final List<Pending<I, O>> queued) {
+        final List<Pending<I, O>> pendings = new ArrayList<>(queued.size());
+
+        for (final Pending<I, O> pending : queued) {
+            if (!pending.result.isDone()) {
+                pendings.add(pending);
+            }
+        }
+
+        if (pendings.isEmpty()) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+
+        batchSizes.record(pendings.size());
+
+        final List<I> items = new ArrayList<>(pendings.size());
+
+        for (final Pending<I, O> pending : pendings) {
+            waitTimesMicros.record(TimeUnit.NANOSECONDS.toMicros(now - pending.submittedNanos));
+            items.add(pending.item);
+        }
+
+        final List<CompletableFuture<O>> results;
+
+        try {
+            results = sender.apply(items);
+        } catch (final RuntimeException e) {
+            pendings.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        }
+
+        for (int i = 0; i < pendings.size(); i++) {
+            final CompletableFuture<O> pendingResult = pendings.get(i).result;
+
+            results.get(i).whenComplete((result, e) -> {
+                if (e != null) {
+                    pendingResult.completeExceptionally(e);
+                } else {
+                    pendingResult.complete(result);
+                }
+            });
+        }
+    }
+
+    private static final class Pending<I, O> {
+
+        private final I item;
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<O> result = new CompletableFuture<>();
+
+        private Pending(final I item) {
+            this.item = item;
+        }
+    }
+}
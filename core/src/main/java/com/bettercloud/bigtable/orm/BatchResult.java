@@ -0,0 +1,59 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The outcome of every row of a batch operation, which succeeds or fails row by row rather than as a whole.
+ *
+ * @param <K> The type of the keys of the rows
+ * @param <V> The type of the values returned for successful rows
+ */
+public final class BatchResult<K, V> {
+
+    private final Map<K, V> successes;
+    private final Map<K, Throwable> failures;
+    private final int retries;
+
+    BatchResult(final Map<K, V> successes, final Map<K, Throwable> failures, final int retries) {
+        this.successes = Collections.unmodifiableMap(successes);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.retries = retries;
+    }
+
+    /**
+     * A get returns a null value for rows which do not exist, and a delete returns a null value for every row.
+     *
+     * @return The keys of the rows which succeeded, and their values
+     */
+    public Map<K, V> getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return The keys of the rows which failed, and the cause of their last failure
+     */
+    public Map<K, Throwable> getFailures() {
+        return failures;
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /**
+     * @return The number of times rows were retried
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" +
+                "successes=" + successes.size() +
+                ", failures=" + failures.size() +
+                ", retries=" + retries +
+                '}';
+    }
+}
@@ -0,0 +1,126 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.Row;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Tracks the rows of a batch operation across its attempts, leaving only the failed rows to be sent again while the
+ * policy allows them to be retried.
+ *
+ * The outcome of a row is the result returned by BigTable, or the {@link Throwable} it failed with.
+ */
+final class BatchRetrier<K, V> {
+
+    @FunctionalInterface
+    interface ValueConverter<K, V> {
+        V convert(K key, Object result) throws IOException;
+    }
+
+    private final Map<K, ? extends Row> actions;
+    private final ValueConverter<K, V> converter;
+    private final RetryPolicy policy;
+
+    private final Map<K, V> successes = new HashMap<>();
+    private final Map<K, Throwable> failures = new HashMap<>();
+    private final int retryBudget;
+
+    private List<K> pending;
+    private int attempt = 1;
+    private int retries = 0;
+
+    BatchRetrier(final Map<K, ? extends Row> actions, final ValueConverter<K, V> converter, final RetryPolicy policy) {
+        this.actions = actions;
+        this.converter = converter;
+        this.policy = policy;
+        this.retryBudget = policy.retryBudget(actions.size());
+        this.pending = new ArrayList<>(actions.keySet());
+    }
+
+    /**
+     * Records a row which succeeded without being sent, such as a row known not to exist.
+     */
+    void skip(final K key, final V value) {
+        successes.put(key, value);
+    }
+
+    /**
+     * @return The actions of the rows of the next attempt
+     */
+    List<Row> pendingActions() {
+        final List<Row> rows = new ArrayList<>(pending.size());
+        pending.forEach(key -> rows.add(actions.get(key)));
+
+        return rows;
+    }
+
+    /**
+     * @param outcomes The outcome of every pending row, in the order of {@link #pendingActions()}
+     * @return Whether some rows should be retried
+     */
+    boolean complete(final List<?> outcomes) {
+        final List<K> retry = new ArrayList<>();
+
+        for (int i = 0; i < pending.size(); i++) {
+            final K key = pending.get(i);
+            final Object outcome = outcomes.get(i);
+
+            if (outcome instanceof Throwable) {
+                final Throwable cause = unwrap((Throwable) outcome);
+
+                failures.put(key, cause);
+
+                if (attempt < policy.getMaxAttempts() && retries < retryBudget && policy.isRetryable(cause)) {
+                    retry.add(key);
+                    retries++;
+                }
+            } else {
+                failures.remove(key);
+
+                try {
+                    successes.put(key, converter.convert(key, outcome));
+                } catch (final IOException | RuntimeException e) {
+                    // Sending the row again would not change its contents
+                    failures.put(key, unwrap(e));
+                }
+            }
+        }
+
+        pending = retry;
+        attempt++;
+
+        return !retry.isEmpty();
+    }
+
+    /**
+     * @return The index of the next attempt, starting at 0
+     */
+    int attemptIndex() {
+        return attempt - 1;
+    }
+
+    /**
+     * @return The delay before the next attempt
+     */
+    long backoffNanos() {
+        return policy.backoffNanos(attempt - 1);
+    }
+
+    BatchResult<K, V> result() {
+        return new BatchResult<>(successes, failures, retries);
+    }
+
+    private static Throwable unwrap(final Throwable cause) {
+        if ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            return cause.getCause();
+        }
+
+        return cause;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The sizes of the batches sent by batching AsyncDaos, and the time each operation waited for its batch to be sent.
+ *
+ * Recorded by every AsyncDao created with the same {@link BatchingOptions}.
+ */
+public final class BatchingMetrics {
+
+    public enum Operation {
+        GET,
+        SAVE,
+        DELETE
+    }
+
+    private final Map<Operation, Histogram> batchSizes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> waitTimes = new EnumMap<>(Operation.class);
+
+    BatchingMetrics() {
+        for (final Operation operation : Operation.values()) {
+            batchSizes.put(operation, new Histogram());
+            waitTimes.put(operation, new Histogram());
+        }
+    }
+
+    /**
+     * @param operation The batched operation
+     * @return The number of operations per batch sent
+     */
+    public Histogram getBatchSizes(final Operation operation) {
+        return batchSizes.get(operation);
+    }
+
+    /**
+     * @param operation The batched operation
+     * @return The time in microseconds from an operation being submitted until its batch was sent
+     */
+    public Histogram getWaitTimesMicros(final Operation operation) {
+        return waitTimes.get(operation);
+    }
+}
@@ -0,0 +1,106 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Configures the batching of single row gets, saves and deletes of an {@link AsyncDao}, defined by
+ * {@link AsyncDaoFactory.OptionsBuilder#setBatchingOptions(BatchingOptions)}.
+ *
+ * Operations are held until the batch of their kind is full, or until the first operation of the batch has waited for
+ * the maximum wait, and are then sent in a single request. This trades a small, bounded latency for far fewer requests
+ * when many rows are read or written one at a time.
+ */
+public final class BatchingOptions {
+
+    private final int maxBatchSize;
+    private final Duration maxWait;
+    private final ScheduledExecutorService scheduler;
+    private final BatchingMetrics metrics = new BatchingMetrics();
+
+    private BatchingOptions(final Builder builder) {
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxWait = builder.maxWait;
+        this.scheduler = builder.scheduler;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    Duration getMaxWait() {
+        return maxWait;
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return The metrics of all AsyncDaos batching with these options
+     */
+    public BatchingMetrics getMetrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private int maxBatchSize = 100;
+        private Duration maxWait = Duration.ofNanos(500_000);
+        private ScheduledExecutorService scheduler;
+
+        private Builder() {
+            // Only accessible via BatchingOptions.builder()
+        }
+
+        /**
+         * @param maxBatchSize The number of operations at which a batch is sent immediately, defaulting to 100
+         * @return This builder
+         */
+        public Builder setMaxBatchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Max batch size must be positive");
+            }
+
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * @param maxWait The time after which an incomplete batch is sent, defaulting to 500 microseconds
+         * @return This builder
+         */
+        public Builder setMaxWait(final Duration maxWait) {
+            Objects.requireNonNull(maxWait);
+
+            if (maxWait.isNegative() || maxWait.isZero()) {
+                throw new IllegalArgumentException("Max wait must be positive");
+            }
+
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * When undefined, a single daemon thread shared by all AsyncDaos sends the batches which are not full.
+         *
+         * @param scheduler The executor on which incomplete batches are sent once they have waited for the max wait
+         * @return This builder
+         */
+        public Builder setScheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public BatchingOptions build() {
+            return new BatchingOptions(this);
+        }
+    }
+}
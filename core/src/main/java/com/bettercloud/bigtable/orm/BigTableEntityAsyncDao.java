@@ -6,21 +6,34 @@ import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -28,15 +41,112 @@ import java.util.stream.IntStream;
 
 class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements AsyncDao<T> {
 
+    /**
+     * The number of keys read per request when counting, bounding the memory of a count however many rows it counts.
+     */
+    private static final int COUNT_PAGE_SIZE = 10_000;
+
     private final AsyncTable<?> table;
 
+    @Nullable
+    private final ReadCoalescer<T> readCoalescer;
+
+    @Nullable
+    private final BatchDispatcher<Get, Result> getDispatcher;
+
+    @Nullable
+    private final BatchDispatcher<Put, Void> putDispatcher;
+
+    @Nullable
+    private final BatchDispatcher<Delete, Void> deleteDispatcher;
+
+    @Nullable
+    private final ReadHedger readHedger;
+
+    @Nullable
+    private final ConversionOptions conversionOptions;
+
     BigTableEntityAsyncDao(final AsyncTable<?> table,
                            final Iterable<? extends Column> columns,
                            final Supplier<T> entityFactory,
                            final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
-                           final ObjectMapper objectMapper) {
-        super(columns, entityFactory, delegateFactory, objectMapper);
+                           final Function<byte[], Key<T>> keyParser,
+                           final ObjectMapper objectMapper,
+                           final AbsentKeyCache absentKeys,
+                           @Nullable final ReadCoalescer<T> readCoalescer,
+                           @Nullable final BatchingOptions batchingOptions,
+                           @Nullable final HedgingOptions hedgingOptions,
+                           @Nullable final ConversionOptions conversionOptions,
+                           final OperationRecorder operationRecorder) {
+        super(columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys, operationRecorder);
         this.table = table;
+        this.readCoalescer = readCoalescer;
+        this.readHedger = hedgingOptions != null ? new ReadHedger(hedgingOptions) : null;
+        this.conversionOptions = conversionOptions;
+
+        if (batchingOptions != null) {
+            this.getDispatcher = new BatchDispatcher<>(table::get, batchingOptions, BatchingMetrics.Operation.GET);
+            this.putDispatcher = new BatchDispatcher<>(table::put, batchingOptions, BatchingMetrics.Operation.SAVE);
+            this.deleteDispatcher = new BatchDispatcher<>(table::delete, batchingOptions, BatchingMetrics.Operation.DELETE);
+        } else {
+            this.getDispatcher = null;
+            this.putDispatcher = null;
+            this.deleteDispatcher = null;
+        }
+    }
+
+    BigTableEntityAsyncDao(final AsyncTable<?> table,
+                           final Iterable<? extends Column> columns,
+                           final Supplier<T> entityFactory,
+                           final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                           final Function<byte[], Key<T>> keyParser,
+                           final ObjectMapper objectMapper,
+                           final AbsentKeyCache absentKeys,
+                           @Nullable final ReadCoalescer<T> readCoalescer,
+                           @Nullable final BatchingOptions batchingOptions,
+                           @Nullable final HedgingOptions hedgingOptions,
+                           @Nullable final ConversionOptions conversionOptions) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys, readCoalescer,
+                batchingOptions, hedgingOptions, conversionOptions, OperationRecorder.disabled());
+    }
+
+    BigTableEntityAsyncDao(final AsyncTable<?> table,
+                           final Iterable<? extends Column> columns,
+                           final Supplier<T> entityFactory,
+                           final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                           final Function<byte[], Key<T>> keyParser,
+                           final ObjectMapper objectMapper,
+                           final AbsentKeyCache absentKeys,
+                           @Nullable final ReadCoalescer<T> readCoalescer) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys, readCoalescer, null,
+                null, null);
+    }
+
+    BigTableEntityAsyncDao(final AsyncTable<?> table,
+                           final Iterable<? extends Column> columns,
+                           final Supplier<T> entityFactory,
+                           final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                           final Function<byte[], Key<T>> keyParser,
+                           final ObjectMapper objectMapper,
+                           final AbsentKeyCache absentKeys) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys, null);
+    }
+
+    BigTableEntityAsyncDao(final AsyncTable<?> table,
+                           final Iterable<? extends Column> columns,
+                           final Supplier<T> entityFactory,
+                           final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                           final Function<byte[], Key<T>> keyParser,
+                           final ObjectMapper objectMapper) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, AbsentKeyCache.disabled());
+    }
+
+    BigTableEntityAsyncDao(final AsyncTable<?> table,
+                           final Iterable<? extends Column> columns,
+                           final Supplier<T> entityFactory,
+                           final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                           final ObjectMapper objectMapper) {
+        this(table, columns, entityFactory, delegateFactory, RawKey::wrap, objectMapper);
     }
 
     BigTableEntityAsyncDao(final AsyncTable<?> table,
@@ -65,9 +175,36 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> CompletableFuture<T> get(final K key) {
         Objects.requireNonNull(key);
 
-        final Get get = keysToGets(key);
+        if (getAbsentKeys().isAbsent(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, key);
 
-        return table.get(get).thenApply(this::convertToEntity);
+        final CompletableFuture<Result> result;
+
+        if (isReadingDirectly()) {
+            final Get get = keysToGets(key);
+
+            timer.sent();
+
+            result = table.get(get);
+        } else {
+            timer.sent();
+
+            result = readRows(Collections.singletonList(key)).get(0);
+        }
+
+        final CompletableFuture<T> entity = convert(timer, result, r -> {
+            timer.read(r);
+
+            return convertToEntity(key, r, absentKeysGeneration);
+        });
+
+        return timer.recording(readCoalescer != null ? entity : cancelling(entity, Collections.singletonList(result)),
+                value -> value != null ? 1 : 0);
     }
 
     /**
@@ -92,17 +229,23 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> Map<K, CompletableFuture<T>> get(final Set<K> keys) {
         Objects.requireNonNull(keys);
 
-        final List<K> keyList = new ArrayList<>(keys);
+        final long absentKeysGeneration = getAbsentKeys().generation();
 
-        final List<Get> gets = keysToGets(keyList);
+        final List<K> keyList = keysToRead(keys);
 
-        final List<CompletableFuture<T>> results = table.get(gets)
-                .stream()
-                .map(resultCompletableFuture -> resultCompletableFuture.thenApply(this::convertToEntity))
-                .collect(Collectors.toList());
+        final List<CompletableFuture<Result>> results = keyList.isEmpty() ? Collections.emptyList() : readRows(keyList);
 
-        final Map<K, CompletableFuture<T>> entriesByKey = IntStream.range(0, gets.size()).boxed()
-                .collect(Collectors.toMap(keyList::get, results::get));
+        final Map<K, CompletableFuture<T>> entriesByKey = IntStream.range(0, keyList.size()).boxed()
+                .collect(Collectors.toMap(keyList::get, i -> {
+                    final CompletableFuture<T> entity = convert(results.get(i),
+                            result -> convertToEntity(keyList.get(i), result, absentKeysGeneration));
+
+                    return readCoalescer != null ? entity : cancelling(entity, Collections.singletonList(results.get(i)));
+                }));
+
+        for (final K key : keys) {
+            entriesByKey.putIfAbsent(key, CompletableFuture.completedFuture(null));
+        }
 
         return Collections.unmodifiableMap(entriesByKey);
     }
@@ -128,26 +271,205 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys) {
         Objects.requireNonNull(keys);
 
-        final List<K> keyList = new ArrayList<>(keys);
+        final long absentKeysGeneration = getAbsentKeys().generation();
 
-        final List<Get> gets = keysToGets(keyList);
+        final List<K> keyList = keysToRead(keys);
+
+        if (keyList.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
 
-        return table.getAll(gets).thenApply(results -> {
-            final Map<K, Result> resultsByKey = IntStream.range(0, gets.size()).boxed()
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keyList);
+
+        final CompletableFuture<List<Result>> allResults;
+        final List<? extends CompletableFuture<?>> operations;
+
+        if (readCoalescer == null && readHedger == null) {
+            final List<Get> gets = keysToGets(keyList);
+
+            timer.sent();
+
+            allResults = table.getAll(gets);
+            operations = Collections.singletonList(allResults);
+        } else {
+            timer.sent();
+
+            final List<CompletableFuture<Result>> results = readRows(keyList);
+
+            allResults = CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(v -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+            operations = readCoalescer == null ? results : Collections.emptyList();
+        }
+
+        return timer.recording(cancelling(convert(timer, allResults, results -> {
+            final Map<K, Result> resultsByKey = IntStream.range(0, keyList.size()).boxed()
                     .collect(Collectors.toMap(keyList::get, results::get));
 
             final Map<K, T> entitiesByKey = new HashMap<>();
 
             for (final Map.Entry<K, Result> entry : resultsByKey.entrySet()) {
-                final Result result = entry.getValue();
-                if (!result.isEmpty()) {
-                    final T entity = convertToEntity(result);
+                timer.read(entry.getValue());
+
+                final T entity = convertToEntity(entry.getKey(), entry.getValue(), absentKeysGeneration);
+                if (entity != null) {
                     entitiesByKey.put(entry.getKey(), entity);
                 }
             }
 
             return Collections.unmodifiableMap(entitiesByKey);
-        });
+        }), operations), Map::size);
+    }
+
+    /**
+     * Reads the rows as they were at the provided time, like {@link #getAll(Set)}. Only cells with a timestamp at or
+     * before that time are read, so every column holds its latest value as of that time, and rows without such cells
+     * are not returned. Repeating the read returns the same entities, however the rows have been written since.
+     * <p>
+     * The rows are read directly, rather than coalesced, batched or hedged with reads of the current rows. Keys
+     * recently found not to exist are still read, and rows not found are not recorded as absent, as the absent keys
+     * only describe the current rows.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param asOf The time at which the rows should be read
+     * @param <K>  The type of the keys used to retrieve the rows
+     * @return {@link CompletableFuture} of a Map containing pairs of keys and their corresponding values as of the provided time
+     * @throws IllegalArgumentException when the time is before the epoch
+     * @throws NullPointerException when the provided Set of keys or time is null
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys, final Instant asOf) {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(asOf);
+
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        final List<K> keyList = new ArrayList<>(keys);
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keyList);
+
+        final List<Get> gets;
+
+        try {
+            gets = readAsOf(keysToGets(keyList), asOf);
+        } catch (final IOException e) {
+            timer.failed(e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        timer.sent();
+
+        final CompletableFuture<List<Result>> results = table.getAll(gets);
+
+        return timer.recording(cancelling(convert(timer, results, resultList -> {
+            final Map<K, T> entitiesByKey = new HashMap<>();
+
+            for (int i = 0; i < keyList.size(); i++) {
+                timer.read(resultList.get(i));
+
+                final T entity = convertToEntity(resultList.get(i));
+                if (entity != null) {
+                    entitiesByKey.put(keyList.get(i), entity);
+                }
+            }
+
+            return Collections.unmodifiableMap(entitiesByKey);
+        }), Collections.singletonList(results)), Map::size);
+    }
+
+    /**
+     * Reads the versions of a versioned column, rather than only its latest value. The versions are limited by the
+     * query within BigTable, and are returned most recent first.
+     *
+     * The resulting Map contains every provided key, with an empty List for rows without versions in the query.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param column The versioned column whose versions should be returned
+     * @param query The number of versions and the time range to return
+     * @param <K> The type of the keys used to retrieve the rows
+     * @param <V> The type of the values of the column
+     * @return {@link CompletableFuture} of a Map containing the keys and the versions of the column in their rows
+     * @throws IllegalArgumentException when the column is not versioned
+     * @throws NullPointerException when the provided keys, column or query is null
+     */
+    @Override
+    public <K extends Key<T>, V> CompletableFuture<Map<K, List<ColumnVersion<V>>>> getColumnHistory(final Set<K> keys,
+                                                                                                    final Column column,
+                                                                                                    final VersionQuery query) {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(column);
+        Objects.requireNonNull(query);
+
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        final List<K> keyList = new ArrayList<>(keys);
+
+        final List<Get> gets;
+
+        try {
+            gets = keysToHistoryGets(keyList, column, query);
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final CompletableFuture<List<Result>> results = table.getAll(gets);
+
+        return cancelling(convert(results, resultList -> {
+            final Map<K, List<ColumnVersion<V>>> history = new HashMap<>();
+
+            for (int i = 0; i < keyList.size(); i++) {
+                try {
+                    history.put(keyList.get(i), convertToHistory(resultList.get(i), column));
+                } catch (final IOException e) {
+                    throw new CompletionException(e);
+                }
+            }
+
+            return Collections.unmodifiableMap(history);
+        }), Collections.singletonList(results));
+    }
+
+    /**
+     * Checks which rows exist without reading their values. Only the key of the first cell of each row is returned by
+     * BigTable, so no values are sent or deserialized.
+     * <p>
+     * A row exists when any of the configured columns holds a cell, just as {@link #getAll(Set)} would return it.
+     *
+     * @param keys The keys of the rows to check
+     * @param <K>  The type of the keys used to check the rows
+     * @return {@link CompletableFuture} of the keys of the rows which exist
+     * @throws NullPointerException when the provided Set of keys is null
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<Set<K>> exists(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final List<K> keyList = keysToRead(keys);
+
+        if (keyList.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+
+        final CompletableFuture<List<Result>> results = table.getAll(keysToKeyOnlyGets(keyList));
+
+        return cancelling(convert(results, resultList -> {
+            final Set<K> existingKeys = new HashSet<>();
+
+            for (int i = 0; i < keyList.size(); i++) {
+                if (!resultList.get(i).isEmpty()) {
+                    existingKeys.add(keyList.get(i));
+                } else {
+                    getAbsentKeys().recordAbsent(keyList.get(i), absentKeysGeneration);
+                }
+            }
+
+            return Collections.unmodifiableSet(existingKeys);
+        }), Collections.singletonList(results));
     }
 
     /**
@@ -197,20 +519,227 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
                                                                            final boolean endKeyInclusive,
                                                                            final int numRows,
                                                                            @Nullable final String constant) {
+        return scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, null);
+    }
+
+    /**
+     * Runs a paging table scan from the provided starting key to the provided ending key, evaluating the provided
+     * predicate within BigTable, and returns a {@link CompletableFuture} of a list of paired Key/Value entities in
+     * the order returned from BigTable.
+     * <p>
+     * Use the last returned entity to construct a new starting key for subsequent paging requests until no values are returned.
+     *
+     * @param startKey          key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey            key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive   whether to include result from endKey
+     * @param numRows           max number of entries to return
+     * @param constant          optional field to be used to be included, should be the constant provided to KeyComponent if it exists
+     * @param predicate         optional predicate rows must match, see {@link EntityPredicate} for the supported predicates
+     * @return {@link CompletableFuture} of a list of entities in the order that they are stored in BigTable
+     * @throws IllegalArgumentException when the predicate cannot be evaluated by BigTable
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           @Nullable final String constant,
+                                                                           @Nullable final EntityPredicate<T> predicate) {
         Objects.requireNonNull(startKey);
         Objects.requireNonNull(endKey);
 
-        final Scan scan = keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant);
+        final Scan scan;
+
+        try {
+            scan = keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate);
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        return table.scanAll(scan).thenApply(resultsList -> {
+        return scan(scan);
+    }
+
+    /**
+     * Runs a paging table scan like {@link #scan(Key, boolean, Key, boolean, int, String, EntityPredicate)}, reading
+     * the rows as they were at the provided time. Only cells with a timestamp at or before that time are read, and
+     * evaluated by the predicate, so every page of a paging scan returns rows as of the same time, however the rows
+     * have been written since.
+     *
+     * @param startKey          key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey            key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive   whether to include result from endKey
+     * @param numRows           max number of entries to return
+     * @param constant          optional field to be used to be included, should be the constant provided to KeyComponent if it exists
+     * @param predicate         optional predicate rows must match, see {@link EntityPredicate} for the supported predicates
+     * @param asOf              the time at which the rows should be read
+     * @return {@link CompletableFuture} of a list of entities in the order that they are stored in BigTable
+     * @throws IllegalArgumentException when the predicate cannot be evaluated by BigTable, or the time is before the epoch
+     *         or before the time range of the predicate
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           @Nullable final String constant,
+                                                                           @Nullable final EntityPredicate<T> predicate,
+                                                                           final Instant asOf) {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+        Objects.requireNonNull(asOf);
+
+        final Scan scan;
+
+        try {
+            scan = readAsOf(keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate), asOf);
+        } catch (final IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return scan(scan);
+    }
+
+    private CompletableFuture<SortedMap<Key<T>, T>> scan(final Scan scan) {
+        final OperationTimer timer = startOperation(DaoOperation.Type.SCAN, scan.getStartRow());
+
+        timer.sent();
+
+        final CompletableFuture<List<Result>> results = table.scanAll(scan);
+
+        return timer.recording(cancelling(convert(timer, results, resultsList -> {
             final SortedMap<Key<T>, T> entities = new TreeMap<>();
             for (Result result : resultsList) {
-                entities.put(new RawKey<T>(result.getRow()), convertToEntity(result));
+                timer.read(result);
+                entities.put(parseKey(result.getRow()), convertToEntity(result));
             }
             return entities;
+        }), Collections.singletonList(results)), Map::size);
+    }
+
+    /**
+     * Runs a paging table scan like {@link #scan(Key, boolean, Key, boolean, int)}, returning only the keys of the
+     * rows. Only the key of the first cell of each row is returned by BigTable, so no values are sent or deserialized.
+     *
+     * @param startKey          key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey            key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive   whether to include result from endKey
+     * @param numRows           max number of keys to return
+     * @return {@link CompletableFuture} of the keys of the rows in the range, in the order that they are stored in BigTable
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedSet<Key<T>>> scanKeys(final K startKey,
+                                                                            final boolean startKeyInclusive,
+                                                                            final K endKey,
+                                                                            final boolean endKeyInclusive,
+                                                                            final int numRows) {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+
+        final CompletableFuture<List<Result>> results = table.scanAll(
+                rowsToKeyOnlyScan(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, numRows));
+
+        return cancelling(convert(results, resultsList -> {
+            final SortedSet<Key<T>> keys = new TreeSet<>();
+            for (final Result result : resultsList) {
+                keys.add(parseKey(result.getRow()));
+            }
+            return Collections.unmodifiableSortedSet(keys);
+        }), Collections.singletonList(results));
+    }
+
+    /**
+     * Counts the rows in the range from the provided starting key to the provided ending key. Only the key of the
+     * first cell of each row is returned by BigTable, and the keys are read one page at a time, each page starting
+     * after the last key of the previous one, so ranges of any size are counted in constant memory.
+     * <p>
+     * Once the returned future is cancelled, or times out, no further pages are read.
+     *
+     * @param startKey          key to start counting from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to count the row of startKey
+     * @param endKey            key to end counting on (does not have to have an existing record at the location)
+     * @param endKeyInclusive   whether to count the row of endKey
+     * @return {@link CompletableFuture} of the number of rows in the range
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<Long> count(final K startKey,
+                                                            final boolean startKeyInclusive,
+                                                            final K endKey,
+                                                            final boolean endKeyInclusive) {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+
+        final CompletableFuture<Long> count = new CompletableFuture<>();
+
+        countPages(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, 0, count);
+
+        return count;
+    }
+
+    private void countPages(final byte[] startRow, final boolean startRowInclusive,
+                            final byte[] stopRow, final boolean stopRowInclusive,
+                            final long counted, final CompletableFuture<Long> count) {
+        if (count.isDone()) {
+            return;
+        }
+
+        final Scan scan = rowsToKeyOnlyScan(startRow, startRowInclusive, stopRow, stopRowInclusive, COUNT_PAGE_SIZE);
+
+        table.scanAll(scan).whenComplete((results, e) -> {
+            if (e != null) {
+                count.completeExceptionally(e);
+            } else if (results.size() < COUNT_PAGE_SIZE) {
+                count.complete(counted + results.size());
+            } else {
+                final byte[] lastRow = results.get(results.size() - 1).getRow();
+
+                countPages(lastRow, false, stopRow, stopRowInclusive, counted + results.size(), count);
+            }
         });
     }
 
+    /**
+     * Scans the range as several shards concurrently on blocking scanners of the async table, passing every row to the
+     * consumer on the calling thread. This is the parallel scan of {@link BigTableEntityDao}, for the blocking
+     * {@link Dao} backed by this AsyncDao.
+     *
+     * @param splitPoints The keys at which the range is split, when the options do not define any
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @see BigTableEntityDao#parallelScan(Key, boolean, Key, boolean, EntityPredicate, ParallelScanOptions, BiConsumer)
+     */
+    <K extends Key<T>> void parallelScan(final K startKey,
+                                         final boolean startKeyInclusive,
+                                         final K endKey,
+                                         final boolean endKeyInclusive,
+                                         @Nullable final EntityPredicate<T> predicate,
+                                         final ParallelScanOptions options,
+                                         final Collection<byte[]> splitPoints,
+                                         final BiConsumer<Key<T>, T> consumer) throws IOException {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(consumer);
+
+        // Fail fast on unsupported predicates, rather than once per shard
+        shardToScan(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, predicate, options);
+
+        final List<ScanShard> shards = ScanShard.split(startKey.toBytes(), startKeyInclusive,
+                endKey.toBytes(), endKeyInclusive, options.getSplitPoints().isEmpty() ? splitPoints : options.getSplitPoints());
+
+        final ParallelScanner<T> scanner = new ParallelScanner<>(table::getScanner,
+                (startRow, startRowInclusive, stopRow, stopRowInclusive) ->
+                        shardToScan(startRow, startRowInclusive, stopRow, stopRowInclusive, predicate, options),
+                this::parseKey,
+                this::convertToEntity,
+                options);
+
+        scanner.scan(shards, consumer);
+    }
+
     /**
      * It appears to be possible to only update specific columns instead of writing the entire Entity in every pass.
      * <p>
@@ -230,10 +759,30 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
         Objects.requireNonNull(key);
         Objects.requireNonNull(entity);
 
-        final PutTuple<K, T> putTuple = entitiesToPuts(key, entity);
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, key);
+
+        return write(timer, () -> {
+            final PutTuple<K, T> putTuple;
+
+            try {
+                putTuple = entitiesToPuts(key, entity);
+            } catch (final IOException | RuntimeException e) {
+                timer.failed(e);
+                throw e;
+            }
+
+            timer.written(Collections.singletonList(putTuple.getPut()));
+            timer.sent();
 
-        return table.put(putTuple.getPut()).thenApply(result -> {
-            return putTuple.getResult();
+            final CompletableFuture<Void> put = putDispatcher != null
+                    ? putDispatcher.submit(putTuple.getPut())
+                    : table.put(putTuple.getPut());
+
+            return timer.recording(cancelling(put
+                    .whenComplete((result, e) -> getAbsentKeys().invalidate(Collections.singleton(key)))
+                    .thenApply(result -> {
+                        return putTuple.getResult();
+                    }), Collections.singletonList(put)), result -> 1);
         });
     }
 
@@ -259,16 +808,46 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> Map<K, CompletableFuture<T>> save(final Map<K, T> entities) throws IOException {
         Objects.requireNonNull(entities);
 
-        final PutResultDto<K, T> putResults = entitiesToPuts(entities);
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, entities.keySet());
+
+        if (!isSerializingWrites()) {
+            return put(entities, timer);
+        }
+
+        final CompletableFuture<Map<K, CompletableFuture<T>>> puts = write(timer,
+                () -> CompletableFuture.completedFuture(put(entities, timer)));
+
+        return entities.keySet().stream()
+                .collect(Collectors.toMap(Function.identity(), key -> puts.thenCompose(results -> results.get(key))));
+    }
+
+    private <K extends Key<T>> Map<K, CompletableFuture<T>> put(final Map<K, T> entities,
+                                                                final OperationTimer timer) throws IOException {
+        final PutResultDto<K, T> putResults;
+
+        try {
+            putResults = entitiesToPuts(entities);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
 
         final List<K> keys = putResults.getKeys();
         final List<T> results = putResults.getResults();
         final List<Put> puts = putResults.getPuts();
 
+        timer.written(puts);
+        timer.sent();
+
         final List<CompletableFuture<Void>> putFutures = table.put(puts);
+
+        timer.recordingAll(putFutures);
+
         return IntStream.range(0, keys.size())
                 .boxed()
-                .collect(Collectors.toMap(keys::get, i -> putFutures.get(i).thenApply(v -> results.get(i))));
+                .collect(Collectors.toMap(keys::get, i -> cancelling(putFutures.get(i)
+                        .whenComplete((result, e) -> getAbsentKeys().invalidate(Collections.singleton(keys.get(i))))
+                        .thenApply(v -> results.get(i)), Collections.singletonList(putFutures.get(i)))));
     }
 
     /**
@@ -293,11 +872,30 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> CompletableFuture<Map<K, T>> saveAll(final Map<K, T> entities) throws IOException {
         Objects.requireNonNull(entities);
 
-        final PutResultDto<K, T> putResults = entitiesToPuts(entities);
-        final Map<K, T> results = putResults.getKeyValueMap();
-        final List<Put> puts = putResults.getPuts();
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, entities.keySet());
+
+        return write(timer, () -> {
+            final PutResultDto<K, T> putResults;
+
+            try {
+                putResults = entitiesToPuts(entities);
+            } catch (final IOException | RuntimeException e) {
+                timer.failed(e);
+                throw e;
+            }
+
+            final Map<K, T> results = putResults.getKeyValueMap();
+            final List<Put> puts = putResults.getPuts();
 
-        return table.putAll(puts).thenApply(c -> results);
+            timer.written(puts);
+            timer.sent();
+
+            final CompletableFuture<Void> put = table.putAll(puts);
+
+            return timer.recording(cancelling(put
+                    .whenComplete((result, e) -> getAbsentKeys().invalidate(entities.keySet()))
+                    .thenApply(c -> results), Collections.singletonList(put)), Map::size);
+        });
     }
 
     /**
@@ -316,9 +914,14 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> CompletableFuture<Void> delete(final K key) {
         Objects.requireNonNull(key);
 
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, key);
+
         final Delete delete = keysToDeletes(key);
 
-        return table.delete(delete);
+        timer.sent();
+
+        return timer.recording(deleteDispatcher != null ? deleteDispatcher.submit(delete) : table.delete(delete),
+                result -> 1);
     }
 
     /**
@@ -337,9 +940,17 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> List<CompletableFuture<Void>> delete(final Set<K> keys) {
         Objects.requireNonNull(keys);
 
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, keys);
+
         final List<Delete> deletes = keysToDeletes(keys);
 
-        return table.delete(deletes);
+        timer.sent();
+
+        final List<CompletableFuture<Void>> results = table.delete(deletes);
+
+        timer.recordingAll(results);
+
+        return results;
     }
 
     /**
@@ -358,9 +969,370 @@ class BigTableEntityAsyncDao<T extends Entity> extends AbstractDao<T> implements
     public <K extends Key<T>> CompletableFuture<Void> deleteAll(final Set<K> keys) {
         Objects.requireNonNull(keys);
 
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, keys);
+
         final List<Delete> deletes = keysToDeletes(keys);
+        final int rowCount = deletes.size();
+
+        timer.sent();
+
+        return timer.recording(table.deleteAll(deletes), result -> rowCount);
+    }
+
+    /**
+     * Reads the rows like {@link #getAll(Set)}, but reports the outcome of every row rather than failing as a whole
+     * when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported with
+     * the cause of their failure.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of the keys used to retrieve the rows
+     * @return {@link CompletableFuture} of the entities of the rows which were read, with null values for rows which
+     *         do not exist, and the rows which failed
+     * @throws NullPointerException when the provided Set of keys or retry policy is null
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> tryGetAll(final Set<K> keys,
+                                                                              final RetryPolicy retryPolicy) {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(retryPolicy);
+
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keys);
+
+        final List<K> keyList = keysToRead(keys);
+        final List<Get> gets = keysToGets(keyList);
+
+        final Map<K, Get> actions = new LinkedHashMap<>();
+        IntStream.range(0, keyList.size()).forEach(i -> actions.put(keyList.get(i), gets.get(i)));
+
+        final BatchRetrier<K, T> retrier = new BatchRetrier<>(actions,
+                (key, result) -> convertToEntity(key, (Result) result, absentKeysGeneration), retryPolicy);
+
+        for (final K key : keys) {
+            if (!actions.containsKey(key)) {
+                retrier.skip(key, null);
+            }
+        }
+
+        return timer.recordingBatch(batch(retrier, retryPolicy, timer));
+    }
+
+    /**
+     * Persists the rows like {@link #saveAll(Map)}, but reports the outcome of every row rather than failing as a
+     * whole when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported
+     * with the cause of their failure.
+     *
+     * @param entities A Map containing the the keys and their corresponding values to persist
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of key used to persist the rows
+     * @return {@link CompletableFuture} of the values that were actually persisted, including any updated
+     *         timestamps, and the rows which failed
+     * @throws IOException when an error occurs while serializing the values
+     * @throws NullPointerException when the provided Map or retry policy is null, or any of its keys or values is null
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> trySaveAll(final Map<K, T> entities,
+                                                                               final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(entities);
+        Objects.requireNonNull(retryPolicy);
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, entities.keySet());
+
+        return write(timer, () -> {
+            final PutResultDto<K, T> putResults;
+
+            try {
+                putResults = entitiesToPuts(entities);
+            } catch (final IOException | RuntimeException e) {
+                timer.failed(e);
+                throw e;
+            }
+
+            final List<K> keys = putResults.getKeys();
+            final List<Put> puts = putResults.getPuts();
+            final Map<K, T> results = putResults.getKeyValueMap();
+
+            timer.written(puts);
+
+            final Map<K, Put> actions = new LinkedHashMap<>();
+            IntStream.range(0, keys.size()).forEach(i -> actions.put(keys.get(i), puts.get(i)));
+
+            final BatchRetrier<K, T> retrier = new BatchRetrier<>(actions, (key, result) -> results.get(key), retryPolicy);
+
+            // The batch itself is returned, so cancelling the returned future stops its retries
+            final CompletableFuture<BatchResult<K, T>> result = batch(retrier, retryPolicy, timer);
+            result.whenComplete((value, e) -> getAbsentKeys().invalidate(entities.keySet()));
+
+            return timer.recordingBatch(result);
+        });
+    }
+
+    /**
+     * Deletes the rows like {@link #deleteAll(Set)}, but reports the outcome of every row rather than failing as a
+     * whole when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported
+     * with the cause of their failure.
+     *
+     * @param keys The keys of the rows to delete
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of key used to delete the rows
+     * @return {@link CompletableFuture} of the keys of the rows which were deleted, and the rows which failed
+     * @throws NullPointerException when the provided Set or retry policy is null
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, Void>> tryDeleteAll(final Set<K> keys,
+                                                                                    final RetryPolicy retryPolicy) {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(retryPolicy);
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, keys);
+
+        final List<K> keyList = new ArrayList<>(keys);
+        final List<Delete> deletes = keysToDeletes(keyList);
+
+        final Map<K, Delete> actions = new LinkedHashMap<>();
+        IntStream.range(0, keyList.size()).forEach(i -> actions.put(keyList.get(i), deletes.get(i)));
+
+        return timer.recordingBatch(batch(new BatchRetrier<>(actions, (key, result) -> null, retryPolicy), retryPolicy,
+                timer));
+    }
+
+    /**
+     * Sends the pending rows as a single batch, and schedules the next batch once the previous one completed, until
+     * no rows are left to retry. Every attempt is recorded as a chunk of the operation, and the backoff as part of its
+     * requests.
+     *
+     * Once the returned future is done, such as when its caller cancels it or its timeout passes, the requests in
+     * flight and the scheduled retry are cancelled, and no further attempt is sent. A retry whose backoff would outlast
+     * the deadline of the retry policy is not attempted, leaving its rows failed.
+     */
+    private <K, V> CompletableFuture<BatchResult<K, V>> batch(final BatchRetrier<K, V> retrier,
+                                                              final RetryPolicy retryPolicy,
+                                                              final OperationTimer timer) {
+        final CompletableFuture<BatchResult<K, V>> result = new CompletableFuture<>();
+
+        attempt(retrier, retryPolicy, timer, result);
+
+        return result;
+    }
+
+    private <K, V> void attempt(final BatchRetrier<K, V> retrier,
+                                final RetryPolicy retryPolicy,
+                                final OperationTimer timer,
+                                final CompletableFuture<BatchResult<K, V>> result) {
+        if (result.isDone()) {
+            return;
+        }
+
+        final List<Row> actions = retrier.pendingActions();
+
+        if (actions.isEmpty()) {
+            result.complete(retrier.result());
+            return;
+        }
+
+        timer.chunk(retrier.attemptIndex(), actions.size());
+        timer.sent();
+
+        final List<CompletableFuture<Object>> requests = table.batch(actions);
+        cancelling(result, requests);
+
+        final List<CompletableFuture<Object>> outcomes = requests.stream()
+                .map(request -> request.handle((value, e) -> e != null ? e : value))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0])).thenApply(timer.inSpan(v -> {
+            if (result.isDone()) {
+                return null;
+            }
+
+            timer.received();
+
+            final List<Object> outcomeList = outcomes.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+
+            outcomeList.stream()
+                    .filter(Result.class::isInstance)
+                    .forEach(outcome -> timer.read((Result) outcome));
+
+            if (!retrier.complete(outcomeList)) {
+                result.complete(retrier.result());
+                return null;
+            }
+
+            final long backoffNanos = retrier.backoffNanos();
+
+            // The caller stops waiting at the deadline, so a retry sent past it is wasted load
+            if (!retryPolicy.isWithinDeadline(backoffNanos)) {
+                result.complete(retrier.result());
+                return null;
+            }
+
+            timer.sent();
+
+            final ScheduledExecutorService scheduler = retryPolicy.getScheduler() != null
+                    ? retryPolicy.getScheduler()
+                    : DefaultScheduler.get();
+
+            final ScheduledFuture<?> retry = scheduler.schedule(
+                    () -> attempt(retrier, retryPolicy, timer, result), backoffNanos, TimeUnit.NANOSECONDS);
+
+            result.whenComplete((value, e) -> retry.cancel(false));
+
+            return null;
+        })).whenComplete((v, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Whether single gets can be sent straight to the table, rather than through the coalescer, batches or hedges.
+     */
+    private boolean isReadingDirectly() {
+        return readCoalescer == null && getDispatcher == null && readHedger == null;
+    }
+
+    /**
+     * Reads the rows in a single batch, joining reads of the same rows already in flight when coalescing.
+     */
+    private List<CompletableFuture<Result>> readRows(final List<? extends Key<T>> keys) {
+        if (readCoalescer != null) {
+            return readCoalescer.read(keys, this::sendGets);
+        }
+
+        return sendGets(keys);
+    }
+
+    /**
+     * Rows which are slow to return are read again, when hedging.
+     */
+    private List<CompletableFuture<Result>> sendGets(final List<? extends Key<T>> keys) {
+        final List<Get> gets = keysToGets(keys);
+
+        if (readHedger != null) {
+            return readHedger.read(gets, this::dispatchGets);
+        }
+
+        return dispatchGets(gets);
+    }
+
+    /**
+     * Single gets are batched with those of concurrent callers, when batching.
+     */
+    private List<CompletableFuture<Result>> dispatchGets(final List<Get> gets) {
+        if (getDispatcher != null && gets.size() == 1) {
+            return Collections.singletonList(getDispatcher.submit(gets.get(0)));
+        }
+
+        return table.get(gets);
+    }
+
+    /**
+     * Cancels the table operations once the future derived from them is cancelled, so BigTable is not left doing work
+     * nobody waits for. Reads shared by coalesced callers are never cancelled on behalf of a single caller.
+     */
+    private static <R> CompletableFuture<R> cancelling(final CompletableFuture<R> result,
+                                                       final List<? extends CompletableFuture<?>> operations) {
+        result.whenComplete((value, e) -> {
+            if (e instanceof CancellationException) {
+                operations.forEach(operation -> operation.cancel(true));
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Converts the results on the conversion executor when one is configured, rather than on the thread completing the
+     * read, usually a transport thread of the connection.
+     */
+    private <R, U> CompletableFuture<U> convert(final CompletableFuture<R> results,
+                                                final Function<? super R, ? extends U> conversion) {
+        return conversionOptions != null
+                ? results.thenApplyAsync(conversion, conversionOptions.getExecutor())
+                : results.thenApply(conversion);
+    }
+
+    /**
+     * Converts the results of an operation like {@link #convert(CompletableFuture, Function)}, ending its requests
+     * once they are received, and with its span current, whichever thread the conversion runs on.
+     */
+    private <R, U> CompletableFuture<U> convert(final OperationTimer timer,
+                                                final CompletableFuture<R> results,
+                                                final Function<? super R, ? extends U> conversion) {
+        return convert(timer.receiving(results), timer.inSpan(conversion));
+    }
+
+    /**
+     * Serializes and sends the write on the conversion executor when writes are serialized off the calling thread,
+     * with the span of the operation current, and otherwise on the calling thread. Cancelling the returned future
+     * cancels the write, or prevents it from being sent while it is still queued.
+     */
+    private <R> CompletableFuture<R> write(final OperationTimer timer, final Write<R> write) throws IOException {
+        if (!isSerializingWrites()) {
+            return write.send();
+        }
+
+        final CompletableFuture<R> written = new CompletableFuture<>();
+
+        // Writes cancelled or rejected before being sent are recorded as failed
+        written.whenComplete((value, e) -> {
+            if (e != null) {
+                timer.failed(e);
+            }
+        });
+
+        try {
+            conversionOptions.getExecutor().execute(() -> {
+                if (written.isDone()) {
+                    return;
+                }
+
+                try (DaoSpan.Scope ignored = timer.activate()) {
+                    final CompletableFuture<R> sent = write.send();
+
+                    sent.whenComplete((value, e) -> {
+                        if (e != null) {
+                            written.completeExceptionally(e);
+                        } else {
+                            written.complete(value);
+                        }
+                    });
+                    written.whenComplete((value, e) -> {
+                        if (e instanceof CancellationException) {
+                            sent.cancel(true);
+                        }
+                    });
+                } catch (final IOException | RuntimeException e) {
+                    written.completeExceptionally(e);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            written.completeExceptionally(e);
+        }
+
+        return written;
+    }
+
+    private boolean isSerializingWrites() {
+        return conversionOptions != null && conversionOptions.isSerializingWrites();
+    }
+
+    @FunctionalInterface
+    private interface Write<R> {
+        CompletableFuture<R> send() throws IOException;
+    }
+
+    private T convertToEntity(final Key<T> key, final Result result, final long absentKeysGeneration) {
+        if (result.isEmpty()) {
+            getAbsentKeys().recordAbsent(key, absentKeysGeneration);
+        }
 
-        return table.deleteAll(deletes);
+        return convertToEntity(result);
     }
 
     protected T convertToEntity(final Result result) {
@@ -6,21 +6,32 @@ import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -34,11 +45,42 @@ class BigTableEntityDao<T extends Entity> extends AbstractDao<T> implements Dao<
                       final Iterable<? extends Column> columns,
                       final Supplier<T> entityFactory,
                       final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
-                      final ObjectMapper objectMapper) {
-        super(columns, entityFactory, delegateFactory, objectMapper);
+                      final Function<byte[], Key<T>> keyParser,
+                      final ObjectMapper objectMapper,
+                      final AbsentKeyCache absentKeys,
+                      final OperationRecorder operationRecorder) {
+        super(columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys, operationRecorder);
         this.table = table;
     }
 
+    BigTableEntityDao(final Table table,
+                      final Iterable<? extends Column> columns,
+                      final Supplier<T> entityFactory,
+                      final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                      final Function<byte[], Key<T>> keyParser,
+                      final ObjectMapper objectMapper,
+                      final AbsentKeyCache absentKeys) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, absentKeys,
+                OperationRecorder.disabled());
+    }
+
+    BigTableEntityDao(final Table table,
+                      final Iterable<? extends Column> columns,
+                      final Supplier<T> entityFactory,
+                      final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                      final Function<byte[], Key<T>> keyParser,
+                      final ObjectMapper objectMapper) {
+        this(table, columns, entityFactory, delegateFactory, keyParser, objectMapper, AbsentKeyCache.disabled());
+    }
+
+    BigTableEntityDao(final Table table,
+                      final Iterable<? extends Column> columns,
+                      final Supplier<T> entityFactory,
+                      final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                      final ObjectMapper objectMapper) {
+        this(table, columns, entityFactory, delegateFactory, RawKey::wrap, objectMapper);
+    }
+
     BigTableEntityDao(final Table table,
                       final Iterable<? extends Column> columns,
                       final Supplier<T> entityFactory,
@@ -94,27 +136,187 @@ class BigTableEntityDao<T extends Entity> extends AbstractDao<T> implements Dao<
     public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys) throws IOException {
         Objects.requireNonNull(keys);
 
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final List<K> keyList = keysToRead(keys);
+
+        if (keyList.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keyList);
+
+        try {
+            final List<Get> gets = keysToGets(keyList);
+
+            timer.sent();
+
+            final Result[] results = table.get(gets);
+
+            timer.received();
+
+            final Map<K, Result> resultsByKey = IntStream.range(0, gets.size()).boxed()
+                    .collect(Collectors.toMap(keyList::get, i -> results[i]));
+
+            final Map<K, T> entitiesByKey = new HashMap<>();
+
+            for (final Map.Entry<K, Result> entry : resultsByKey.entrySet()) {
+                final Result result = entry.getValue();
+
+                if (!result.isEmpty()) {
+                    timer.read(result);
+
+                    final T entity = convertToEntity(result);
+                    entitiesByKey.put(entry.getKey(), entity);
+                } else {
+                    getAbsentKeys().recordAbsent(entry.getKey(), absentKeysGeneration);
+                }
+            }
+
+            timer.completed(entitiesByKey.size());
+
+            return Collections.unmodifiableMap(entitiesByKey);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the rows as they were at the provided time, like {@link #getAll(Set)}. Only cells with a timestamp at or
+     * before that time are read, so every column holds its latest value as of that time, and rows without such cells
+     * are not returned. Repeating the read returns the same entities, however the rows have been written since.
+     *
+     * Keys recently found not to exist are still read, and rows not found are not recorded as absent, as the absent
+     * keys only describe the current rows.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param asOf The time at which the rows should be read
+     * @param <K> The type of the keys used to retrieve the rows
+     * @return A Map containing pairs of keys and their corresponding values as of the provided time
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws IllegalArgumentException when the time is before the epoch
+     * @throws NullPointerException when the provided Set of keys or time is null
+     */
+    @Override
+    public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys, final Instant asOf) throws IOException {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(asOf);
+
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
         final List<K> keyList = new ArrayList<>(keys);
 
-        final List<Get> gets = keysToGets(keys);
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keyList);
 
-        final Result[] results = table.get(gets);
+        try {
+            final List<Get> gets = readAsOf(keysToGets(keyList), asOf);
 
-        final Map<K, Result> resultsByKey = IntStream.range(0, gets.size()).boxed()
-                .collect(Collectors.toMap(keyList::get, i -> results[i]));
+            timer.sent();
 
-        final Map<K, T> entitiesByKey = new HashMap<>();
+            final Result[] results = table.get(gets);
 
-        for (final Map.Entry<K, Result> entry : resultsByKey.entrySet()) {
-            final Result result = entry.getValue();
+            timer.received();
 
-            if (!result.isEmpty()) {
-                final T entity = convertToEntity(result);
-                entitiesByKey.put(entry.getKey(), entity);
+            final Map<K, T> entitiesByKey = new HashMap<>();
+
+            for (int i = 0; i < keyList.size(); i++) {
+                if (!results[i].isEmpty()) {
+                    timer.read(results[i]);
+
+                    entitiesByKey.put(keyList.get(i), convertToEntity(results[i]));
+                }
             }
+
+            timer.completed(entitiesByKey.size());
+
+            return Collections.unmodifiableMap(entitiesByKey);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
         }
+    }
+
+    /**
+     * Reads the versions of a versioned column, rather than only its latest value. The versions are limited by the
+     * query within BigTable, and are returned most recent first.
+     *
+     * The resulting Map contains every provided key, with an empty List for rows without versions in the query.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param column The versioned column whose versions should be returned
+     * @param query The number of versions and the time range to return
+     * @param <K> The type of the keys used to retrieve the rows
+     * @param <V> The type of the values of the column
+     * @return A Map containing the keys and the versions of the column in their rows
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws IllegalArgumentException when the column is not versioned
+     * @throws NullPointerException when the provided keys, column or query is null
+     */
+    @Override
+    public <K extends Key<T>, V> Map<K, List<ColumnVersion<V>>> getColumnHistory(final Set<K> keys,
+                                                                                 final Column column,
+                                                                                 final VersionQuery query) throws IOException {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(column);
+        Objects.requireNonNull(query);
 
-        return Collections.unmodifiableMap(entitiesByKey);
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final List<K> keyList = new ArrayList<>(keys);
+
+        final Result[] results = table.get(keysToHistoryGets(keyList, column, query));
+
+        final Map<K, List<ColumnVersion<V>>> history = new HashMap<>();
+
+        for (int i = 0; i < keyList.size(); i++) {
+            history.put(keyList.get(i), convertToHistory(results[i], column));
+        }
+
+        return Collections.unmodifiableMap(history);
+    }
+
+    /**
+     * Checks which rows exist without reading their values. Only the key of the first cell of each row is returned by
+     * BigTable, so no values are sent or deserialized.
+     *
+     * A row exists when any of the configured columns holds a cell, just as {@link #getAll(Set)} would return it.
+     *
+     * @param keys The keys of the rows to check
+     * @param <K> The type of the keys used to check the rows
+     * @return The keys of the rows which exist
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws NullPointerException when the provided Set of keys is null
+     */
+    @Override
+    public <K extends Key<T>> Set<K> exists(final Set<K> keys) throws IOException {
+        Objects.requireNonNull(keys);
+
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final List<K> keyList = keysToRead(keys);
+
+        if (keyList.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        final Result[] results = table.get(keysToKeyOnlyGets(keyList));
+
+        final Set<K> existingKeys = new HashSet<>();
+
+        for (int i = 0; i < keyList.size(); i++) {
+            if (!results[i].isEmpty()) {
+                existingKeys.add(keyList.get(i));
+            } else {
+                getAbsentKeys().recordAbsent(keyList.get(i), absentKeysGeneration);
+            }
+        }
+
+        return Collections.unmodifiableSet(existingKeys);
     }
 
     /**
@@ -164,23 +366,234 @@ class BigTableEntityDao<T extends Entity> extends AbstractDao<T> implements Dao<
                                                         final boolean endKeyInclusive,
                                                         final int numRows,
                                                         @Nullable final String constant) throws IOException {
+        return scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, null);
+    }
+
+    /**
+     * Runs a paging table scan from the provided starting key to the provided ending key, evaluating the provided
+     * predicate within BigTable, and returns a list of paired Key/Value entities in the order returned from BigTable.
+     *
+     * Use the last returned entity to construct a new starting key for subsequent paging requests until no values are returned.
+     *
+     * @param startKey key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive whether to include result from endKey
+     * @param numRows max number of entries to return
+     * @param constant optional field to be used to be included, should be the constant provided to KeyComponent if it exists
+     * @param predicate optional predicate rows must match, see {@link EntityPredicate} for the supported predicates
+     * @return A list of entities in the order that they are stored in BigTable
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws IllegalArgumentException when the predicate cannot be evaluated by BigTable
+     */
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        @Nullable final String constant,
+                                                        @Nullable final EntityPredicate<T> predicate) throws IOException {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+
+        return scan(keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate));
+    }
+
+    /**
+     * Runs a paging table scan like {@link #scan(Key, boolean, Key, boolean, int, String, EntityPredicate)}, reading
+     * the rows as they were at the provided time. Only cells with a timestamp at or before that time are read, and
+     * evaluated by the predicate, so every page of a paging scan returns rows as of the same time, however the rows
+     * have been written since.
+     *
+     * @param startKey key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive whether to include result from endKey
+     * @param numRows max number of entries to return
+     * @param constant optional field to be used to be included, should be the constant provided to KeyComponent if it exists
+     * @param predicate optional predicate rows must match, see {@link EntityPredicate} for the supported predicates
+     * @param asOf the time at which the rows should be read
+     * @return A list of entities in the order that they are stored in BigTable
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws IllegalArgumentException when the predicate cannot be evaluated by BigTable, or the time is before the epoch
+     *         or before the time range of the predicate
+     */
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        @Nullable final String constant,
+                                                        @Nullable final EntityPredicate<T> predicate,
+                                                        final Instant asOf) throws IOException {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+        Objects.requireNonNull(asOf);
+
+        return scan(readAsOf(keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate), asOf));
+    }
+
+    private SortedMap<Key<T>, T> scan(final Scan scan) throws IOException {
+        final OperationTimer timer = startOperation(DaoOperation.Type.SCAN, scan.getStartRow());
+
+        try {
+            timer.sent();
+
+            final ResultScanner scanner = table.getScanner(scan);
+            final SortedMap<Key<T>, T> results = new TreeMap<>();
+
+            Result result;
+            while ((result = scanner.next()) != null) {
+                timer.received();
+
+                if (!result.isEmpty()) {
+                    timer.read(result);
+
+                    final T entity = convertToEntity(result);
+                    results.put(parseKey(result.getRow()), entity);
+                }
+
+                timer.sent();
+            }
+
+            timer.completed(results.size());
+
+            return Collections.unmodifiableSortedMap(results);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a paging table scan like {@link #scan(Key, boolean, Key, boolean, int)}, returning only the keys of the
+     * rows. Only the key of the first cell of each row is returned by BigTable, so no values are sent or deserialized.
+     *
+     * @param startKey key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive whether to include result from endKey
+     * @param numRows max number of keys to return
+     * @return The keys of the rows in the range, in the order that they are stored in BigTable
+     * @throws IOException when an error occurs while communicating with BigTable
+     */
+    @Override
+    public <K extends Key<T>> SortedSet<Key<T>> scanKeys(final K startKey,
+                                                         final boolean startKeyInclusive,
+                                                         final K endKey,
+                                                         final boolean endKeyInclusive,
+                                                         final int numRows) throws IOException {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+
+        final Scan scan = rowsToKeyOnlyScan(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, numRows);
+
+        final SortedSet<Key<T>> keys = new TreeSet<>();
+
+        try (ResultScanner scanner = table.getScanner(scan)) {
+            Result result;
+            while ((result = scanner.next()) != null) {
+                if (!result.isEmpty()) {
+                    keys.add(parseKey(result.getRow()));
+                }
+            }
+        }
+
+        return Collections.unmodifiableSortedSet(keys);
+    }
+
+    /**
+     * Counts the rows in the range from the provided starting key to the provided ending key. Only the key of the
+     * first cell of each row is returned by BigTable, and rows are counted as they are streamed rather than held, so
+     * ranges of any size are counted in constant memory.
+     *
+     * @param startKey key to start counting from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to count the row of startKey
+     * @param endKey key to end counting on (does not have to have an existing record at the location)
+     * @param endKeyInclusive whether to count the row of endKey
+     * @return The number of rows in the range
+     * @throws IOException when an error occurs while communicating with BigTable
+     */
+    @Override
+    public <K extends Key<T>> long count(final K startKey,
+                                         final boolean startKeyInclusive,
+                                         final K endKey,
+                                         final boolean endKeyInclusive) throws IOException {
         Objects.requireNonNull(startKey);
         Objects.requireNonNull(endKey);
 
-        final Scan scan = keysToScan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant);
+        final Scan scan = rowsToKeyOnlyScan(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, null);
 
-        final ResultScanner scanner = table.getScanner(scan);
-        final SortedMap<Key<T>, T> results = new TreeMap<>();
+        long count = 0;
 
-        Result result;
-        while ((result = scanner.next()) != null) {
-            if (!result.isEmpty()) {
-                final T entity = convertToEntity(result);
-                results.put(new RawKey<T>(result.getRow()), entity);
+        try (ResultScanner scanner = table.getScanner(scan)) {
+            Result result;
+            while ((result = scanner.next()) != null) {
+                if (!result.isEmpty()) {
+                    count++;
+                }
             }
         }
 
-        return Collections.unmodifiableSortedMap(results);
+        return count;
+    }
+
+    /**
+     * Scans the range from the provided starting key to the provided ending key as several shards concurrently,
+     * passing every row, and its entity, to the provided consumer on the calling thread.
+     *
+     * Unless split keys are configured, the range is split at the start keys of the table's regions (tablets), so
+     * every shard is served by a single tablet. Rows are delivered in key order only when the options are ordered.
+     *
+     * A shard which fails is resumed after the last row it returned, up to the configured number of retries. If a
+     * shard still fails, or the consumer throws, the remaining shards are cancelled and the error is rethrown.
+     *
+     * @param startKey key to start scanning from (does not have to have an existing record at the location)
+     * @param startKeyInclusive whether to include result from startKey
+     * @param endKey key to end scanning on (does not have to have an existing record at the location)
+     * @param endKeyInclusive whether to include result from endKey
+     * @param predicate optional predicate rows must match, see {@link EntityPredicate} for the supported predicates
+     * @param options the parallelism, ordering, and retry behavior of the scan
+     * @param consumer receives every scanned row
+     * @param <K> The type of keys used to define the range
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws java.io.InterruptedIOException when the calling thread is interrupted
+     * @throws org.apache.hadoop.hbase.exceptions.TimeoutIOException when the scan did not complete within the timeout of the options
+     * @throws IllegalArgumentException when the predicate cannot be evaluated by BigTable
+     */
+    @Override
+    public <K extends Key<T>> void parallelScan(final K startKey,
+                                                final boolean startKeyInclusive,
+                                                final K endKey,
+                                                final boolean endKeyInclusive,
+                                                @Nullable final EntityPredicate<T> predicate,
+                                                final ParallelScanOptions options,
+                                                final BiConsumer<Key<T>, T> consumer) throws IOException {
+        Objects.requireNonNull(startKey);
+        Objects.requireNonNull(endKey);
+        Objects.requireNonNull(options);
+        Objects.requireNonNull(consumer);
+
+        // Fail fast on unsupported predicates, rather than once per shard
+        shardToScan(startKey.toBytes(), startKeyInclusive, endKey.toBytes(), endKeyInclusive, predicate, options);
+
+        final Collection<byte[]> splitPoints = options.getSplitPoints().isEmpty()
+                ? Arrays.asList(table.getRegionLocator().getStartKeys())
+                : options.getSplitPoints();
+
+        final List<ScanShard> shards = ScanShard.split(startKey.toBytes(), startKeyInclusive,
+                endKey.toBytes(), endKeyInclusive, splitPoints);
+
+        final ParallelScanner<T> scanner = new ParallelScanner<>(table::getScanner,
+                (startRow, startRowInclusive, stopRow, stopRowInclusive) ->
+                        shardToScan(startRow, startRowInclusive, stopRow, stopRowInclusive, predicate, options),
+                this::parseKey,
+                this::convertToEntity,
+                options);
+
+        scanner.scan(shards, consumer);
     }
 
     /**
@@ -230,13 +643,30 @@ class BigTableEntityDao<T extends Entity> extends AbstractDao<T> implements Dao<
     public <K extends Key<T>> Map<K, T> saveAll(final Map<K, T> entities) throws IOException {
         Objects.requireNonNull(entities);
 
-        final PutResultDto<K, T> putResults = entitiesToPuts(entities);
-        final Map<K, T> results = putResults.getKeyValueMap();
-        final List<Put> puts = putResults.getPuts();
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, entities.keySet());
+
+        try {
+            final PutResultDto<K, T> putResults = entitiesToPuts(entities);
+            final Map<K, T> results = putResults.getKeyValueMap();
+            final List<Put> puts = putResults.getPuts();
 
-        table.put(puts);
+            timer.written(puts);
+            timer.sent();
+
+            try {
+                table.put(puts);
+            } finally {
+                // Also when failed, as some of the rows may have been written
+                getAbsentKeys().invalidate(entities.keySet());
+            }
 
-        return Collections.unmodifiableMap(results);
+            timer.completed(puts.size());
+
+            return Collections.unmodifiableMap(results);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
     }
 
     /**
@@ -275,8 +705,213 @@ class BigTableEntityDao<T extends Entity> extends AbstractDao<T> implements Dao<
     public <K extends Key<T>> void deleteAll(final Set<K> keys) throws IOException {
         Objects.requireNonNull(keys);
 
-        final List<Delete> deletes = keysToDeletes(keys);
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, keys);
+
+        try {
+            final List<Delete> deletes = keysToDeletes(keys);
+            final int rowCount = deletes.size();
+
+            timer.sent();
+
+            table.delete(deletes);
+
+            timer.completed(rowCount);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the rows like {@link #getAll(Set)}, but reports the outcome of every row rather than failing as a whole
+     * when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported with
+     * the cause of their failure.
+     *
+     * @param keys The keys of the rows to retrieve
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of the keys used to retrieve the rows
+     * @return The entities of the rows which were read, with null values for rows which do not exist, and the rows which failed
+     * @throws java.io.InterruptedIOException when the calling thread is interrupted
+     * @throws IOException when an error occurs while communicating with BigTable
+     * @throws NullPointerException when the provided Set of keys or retry policy is null
+     */
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> tryGetAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(retryPolicy);
+
+        final long absentKeysGeneration = getAbsentKeys().generation();
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.GET, keys);
+
+        final List<K> keyList = keysToRead(keys);
+        final List<Get> gets = keysToGets(keyList);
+
+        final Map<K, Get> actions = new LinkedHashMap<>();
+        IntStream.range(0, keyList.size()).forEach(i -> actions.put(keyList.get(i), gets.get(i)));
+
+        final BatchRetrier<K, T> retrier = new BatchRetrier<>(actions,
+                (key, result) -> convertToEntity(key, (Result) result, absentKeysGeneration), retryPolicy);
+
+        for (final K key : keys) {
+            if (!actions.containsKey(key)) {
+                retrier.skip(key, null);
+            }
+        }
+
+        return batch(retrier, timer);
+    }
+
+    /**
+     * Persists the rows like {@link #saveAll(Map)}, but reports the outcome of every row rather than failing as a
+     * whole when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported
+     * with the cause of their failure.
+     *
+     * @param entities A Map containing the the keys and their corresponding values to persist
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of key used to persist the rows
+     * @return The values that were actually persisted, including any updated timestamps, and the rows which failed
+     * @throws java.io.InterruptedIOException when the calling thread is interrupted
+     * @throws IOException when an error occurs while serializing the values
+     * @throws NullPointerException when the provided Map or retry policy is null, or any of its keys or values is null
+     */
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> trySaveAll(final Map<K, T> entities, final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(entities);
+        Objects.requireNonNull(retryPolicy);
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.SAVE, entities.keySet());
+
+        final PutResultDto<K, T> putResults;
+
+        try {
+            putResults = entitiesToPuts(entities);
+        } catch (final IOException | RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
+
+        final List<K> keys = putResults.getKeys();
+        final List<Put> puts = putResults.getPuts();
+        final Map<K, T> results = putResults.getKeyValueMap();
+
+        timer.written(puts);
+
+        final Map<K, Put> actions = new LinkedHashMap<>();
+        IntStream.range(0, keys.size()).forEach(i -> actions.put(keys.get(i), puts.get(i)));
+
+        try {
+            return batch(new BatchRetrier<>(actions, (key, result) -> results.get(key), retryPolicy), timer);
+        } finally {
+            // Also for failed rows, as they may have been written
+            getAbsentKeys().invalidate(entities.keySet());
+        }
+    }
+
+    /**
+     * Deletes the rows like {@link #deleteAll(Set)}, but reports the outcome of every row rather than failing as a
+     * whole when some rows fail. Failed rows are retried according to the retry policy, and are otherwise reported
+     * with the cause of their failure.
+     *
+     * @param keys The keys of the rows to delete
+     * @param retryPolicy The retries of the rows which failed, such as {@link RetryPolicy#noRetries()}
+     * @param <K> The type of key used to delete the rows
+     * @return The keys of the rows which were deleted, and the rows which failed
+     * @throws java.io.InterruptedIOException when the calling thread is interrupted
+     * @throws NullPointerException when the provided Set or retry policy is null
+     */
+    @Override
+    public <K extends Key<T>> BatchResult<K, Void> tryDeleteAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(retryPolicy);
+
+        final OperationTimer timer = startOperation(DaoOperation.Type.DELETE, keys);
+
+        final List<K> keyList = new ArrayList<>(keys);
+        final List<Delete> deletes = keysToDeletes(keyList);
+
+        final Map<K, Delete> actions = new LinkedHashMap<>();
+        IntStream.range(0, keyList.size()).forEach(i -> actions.put(keyList.get(i), deletes.get(i)));
+
+        return batch(new BatchRetrier<>(actions, (key, result) -> null, retryPolicy), timer);
+    }
+
+    /**
+     * Sends the pending rows as a single batch until none are left to retry, waiting for the backoff in between.
+     *
+     * {@link Table#batch(List, Object[])} fills in the result of every row even when it throws, so only the rows
+     * without a result are failed with the exception thrown. Every attempt is recorded as a chunk of the operation, and
+     * the backoff as part of its requests.
+     */
+    private <K, V> BatchResult<K, V> batch(final BatchRetrier<K, V> retrier,
+                                           final OperationTimer timer) throws IOException {
+        try {
+            List<Row> actions;
+
+            while (!(actions = retrier.pendingActions()).isEmpty()) {
+                final Object[] results = new Object[actions.size()];
+
+                IOException batchFailure = null;
+
+                timer.chunk(retrier.attemptIndex(), actions.size());
+                timer.sent();
+
+                try {
+                    table.batch(actions, results);
+                } catch (final IOException e) {
+                    batchFailure = e;
+                }
+
+                timer.received();
+
+                final List<Object> outcomes = new ArrayList<>(results.length);
+
+                for (final Object result : results) {
+                    if (result instanceof Result) {
+                        timer.read((Result) result);
+                    }
+
+                    if (result != null) {
+                        outcomes.add(result);
+                    } else {
+                        outcomes.add(batchFailure != null ? batchFailure : new IOException("No result was returned for the row"));
+                    }
+                }
+
+                if (!retrier.complete(outcomes)) {
+                    break;
+                }
+
+                timer.sent();
+
+                TimeUnit.NANOSECONDS.sleep(retrier.backoffNanos());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            final InterruptedIOException exception = new InterruptedIOException("Interrupted while writing or reading a batch");
+            exception.initCause(e);
+
+            timer.failed(exception);
+            throw exception;
+        } catch (final RuntimeException e) {
+            timer.failed(e);
+            throw e;
+        }
+
+        final BatchResult<K, V> result = retrier.result();
+
+        timer.completed(result);
+
+        return result;
+    }
+
+    private T convertToEntity(final Key<T> key, final Result result, final long absentKeysGeneration) throws IOException {
+        if (result.isEmpty()) {
+            getAbsentKeys().recordAbsent(key, absentKeysGeneration);
+            return null;
+        }
 
-        table.delete(deletes);
+        return convertToEntity(result);
     }
 }
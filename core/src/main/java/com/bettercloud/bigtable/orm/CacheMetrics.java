@@ -0,0 +1,87 @@
+package com.bettercloud.bigtable.orm;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * A point in time snapshot of the statistics of an entity cache, counted since the cache was created.
+ */
+public final class CacheMetrics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadFailureCount;
+    private final long estimatedSize;
+
+    private CacheMetrics(final long hitCount,
+                         final long missCount,
+                         final long evictionCount,
+                         final long loadFailureCount,
+                         final long estimatedSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadFailureCount = loadFailureCount;
+        this.estimatedSize = estimatedSize;
+    }
+
+    static CacheMetrics of(final CacheStats stats, final long estimatedSize) {
+        return new CacheMetrics(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.loadFailureCount(),
+                estimatedSize);
+    }
+
+    /**
+     * @return The number of keys served from the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of keys which had to be read from the table
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The number of entities evicted because the cache was full, excluding expired, saved or deleted ones
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The number of reads from the table which failed
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return The approximate number of entities currently cached
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * @return The ratio of keys served from the cache, or 1.0 when no key was requested yet
+     */
+    public double getHitRate() {
+        final long requestCount = hitCount + missCount;
+
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheMetrics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", loadFailureCount=" + loadFailureCount +
+                ", estimatedSize=" + estimatedSize +
+                '}';
+    }
+}
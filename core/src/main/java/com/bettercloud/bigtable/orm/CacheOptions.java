@@ -0,0 +1,184 @@
+package com.bettercloud.bigtable.orm;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Configures the in-process entity cache placed in front of a {@link Dao} or {@link AsyncDao} by
+ * {@link DaoFactory.OptionsBuilder#setCacheOptions(CacheOptions)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setCacheOptions(CacheOptions)}.
+ *
+ * The cache evicts using Window TinyLFU, which keeps frequently read entities cached even while scans of rarely
+ * read entities pass through it.
+ */
+public final class CacheOptions {
+
+    private final long maximumSize;
+    private final long maximumWeightInBytes;
+    private final Duration expireAfterWrite;
+    private final Duration refreshAfterWrite;
+    private final Executor executor;
+
+    private CacheOptions(final Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.maximumWeightInBytes = builder.maximumWeightInBytes;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.refreshAfterWrite = builder.refreshAfterWrite;
+        this.executor = builder.executor;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Entries are weighed by their row key and serialized column values, when bounded by weight.
+     */
+    @SuppressWarnings("unchecked") // Only the weigher narrows the types of the keys and values
+    <T extends Entity> Caffeine<Key<T>, EntitySnapshotCodec.Snapshot> newCacheBuilder() {
+        final Caffeine<Object, Object> caffeine = Caffeine.newBuilder().recordStats();
+
+        if (executor != null) {
+            caffeine.executor(executor);
+        }
+
+        if (expireAfterWrite != null) {
+            caffeine.expireAfterWrite(expireAfterWrite);
+        }
+
+        if (refreshAfterWrite != null) {
+            caffeine.refreshAfterWrite(refreshAfterWrite);
+        }
+
+        if (maximumWeightInBytes > 0) {
+            return caffeine.maximumWeight(maximumWeightInBytes)
+                    .weigher((final Key<T> key, final EntitySnapshotCodec.Snapshot snapshot) ->
+                            key.toBytes().length + snapshot.getWeight());
+        }
+
+        return (Caffeine<Key<T>, EntitySnapshotCodec.Snapshot>) (Caffeine<?, ?>) caffeine.maximumSize(maximumSize);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CacheOptions that = (CacheOptions) o;
+        return maximumSize == that.maximumSize
+                && maximumWeightInBytes == that.maximumWeightInBytes
+                && Objects.equals(expireAfterWrite, that.expireAfterWrite)
+                && Objects.equals(refreshAfterWrite, that.refreshAfterWrite)
+                && Objects.equals(executor, that.executor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maximumSize, maximumWeightInBytes, expireAfterWrite, refreshAfterWrite, executor);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private long maximumSize = 10000;
+        private long maximumWeightInBytes = 0;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        private Executor executor;
+
+        private Builder() {
+            // Only accessible via CacheOptions.builder()
+        }
+
+        /**
+         * Bounds the cache by its number of entities, defaulting to 10000. Replaces any weight bound.
+         *
+         * @param maximumSize The maximum number of cached entities
+         * @return This builder
+         */
+        public Builder setMaximumSize(final long maximumSize) {
+            if (maximumSize < 0) {
+                throw new IllegalArgumentException("Maximum size must not be negative");
+            }
+
+            this.maximumSize = maximumSize;
+            this.maximumWeightInBytes = 0;
+            return this;
+        }
+
+        /**
+         * Bounds the cache by the estimated size of its entries, being their row keys and serialized column values.
+         * Replaces the bound on the number of entities.
+         *
+         * @param maximumWeightInBytes The maximum estimated size of the cached entities
+         * @return This builder
+         */
+        public Builder setMaximumWeightInBytes(final long maximumWeightInBytes) {
+            if (maximumWeightInBytes < 1) {
+                throw new IllegalArgumentException("Maximum weight must be positive");
+            }
+
+            this.maximumWeightInBytes = maximumWeightInBytes;
+            return this;
+        }
+
+        /**
+         * When undefined, entities are only removed from the cache when evicted, saved or deleted.
+         *
+         * @param expireAfterWrite The time after which a cached entity is no longer served
+         * @return This builder
+         */
+        public Builder setExpireAfterWrite(final Duration expireAfterWrite) {
+            this.expireAfterWrite = requirePositive(expireAfterWrite, "Expire after write");
+            return this;
+        }
+
+        /**
+         * A cached entity read after this time is still served, while it is reloaded in the background. Should be
+         * shorter than the expiry, so that entities which are read often never expire.
+         *
+         * @param refreshAfterWrite The time after which a cached entity is reloaded when read
+         * @return This builder
+         */
+        public Builder setRefreshAfterWrite(final Duration refreshAfterWrite) {
+            this.refreshAfterWrite = requirePositive(refreshAfterWrite, "Refresh after write");
+            return this;
+        }
+
+        /**
+         * When undefined, the common {@link java.util.concurrent.ForkJoinPool} is used.
+         *
+         * @param executor The executor on which refreshes and removals happen
+         * @return This builder
+         */
+        public Builder setExecutor(final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public CacheOptions build() {
+            if (expireAfterWrite != null && refreshAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) >= 0) {
+                throw new IllegalStateException("Refresh after write must be shorter than expire after write");
+            }
+
+            return new CacheOptions(this);
+        }
+
+        private static Duration requirePositive(final Duration duration, final String name) {
+            Objects.requireNonNull(duration);
+
+            if (duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+
+            return duration;
+        }
+    }
+}
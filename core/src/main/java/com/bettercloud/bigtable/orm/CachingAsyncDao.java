@@ -0,0 +1,15 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * An {@link AsyncDao} serving gets from an in-process cache, reading only the missing keys from the table, in a single
+ * batch. Entities saved or deleted through this AsyncDao update the cache; writes by other processes are only seen
+ * once the cached entities expire or are refreshed.
+ *
+ * Scans always read the table, and do not populate the cache.
+ */
+public interface CachingAsyncDao<T extends Entity> extends AsyncDao<T> {
+
+    CacheMetrics getCacheMetrics();
+
+    void invalidateAll();
+}
@@ -0,0 +1,15 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * A {@link Dao} serving {@link Dao#getAll(java.util.Set)} from an in-process cache, reading only the missing keys from
+ * the table, in a single batch. Entities saved or deleted through this Dao update the cache; writes by other processes
+ * are only seen once the cached entities expire or are refreshed.
+ *
+ * Scans always read the table, and do not populate the cache.
+ */
+public interface CachingDao<T extends Entity> extends Dao<T> {
+
+    CacheMetrics getCacheMetrics();
+
+    void invalidateAll();
+}
@@ -0,0 +1,386 @@
+package com.bettercloud.bigtable.orm;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches the entities read by an {@link AsyncDao} as {@link EntitySnapshotCodec.Snapshot}s, keyed by their row keys.
+ */
+final class CachingEntityAsyncDao<T extends Entity> implements CachingAsyncDao<T> {
+
+    private final AsyncDao<T> dao;
+    private final EntitySnapshotCodec<T> codec;
+    private final AsyncLoadingCache<Key<T>, EntitySnapshotCodec.Snapshot> cache;
+
+    CachingEntityAsyncDao(final AsyncDao<T> dao, final EntitySnapshotCodec<T> codec, final CacheOptions options) {
+        this.dao = dao;
+        this.codec = codec;
+        this.cache = options.<T>newCacheBuilder().buildAsync(new AsyncCacheLoader<Key<T>, EntitySnapshotCodec.Snapshot>() {
+            @Override
+            public CompletableFuture<EntitySnapshotCodec.Snapshot> asyncLoad(final Key<T> key, final Executor executor) {
+                return asyncLoadAll(Collections.singleton(key), executor).thenApply(snapshots -> snapshots.get(key));
+            }
+
+            @Override
+            public CompletableFuture<Map<Key<T>, EntitySnapshotCodec.Snapshot>> asyncLoadAll(final Iterable<? extends Key<T>> keys,
+                                                                                                final Executor executor) {
+                final Set<Key<T>> missingKeys = new LinkedHashSet<>();
+                keys.forEach(missingKeys::add);
+
+                return dao.getAll(missingKeys).thenApply(entitiesByKey -> {
+                    final Map<Key<T>, EntitySnapshotCodec.Snapshot> snapshots = new HashMap<>();
+
+                    for (final Map.Entry<Key<T>, T> entry : entitiesByKey.entrySet()) {
+                        snapshots.put(entry.getKey(), encode(entry.getValue()));
+                    }
+
+                    return snapshots;
+                });
+            }
+        });
+    }
+
+    @Override
+    public CacheMetrics getCacheMetrics() {
+        return CacheMetrics.of(cache.synchronous().stats(), cache.synchronous().estimatedSize());
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<T> get(final K key) {
+        Objects.requireNonNull(key);
+
+        return cache.get(cacheKey(key)).thenApply(this::decode);
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, CompletableFuture<T>> get(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        final CompletableFuture<Map<K, T>> entities = getAll(keys);
+
+        final Map<K, CompletableFuture<T>> entriesByKey = new HashMap<>();
+
+        for (final K key : keys) {
+            entriesByKey.put(key, entities.thenApply(entitiesByKey -> entitiesByKey.get(key)));
+        }
+
+        return Collections.unmodifiableMap(entriesByKey);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        final Map<Key<T>, K> keysByCacheKey = new HashMap<>();
+
+        for (final K key : keys) {
+            keysByCacheKey.put(cacheKey(key), key);
+        }
+
+        return cache.getAll(keysByCacheKey.keySet()).thenApply(snapshots -> {
+            final Map<K, T> entitiesByKey = new HashMap<>();
+
+            for (final Map.Entry<Key<T>, EntitySnapshotCodec.Snapshot> entry : snapshots.entrySet()) {
+                entitiesByKey.put(keysByCacheKey.get(entry.getKey()), codec.decode(entry.getValue()));
+            }
+
+            return Collections.unmodifiableMap(entitiesByKey);
+        });
+    }
+
+    /**
+     * Rows as of a time are not cached, as the cache only holds the latest value of every column.
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys, final Instant asOf) {
+        return dao.getAll(keys, asOf);
+    }
+
+    /**
+     * Versions are not cached, as the cache only holds the latest value of every column.
+     */
+    @Override
+    public <K extends Key<T>, V> CompletableFuture<Map<K, List<ColumnVersion<V>>>> getColumnHistory(final Set<K> keys,
+                                                                                                    final Column column,
+                                                                                                    final VersionQuery query) {
+        return dao.getColumnHistory(keys, column, query);
+    }
+
+    /**
+     * Cached rows are known to exist, so only the other rows are checked, and are not cached as their values are not
+     * read. Rows still being loaded into the cache are checked too.
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<Set<K>> exists(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        final Set<K> cachedKeys = new HashSet<>();
+        final Set<K> uncachedKeys = new HashSet<>();
+
+        for (final K key : keys) {
+            final CompletableFuture<EntitySnapshotCodec.Snapshot> snapshot = cache.asMap().get(cacheKey(key));
+
+            if (snapshot != null && snapshot.isDone() && !snapshot.isCompletedExceptionally() && snapshot.join() != null) {
+                cachedKeys.add(key);
+            } else {
+                uncachedKeys.add(key);
+            }
+        }
+
+        if (uncachedKeys.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.unmodifiableSet(cachedKeys));
+        }
+
+        return dao.exists(uncachedKeys).thenApply(existingKeys -> {
+            final Set<K> allExistingKeys = new HashSet<>(cachedKeys);
+            allExistingKeys.addAll(existingKeys);
+            return Collections.unmodifiableSet(allExistingKeys);
+        });
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows) {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant) {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant,
+                                                                           final EntityPredicate<T> predicate) {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant,
+                                                                           final EntityPredicate<T> predicate,
+                                                                           final Instant asOf) {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate, asOf);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedSet<Key<T>>> scanKeys(final K startKey,
+                                                                            final boolean startKeyInclusive,
+                                                                            final K endKey,
+                                                                            final boolean endKeyInclusive,
+                                                                            final int numRows) {
+        return dao.scanKeys(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Long> count(final K startKey,
+                                                            final boolean startKeyInclusive,
+                                                            final K endKey,
+                                                            final boolean endKeyInclusive) {
+        return dao.count(startKey, startKeyInclusive, endKey, endKeyInclusive);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<T> save(final K key, final T entity) throws IOException {
+        Objects.requireNonNull(key);
+
+        return dao.save(key, entity).whenComplete((result, e) -> cacheSaved(key, result));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, CompletableFuture<T>> save(final Map<K, T> entities) throws IOException {
+        Objects.requireNonNull(entities);
+
+        final Map<K, CompletableFuture<T>> entriesByKey = new HashMap<>();
+
+        for (final Map.Entry<K, CompletableFuture<T>> entry : dao.save(entities).entrySet()) {
+            final K key = entry.getKey();
+
+            entriesByKey.put(key, entry.getValue().whenComplete((result, e) -> cacheSaved(key, result)));
+        }
+
+        return Collections.unmodifiableMap(entriesByKey);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> saveAll(final Map<K, T> entities) throws IOException {
+        Objects.requireNonNull(entities);
+
+        return dao.saveAll(entities).whenComplete((results, e) -> {
+            if (results != null) {
+                results.forEach(this::cacheSaved);
+            } else {
+                // Some rows may have been written
+                entities.keySet().forEach(this::invalidate);
+            }
+        });
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Void> delete(final K key) {
+        Objects.requireNonNull(key);
+
+        return dao.delete(key).whenComplete((result, e) -> invalidate(key));
+    }
+
+    @Override
+    public <K extends Key<T>> List<CompletableFuture<Void>> delete(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        // The futures are in the iteration order of the keys
+        final Iterator<K> keyIterator = keys.iterator();
+
+        final List<CompletableFuture<Void>> results = new ArrayList<>();
+
+        for (final CompletableFuture<Void> result : dao.delete(keys)) {
+            final K key = keyIterator.next();
+
+            results.add(result.whenComplete((r, e) -> invalidate(key)));
+        }
+
+        return results;
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Void> deleteAll(final Set<K> keys) {
+        Objects.requireNonNull(keys);
+
+        return dao.deleteAll(keys).whenComplete((result, e) -> keys.forEach(this::invalidate));
+    }
+
+    /**
+     * Always reads BigTable, as the outcome of every row is reported, and caches the entities found.
+     */
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> tryGetAll(final Set<K> keys,
+                                                                              final RetryPolicy retryPolicy) {
+        final CompletableFuture<BatchResult<K, T>> results = dao.tryGetAll(keys, retryPolicy);
+
+        return cancelling(results.whenComplete((result, e) -> {
+            if (result != null) {
+                result.getSuccesses().forEach((key, entity) -> {
+                    if (entity != null) {
+                        cache.put(cacheKey(key), CompletableFuture.completedFuture(encode(entity)));
+                    }
+                });
+            }
+        }), results);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> trySaveAll(final Map<K, T> entities,
+                                                                               final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(entities);
+
+        final CompletableFuture<BatchResult<K, T>> results = dao.trySaveAll(entities, retryPolicy);
+
+        return cancelling(results.whenComplete((result, e) -> {
+            if (result != null) {
+                result.getSuccesses().forEach(this::cacheSaved);
+                result.getFailures().keySet().forEach(this::invalidate);
+            } else {
+                // Some rows may have been written
+                entities.keySet().forEach(this::invalidate);
+            }
+        }), results);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, Void>> tryDeleteAll(final Set<K> keys,
+                                                                                    final RetryPolicy retryPolicy) {
+        Objects.requireNonNull(keys);
+
+        final CompletableFuture<BatchResult<K, Void>> results = dao.tryDeleteAll(keys, retryPolicy);
+
+        return cancelling(results.whenComplete((result, e) -> keys.forEach(this::invalidate)), results);
+    }
+
+    private void cacheSaved(final Key<T> key, final T entity) {
+        if (entity == null) {
+            // The save failed, so the row may or may not have been written
+            invalidate(key);
+            return;
+        }
+
+        cache.put(cacheKey(key), CompletableFuture.completedFuture(encode(entity)));
+    }
+
+    private void invalidate(final Key<T> key) {
+        cache.synchronous().invalidate(cacheKey(key));
+    }
+
+    private EntitySnapshotCodec.Snapshot encode(final T entity) {
+        try {
+            return codec.encode(entity);
+        } catch (final IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private T decode(final EntitySnapshotCodec.Snapshot snapshot) {
+        return snapshot != null ? codec.decode(snapshot) : null;
+    }
+
+    /**
+     * Cancels the operation of the wrapped AsyncDao, such as the retries of a batch, when the future derived from it is
+     * cancelled.
+     */
+    private static <R> CompletableFuture<R> cancelling(final CompletableFuture<R> result,
+                                                       final CompletableFuture<?> operation) {
+        result.whenComplete((value, e) -> {
+            if (e instanceof CancellationException) {
+                operation.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Normalizes the key, as keys of different types are equal when their bytes are.
+     */
+    private static <T extends Entity> Key<T> cacheKey(final Key<T> key) {
+        return RawKey.wrap(Objects.requireNonNull(key).toBytes());
+    }
+}
@@ -0,0 +1,320 @@
+package com.bettercloud.bigtable.orm;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Caches the entities read by a {@link Dao} as {@link EntitySnapshotCodec.Snapshot}s, keyed by their row keys.
+ */
+final class CachingEntityDao<T extends Entity> implements CachingDao<T> {
+
+    private final Dao<T> dao;
+    private final EntitySnapshotCodec<T> codec;
+    private final LoadingCache<Key<T>, EntitySnapshotCodec.Snapshot> cache;
+
+    CachingEntityDao(final Dao<T> dao, final EntitySnapshotCodec<T> codec, final CacheOptions options) {
+        this.dao = dao;
+        this.codec = codec;
+        this.cache = options.<T>newCacheBuilder().build(new CacheLoader<Key<T>, EntitySnapshotCodec.Snapshot>() {
+            @Override
+            public EntitySnapshotCodec.Snapshot load(final Key<T> key) throws IOException {
+                return loadAll(Collections.singleton(key)).get(key);
+            }
+
+            @Override
+            public Map<Key<T>, EntitySnapshotCodec.Snapshot> loadAll(final Iterable<? extends Key<T>> keys) throws IOException {
+                final Set<Key<T>> missingKeys = new LinkedHashSet<>();
+                keys.forEach(missingKeys::add);
+
+                final Map<Key<T>, EntitySnapshotCodec.Snapshot> snapshots = new HashMap<>();
+
+                for (final Map.Entry<Key<T>, T> entry : dao.getAll(missingKeys).entrySet()) {
+                    snapshots.put(entry.getKey(), codec.encode(entry.getValue()));
+                }
+
+                return snapshots;
+            }
+        });
+    }
+
+    @Override
+    public CacheMetrics getCacheMetrics() {
+        return CacheMetrics.of(cache.stats(), cache.estimatedSize());
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> Optional<T> get(final K key) throws IOException {
+        Objects.requireNonNull(key);
+
+        return Optional.ofNullable(getAll(Collections.singleton(key)).get(key));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys) throws IOException {
+        Objects.requireNonNull(keys);
+
+        final Map<Key<T>, K> keysByCacheKey = new HashMap<>();
+
+        for (final K key : keys) {
+            keysByCacheKey.put(cacheKey(key), key);
+        }
+
+        final Map<Key<T>, EntitySnapshotCodec.Snapshot> snapshots;
+
+        try {
+            snapshots = cache.getAll(keysByCacheKey.keySet());
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw e;
+        }
+
+        final Map<K, T> entitiesByKey = new HashMap<>();
+
+        for (final Map.Entry<Key<T>, EntitySnapshotCodec.Snapshot> entry : snapshots.entrySet()) {
+            entitiesByKey.put(keysByCacheKey.get(entry.getKey()), codec.decode(entry.getValue()));
+        }
+
+        return Collections.unmodifiableMap(entitiesByKey);
+    }
+
+    /**
+     * Rows as of a time are not cached, as the cache only holds the latest value of every column.
+     */
+    @Override
+    public <K extends Key<T>> Map<K, T> getAll(final Set<K> keys, final Instant asOf) throws IOException {
+        return dao.getAll(keys, asOf);
+    }
+
+    /**
+     * Versions are not cached, as the cache only holds the latest value of every column.
+     */
+    @Override
+    public <K extends Key<T>, V> Map<K, List<ColumnVersion<V>>> getColumnHistory(final Set<K> keys,
+                                                                                 final Column column,
+                                                                                 final VersionQuery query) throws IOException {
+        return dao.getColumnHistory(keys, column, query);
+    }
+
+    /**
+     * Cached rows are known to exist, so only the other rows are checked, and are not cached as their values are not
+     * read.
+     */
+    @Override
+    public <K extends Key<T>> Set<K> exists(final Set<K> keys) throws IOException {
+        Objects.requireNonNull(keys);
+
+        final Set<K> existingKeys = new HashSet<>();
+        final Set<K> uncachedKeys = new HashSet<>();
+
+        for (final K key : keys) {
+            if (cache.asMap().containsKey(cacheKey(key))) {
+                existingKeys.add(key);
+            } else {
+                uncachedKeys.add(key);
+            }
+        }
+
+        if (!uncachedKeys.isEmpty()) {
+            existingKeys.addAll(dao.exists(uncachedKeys));
+        }
+
+        return Collections.unmodifiableSet(existingKeys);
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows) throws IOException {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows);
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant) throws IOException {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant);
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant,
+                                                        final EntityPredicate<T> predicate) throws IOException {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate);
+    }
+
+    @Override
+    public <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                        final boolean startKeyInclusive,
+                                                        final K endKey,
+                                                        final boolean endKeyInclusive,
+                                                        final int numRows,
+                                                        final String constant,
+                                                        final EntityPredicate<T> predicate,
+                                                        final Instant asOf) throws IOException {
+        return dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate, asOf);
+    }
+
+    @Override
+    public <K extends Key<T>> SortedSet<Key<T>> scanKeys(final K startKey,
+                                                         final boolean startKeyInclusive,
+                                                         final K endKey,
+                                                         final boolean endKeyInclusive,
+                                                         final int numRows) throws IOException {
+        return dao.scanKeys(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows);
+    }
+
+    @Override
+    public <K extends Key<T>> long count(final K startKey,
+                                         final boolean startKeyInclusive,
+                                         final K endKey,
+                                         final boolean endKeyInclusive) throws IOException {
+        return dao.count(startKey, startKeyInclusive, endKey, endKeyInclusive);
+    }
+
+    @Override
+    public <K extends Key<T>> void parallelScan(final K startKey,
+                                                final boolean startKeyInclusive,
+                                                final K endKey,
+                                                final boolean endKeyInclusive,
+                                                final EntityPredicate<T> predicate,
+                                                final ParallelScanOptions options,
+                                                final BiConsumer<Key<T>, T> consumer) throws IOException {
+        dao.parallelScan(startKey, startKeyInclusive, endKey, endKeyInclusive, predicate, options, consumer);
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> T save(final K key, final T entity) throws IOException {
+        return saveAll(Collections.singletonMap(key, entity)).get(key);
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, T> saveAll(final Map<K, T> entities) throws IOException {
+        Objects.requireNonNull(entities);
+
+        final Map<K, T> results;
+
+        try {
+            results = dao.saveAll(entities);
+        } catch (final IOException | RuntimeException e) {
+            // Some rows may have been written
+            entities.keySet().forEach(key -> cache.invalidate(cacheKey(key)));
+            throw e;
+        }
+
+        for (final Map.Entry<K, T> entry : results.entrySet()) {
+            cache.put(cacheKey(entry.getKey()), codec.encode(entry.getValue()));
+        }
+
+        return results;
+    }
+
+    @Override
+    @Deprecated
+    public <K extends Key<T>> void delete(final K key) throws IOException {
+        deleteAll(Collections.singleton(key));
+    }
+
+    @Override
+    public <K extends Key<T>> void deleteAll(final Set<K> keys) throws IOException {
+        Objects.requireNonNull(keys);
+
+        try {
+            dao.deleteAll(keys);
+        } finally {
+            keys.forEach(key -> cache.invalidate(cacheKey(key)));
+        }
+    }
+
+    /**
+     * Always reads BigTable, as the outcome of every row is reported, and caches the entities found.
+     */
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> tryGetAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        final BatchResult<K, T> result = dao.tryGetAll(keys, retryPolicy);
+
+        for (final Map.Entry<K, T> entry : result.getSuccesses().entrySet()) {
+            if (entry.getValue() != null) {
+                cache.put(cacheKey(entry.getKey()), codec.encode(entry.getValue()));
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public <K extends Key<T>> BatchResult<K, T> trySaveAll(final Map<K, T> entities, final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(entities);
+
+        final BatchResult<K, T> result;
+
+        try {
+            result = dao.trySaveAll(entities, retryPolicy);
+        } catch (final IOException | RuntimeException e) {
+            // Some rows may have been written
+            entities.keySet().forEach(key -> cache.invalidate(cacheKey(key)));
+            throw e;
+        }
+
+        for (final Map.Entry<K, T> entry : result.getSuccesses().entrySet()) {
+            cache.put(cacheKey(entry.getKey()), codec.encode(entry.getValue()));
+        }
+
+        // Failed rows may or may not have been written
+        result.getFailures().keySet().forEach(key -> cache.invalidate(cacheKey(key)));
+
+        return result;
+    }
+
+    @Override
+    public <K extends Key<T>> BatchResult<K, Void> tryDeleteAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException {
+        Objects.requireNonNull(keys);
+
+        try {
+            return dao.tryDeleteAll(keys, retryPolicy);
+        } finally {
+            keys.forEach(key -> cache.invalidate(cacheKey(key)));
+        }
+    }
+
+    /**
+     * Normalizes the key, as keys of different types are equal when their bytes are.
+     */
+    private static <T extends Entity> Key<T> cacheKey(final Key<T> key) {
+        return RawKey.wrap(Objects.requireNonNull(key).toBytes());
+    }
+}
@@ -0,0 +1,155 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The sizes of the serialized values of one column of an entity, see
+ * {@link PayloadProfiler#getColumnStats(Class)}.
+ *
+ * Sizes are recorded into histograms without locking. The largest payloads are only locked while a payload larger
+ * than the smallest of them is recorded, which becomes rare once the largest rows of the column have been seen.
+ */
+public final class ColumnPayloadStats {
+
+    private final Histogram writtenBytes = new Histogram();
+    private final Histogram readBytes = new Histogram();
+    private final int capacity;
+
+    // Largest first, guarded by this
+    private final List<Payload> largestPayloads = new ArrayList<>();
+
+    // The size a payload must exceed to be one of the largest
+    private volatile long minimumBytes;
+
+    ColumnPayloadStats(final int capacity) {
+        this.capacity = capacity;
+        this.minimumBytes = capacity > 0 ? -1 : Long.MAX_VALUE;
+    }
+
+    void recordWritten(final byte[] row, final int bytes) {
+        writtenBytes.record(bytes);
+
+        if (bytes > minimumBytes) {
+            track(row, bytes, true);
+        }
+    }
+
+    void recordRead(final Result result, final int bytes) {
+        readBytes.record(bytes);
+
+        if (bytes > minimumBytes) {
+            track(result.getRow(), bytes, false);
+        }
+    }
+
+    /**
+     * @return The sizes of the values written, in bytes
+     */
+    public Histogram getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * @return The sizes of the values read, in bytes
+     */
+    public Histogram getReadBytes() {
+        return readBytes;
+    }
+
+    /**
+     * @return The largest values written or read, largest first, with a single value per row
+     */
+    public synchronized List<Payload> getLargestPayloads() {
+        return Collections.unmodifiableList(new ArrayList<>(largestPayloads));
+    }
+
+    private synchronized void track(@Nullable final byte[] row, final int bytes, final boolean written) {
+        if (row == null) {
+            return;
+        }
+
+        for (int i = 0; i < largestPayloads.size(); i++) {
+            if (Arrays.equals(largestPayloads.get(i).row, row)) {
+                if (largestPayloads.get(i).bytes >= bytes) {
+                    return;
+                }
+
+                largestPayloads.remove(i);
+                break;
+            }
+        }
+
+        if (largestPayloads.size() == capacity) {
+            if (largestPayloads.get(capacity - 1).bytes >= bytes) {
+                return;
+            }
+
+            largestPayloads.remove(capacity - 1);
+        }
+
+        int index = 0;
+
+        while (index < largestPayloads.size() && largestPayloads.get(index).bytes >= bytes) {
+            index++;
+        }
+
+        largestPayloads.add(index, new Payload(row, bytes, written));
+
+        minimumBytes = largestPayloads.size() == capacity ? largestPayloads.get(capacity - 1).bytes : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnPayloadStats{" +
+                "writtenBytes=" + writtenBytes +
+                ", readBytes=" + readBytes +
+                ", largestPayloads=" + getLargestPayloads() +
+                '}';
+    }
+
+    public static final class Payload {
+
+        private final byte[] row;
+        private final long bytes;
+        private final boolean written;
+
+        private Payload(final byte[] row, final long bytes, final boolean written) {
+            this.row = row;
+            this.bytes = bytes;
+            this.written = written;
+        }
+
+        /**
+         * @return The key of the row holding the value
+         */
+        public byte[] getRow() {
+            return row.clone();
+        }
+
+        /**
+         * @return The size of the serialized value, in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return Whether the value was written, rather than read
+         */
+        public boolean isWritten() {
+            return written;
+        }
+
+        @Override
+        public String toString() {
+            return Bytes.toStringBinary(row) + "=" + bytes + (written ? " written" : " read");
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Objects;
+
+/**
+ * A typed handle to a single {@link Column} of an Entity, used to build {@link EntityPredicate}s.
+ *
+ * Generated Entities expose one public constant per declared column, so predicates can be written as
+ * {@code MyEntity.MY_COLUMN.isEqualTo("value")} without referring to column families or qualifiers directly.
+ *
+ * @param <T> The Entity type the column belongs to
+ * @param <V> The (boxed) type of the column's value
+ */
+public final class ColumnReference<T extends Entity, V> {
+
+    private final Column column;
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public ColumnReference(final Column column) {
+        this.column = Objects.requireNonNull(column);
+    }
+
+    public Column getColumn() {
+        return column;
+    }
+
+    /**
+     * Supported for columns of any scalar type (Strings, boxed primitives, UUIDs and enums).
+     *
+     * @param value The value the column must contain
+     * @return A predicate matching rows whose latest cell in this column is equal to the provided value
+     */
+    public EntityPredicate<T> isEqualTo(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.EQUAL, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Supported for columns of any scalar type (Strings, boxed primitives, UUIDs and enums).
+     *
+     * Rows which do not contain a value for this column are <b>not</b> matched.
+     *
+     * @param value The value the column must not contain
+     * @return A predicate matching rows whose latest cell in this column is present, and not equal to the provided value
+     */
+    public EntityPredicate<T> isNotEqualTo(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.NOT_EQUAL, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Only supported for String columns, see {@link EntityPredicate} for details.
+     *
+     * @param value The exclusive lower bound
+     * @return A predicate matching rows whose value in this column sorts after the provided value
+     */
+    public EntityPredicate<T> isGreaterThan(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.GREATER, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Only supported for String columns, see {@link EntityPredicate} for details.
+     *
+     * @param value The inclusive lower bound
+     * @return A predicate matching rows whose value in this column is equal to or sorts after the provided value
+     */
+    public EntityPredicate<T> isGreaterThanOrEqualTo(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.GREATER_OR_EQUAL, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Only supported for String columns, see {@link EntityPredicate} for details.
+     *
+     * @param value The exclusive upper bound
+     * @return A predicate matching rows whose value in this column sorts before the provided value
+     */
+    public EntityPredicate<T> isLessThan(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.LESS, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Only supported for String columns, see {@link EntityPredicate} for details.
+     *
+     * @param value The inclusive upper bound
+     * @return A predicate matching rows whose value in this column is equal to or sorts before the provided value
+     */
+    public EntityPredicate<T> isLessThanOrEqualTo(final V value) {
+        return EntityPredicate.compare(column, EntityPredicate.Comparison.LESS_OR_EQUAL, Objects.requireNonNull(value));
+    }
+
+    /**
+     * Only supported for String columns, see {@link EntityPredicate} for details.
+     *
+     * @param lowerInclusive The inclusive lower bound
+     * @param upperExclusive The exclusive upper bound
+     * @return A predicate matching rows whose value in this column falls within the provided range
+     */
+    public EntityPredicate<T> isBetween(final V lowerInclusive, final V upperExclusive) {
+        return isGreaterThanOrEqualTo(lowerInclusive).and(isLessThan(upperExclusive));
+    }
+
+    /**
+     * Supported for columns of any type.
+     *
+     * @return A predicate matching rows which contain a non-null value for this column
+     */
+    public EntityPredicate<T> exists() {
+        return EntityPredicate.exists(column);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final ColumnReference<?, ?> that = (ColumnReference<?, ?>) o;
+
+        return Objects.equals(column, that.column);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(column);
+    }
+
+    @Override
+    public String toString() {
+        return column.getFamily() + ":" + column.getQualifier();
+    }
+}
@@ -0,0 +1,58 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Objects;
+
+/**
+ * A value of a versioned column, and the timestamp at which it was written.
+ *
+ * @param <V> The type of the values of the column
+ */
+public final class ColumnVersion<V> {
+
+    private final V value;
+    private final long timestamp;
+
+    ColumnVersion(final V value, final long timestamp) {
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return The value, or null when an empty value was written
+     */
+    public V getValue() {
+        return value;
+    }
+
+    /**
+     * @return The timestamp of the version, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ColumnVersion<?> that = (ColumnVersion<?>) o;
+        return timestamp == that.timestamp && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnVersion{" +
+                "value=" + value +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
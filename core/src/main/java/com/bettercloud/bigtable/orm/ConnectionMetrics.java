@@ -0,0 +1,102 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The requests sent through one connection of a factory created with several connections, and its health.
+ */
+public final class ConnectionMetrics {
+
+    private final BooleanSupplier closed;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder unhealthyPeriods = new LongAdder();
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile boolean unhealthy = false;
+    private volatile long unhealthyUntilNanos;
+
+    ConnectionMetrics(final BooleanSupplier closed) {
+        this.closed = closed;
+    }
+
+    void recordRequestSent() {
+        requests.increment();
+        outstandingRequests.incrementAndGet();
+    }
+
+    void recordRequestCompleted(final boolean failed, final int unhealthyAfterFailures, final long unhealthyNanos) {
+        outstandingRequests.decrementAndGet();
+
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return;
+        }
+
+        failures.increment();
+
+        if (consecutiveFailures.incrementAndGet() >= unhealthyAfterFailures) {
+            consecutiveFailures.set(0);
+            unhealthyUntilNanos = System.nanoTime() + unhealthyNanos;
+            unhealthy = true;
+            unhealthyPeriods.increment();
+        }
+    }
+
+    /**
+     * @return The number of requests sent through the connection
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return The number of requests sent through the connection which failed
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The number of times the connection became unhealthy after consecutive failures
+     */
+    public long getUnhealthyPeriods() {
+        return unhealthyPeriods.sum();
+    }
+
+    /**
+     * @return The number of requests sent through the connection which have not completed
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * @return Whether the connection is open, and has not failed repeatedly within the unhealthy duration
+     */
+    public boolean isHealthy() {
+        if (closed.getAsBoolean()) {
+            return false;
+        }
+
+        if (unhealthy && System.nanoTime() - unhealthyUntilNanos >= 0) {
+            unhealthy = false;
+        }
+
+        return !unhealthy;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionMetrics{" +
+                "requests=" + getRequests() +
+                ", failures=" + getFailures() +
+                ", unhealthyPeriods=" + getUnhealthyPeriods() +
+                ", outstandingRequests=" + getOutstandingRequests() +
+                ", healthy=" + isHealthy() +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the connection of each request of a factory created with several connections, according to its
+ * {@link ShardingOptions}, and records the outcome of every request in the {@link ConnectionMetrics} of its connection.
+ */
+final class ConnectionSelector {
+
+    private final List<ConnectionMetrics> connections;
+    private final ShardingOptions.Strategy strategy;
+    private final int unhealthyAfterFailures;
+    private final long unhealthyNanos;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    ConnectionSelector(final List<ConnectionMetrics> connections, final ShardingOptions options) {
+        this.connections = Collections.unmodifiableList(connections);
+        this.strategy = options.getStrategy();
+        this.unhealthyAfterFailures = options.getUnhealthyAfterFailures();
+        this.unhealthyNanos = options.getUnhealthyDuration().toNanos();
+    }
+
+    List<ConnectionMetrics> getConnections() {
+        return connections;
+    }
+
+    /**
+     * Every connection is considered when none is healthy, so requests are still sent, and fail or recover.
+     *
+     * @return The index of the connection through which the next request is sent
+     */
+    int select() {
+        final int count = connections.size();
+        // Starting from a rotating position spreads requests evenly between equally loaded connections
+        final int start = Math.floorMod(cursor.getAndIncrement(), count);
+
+        int selected = -1;
+        int fewestOutstanding = Integer.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            final int index = (start + i) % count;
+            final ConnectionMetrics connection = connections.get(index);
+
+            if (!connection.isHealthy()) {
+                continue;
+            }
+
+            if (strategy == ShardingOptions.Strategy.ROUND_ROBIN) {
+                return index;
+            }
+
+            final int outstanding = connection.getOutstandingRequests();
+
+            if (outstanding < fewestOutstanding) {
+                selected = index;
+                fewestOutstanding = outstanding;
+            }
+        }
+
+        return selected >= 0 ? selected : start;
+    }
+
+    void recordSent(final int connection) {
+        connections.get(connection).recordRequestSent();
+    }
+
+    void recordCompleted(final int connection, final boolean failed) {
+        connections.get(connection).recordRequestCompleted(failed, unhealthyAfterFailures, unhealthyNanos);
+    }
+}
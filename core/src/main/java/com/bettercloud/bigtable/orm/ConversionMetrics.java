@@ -0,0 +1,35 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * The time conversions waited for the executor of converting AsyncDaos.
+ *
+ * Recorded by every AsyncDao created with the same {@link ConversionOptions}.
+ */
+public final class ConversionMetrics {
+
+    private final Histogram queueDelaysMicros = new Histogram();
+
+    ConversionMetrics() {
+        // Only created by ConversionOptions
+    }
+
+    void recordQueueDelay(final long delayMicros) {
+        queueDelaysMicros.record(delayMicros);
+    }
+
+    /**
+     * A growing delay means the executor has too few threads for the rows read and written.
+     *
+     * @return The time in microseconds from a conversion or serialization being submitted until it started to run
+     */
+    public Histogram getQueueDelaysMicros() {
+        return queueDelaysMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionMetrics{" +
+                "queueDelaysMicros=" + queueDelaysMicros +
+                '}';
+    }
+}
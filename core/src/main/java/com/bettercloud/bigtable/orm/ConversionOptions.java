@@ -0,0 +1,101 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures the executor on which an {@link AsyncDao} converts rows to entities, defined by
+ * {@link AsyncDaoFactory.OptionsBuilder#setConversionOptions(ConversionOptions)}.
+ *
+ * Without an executor, rows are deserialized on the thread completing the read, usually a transport thread of the
+ * connection, so large rows delay the responses of every other request. With an executor, the conversions, and the
+ * callbacks of the returned futures which do not define their own executor, run on that executor instead.
+ */
+public final class ConversionOptions {
+
+    private final Executor executor;
+    private final boolean serializingWrites;
+    private final ConversionMetrics metrics = new ConversionMetrics();
+
+    private ConversionOptions(final Builder builder) {
+        final Executor delegate = builder.executor;
+
+        this.executor = task -> {
+            final long submittedNanos = System.nanoTime();
+
+            delegate.execute(() -> {
+                metrics.recordQueueDelay(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submittedNanos));
+                task.run();
+            });
+        };
+        this.serializingWrites = builder.serializingWrites;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The executor, recording the time each task waited to run in the metrics
+     */
+    Executor getExecutor() {
+        return executor;
+    }
+
+    boolean isSerializingWrites() {
+        return serializingWrites;
+    }
+
+    /**
+     * @return The metrics of all AsyncDaos converting with these options
+     */
+    public ConversionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private Executor executor;
+        private boolean serializingWrites = false;
+
+        private Builder() {
+            // Only accessible via ConversionOptions.builder()
+        }
+
+        /**
+         * @param executor The executor on which rows are converted to entities
+         * @return This builder
+         */
+        public Builder setExecutor(final Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * When serializing writes, saves return immediately, and their entities are serialized on the executor before
+         * they are sent, rather than on the calling thread. Serialization failures then fail the returned future.
+         *
+         * @param serializingWrites Whether saves serialize their entities on the executor, defaulting to false
+         * @return This builder
+         */
+        public Builder setSerializingWrites(final boolean serializingWrites) {
+            this.serializingWrites = serializingWrites;
+            return this;
+        }
+
+        /**
+         * @return The options
+         * @throws IllegalStateException when no executor is defined
+         */
+        public ConversionOptions build() {
+            if (executor == null) {
+                throw new IllegalStateException("Executor must be defined");
+            }
+
+            return new ConversionOptions(this);
+        }
+    }
+}
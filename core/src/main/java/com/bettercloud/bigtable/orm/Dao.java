@@ -1,10 +1,14 @@
 package com.bettercloud.bigtable.orm;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.function.BiConsumer;
 
 public interface Dao<T extends Entity> {
 
@@ -13,6 +17,14 @@ public interface Dao<T extends Entity> {
 
     <K extends Key<T>> Map<K, T> getAll(final Set<K> keys) throws IOException;
 
+    <K extends Key<T>> Map<K, T> getAll(final Set<K> keys, final Instant asOf) throws IOException;
+
+    <K extends Key<T>, V> Map<K, List<ColumnVersion<V>>> getColumnHistory(final Set<K> keys,
+                                                                          final Column column,
+                                                                          final VersionQuery query) throws IOException;
+
+    <K extends Key<T>> Set<K> exists(final Set<K> keys) throws IOException;
+
     <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
                                                  final boolean startKeyInclusive,
                                                  final K endKey,
@@ -26,6 +38,42 @@ public interface Dao<T extends Entity> {
                                                  final int numRows,
                                                  final String constant) throws IOException;
 
+    <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                 final boolean startKeyInclusive,
+                                                 final K endKey,
+                                                 final boolean endKeyInclusive,
+                                                 final int numRows,
+                                                 final String constant,
+                                                 final EntityPredicate<T> predicate) throws IOException;
+
+    <K extends Key<T>> SortedMap<Key<T>, T> scan(final K startKey,
+                                                 final boolean startKeyInclusive,
+                                                 final K endKey,
+                                                 final boolean endKeyInclusive,
+                                                 final int numRows,
+                                                 final String constant,
+                                                 final EntityPredicate<T> predicate,
+                                                 final Instant asOf) throws IOException;
+
+    <K extends Key<T>> SortedSet<Key<T>> scanKeys(final K startKey,
+                                                  final boolean startKeyInclusive,
+                                                  final K endKey,
+                                                  final boolean endKeyInclusive,
+                                                  final int numRows) throws IOException;
+
+    <K extends Key<T>> long count(final K startKey,
+                                  final boolean startKeyInclusive,
+                                  final K endKey,
+                                  final boolean endKeyInclusive) throws IOException;
+
+    <K extends Key<T>> void parallelScan(final K startKey,
+                                         final boolean startKeyInclusive,
+                                         final K endKey,
+                                         final boolean endKeyInclusive,
+                                         final EntityPredicate<T> predicate,
+                                         final ParallelScanOptions options,
+                                         final BiConsumer<Key<T>, T> consumer) throws IOException;
+
     @Deprecated
     <K extends Key<T>> T save(final K key, final T entity) throws IOException;
 
@@ -35,4 +83,10 @@ public interface Dao<T extends Entity> {
     <K extends Key<T>> void delete(final K key) throws IOException;
 
     <K extends Key<T>> void deleteAll(final Set<K> keys) throws IOException;
+
+    <K extends Key<T>> BatchResult<K, T> tryGetAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException;
+
+    <K extends Key<T>> BatchResult<K, T> trySaveAll(final Map<K, T> entities, final RetryPolicy retryPolicy) throws IOException;
+
+    <K extends Key<T>> BatchResult<K, Void> tryDeleteAll(final Set<K> keys, final RetryPolicy retryPolicy) throws IOException;
 }
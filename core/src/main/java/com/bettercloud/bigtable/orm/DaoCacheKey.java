@@ -0,0 +1,39 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Objects;
+
+/**
+ * Identifies a Dao created by a factory, which is reused for every later request of the same entity configuration,
+ * table name and equal options.
+ */
+final class DaoCacheKey {
+
+    private final EntityConfiguration<?> entityConfiguration;
+    private final String tableName;
+    private final Object options;
+
+    DaoCacheKey(final EntityConfiguration<?> entityConfiguration, final String tableName, final Object options) {
+        this.entityConfiguration = entityConfiguration;
+        this.tableName = tableName;
+        this.options = options;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final DaoCacheKey that = (DaoCacheKey) o;
+        return entityConfiguration == that.entityConfiguration
+                && tableName.equals(that.tableName)
+                && Objects.equals(options, that.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(System.identityHashCode(entityConfiguration), tableName, options);
+    }
+}
@@ -1,27 +1,116 @@
 package com.bettercloud.bigtable.orm;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.cloud.bigtable.hbase.BigtableConfiguration;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Table;
 
+import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-public class DaoFactory {
+/**
+ * Creates the {@link Dao}s of entities, backed by tables of a single connection, or of several connections whose load
+ * is spread according to {@link ShardingOptions}.
+ *
+ * Daos are thread-safe, and are reused: requesting the Dao of the same entity and table name with equal
+ * {@link Options} again returns the Dao created first, rather than opening another table, see
+ * {@link #daoFor(EntityConfiguration, Options)}. All Daos of a factory share a single {@link ObjectMapper}, and
+ * therefore its serializer caches. Closing the factory closes the tables of its Daos.
+ *
+ * The work of the first requests of each entity may be done ahead of traffic, see
+ * {@link #warmUp(Collection, Options, WarmUpOptions)}.
+ */
+public class DaoFactory implements Closeable {
 
-    private final Connection connection;
+    private final List<Connection> connections;
+    @Nullable
+    private final ConnectionSelector selector;
+    private final boolean ownsConnection;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<DaoCacheKey, Dao<?>> daos = new ConcurrentHashMap<>();
+    private final Queue<Table> tables = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed = false;
 
     public DaoFactory(final String projectId, final String instanceId) {
-        this(BigtableConfiguration.connect(projectId, instanceId));
+        this(Collections.singletonList(BigtableConfiguration.connect(projectId, instanceId)), null, true);
+    }
+
+    /**
+     * Opens a connection per app profile, so the same app profile may be repeated to open several connections with
+     * their own channel pools.
+     *
+     * @param projectId The project of the instance
+     * @param instanceId The instance of the tables
+     * @param appProfileIds The app profile of each connection
+     * @param shardingOptions How requests are spread across the connections
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public DaoFactory(final String projectId,
+                      final String instanceId,
+                      final List<String> appProfileIds,
+                      final ShardingOptions shardingOptions) {
+        this(appProfileIds.stream()
+                .map(appProfileId -> BigtableConfiguration.connect(projectId, instanceId, appProfileId))
+                .collect(Collectors.toList()), Objects.requireNonNull(shardingOptions), true);
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
     public DaoFactory(final Connection connection) {
-        this.connection = connection;
+        this(Collections.singletonList(connection), null, false);
+    }
+
+    /**
+     * @param connections The connections whose tables back the Daos, which remain open when the factory is closed
+     * @param shardingOptions How requests are spread across the connections
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public DaoFactory(final List<Connection> connections, final ShardingOptions shardingOptions) {
+        this(connections, Objects.requireNonNull(shardingOptions), false);
+    }
+
+    private DaoFactory(final List<Connection> connections,
+                       @Nullable final ShardingOptions shardingOptions,
+                       final boolean ownsConnection) {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+
+        this.connections = new ArrayList<>(connections);
+        this.selector = shardingOptions != null
+                ? new ConnectionSelector(this.connections.stream()
+                        .map(connection -> new ConnectionMetrics(connection::isClosed))
+                        .collect(Collectors.toList()), shardingOptions)
+                : null;
+        this.ownsConnection = ownsConnection;
+    }
+
+    /**
+     * @return The metrics of every connection, in the order of the connections, or an empty list when this factory
+     *         was created without sharding options
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public List<ConnectionMetrics> getConnectionMetrics() {
+        return selector != null ? selector.getConnections() : Collections.emptyList();
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
@@ -38,7 +127,20 @@ public class DaoFactory {
         return daoFor(entityType, null);
     }
 
-    @SuppressWarnings("WeakerAccess") // Public API
+    /**
+     * A Dao is created, with its table, by the first request of an entity configuration, table name and options, and is
+     * kept until this factory is closed. Later requests with equal options return the same Dao, so options may be
+     * built per request. Options are equal when their settings are equal, and when they hold the same metrics, tracer,
+     * profiler and detector instances.
+     *
+     * @param entityConfiguration The configuration of the entity
+     * @param options The options of the Dao, or null for the defaults
+     * @param <T> The type of the entity
+     * @return The Dao of the entity, created by the first request of the entity configuration, table name and options
+     * @throws IOException when the table cannot be opened
+     * @throws IllegalStateException when this factory is closed
+     */
+    @SuppressWarnings({"WeakerAccess", "unchecked"}) // Public API, cached Daos are keyed by their entity configuration
     public <T extends Entity> Dao<T> daoFor(final EntityConfiguration<T> entityConfiguration, final Options options) throws IOException {
         Objects.requireNonNull(entityConfiguration);
 
@@ -46,14 +148,234 @@ public class DaoFactory {
                                                  .map(Options::getTableName)
                                                  .orElseGet(entityConfiguration::getDefaultTableName);
 
+        final DaoCacheKey key = new DaoCacheKey(entityConfiguration, resolvedTableName, options);
+
+        final Dao<?> cachedDao = daos.get(key);
+
+        if (cachedDao != null) {
+            return (Dao<T>) cachedDao;
+        }
+
+        // Only one table is opened per Dao, however many threads request it at once
+        synchronized (daos) {
+            if (closed) {
+                throw new IllegalStateException("DaoFactory is closed");
+            }
+
+            Dao<?> dao = daos.get(key);
+
+            if (dao == null) {
+                dao = createDao(entityConfiguration, resolvedTableName, options);
+                daos.put(key, dao);
+            }
+
+            return (Dao<T>) dao;
+        }
+    }
+
+    /**
+     * Warms up the given entities with the default options, without probing their tables.
+     *
+     * @see #warmUp(Collection, Options, WarmUpOptions)
+     */
+    @SafeVarargs
+    @SuppressWarnings("WeakerAccess") // Public API
+    public final WarmUpReport warmUp(final Class<? extends Entity>... entityTypes) throws IOException {
+        return warmUp(Arrays.asList(entityTypes), null, WarmUpOptions.builder().build());
+    }
+
+    /**
+     * Warms up every entity listed in the index written by the annotation processor.
+     *
+     * @see EntityRegistry#getIndexedTypes()
+     * @see #warmUp(Collection, Options, WarmUpOptions)
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public WarmUpReport warmUpAll(final Options options, final WarmUpOptions warmUpOptions) throws IOException {
+        return warmUp(EntityRegistry.getIndexedTypes(), options, warmUpOptions);
+    }
+
+    /**
+     * Performs the work otherwise done by the first requests of each entity: initializes the generated entity,
+     * creates and caches its Dao, and builds the Jackson (de)serializers of its columns. When enabled by the warm-up
+     * options, a row is also read from every table through every connection, to open their channels.
+     *
+     * @param entityTypes The entities to warm up
+     * @param options The options of the Daos, which must equal the options later passed to
+     *                {@link #daoFor(Class, Options)} for the warmed Daos to be reused, or null for the defaults
+     * @param warmUpOptions The configuration of the warm-up
+     * @return The warmed entities and tables, and the time taken
+     * @throws IOException when a table cannot be opened or probed, or a column type cannot be serialized
+     * @throws IllegalStateException when an entity is not registered, or this factory is closed
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public WarmUpReport warmUp(final Collection<Class<? extends Entity>> entityTypes,
+                               final Options options,
+                               final WarmUpOptions warmUpOptions) throws IOException {
+        Objects.requireNonNull(entityTypes);
+        Objects.requireNonNull(warmUpOptions);
+
+        final long startNanos = System.nanoTime();
+
+        final Set<String> tableNames = new LinkedHashSet<>();
+
+        for (final Class<? extends Entity> entityType : entityTypes) {
+            Objects.requireNonNull(entityType);
+
+            tableNames.add(warmUp(EntityRegistry.getConfigurationForType(entityType), options));
+        }
+
+        if (warmUpOptions.isProbingTables()) {
+            for (final String tableName : tableNames) {
+                for (final Connection connection : connections) {
+                    try (Table table = connection.getTable(TableName.valueOf(tableName))) {
+                        table.exists(WarmUp.probe());
+                    }
+                }
+            }
+        }
+
+        return new WarmUpReport(new ArrayList<>(entityTypes), tableNames, warmUpOptions.isProbingTables(),
+                Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private <T extends Entity> String warmUp(final EntityConfiguration<T> entityConfiguration,
+                                             final Options options) throws IOException {
+        daoFor(entityConfiguration, options);
+
+        WarmUp.prepareObjectMapper(objectMapper, entityConfiguration.getColumns());
+
+        return Optional.ofNullable(options)
+                .map(Options::getTableName)
+                .orElseGet(entityConfiguration::getDefaultTableName);
+    }
+
+    private <T extends Entity> Dao<T> createDao(final EntityConfiguration<T> entityConfiguration,
+                                                final String resolvedTableName,
+                                                final Options options) throws IOException {
         final TableName hbaseTableName = TableName.valueOf(resolvedTableName);
 
-        final Table table = connection.getTable(hbaseTableName);
+        final Table table = openTable(hbaseTableName, Optional.ofNullable(options)
+                .map(Options::getTimeout)
+                .orElse(null));
+
         final Iterable<? extends Column> columns = entityConfiguration.getColumns();
         final Supplier<T> entityFactory = entityConfiguration.getEntityFactory();
         final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory = entityConfiguration::getDelegateForEntity;
 
-        return new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory);
+        final AbsentKeyCache absentKeys = AbsentKeyCache.of(Optional.ofNullable(options)
+                .map(Options::getNegativeCacheOptions)
+                .orElse(null));
+
+        final OperationRecorder operationRecorder = OperationRecorder.of(
+                Optional.ofNullable(options).map(Options::getMetrics).orElse(null),
+                Optional.ofNullable(options).map(Options::getTracer).orElse(null),
+                Optional.ofNullable(options).map(Options::getPayloadProfiler).orElse(null),
+                Optional.ofNullable(options).map(Options::getHotKeyDetector).orElse(null),
+                entityConfiguration, resolvedTableName);
+
+        final Dao<T> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory,
+                entityConfiguration::parseKey, objectMapper, absentKeys, operationRecorder);
+
+        final CacheOptions cacheOptions = Optional.ofNullable(options)
+                .map(Options::getCacheOptions)
+                .orElse(null);
+
+        if (cacheOptions == null) {
+            return dao;
+        }
+
+        final EntitySnapshotCodec<T> codec = new EntitySnapshotCodec<>(columns, entityFactory, delegateFactory, objectMapper);
+
+        return new CachingEntityDao<>(dao, codec, cacheOptions);
+    }
+
+    private Table openTable(final TableName tableName, @Nullable final Duration timeout) throws IOException {
+        if (selector == null) {
+            final Table table = openTable(connections.get(0), tableName, timeout);
+            tables.add(table);
+            return table;
+        }
+
+        final List<Table> shardTables = new ArrayList<>(connections.size());
+
+        for (final Connection connection : connections) {
+            final Table table = openTable(connection, tableName, timeout);
+            tables.add(table);
+            shardTables.add(table);
+        }
+
+        return ShardedTable.of(Table.class, shardTables, selector);
+    }
+
+    /**
+     * A table opened with a timeout bounds every operation, including its retries, and every RPC of the operation.
+     */
+    private static Table openTable(final Connection connection,
+                                   final TableName tableName,
+                                   @Nullable final Duration timeout) throws IOException {
+        if (timeout == null) {
+            return connection.getTable(tableName);
+        }
+
+        final int timeoutMillis = (int) Math.max(1, timeout.toMillis());
+
+        return connection.getTableBuilder(tableName, null)
+                .setOperationTimeout(timeoutMillis)
+                .setReadRpcTimeout(timeoutMillis)
+                .setWriteRpcTimeout(timeoutMillis)
+                .build();
+    }
+
+    /**
+     * Closes the tables of every Dao created by this factory, and its connections when they were created by this
+     * factory. The Daos must not be used once their factory is closed, and no more Daos can be created.
+     *
+     * @throws IOException when a table or a connection fails to close, after closing the others
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (daos) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            daos.clear();
+        }
+
+        IOException failure = null;
+
+        Table table;
+        while ((table = tables.poll()) != null) {
+            try {
+                table.close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (ownsConnection) {
+            for (final Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (final IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
@@ -65,20 +387,94 @@ public class DaoFactory {
     public static class Options {
 
         private final String tableName;
+        private final CacheOptions cacheOptions;
+        private final NegativeCacheOptions negativeCacheOptions;
+        private final DaoMetrics metrics;
+        private final DaoTracer tracer;
+        private final PayloadProfiler payloadProfiler;
+        private final HotKeyDetector hotKeyDetector;
+        private final Duration timeout;
 
-        private Options(final String tableName) {
-            this.tableName = tableName;
+        private Options(final OptionsBuilder builder) {
+            this.tableName = builder.tableName;
+            this.cacheOptions = builder.cacheOptions;
+            this.negativeCacheOptions = builder.negativeCacheOptions;
+            this.metrics = builder.metrics;
+            this.tracer = builder.tracer;
+            this.payloadProfiler = builder.payloadProfiler;
+            this.hotKeyDetector = builder.hotKeyDetector;
+            this.timeout = builder.timeout;
         }
 
         private String getTableName() {
             return tableName;
         }
+
+        private CacheOptions getCacheOptions() {
+            return cacheOptions;
+        }
+
+        private NegativeCacheOptions getNegativeCacheOptions() {
+            return negativeCacheOptions;
+        }
+
+        private DaoMetrics getMetrics() {
+            return metrics;
+        }
+
+        private DaoTracer getTracer() {
+            return tracer;
+        }
+
+        private PayloadProfiler getPayloadProfiler() {
+            return payloadProfiler;
+        }
+
+        private HotKeyDetector getHotKeyDetector() {
+            return hotKeyDetector;
+        }
+
+        private Duration getTimeout() {
+            return timeout;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Options that = (Options) o;
+            return Objects.equals(tableName, that.tableName)
+                    && Objects.equals(cacheOptions, that.cacheOptions)
+                    && Objects.equals(negativeCacheOptions, that.negativeCacheOptions)
+                    && Objects.equals(metrics, that.metrics)
+                    && Objects.equals(tracer, that.tracer)
+                    && Objects.equals(payloadProfiler, that.payloadProfiler)
+                    && Objects.equals(hotKeyDetector, that.hotKeyDetector)
+                    && Objects.equals(timeout, that.timeout);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tableName, cacheOptions, negativeCacheOptions, metrics, tracer, payloadProfiler,
+                    hotKeyDetector, timeout);
+        }
     }
 
     @SuppressWarnings("WeakerAccess") // Public API
     public static class OptionsBuilder {
 
         private String tableName;
+        private CacheOptions cacheOptions;
+        private NegativeCacheOptions negativeCacheOptions;
+        private DaoMetrics metrics;
+        private DaoTracer tracer;
+        private PayloadProfiler payloadProfiler;
+        private HotKeyDetector hotKeyDetector;
+        private Duration timeout;
 
         private OptionsBuilder() {
             // Only accessible via DaoFactory.optionsBuilder()
@@ -89,8 +485,103 @@ public class DaoFactory {
             return this;
         }
 
+        /**
+         * When defined, the created Dao is a {@link CachingDao}, serving reads of recently read or written entities from
+         * an in-process cache.
+         *
+         * @param cacheOptions The configuration of the entity cache
+         * @return This builder
+         */
+        public OptionsBuilder setCacheOptions(final CacheOptions cacheOptions) {
+            this.cacheOptions = cacheOptions;
+            return this;
+        }
+
+        /**
+         * When defined, keys found not to exist are remembered for a short time, and are not read again until they
+         * expire or are saved through the created Dao.
+         *
+         * @param negativeCacheOptions The configuration of the cache of absent keys
+         * @return This builder
+         */
+        public OptionsBuilder setNegativeCacheOptions(final NegativeCacheOptions negativeCacheOptions) {
+            this.negativeCacheOptions = negativeCacheOptions;
+            return this;
+        }
+
+        /**
+         * When defined, every get, scan, save and delete of the created Dao is recorded to the metrics, with the
+         * time spent serializing, waiting for BigTable and deserializing.
+         *
+         * @param metrics The metrics receiving the operations
+         * @return This builder
+         */
+        public OptionsBuilder setMetrics(final DaoMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * When defined, every get, scan, save and delete of the created Dao opens a span of the tracer, nested in the
+         * span current on the calling thread, and ended with the rows, retries and timings of the operation.
+         *
+         * @param tracer The tracer opening the spans
+         * @return This builder
+         */
+        public OptionsBuilder setTracer(final DaoTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * When defined, the size of every value serialized by the created Dao is recorded to the profiler, along
+         * with the rows holding the largest values of each column.
+         *
+         * @param payloadProfiler The profiler of the sizes of the values
+         * @return This builder
+         */
+        public OptionsBuilder setPayloadProfiler(final PayloadProfiler payloadProfiler) {
+            this.payloadProfiler = payloadProfiler;
+            return this;
+        }
+
+        /**
+         * When defined, the keys of every get, save and delete of the created Dao, and the start row of its scans,
+         * are counted by the detector, which reports the most frequently accessed rows.
+         *
+         * @param hotKeyDetector The detector of the most frequently accessed rows
+         * @return This builder
+         */
+        public OptionsBuilder setHotKeyDetector(final HotKeyDetector hotKeyDetector) {
+            this.hotKeyDetector = hotKeyDetector;
+            return this;
+        }
+
+        /**
+         * When defined, the table of the created Dao is opened with the timeout, so every operation, including its
+         * retries, fails with an {@link IOException} if it has not completed within the timeout. Unlike the timeouts
+         * of an {@link AsyncDao}, the timeout applies to every call of the Dao, and cannot be changed per call.
+         *
+         * @param timeout The time within which each operation must complete, at most {@link Integer#MAX_VALUE}
+         *                milliseconds
+         * @return This builder
+         * @throws IllegalArgumentException when the timeout is not positive, or too long
+         */
+        public OptionsBuilder setTimeout(final Duration timeout) {
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException("Timeout must be positive");
+            }
+
+            if (timeout != null && timeout.compareTo(Duration.ofMillis(Integer.MAX_VALUE)) > 0) {
+                throw new IllegalArgumentException("Timeout must be at most " + Integer.MAX_VALUE + " milliseconds");
+            }
+
+            this.timeout = timeout;
+            return this;
+        }
+
         public Options build() {
-            return new Options(tableName);
+            return new Options(this);
         }
     }
 }
@@ -0,0 +1,47 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Objects;
+
+/**
+ * Receives an event for every get, scan, save and delete operation of the Daos and AsyncDaos created with it, defined
+ * by {@link DaoFactory.OptionsBuilder#setMetrics(DaoMetrics)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setMetrics(DaoMetrics)}.
+ *
+ * Events are delivered on the thread completing the operation, which for AsyncDaos is usually a transport thread of
+ * the connection, so implementations must be thread-safe and must not block. Exceptions thrown by an implementation
+ * are ignored, so they never fail the operation.
+ *
+ * {@link HistogramDaoMetrics} aggregates the events into histograms, without any dependency, and
+ * {@link SlowOperationLog} keeps the operations slower than a threshold.
+ */
+@FunctionalInterface
+public interface DaoMetrics {
+
+    /**
+     * @param operation The completed or failed operation
+     */
+    void record(DaoOperation operation);
+
+    /**
+     * @param metrics The metrics receiving every operation, in order
+     * @return Metrics recording every operation to all the provided metrics, where an exception thrown by one does not
+     *         prevent the others from recording the operation
+     */
+    static DaoMetrics combine(final DaoMetrics... metrics) {
+        final DaoMetrics[] combined = metrics.clone();
+
+        for (final DaoMetrics delegate : combined) {
+            Objects.requireNonNull(delegate);
+        }
+
+        return operation -> {
+            for (final DaoMetrics delegate : combined) {
+                try {
+                    delegate.record(operation);
+                } catch (final RuntimeException e) {
+                    // Metrics never fail the operation, nor each other
+                }
+            }
+        };
+    }
+}
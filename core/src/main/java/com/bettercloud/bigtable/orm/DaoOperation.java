@@ -0,0 +1,164 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import javax.annotation.Nullable;
+
+/**
+ * A completed or failed operation of a Dao or AsyncDao, recorded by its {@link DaoMetrics}.
+ *
+ * The time of an operation is split into three phases: the serialization of its keys and values into BigTable
+ * requests, the requests themselves, and the deserialization of their results into entities. For AsyncDaos the
+ * requests include any time spent waiting for a batch, a hedge or a coalesced read, and the deserialization includes
+ * any time spent waiting for the conversion executor.
+ */
+public final class DaoOperation {
+
+    public enum Type {
+        GET,
+        SCAN,
+        SAVE,
+        DELETE
+    }
+
+    private final Type type;
+    private final Class<? extends Entity> entityType;
+    private final String tableName;
+    @Nullable
+    private final byte[] row;
+    private final int rowCount;
+    private final int retries;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long serializationNanos;
+    private final long rpcNanos;
+    private final long deserializationNanos;
+    @Nullable
+    private final Throwable failure;
+
+    DaoOperation(final Type type,
+                 final Class<? extends Entity> entityType,
+                 final String tableName,
+                 @Nullable final byte[] row,
+                 final int rowCount,
+                 final int retries,
+                 final long bytesRead,
+                 final long bytesWritten,
+                 final long serializationNanos,
+                 final long rpcNanos,
+                 final long deserializationNanos,
+                 @Nullable final Throwable failure) {
+        this.type = type;
+        this.entityType = entityType;
+        this.tableName = tableName;
+        this.row = row;
+        this.rowCount = rowCount;
+        this.retries = retries;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.serializationNanos = serializationNanos;
+        this.rpcNanos = rpcNanos;
+        this.deserializationNanos = deserializationNanos;
+        this.failure = failure;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<? extends Entity> getEntityType() {
+        return entityType;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return The key of the first row read, written or deleted by the operation, or the start row of a scan, or null
+     *         when the operation had no rows
+     */
+    @Nullable
+    public byte[] getRow() {
+        return row;
+    }
+
+    /**
+     * @return The number of rows returned by a get or scan, or written by a save or delete, or 0 when failed
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return The number of rows sent again after failing, by the operations retrying failed rows
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return The number of bytes of the cell values read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return The number of bytes of the cell values written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return The time spent building the requests, including the serialization of the values written
+     */
+    public long getSerializationNanos() {
+        return serializationNanos;
+    }
+
+    /**
+     * @return The time from the requests being sent until their results were returned
+     */
+    public long getRpcNanos() {
+        return rpcNanos;
+    }
+
+    /**
+     * @return The time spent converting the results into entities
+     */
+    public long getDeserializationNanos() {
+        return deserializationNanos;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    /**
+     * @return The cause of the failure of the operation, or null when it succeeded
+     */
+    @Nullable
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "DaoOperation{" +
+                "type=" + type +
+                ", entityType=" + entityType.getName() +
+                ", tableName='" + tableName + '\'' +
+                ", row=" + (row != null ? Bytes.toStringBinary(row) : null) +
+                ", rowCount=" + rowCount +
+                ", retries=" + retries +
+                ", bytesRead=" + bytesRead +
+                ", bytesWritten=" + bytesWritten +
+                ", serializationNanos=" + serializationNanos +
+                ", rpcNanos=" + rpcNanos +
+                ", deserializationNanos=" + deserializationNanos +
+                ", failed=" + isFailed() +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * The span of a single operation, started by a {@link DaoTracer}, and ended once with the completed or failed
+ * operation.
+ */
+public interface DaoSpan {
+
+    /**
+     * Makes the span current on the calling thread, until the returned scope is closed on the same thread.
+     *
+     * @return The scope of the span
+     */
+    Scope makeCurrent();
+
+    /**
+     * Records a chunk of the operation, sent as a separate request, such as an attempt of
+     * {@link Dao#tryGetAll(java.util.Set, RetryPolicy)} retrying the rows which failed.
+     *
+     * @param index The index of the chunk, starting at 0
+     * @param rowCount The number of rows of the chunk
+     */
+    default void chunk(final int index, final int rowCount) {
+        // Not recorded by default
+    }
+
+    /**
+     * @param operation The completed or failed operation, with its row count, retries and timings
+     */
+    void end(DaoOperation operation);
+
+    @FunctionalInterface
+    interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * Opens a {@link DaoSpan} for every get, scan, save and delete operation of the Daos and AsyncDaos created with it,
+ * defined by {@link DaoFactory.OptionsBuilder#setTracer(DaoTracer)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setTracer(DaoTracer)}.
+ *
+ * Spans are started on the thread calling the Dao, so they can be nested in the span current on that thread. Their
+ * operations may complete on other threads, where AsyncDaos make the span current while converting the rows they
+ * read, and while serializing their writes on a conversion executor. Exceptions thrown by an implementation are
+ * ignored, so they never fail the operation.
+ */
+@FunctionalInterface
+public interface DaoTracer {
+
+    /**
+     * @param type The type of the operation
+     * @param entityType The entity of the Dao
+     * @param tableName The table of the Dao
+     * @return The span of the operation starting now
+     */
+    DaoSpan start(DaoOperation.Type type, Class<? extends Entity> entityType, String tableName);
+}
@@ -0,0 +1,223 @@
+package com.bettercloud.bigtable.orm;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fails every future of the wrapped AsyncDao with a {@link TimeoutException} once the timeout has passed, and cancels
+ * the wrapped operation when the timeout passes or the returned future is cancelled.
+ *
+ * The futures returned are copies, so a timeout never completes a future shared with other callers.
+ */
+class DeadlineAsyncDao<T extends Entity> implements AsyncDao<T> {
+
+    private final AsyncDao<T> dao;
+    private final long timeoutNanos;
+
+    DeadlineAsyncDao(final AsyncDao<T> dao, final Duration timeout) {
+        Objects.requireNonNull(timeout);
+
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+
+        this.dao = Objects.requireNonNull(dao);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * @param timeout The timeout replacing the timeout of this AsyncDao
+     * @return The wrapped AsyncDao, bounded by the provided timeout
+     */
+    @Override
+    public AsyncDao<T> withTimeout(final Duration timeout) {
+        return new DeadlineAsyncDao<>(dao, timeout);
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<T> get(final K key) {
+        return bound(dao.get(key));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, CompletableFuture<T>> get(final Set<K> keys) {
+        return bound(dao.get(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys) {
+        return bound(dao.getAll(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> getAll(final Set<K> keys, final Instant asOf) {
+        return bound(dao.getAll(keys, asOf));
+    }
+
+    @Override
+    public <K extends Key<T>, V> CompletableFuture<Map<K, List<ColumnVersion<V>>>> getColumnHistory(final Set<K> keys,
+                                                                                                    final Column column,
+                                                                                                    final VersionQuery query) {
+        return bound(dao.<K, V>getColumnHistory(keys, column, query));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Set<K>> exists(final Set<K> keys) {
+        return bound(dao.exists(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows) {
+        return bound(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant) {
+        return bound(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant,
+                                                                           final EntityPredicate<T> predicate) {
+        return bound(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedMap<Key<T>, T>> scan(final K startKey,
+                                                                           final boolean startKeyInclusive,
+                                                                           final K endKey,
+                                                                           final boolean endKeyInclusive,
+                                                                           final int numRows,
+                                                                           final String constant,
+                                                                           final EntityPredicate<T> predicate,
+                                                                           final Instant asOf) {
+        return bound(dao.scan(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows, constant, predicate, asOf));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<SortedSet<Key<T>>> scanKeys(final K startKey,
+                                                                            final boolean startKeyInclusive,
+                                                                            final K endKey,
+                                                                            final boolean endKeyInclusive,
+                                                                            final int numRows) {
+        return bound(dao.scanKeys(startKey, startKeyInclusive, endKey, endKeyInclusive, numRows));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Long> count(final K startKey,
+                                                            final boolean startKeyInclusive,
+                                                            final K endKey,
+                                                            final boolean endKeyInclusive) {
+        return bound(dao.count(startKey, startKeyInclusive, endKey, endKeyInclusive));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<T> save(final K key, final T entity) throws IOException {
+        return bound(dao.save(key, entity));
+    }
+
+    @Override
+    public <K extends Key<T>> Map<K, CompletableFuture<T>> save(final Map<K, T> entities) throws IOException {
+        return bound(dao.save(entities));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Map<K, T>> saveAll(final Map<K, T> entities) throws IOException {
+        return bound(dao.saveAll(entities));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Void> delete(final K key) {
+        return bound(dao.delete(key));
+    }
+
+    @Override
+    public <K extends Key<T>> List<CompletableFuture<Void>> delete(final Set<K> keys) {
+        final List<CompletableFuture<Void>> results = dao.delete(keys);
+
+        final List<CompletableFuture<Void>> boundedResults = new ArrayList<>(results.size());
+        results.forEach(result -> boundedResults.add(bound(result)));
+
+        return boundedResults;
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<Void> deleteAll(final Set<K> keys) {
+        return bound(dao.deleteAll(keys));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> tryGetAll(final Set<K> keys,
+                                                                              final RetryPolicy retryPolicy) {
+        return bound(dao.tryGetAll(keys, deadline(retryPolicy)));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, T>> trySaveAll(final Map<K, T> entities,
+                                                                               final RetryPolicy retryPolicy) throws IOException {
+        return bound(dao.trySaveAll(entities, deadline(retryPolicy)));
+    }
+
+    @Override
+    public <K extends Key<T>> CompletableFuture<BatchResult<K, Void>> tryDeleteAll(final Set<K> keys,
+                                                                                    final RetryPolicy retryPolicy) {
+        return bound(dao.tryDeleteAll(keys, deadline(retryPolicy)));
+    }
+
+    /**
+     * Retries are given up rather than sent once the timeout has passed.
+     */
+    private RetryPolicy deadline(final RetryPolicy retryPolicy) {
+        return Objects.requireNonNull(retryPolicy).withDeadline(System.nanoTime() + timeoutNanos);
+    }
+
+    /**
+     * The deadline of every key starts when the operation is called, not when its future is bound.
+     */
+    private <K, V> Map<K, CompletableFuture<V>> bound(final Map<K, CompletableFuture<V>> results) {
+        final Map<K, CompletableFuture<V>> boundedResults = new HashMap<>();
+        results.forEach((key, result) -> boundedResults.put(key, bound(result)));
+
+        return Collections.unmodifiableMap(boundedResults);
+    }
+
+    private <V> CompletableFuture<V> bound(final CompletableFuture<V> result) {
+        final CompletableFuture<V> bounded = result.copy().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+
+        bounded.whenComplete((value, e) -> {
+            if (e instanceof TimeoutException || e instanceof CancellationException) {
+                result.cancel(true);
+            }
+        });
+
+        return bounded;
+    }
+}
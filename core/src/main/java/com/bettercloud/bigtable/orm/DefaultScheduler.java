@@ -0,0 +1,25 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The daemon thread on which batches and hedges are scheduled, when no scheduler is configured. Scheduled tasks only
+ * send requests, so a single thread is shared by all DAOs.
+ */
+final class DefaultScheduler {
+
+    private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "bigtable-orm-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DefaultScheduler() {
+        // Not instantiable
+    }
+
+    static ScheduledExecutorService get() {
+        return INSTANCE;
+    }
+}
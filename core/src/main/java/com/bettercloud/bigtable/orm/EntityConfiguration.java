@@ -12,6 +12,16 @@ public interface EntityConfiguration<T extends Entity> {
 
     EntityDelegate<T> getDelegateForEntity(final T entity);
 
+    /**
+     * Converts a row key read from BigTable, such as a scanned row, into a key for this entity.
+     *
+     * @param row The row key, which is not shared with anything else and may be kept without copying
+     * @return The key of the row, a {@link TypedKey} for generated Entities
+     */
+    default Key<T> parseKey(final byte[] row) {
+        return RawKey.wrap(row);
+    }
+
     interface EntityDelegate<T extends Entity> {
 
         Object getColumnValue(final Column column);
@@ -0,0 +1,390 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.CompareOperator;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.RegexStringComparator;
+import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.filter.TimestampsFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * A server-side row predicate, compiled into HBase {@link Filter}s and attached to the {@link Scan} of a DAO scan.
+ *
+ * Column predicates are built from the {@link ColumnReference} constants exposed by generated Entities, and can be
+ * combined with key and timestamp predicates using {@link #and(EntityPredicate)} and {@link #or(EntityPredicate)}.
+ *
+ * Column values are stored as their Jackson serialization, so not every predicate can be evaluated by BigTable:
+ * <ul>
+ *     <li>Equality is supported for scalar columns (Strings, boxed primitives, UUIDs and enums)</li>
+ *     <li>Existence is supported for all columns</li>
+ *     <li>Ranges are only supported for String columns, since a JSON string sorts like the string it encodes. Range
+ *     bounds must not contain whitespace, control characters, {@code !}, {@code "} or {@code \}, and stored values
+ *     containing {@code "}, {@code \} or control characters (which Jackson escapes) may be ordered incorrectly</li>
+ *     <li>{@link #timestampsBetween(long, long)} becomes the time range of the {@link Scan}, so it can only be combined
+ *     using {@link #and(EntityPredicate)}</li>
+ * </ul>
+ *
+ * Predicates which cannot be pushed down are rejected with an {@link IllegalArgumentException} before any request is
+ * sent to BigTable.
+ *
+ * @param <T> The Entity type the predicate applies to
+ */
+public abstract class EntityPredicate<T extends Entity> {
+
+    private static final byte[] EMPTY_VALUE = new byte[0];
+
+    private static final List<Class<?>> SCALAR_TYPES = Arrays.asList(String.class, Boolean.class, Character.class,
+            Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, UUID.class);
+
+    EntityPredicate() {
+        // Only extended within this package
+    }
+
+    /**
+     * @param regex A {@link Pattern} which must be found within the row key, decoded as UTF-8 (use {@code ^} and
+     *              {@code $} to match the entire key)
+     * @param <T> The Entity type the predicate applies to
+     * @return A predicate matching rows whose key matches the provided regex
+     */
+    public static <T extends Entity> EntityPredicate<T> keyMatches(final String regex) {
+        return new KeyRegexPredicate<>(Pattern.compile(regex).pattern());
+    }
+
+    /**
+     * @param timestamps The exact cell timestamps to include
+     * @param <T> The Entity type the predicate applies to
+     * @return A predicate which only includes cells written at one of the provided timestamps
+     */
+    public static <T extends Entity> EntityPredicate<T> timestampsIn(final long... timestamps) {
+        if (timestamps.length == 0) {
+            throw new IllegalArgumentException("At least one timestamp is required");
+        }
+
+        return new TimestampsPredicate<>(LongStream.of(timestamps).sorted().distinct().boxed().collect(Collectors.toList()));
+    }
+
+    /**
+     * @param minInclusive The inclusive lower bound of cell timestamps
+     * @param maxExclusive The exclusive upper bound of cell timestamps
+     * @param <T> The Entity type the predicate applies to
+     * @return A predicate which only includes cells written within the provided time range
+     */
+    public static <T extends Entity> EntityPredicate<T> timestampsBetween(final long minInclusive, final long maxExclusive) {
+        if (minInclusive < 0 || maxExclusive <= minInclusive) {
+            throw new IllegalArgumentException("Invalid time range [" + minInclusive + ", " + maxExclusive + ")");
+        }
+
+        return new TimeRangePredicate<>(minInclusive, maxExclusive);
+    }
+
+    @SafeVarargs
+    public static <T extends Entity> EntityPredicate<T> allOf(final EntityPredicate<T>... predicates) {
+        return new CompositePredicate<>(FilterList.Operator.MUST_PASS_ALL, Arrays.asList(predicates));
+    }
+
+    @SafeVarargs
+    public static <T extends Entity> EntityPredicate<T> anyOf(final EntityPredicate<T>... predicates) {
+        return new CompositePredicate<>(FilterList.Operator.MUST_PASS_ONE, Arrays.asList(predicates));
+    }
+
+    public EntityPredicate<T> and(final EntityPredicate<T> other) {
+        return allOf(this, other);
+    }
+
+    public EntityPredicate<T> or(final EntityPredicate<T> other) {
+        return anyOf(this, other);
+    }
+
+    static <T extends Entity> EntityPredicate<T> compare(final Column column, final Comparison comparison, final Object value) {
+        return new ColumnComparisonPredicate<>(column, comparison, value);
+    }
+
+    static <T extends Entity> EntityPredicate<T> exists(final Column column) {
+        return new ColumnExistsPredicate<>(column);
+    }
+
+    /**
+     * Validates that the predicate can be evaluated by BigTable, without building any filters.
+     *
+     * @param conjunctive Whether every enclosing composite is a conjunction
+     * @throws IllegalArgumentException when the predicate cannot be pushed down
+     */
+    abstract void checkPushdown(final boolean conjunctive);
+
+    /**
+     * @param scan The scan the predicate is being attached to, for predicates which modify the scan itself
+     * @param objectMapper The mapper used to serialize column values, so comparisons match the stored bytes
+     * @return The compiled filter, or null if the predicate was fully applied to the scan
+     * @throws IOException when a comparison value cannot be serialized
+     */
+    @Nullable
+    abstract Filter toFilter(final Scan scan, final ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Runs {@link #checkPushdown(boolean)} and attaches the compiled predicate to the provided scan.
+     *
+     * @param scan The scan to attach the predicate to
+     * @param objectMapper The mapper used to serialize column values
+     * @return The compiled filter, or null if the predicate was fully applied to the scan
+     * @throws IOException when a comparison value cannot be serialized
+     */
+    @Nullable
+    Filter compile(final Scan scan, final ObjectMapper objectMapper) throws IOException {
+        checkPushdown(true);
+
+        return toFilter(scan, objectMapper);
+    }
+
+    enum Comparison {
+        EQUAL,
+        NOT_EQUAL,
+        GREATER,
+        GREATER_OR_EQUAL,
+        LESS,
+        LESS_OR_EQUAL;
+
+        boolean isRange() {
+            return this != EQUAL && this != NOT_EQUAL;
+        }
+    }
+
+    private static Class<?> rawType(final Column column) {
+        final Type type = column.getTypeReference().getType();
+
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            return Object.class;
+        }
+    }
+
+    private static SingleColumnValueFilter columnFilter(final Column column, final CompareOperator operator, final byte[] value) {
+        final SingleColumnValueFilter filter = new SingleColumnValueFilter(Bytes.toBytes(column.getFamily()),
+                Bytes.toBytes(column.getQualifier()), operator, new BinaryComparator(value));
+
+        // Rows without the column must never match, rather than passing every comparison
+        filter.setFilterIfMissing(true);
+
+        return filter;
+    }
+
+    private static final class ColumnComparisonPredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final Column column;
+        private final Comparison comparison;
+        private final Object value;
+
+        private ColumnComparisonPredicate(final Column column, final Comparison comparison, final Object value) {
+            this.column = column;
+            this.comparison = comparison;
+            this.value = value;
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            final Class<?> type = rawType(column);
+
+            if (comparison.isRange()) {
+                if (!String.class.equals(type)) {
+                    throw new IllegalArgumentException("Range predicates are only supported for String columns, but "
+                            + column.getFamily() + ":" + column.getQualifier() + " is of type " + type.getName());
+                }
+
+                final String bound = (String) value;
+
+                // A JSON string only sorts like its contents when no character can sort before the closing quote
+                if (bound.chars().anyMatch(c -> c <= '"' || c == '\\')) {
+                    throw new IllegalArgumentException("Range bound contains characters which cannot be compared"
+                            + " server-side: " + bound);
+                }
+            } else if (!SCALAR_TYPES.contains(type) && !type.isEnum()) {
+                throw new IllegalArgumentException("Equality predicates are only supported for scalar columns, but "
+                        + column.getFamily() + ":" + column.getQualifier() + " is of type " + type.getName());
+            }
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) throws IOException {
+            final byte[] encoded = objectMapper.writeValueAsBytes(value);
+
+            // The encoded value without its closing quote, sorting before every string it prefixes (including itself)
+            final byte[] prefix = Arrays.copyOf(encoded, Math.max(encoded.length - 1, 0));
+
+            switch (comparison) {
+                case EQUAL:
+                    return columnFilter(column, CompareOperator.EQUAL, encoded);
+                case NOT_EQUAL:
+                    return new FilterList(FilterList.Operator.MUST_PASS_ALL,
+                            columnFilter(column, CompareOperator.NOT_EQUAL, EMPTY_VALUE),
+                            columnFilter(column, CompareOperator.NOT_EQUAL, encoded));
+                case GREATER:
+                    return new FilterList(FilterList.Operator.MUST_PASS_ALL,
+                            columnFilter(column, CompareOperator.GREATER_OR_EQUAL, prefix),
+                            columnFilter(column, CompareOperator.NOT_EQUAL, encoded));
+                case GREATER_OR_EQUAL:
+                    return columnFilter(column, CompareOperator.GREATER_OR_EQUAL, prefix);
+                case LESS:
+                    return new FilterList(FilterList.Operator.MUST_PASS_ALL,
+                            columnFilter(column, CompareOperator.NOT_EQUAL, EMPTY_VALUE),
+                            columnFilter(column, CompareOperator.LESS, prefix));
+                case LESS_OR_EQUAL:
+                    return new FilterList(FilterList.Operator.MUST_PASS_ALL,
+                            columnFilter(column, CompareOperator.NOT_EQUAL, EMPTY_VALUE),
+                            new FilterList(FilterList.Operator.MUST_PASS_ONE,
+                                    columnFilter(column, CompareOperator.LESS, prefix),
+                                    columnFilter(column, CompareOperator.EQUAL, encoded)));
+                default:
+                    throw new IllegalStateException("Unrecognized comparison " + comparison);
+            }
+        }
+    }
+
+    private static final class ColumnExistsPredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final Column column;
+
+        private ColumnExistsPredicate(final Column column) {
+            this.column = column;
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            // Existence only relies on the stored value being empty for nulls, which holds for every column
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) {
+            return columnFilter(column, CompareOperator.NOT_EQUAL, EMPTY_VALUE);
+        }
+    }
+
+    private static final class KeyRegexPredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final String regex;
+
+        private KeyRegexPredicate(final String regex) {
+            this.regex = regex;
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            // Row regexes are evaluated natively by BigTable
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) {
+            return new RowFilter(CompareOperator.EQUAL, new RegexStringComparator(regex));
+        }
+    }
+
+    private static final class TimestampsPredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final List<Long> timestamps;
+
+        private TimestampsPredicate(final List<Long> timestamps) {
+            this.timestamps = timestamps;
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            // Timestamp sets are evaluated natively by BigTable
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) {
+            return new TimestampsFilter(timestamps);
+        }
+    }
+
+    private static final class TimeRangePredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final long minInclusive;
+        private final long maxExclusive;
+
+        private TimeRangePredicate(final long minInclusive, final long maxExclusive) {
+            this.minInclusive = minInclusive;
+            this.maxExclusive = maxExclusive;
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            if (!conjunctive) {
+                throw new IllegalArgumentException("Time range predicates apply to the entire scan, and cannot be"
+                        + " combined using or()");
+            }
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) throws IOException {
+            scan.setTimeRange(minInclusive, maxExclusive);
+
+            return null;
+        }
+    }
+
+    private static final class CompositePredicate<T extends Entity> extends EntityPredicate<T> {
+
+        private final FilterList.Operator operator;
+        private final List<EntityPredicate<T>> predicates;
+
+        private CompositePredicate(final FilterList.Operator operator, final List<EntityPredicate<T>> predicates) {
+            if (predicates.isEmpty()) {
+                throw new IllegalArgumentException("At least one predicate is required");
+            }
+
+            predicates.forEach(Objects::requireNonNull);
+
+            this.operator = operator;
+            this.predicates = Collections.unmodifiableList(new ArrayList<>(predicates));
+        }
+
+        @Override
+        void checkPushdown(final boolean conjunctive) {
+            final boolean childrenConjunctive = conjunctive && operator == FilterList.Operator.MUST_PASS_ALL;
+
+            predicates.forEach(predicate -> predicate.checkPushdown(childrenConjunctive));
+        }
+
+        @Override
+        Filter toFilter(final Scan scan, final ObjectMapper objectMapper) throws IOException {
+            final List<Filter> filters = new ArrayList<>();
+
+            for (final EntityPredicate<T> predicate : predicates) {
+                final Filter filter = predicate.toFilter(scan, objectMapper);
+
+                if (filter != null) {
+                    filters.add(filter);
+                }
+            }
+
+            if (filters.isEmpty()) {
+                return null;
+            } else if (filters.size() == 1) {
+                return filters.get(0);
+            } else {
+                return new FilterList(operator, filters);
+            }
+        }
+    }
+}
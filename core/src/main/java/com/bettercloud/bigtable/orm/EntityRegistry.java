@@ -1,21 +1,72 @@
 package com.bettercloud.bigtable.orm;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-class EntityRegistry {
+/**
+ * Holds the configurations of the generated entities, which register themselves when their class is initialized.
+ *
+ * The annotation processor lists every generated entity in the index resource, so the indexed entities are all
+ * initialized, and their configurations loaded into an immutable map, the first time any entity is looked up.
+ * Entities compiled without an index are still initialized on their first lookup.
+ */
+public final class EntityRegistry {
+
+    /**
+     * The resource listing the fully qualified names of the generated entities of a compilation, one per line
+     */
+    @SuppressWarnings("WeakerAccess") // Used by the annotation processor
+    public static final String INDEX_RESOURCE = "META-INF/bigtable-orm/entities";
 
     private static final Map<Class<?>, EntityConfiguration<?>> ENTITY_CONFIGURATIONS = new ConcurrentHashMap<>();
 
+    private EntityRegistry() {
+        // Only static access
+    }
+
     static <T extends Entity> void register(final EntityConfiguration<T> entityConfiguration, final Class<T> type) {
         ENTITY_CONFIGURATIONS.put(type, entityConfiguration);
     }
 
+    /**
+     * Initializes every indexed entity on the first call, so their configurations are ready before the first request.
+     *
+     * @return The types of the entities listed in the indexes of the class path
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Set<Class<? extends Entity>> getIndexedTypes() {
+        return Index.TYPES;
+    }
+
     @SuppressWarnings("unchecked") // Compile-time type checks happen via register()
     static <T extends Entity> EntityConfiguration<T> getConfigurationForType(final Class<T> type) {
+        final EntityConfiguration<?> indexedConfiguration = Index.CONFIGURATIONS.get(type);
+
+        if (indexedConfiguration != null) {
+            return (EntityConfiguration<T>) indexedConfiguration;
+        }
+
+        final EntityConfiguration<?> registeredConfiguration = ENTITY_CONFIGURATIONS.get(type);
+
+        if (registeredConfiguration != null) {
+            // Already initialized, as the static block registered it
+            return (EntityConfiguration<T>) registeredConfiguration;
+        }
+
         try {
             // Force class initialization, required for static block evaluation
-            Class.forName(type.getName());
+            Class.forName(type.getName(), true, type.getClassLoader());
         } catch (final ClassNotFoundException e) {
             // This should never happen, but can if people are dumb
             throw new IllegalArgumentException("Class not found", e);
@@ -27,4 +78,76 @@ class EntityRegistry {
             throw new IllegalStateException("Could not retrieve configuration for type " + type);
         }
     }
+
+    /**
+     * Loaded by the first lookup, as the initialization of the holder class is lazy and thread-safe.
+     */
+    private static final class Index {
+
+        private static final Set<Class<? extends Entity>> TYPES;
+        private static final Map<Class<?>, EntityConfiguration<?>> CONFIGURATIONS;
+
+        static {
+            final ClassLoader classLoader = Thread.currentThread().getContextClassLoader() != null
+                    ? Thread.currentThread().getContextClassLoader()
+                    : EntityRegistry.class.getClassLoader();
+
+            final Set<Class<? extends Entity>> types = new LinkedHashSet<>();
+            final Map<Class<?>, EntityConfiguration<?>> configurations = new HashMap<>();
+
+            for (final String typeName : readIndexes(classLoader)) {
+                final Class<?> type;
+
+                try {
+                    // Initializing the class runs its static block, which registers its configuration
+                    type = Class.forName(typeName, true, classLoader);
+                } catch (final ClassNotFoundException e) {
+                    // Left behind by an entity removed since the index was written
+                    continue;
+                } catch (final LinkageError e) {
+                    // The entity fails on its own first lookup, rather than failing the lookup of every entity
+                    continue;
+                }
+
+                final EntityConfiguration<?> configuration = ENTITY_CONFIGURATIONS.get(type);
+
+                if (configuration != null) {
+                    types.add(type.asSubclass(Entity.class));
+                    configurations.put(type, configuration);
+                }
+            }
+
+            TYPES = Collections.unmodifiableSet(types);
+            CONFIGURATIONS = Collections.unmodifiableMap(configurations);
+        }
+
+        /**
+         * An index which cannot be read is skipped, as its entities are still initialized on their first lookup.
+         */
+        private static Set<String> readIndexes(final ClassLoader classLoader) {
+            final Set<String> typeNames = new LinkedHashSet<>();
+
+            final Enumeration<URL> indexes;
+
+            try {
+                indexes = classLoader.getResources(INDEX_RESOURCE);
+            } catch (final IOException e) {
+                return typeNames;
+            }
+
+            while (indexes.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        indexes.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(String::trim)
+                            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                            .forEach(typeNames::add);
+                } catch (final IOException | UncheckedIOException e) {
+                    // Skipped, see above
+                }
+            }
+
+            return typeNames;
+        }
+    }
 }
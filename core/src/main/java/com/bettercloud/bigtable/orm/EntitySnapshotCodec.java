@@ -0,0 +1,102 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Serializes entities into immutable snapshots of their column values, and decodes every read of a snapshot into a new
+ * entity, so callers never share (and mutate) a cached instance.
+ */
+final class EntitySnapshotCodec<T extends Entity> {
+
+    // Approximate overhead of the snapshot and its arrays, so entities with empty columns still have a weight
+    private static final int BASE_WEIGHT = 64;
+
+    private final Iterable<? extends Column> columns;
+    private final Supplier<T> entityFactory;
+    private final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory;
+    private final ObjectMapper objectMapper;
+
+    EntitySnapshotCodec(final Iterable<? extends Column> columns,
+                        final Supplier<T> entityFactory,
+                        final Function<T, EntityConfiguration.EntityDelegate<T>> delegateFactory,
+                        final ObjectMapper objectMapper) {
+        this.columns = columns;
+        this.entityFactory = entityFactory;
+        this.delegateFactory = delegateFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    Snapshot encode(final T entity) throws IOException {
+        final EntityConfiguration.EntityDelegate<T> delegate = delegateFactory.apply(entity);
+
+        final List<byte[]> values = new ArrayList<>();
+        final List<Long> timestamps = new ArrayList<>();
+        int weight = BASE_WEIGHT;
+
+        for (final Column column : columns) {
+            final Object value = delegate.getColumnValue(column);
+            final byte[] bytes = value != null ? objectMapper.writeValueAsBytes(value) : null;
+
+            values.add(bytes);
+            timestamps.add(column.isVersioned() ? delegate.getColumnTimestamp(column) : null);
+
+            if (bytes != null) {
+                weight += bytes.length;
+            }
+        }
+
+        return new Snapshot(values, timestamps, weight);
+    }
+
+    T decode(final Snapshot snapshot) {
+        final T entity = entityFactory.get();
+
+        final EntityConfiguration.EntityDelegate<T> delegate = delegateFactory.apply(entity);
+
+        // Columns are iterated in the same order as when encoding
+        int i = 0;
+
+        for (final Column column : columns) {
+            final byte[] bytes = snapshot.values.get(i);
+
+            try {
+                delegate.setColumnValue(column, bytes != null ? objectMapper.readValue(bytes, column.getTypeReference()) : null);
+            } catch (final IOException e) {
+                // Impossible, the bytes were written by the same ObjectMapper
+                throw new UncheckedIOException(e);
+            }
+
+            if (column.isVersioned()) {
+                delegate.setColumnTimestamp(column, snapshot.timestamps.get(i));
+            }
+
+            i++;
+        }
+
+        return entity;
+    }
+
+    static final class Snapshot {
+
+        private final List<byte[]> values;
+        private final List<Long> timestamps;
+        private final int weight;
+
+        private Snapshot(final List<byte[]> values, final List<Long> timestamps, final int weight) {
+            this.values = values;
+            this.timestamps = timestamps;
+            this.weight = weight;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+    }
+}
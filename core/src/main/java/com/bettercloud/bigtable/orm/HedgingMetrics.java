@@ -0,0 +1,105 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The reads and hedges sent by hedging AsyncDaos, and how often a hedge returned a row before the original read.
+ *
+ * Recorded by every AsyncDao created with the same {@link HedgingOptions}.
+ */
+public final class HedgingMetrics {
+
+    private final Histogram readLatenciesMicros = new Histogram();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder skippedHedges = new LongAdder();
+    private final LongAdder hedgedRows = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    HedgingMetrics() {
+        // Only created by HedgingOptions
+    }
+
+    void recordRead(final long latencyMicros) {
+        readLatenciesMicros.record(latencyMicros);
+    }
+
+    void recordReadSent() {
+        reads.increment();
+    }
+
+    void recordHedgeSent(final int rows) {
+        hedges.increment();
+        hedgedRows.add(rows);
+    }
+
+    void recordHedgeSkipped() {
+        skippedHedges.increment();
+    }
+
+    void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * @return The time in microseconds from a read being sent until all of its rows were returned, excluding hedges
+     */
+    public Histogram getReadLatenciesMicros() {
+        return readLatenciesMicros;
+    }
+
+    /**
+     * @return The number of reads sent, excluding hedges
+     */
+    public long getReads() {
+        return reads.sum();
+    }
+
+    /**
+     * @return The number of hedges sent
+     */
+    public long getHedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return The number of hedges not sent because the max hedge percent was reached
+     */
+    public long getSkippedHedges() {
+        return skippedHedges.sum();
+    }
+
+    /**
+     * @return The number of rows read again by hedges
+     */
+    public long getHedgedRows() {
+        return hedgedRows.sum();
+    }
+
+    /**
+     * @return The number of hedged rows returned by the hedge before the original read
+     */
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * @return The fraction of hedged rows returned by the hedge before the original read, or 0 when none were hedged
+     */
+    public double getHedgeWinRate() {
+        final long rows = getHedgedRows();
+
+        return rows == 0 ? 0 : (double) getHedgeWins() / rows;
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingMetrics{" +
+                "reads=" + getReads() +
+                ", hedges=" + getHedges() +
+                ", skippedHedges=" + getSkippedHedges() +
+                ", hedgedRows=" + getHedgedRows() +
+                ", hedgeWins=" + getHedgeWins() +
+                '}';
+    }
+}
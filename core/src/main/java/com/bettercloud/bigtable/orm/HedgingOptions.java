@@ -0,0 +1,130 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Configures the hedging of reads of an {@link AsyncDao}, defined by
+ * {@link AsyncDaoFactory.OptionsBuilder#setHedgingOptions(HedgingOptions)}.
+ *
+ * When rows of a read have not been returned after the hedge delay, a second read of those rows is sent, and each row
+ * completes with whichever response arrives first. This cuts the tail latency caused by a slow server, at the cost of
+ * duplicate reads, which are capped at a percentage of the reads sent.
+ */
+public final class HedgingOptions {
+
+    private final Duration delay;
+    private final double delayPercentile;
+    private final double maxHedgePercent;
+    private final ScheduledExecutorService scheduler;
+    private final HedgingMetrics metrics = new HedgingMetrics();
+
+    private HedgingOptions(final Builder builder) {
+        this.delay = builder.delay;
+        this.delayPercentile = builder.delayPercentile;
+        this.maxHedgePercent = builder.maxHedgePercent;
+        this.scheduler = builder.scheduler;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Duration getDelay() {
+        return delay;
+    }
+
+    double getDelayPercentile() {
+        return delayPercentile;
+    }
+
+    double getMaxHedgePercent() {
+        return maxHedgePercent;
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @return The metrics of all AsyncDaos hedging with these options
+     */
+    public HedgingMetrics getMetrics() {
+        return metrics;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private Duration delay;
+        private double delayPercentile = 95;
+        private double maxHedgePercent = 5;
+        private ScheduledExecutorService scheduler;
+
+        private Builder() {
+            // Only accessible via HedgingOptions.builder()
+        }
+
+        /**
+         * When undefined, the delay is the delay percentile of the observed read latencies, and no hedges are sent
+         * until enough reads have completed to estimate it.
+         *
+         * @param delay The fixed time after which rows which have not been returned are read again
+         * @return This builder
+         */
+        public Builder setDelay(final Duration delay) {
+            Objects.requireNonNull(delay);
+
+            if (delay.isNegative() || delay.isZero()) {
+                throw new IllegalArgumentException("Delay must be positive");
+            }
+
+            this.delay = delay;
+            return this;
+        }
+
+        /**
+         * @param delayPercentile The percentile of the observed read latencies used as the delay when no fixed delay
+         *                        is defined, defaulting to 95
+         * @return This builder
+         */
+        public Builder setDelayPercentile(final double delayPercentile) {
+            if (delayPercentile <= 0 || delayPercentile >= 100) {
+                throw new IllegalArgumentException("Delay percentile must be between 0 and 100");
+            }
+
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        /**
+         * @param maxHedgePercent The maximum number of hedges sent, as a percentage of the reads sent, defaulting to 5
+         * @return This builder
+         */
+        public Builder setMaxHedgePercent(final double maxHedgePercent) {
+            if (maxHedgePercent <= 0 || maxHedgePercent > 100) {
+                throw new IllegalArgumentException("Max hedge percent must be greater than 0 and at most 100");
+            }
+
+            this.maxHedgePercent = maxHedgePercent;
+            return this;
+        }
+
+        /**
+         * When undefined, a single daemon thread shared by all AsyncDaos sends the hedges.
+         *
+         * @param scheduler The executor on which hedges are sent once reads have waited for the delay
+         * @return This builder
+         */
+        public Builder setScheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public HedgingOptions build() {
+            return new HedgingOptions(this);
+        }
+    }
+}
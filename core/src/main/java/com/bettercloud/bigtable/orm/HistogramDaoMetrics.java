@@ -0,0 +1,37 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregates the operations of every Dao created with it into histograms per type of operation. Recording never locks
+ * or allocates, so a single instance may be shared by all Daos of an application.
+ */
+public final class HistogramDaoMetrics implements DaoMetrics {
+
+    private final Map<DaoOperation.Type, OperationStats> stats = new EnumMap<>(DaoOperation.Type.class);
+
+    public HistogramDaoMetrics() {
+        for (final DaoOperation.Type type : DaoOperation.Type.values()) {
+            stats.put(type, new OperationStats());
+        }
+    }
+
+    @Override
+    public void record(final DaoOperation operation) {
+        stats.get(operation.getType()).record(operation);
+    }
+
+    /**
+     * @param type The type of operation
+     * @return The aggregated operations of the type
+     */
+    public OperationStats getStats(final DaoOperation.Type type) {
+        return stats.get(type);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramDaoMetrics" + stats;
+    }
+}
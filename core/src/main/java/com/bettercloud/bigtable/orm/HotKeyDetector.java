@@ -0,0 +1,200 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Finds the rows most frequently accessed by the Daos and AsyncDaos created with it, defined by
+ * {@link DaoFactory.OptionsBuilder#setHotKeyDetector(HotKeyDetector)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setHotKeyDetector(HotKeyDetector)}, per entity type and operation, over a
+ * sliding window.
+ *
+ * Gets, saves and deletes count every key they are called with, and scans count their start row. Rows are counted in
+ * Count-Min sketches, so memory is bounded whatever the number of distinct rows: every bucket of the window holds
+ * {@code 4 * width} counters per entity type and operation, and the candidates for the hot keys. Counts are upper
+ * bounds of the actual number of accesses, overcounting rows which share counters with other rows, which matters less
+ * the hotter the row. A single instance may be shared by all Daos of an application.
+ */
+public final class HotKeyDetector {
+
+    private final int topKeys;
+    private final long windowNanos;
+    private final int buckets;
+    private final int width;
+    private final LongSupplier nanoClock;
+
+    private final Map<Class<? extends Entity>, HotKeySketch[]> entities = new ConcurrentHashMap<>();
+
+    private HotKeyDetector(final Builder builder) {
+        this.topKeys = builder.topKeys;
+        this.windowNanos = builder.window.toNanos();
+        this.buckets = builder.buckets;
+        this.width = builder.width;
+        this.nanoClock = builder.nanoClock;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The types of the entities whose rows were counted
+     */
+    public Set<Class<? extends Entity>> getEntityTypes() {
+        return Collections.unmodifiableSet(entities.keySet());
+    }
+
+    /**
+     * @param entityType The type of the entity
+     * @param type The type of the operation
+     * @return The rows of the entity most frequently accessed by the operation over the window, most frequent first
+     */
+    public List<HotKey> getHotKeys(final Class<? extends Entity> entityType, final DaoOperation.Type type) {
+        final HotKeySketch[] sketches = entities.get(entityType);
+
+        if (sketches == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(sketches[type.ordinal()].hotKeys());
+    }
+
+    /**
+     * @return The sketches of every operation type of the entity, by the ordinal of the type
+     */
+    HotKeySketch[] getSketches(final Class<? extends Entity> entityType) {
+        return entities.computeIfAbsent(entityType, type -> {
+            final HotKeySketch[] sketches = new HotKeySketch[DaoOperation.Type.values().length];
+
+            for (int i = 0; i < sketches.length; i++) {
+                sketches[i] = new HotKeySketch(width, topKeys, windowNanos, buckets, nanoClock);
+            }
+
+            return sketches;
+        });
+    }
+
+    /**
+     * A row frequently accessed by an operation.
+     */
+    public static final class HotKey {
+
+        private final byte[] row;
+        private final long count;
+
+        HotKey(final byte[] row, final long count) {
+            this.row = row;
+            this.count = count;
+        }
+
+        /**
+         * @return The key of the row
+         */
+        public byte[] getRow() {
+            return row.clone();
+        }
+
+        /**
+         * @return The number of times the row was accessed over the window, which may be overcounted
+         */
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return Bytes.toStringBinary(row) + "=" + count;
+        }
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private int topKeys = 10;
+        private Duration window = Duration.ofMinutes(1);
+        private int buckets = 6;
+        private int width = 1024;
+        private LongSupplier nanoClock = System::nanoTime;
+
+        private Builder() {
+            // Only accessible via HotKeyDetector.builder()
+        }
+
+        /**
+         * @param topKeys The number of hot keys reported per entity type and operation, defaulting to 10
+         * @return This builder
+         */
+        public Builder setTopKeys(final int topKeys) {
+            if (topKeys < 1) {
+                throw new IllegalArgumentException("Top keys must be positive");
+            }
+
+            this.topKeys = topKeys;
+            return this;
+        }
+
+        /**
+         * @param window The time over which rows are counted, defaulting to 1 minute
+         * @return This builder
+         */
+        public Builder setWindow(final Duration window) {
+            Objects.requireNonNull(window);
+
+            if (window.isZero() || window.isNegative()) {
+                throw new IllegalArgumentException("Window must be positive");
+            }
+
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * The window slides by a bucket at a time, so more buckets forget past accesses more smoothly.
+         *
+         * @param buckets The number of buckets the window is split in, defaulting to 6
+         * @return This builder
+         */
+        public Builder setBuckets(final int buckets) {
+            if (buckets < 1) {
+                throw new IllegalArgumentException("Buckets must be positive");
+            }
+
+            this.buckets = buckets;
+            return this;
+        }
+
+        /**
+         * Wider sketches overcount less, as fewer rows share each counter, at the cost of memory.
+         *
+         * @param width The number of counters of each of the 4 rows of a sketch, rounded up to a power of two,
+         *              defaulting to 1024
+         * @return This builder
+         */
+        public Builder setWidth(final int width) {
+            if (width < 1 || width > 1 << 24) {
+                throw new IllegalArgumentException("Width must be between 1 and 2^24");
+            }
+
+            this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+            return this;
+        }
+
+        Builder setNanoClock(final LongSupplier nanoClock) {
+            this.nanoClock = Objects.requireNonNull(nanoClock);
+            return this;
+        }
+
+        public HotKeyDetector build() {
+            return new HotKeyDetector(this);
+        }
+    }
+}
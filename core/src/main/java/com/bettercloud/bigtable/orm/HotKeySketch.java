@@ -0,0 +1,246 @@
+package com.bettercloud.bigtable.orm;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the rows accessed by a single operation type of a single entity over a sliding window, and keeps the rows
+ * most likely to be the most frequent, see {@link HotKeyDetector}.
+ *
+ * The window is split in buckets, each holding a Count-Min sketch of the rows counted while it was current. A sketch
+ * never undercounts a row, and overcounts it by the collisions of its counters. Counters are incremented without
+ * locking, and the rows whose count exceeds the smallest of the candidates are kept as candidates, in stripes locked
+ * separately. Rows already candidates are counted without locking, so once the hot rows are known, counting them
+ * never contends. The hot keys are the candidates of every bucket of the window, counted over all of them.
+ */
+final class HotKeySketch {
+
+    private static final int DEPTH = 4;
+    private static final int STRIPES = 8;
+
+    private final int width;
+    private final int topKeys;
+    private final long bucketNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param width The number of counters of each row of a Count-Min sketch, which must be a power of two
+     * @param topKeys The number of hot keys reported
+     * @param windowNanos The length of the window
+     * @param bucketCount The number of buckets the window is split in
+     * @param nanoClock The source of the time
+     */
+    HotKeySketch(final int width,
+                 final int topKeys,
+                 final long windowNanos,
+                 final int bucketCount,
+                 final LongSupplier nanoClock) {
+        this.width = width;
+        this.topKeys = topKeys;
+        this.bucketNanos = Math.max(1, windowNanos / bucketCount);
+        this.nanoClock = nanoClock;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    void record(final byte[] row) {
+        bucket().record(row, hash(row));
+    }
+
+    /**
+     * @return The most frequent rows of the window, most frequent first
+     */
+    List<HotKeyDetector.HotKey> hotKeys() {
+        final long epoch = epoch();
+
+        final List<Bucket> window = new ArrayList<>(buckets.length());
+
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            final Bucket bucket = buckets.get(slot);
+
+            if (bucket != null && epoch - bucket.epoch < buckets.length()) {
+                window.add(bucket);
+            }
+        }
+
+        final Map<ByteBuffer, Long> candidates = new HashMap<>();
+
+        for (final Bucket bucket : window) {
+            bucket.addCandidates(candidates);
+        }
+
+        return candidates.entrySet().stream()
+                .map(candidate -> new HotKeyDetector.HotKey(candidate.getKey().array(), window.stream()
+                        .mapToLong(bucket -> bucket.estimate(candidate.getValue()))
+                        .sum()))
+                .sorted(Comparator.comparingLong(HotKeyDetector.HotKey::getCount).reversed())
+                .limit(topKeys)
+                .collect(Collectors.toList());
+    }
+
+    private long epoch() {
+        return Math.floorDiv(nanoClock.getAsLong(), bucketNanos);
+    }
+
+    /**
+     * @return The bucket of the current epoch, replacing the bucket of the slot when it belongs to a past epoch
+     */
+    private Bucket bucket() {
+        final long epoch = epoch();
+        final int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+
+        final Bucket bucket = buckets.get(slot);
+
+        // A thread which read the time just before the rotation counts into the newer bucket
+        if (bucket != null && bucket.epoch >= epoch) {
+            return bucket;
+        }
+
+        final Bucket current = new Bucket(epoch);
+
+        return buckets.compareAndSet(slot, bucket, current) ? current : buckets.get(slot);
+    }
+
+    /**
+     * FNV-1a, finished with the MurmurHash3 mixer so the high bits, which pick the counters, depend on every byte.
+     */
+    private static long hash(final byte[] row) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (final byte b : row) {
+            hash = (hash ^ b) * 0x100000001b3L;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    private final class Bucket {
+
+        private final long epoch;
+        private final AtomicIntegerArray counters = new AtomicIntegerArray(DEPTH * width);
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private Bucket(final long epoch) {
+            this.epoch = epoch;
+
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(this);
+            }
+        }
+
+        private void record(final byte[] row, final long hash) {
+            int estimate = Integer.MAX_VALUE;
+
+            for (int i = 0; i < DEPTH; i++) {
+                estimate = Math.min(estimate, counters.incrementAndGet(index(hash, i)));
+            }
+
+            stripes[(int) (hash >>> 61) & (STRIPES - 1)].offer(row, hash, estimate);
+        }
+
+        private int estimate(final long hash) {
+            int estimate = Integer.MAX_VALUE;
+
+            for (int i = 0; i < DEPTH; i++) {
+                estimate = Math.min(estimate, counters.get(index(hash, i)));
+            }
+
+            return estimate;
+        }
+
+        private void addCandidates(final Map<ByteBuffer, Long> candidates) {
+            for (final Stripe stripe : stripes) {
+                stripe.addCandidates(candidates);
+            }
+        }
+
+        /**
+         * Double hashing, deriving the counter of every row of the sketch from the two halves of the hash.
+         */
+        private int index(final long hash, final int depth) {
+            final int combined = (int) hash + depth * (int) (hash >>> 32);
+
+            return depth * width + (combined & (width - 1));
+        }
+    }
+
+    private final class Stripe {
+
+        private final Bucket bucket;
+
+        // The hashes of the candidate rows, only modified while holding the lock of the stripe
+        private final Map<ByteBuffer, Long> candidates = new ConcurrentHashMap<>();
+
+        // The count a row must exceed to become a candidate
+        private volatile int minimum;
+
+        private Stripe(final Bucket bucket) {
+            this.bucket = bucket;
+        }
+
+        private void offer(final byte[] row, final long hash, final int estimate) {
+            if (estimate <= minimum) {
+                return;
+            }
+
+            final ByteBuffer candidate = ByteBuffer.wrap(row);
+
+            // The hottest rows are already candidates, and are counted without locking
+            if (candidates.containsKey(candidate)) {
+                return;
+            }
+
+            synchronized (this) {
+                if (candidates.size() >= topKeys) {
+                    // Counts of the candidates only grow, so they are read again rather than remembered
+                    ByteBuffer coldest = null;
+                    int coldestEstimate = Integer.MAX_VALUE;
+
+                    for (final Map.Entry<ByteBuffer, Long> entry : candidates.entrySet()) {
+                        final int candidateEstimate = bucket.estimate(entry.getValue());
+
+                        if (candidateEstimate < coldestEstimate) {
+                            coldest = entry.getKey();
+                            coldestEstimate = candidateEstimate;
+                        }
+                    }
+
+                    if (coldestEstimate >= estimate) {
+                        minimum = coldestEstimate;
+                        return;
+                    }
+
+                    candidates.remove(coldest);
+                }
+
+                candidates.put(candidate, hash);
+
+                if (candidates.size() == topKeys) {
+                    minimum = candidates.values().stream()
+                            .mapToInt(bucket::estimate)
+                            .min()
+                            .orElse(0);
+                }
+            }
+        }
+
+        private void addCandidates(final Map<ByteBuffer, Long> target) {
+            target.putAll(candidates);
+        }
+    }
+}
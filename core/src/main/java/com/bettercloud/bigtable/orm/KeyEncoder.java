@@ -0,0 +1,118 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Builds binary row keys which sort, byte by byte, in the natural order of their components.
+ *
+ * <ul>
+ *     <li>Integers and longs are written big-endian with the sign bit flipped, so negative values sort first</li>
+ *     <li>UUIDs are written as their 16 raw bytes</li>
+ *     <li>Strings are written as UTF-8, with every 0x00 escaped as 0x00 0xFF, followed by the terminator 0x00 0x01,
+ *     so a string sorts before every longer string it prefixes</li>
+ *     <li>Instants are written as their epoch second, as a long, followed by their nanosecond adjustment</li>
+ * </ul>
+ *
+ * Used by the KeyBuilders of entities with a binary key format.
+ */
+public final class KeyEncoder {
+
+    static final byte ESCAPE = 0x00;
+    static final byte ESCAPED_NULL = (byte) 0xFF;
+    static final byte TERMINATOR = 0x01;
+
+    private byte[] buffer;
+    private int length;
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder() {
+        this.buffer = new byte[32];
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder writeInt(final int value) {
+        ensureCapacity(Bytes.SIZEOF_INT);
+        length = Bytes.putInt(buffer, length, value ^ Integer.MIN_VALUE);
+        return this;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder writeLong(final long value) {
+        ensureCapacity(Bytes.SIZEOF_LONG);
+        length = Bytes.putLong(buffer, length, value ^ Long.MIN_VALUE);
+        return this;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder writeUuid(final UUID value) {
+        Objects.requireNonNull(value);
+
+        ensureCapacity(2 * Bytes.SIZEOF_LONG);
+        length = Bytes.putLong(buffer, length, value.getMostSignificantBits());
+        length = Bytes.putLong(buffer, length, value.getLeastSignificantBits());
+        return this;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder writeString(final String value) {
+        final byte[] bytes = Bytes.toBytes(Objects.requireNonNull(value));
+
+        int escapes = 0;
+
+        for (final byte b : bytes) {
+            if (b == ESCAPE) {
+                escapes++;
+            }
+        }
+
+        ensureCapacity(bytes.length + escapes + 2);
+
+        for (final byte b : bytes) {
+            if (b == ESCAPE) {
+                buffer[length++] = ESCAPE;
+                buffer[length++] = ESCAPED_NULL;
+            } else {
+                buffer[length++] = b;
+            }
+        }
+
+        buffer[length++] = ESCAPE;
+        buffer[length++] = TERMINATOR;
+        return this;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public KeyEncoder writeInstant(final Instant value) {
+        Objects.requireNonNull(value);
+
+        writeLong(value.getEpochSecond());
+
+        // Always in [0, 999999999], so big-endian already sorts correctly
+        ensureCapacity(Bytes.SIZEOF_INT);
+        length = Bytes.putInt(buffer, length, value.getNano());
+        return this;
+    }
+
+    /**
+     * @return A copy of the bytes written so far
+     */
+    public byte[] toBytes() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public <T extends Entity> Key<T> toKey() {
+        return RawKey.wrap(toBytes());
+    }
+
+    private void ensureCapacity(final int additional) {
+        if (length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Describes how the components of a row key are laid out, so a {@link TypedKey} can locate them without decoding
+ * the whole key.
+ *
+ * Used by generated Entities.
+ */
+public final class KeyLayout {
+
+    /**
+     * The encodings of key components within a {@link #binary(ComponentType...)} layout.
+     */
+    public enum ComponentType {
+        STRING(-1),
+        INT(Bytes.SIZEOF_INT),
+        LONG(Bytes.SIZEOF_LONG),
+        UUID(2 * Bytes.SIZEOF_LONG),
+        INSTANT(Bytes.SIZEOF_LONG + Bytes.SIZEOF_INT);
+
+        private final int width;
+
+        ComponentType(final int width) {
+            this.width = width;
+        }
+    }
+
+    private final byte[] delimiter;
+    private final ComponentType[] componentTypes;
+
+    private KeyLayout(final byte[] delimiter, final ComponentType[] componentTypes) {
+        this.delimiter = delimiter;
+        this.componentTypes = componentTypes;
+    }
+
+    /**
+     * Components are separated by the delimiter. The last component absorbs any further delimiters, so it may
+     * contain the delimiter itself, while earlier components may not.
+     *
+     * @param delimiter The delimiter between components
+     * @param componentCount The number of components
+     * @return A layout of delimited String components
+     */
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public static KeyLayout delimited(final String delimiter, final int componentCount) {
+        if (Objects.requireNonNull(delimiter).isEmpty()) {
+            throw new IllegalArgumentException("Delimiter must not be empty");
+        }
+
+        if (componentCount < 1) {
+            throw new IllegalArgumentException("Keys require at least 1 component");
+        }
+
+        final ComponentType[] componentTypes = new ComponentType[componentCount];
+        Arrays.fill(componentTypes, ComponentType.STRING);
+
+        return new KeyLayout(Bytes.toBytes(delimiter), componentTypes);
+    }
+
+    /**
+     * Components are encoded as written by {@link KeyEncoder}.
+     *
+     * @param componentTypes The encoding of each component, in order
+     * @return A layout of binary components
+     */
+    @SuppressWarnings("WeakerAccess") // Used by generated Entities
+    public static KeyLayout binary(final ComponentType... componentTypes) {
+        if (componentTypes.length < 1) {
+            throw new IllegalArgumentException("Keys require at least 1 component");
+        }
+
+        return new KeyLayout(null, Arrays.copyOf(componentTypes, componentTypes.length));
+    }
+
+    boolean isDelimited() {
+        return delimiter != null;
+    }
+
+    int getComponentCount() {
+        return componentTypes.length;
+    }
+
+    ComponentType getComponentType(final int index) {
+        return componentTypes[index];
+    }
+
+    /**
+     * @param row The row key
+     * @return The start (inclusive) and end (exclusive) offset of every component, as consecutive pairs
+     * @throws IllegalStateException when the row does not match this layout
+     */
+    int[] locate(final byte[] row) {
+        final int[] bounds = new int[2 * componentTypes.length];
+
+        int offset = 0;
+
+        for (int i = 0; i < componentTypes.length; i++) {
+            final boolean last = i == componentTypes.length - 1;
+
+            final int end;
+            final int next;
+
+            if (isDelimited()) {
+                end = last ? row.length : indexOfDelimiter(row, offset);
+                next = end + delimiter.length;
+            } else if (componentTypes[i] == ComponentType.STRING) {
+                end = indexOfTerminator(row, offset);
+                next = end + 2;
+            } else {
+                end = offset + componentTypes[i].width;
+                next = end;
+            }
+
+            if (end < 0 || end > row.length) {
+                throw new IllegalStateException("Row key " + Bytes.toStringBinary(row) + " does not have "
+                        + componentTypes.length + " components");
+            }
+
+            bounds[2 * i] = offset;
+            bounds[2 * i + 1] = end;
+
+            offset = next;
+        }
+
+        if (!isDelimited() && offset != row.length) {
+            throw new IllegalStateException("Row key " + Bytes.toStringBinary(row) + " has trailing bytes");
+        }
+
+        return bounds;
+    }
+
+    private int indexOfDelimiter(final byte[] row, final int from) {
+        for (int i = from; i <= row.length - delimiter.length; i++) {
+            if (Bytes.equals(row, i, delimiter.length, delimiter, 0, delimiter.length)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int indexOfTerminator(final byte[] row, final int from) {
+        for (int i = from; i < row.length - 1; i++) {
+            if (row[i] == KeyEncoder.ESCAPE) {
+                if (row[i + 1] == KeyEncoder.TERMINATOR) {
+                    return i;
+                }
+
+                // Skip the escaped byte
+                i++;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures the cache of keys recently found not to exist, defined by
+ * {@link DaoFactory.OptionsBuilder#setNegativeCacheOptions(NegativeCacheOptions)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setNegativeCacheOptions(NegativeCacheOptions)}.
+ *
+ * Reads of such keys are answered without a request to BigTable, until the key expires, or is saved through the same
+ * DAO. Rows written by other processes are therefore only seen once the key expires, so the expiry should be short.
+ */
+public final class NegativeCacheOptions {
+
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+
+    private NegativeCacheOptions(final Builder builder) {
+        this.maximumSize = builder.maximumSize;
+        this.expireAfterWrite = builder.expireAfterWrite;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    long getMaximumSize() {
+        return maximumSize;
+    }
+
+    Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final NegativeCacheOptions that = (NegativeCacheOptions) o;
+        return maximumSize == that.maximumSize
+                && Objects.equals(expireAfterWrite, that.expireAfterWrite);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maximumSize, expireAfterWrite);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private long maximumSize = 100000;
+        private Duration expireAfterWrite = Duration.ofSeconds(5);
+
+        private Builder() {
+            // Only accessible via NegativeCacheOptions.builder()
+        }
+
+        /**
+         * @param maximumSize The maximum number of absent keys remembered, defaulting to 100000
+         * @return This builder
+         */
+        public Builder setMaximumSize(final long maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * @param expireAfterWrite The time for which a key is considered absent, defaulting to 5 seconds
+         * @return This builder
+         */
+        public Builder setExpireAfterWrite(final Duration expireAfterWrite) {
+            Objects.requireNonNull(expireAfterWrite);
+
+            if (expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+                throw new IllegalArgumentException("Expire after write must be positive");
+            }
+
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        public NegativeCacheOptions build() {
+            return new NegativeCacheOptions(this);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Result;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+
+/**
+ * Records the operations of a single Dao to its {@link DaoMetrics} and {@link DaoTracer}, the sizes of the values it
+ * serializes to its {@link PayloadProfiler}, and the rows it accesses to its {@link HotKeyDetector}, or nothing when
+ * none are configured.
+ */
+final class OperationRecorder {
+
+    private static final OperationRecorder DISABLED = new OperationRecorder(null, null, null, null, null, null);
+
+    @Nullable
+    private final DaoMetrics metrics;
+    @Nullable
+    private final DaoTracer tracer;
+    @Nullable
+    private final PayloadProfiler profiler;
+    @Nullable
+    private final HotKeySketch[] hotKeys;
+    private final Class<? extends Entity> entityType;
+    private final String tableName;
+
+    private OperationRecorder(@Nullable final DaoMetrics metrics,
+                              @Nullable final DaoTracer tracer,
+                              @Nullable final PayloadProfiler profiler,
+                              @Nullable final HotKeyDetector hotKeyDetector,
+                              final Class<? extends Entity> entityType,
+                              final String tableName) {
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.profiler = profiler;
+        this.hotKeys = hotKeyDetector != null ? hotKeyDetector.getSketches(entityType) : null;
+        this.entityType = entityType;
+        this.tableName = tableName;
+    }
+
+    static OperationRecorder disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * @param metrics The metrics receiving the operations, or null to record nothing
+     * @param entityType The entity of the Dao
+     * @param tableName The table of the Dao
+     * @return A recorder of the operations of the Dao
+     */
+    static OperationRecorder of(@Nullable final DaoMetrics metrics,
+                                final Class<? extends Entity> entityType,
+                                final String tableName) {
+        return of(metrics, null, entityType, tableName);
+    }
+
+    /**
+     * @param metrics The metrics receiving the operations, or null
+     * @param tracer The tracer opening a span per operation, or null
+     * @param entityType The entity of the Dao
+     * @param tableName The table of the Dao
+     * @return A recorder of the operations of the Dao, which records nothing when neither is defined
+     */
+    static OperationRecorder of(@Nullable final DaoMetrics metrics,
+                                @Nullable final DaoTracer tracer,
+                                final Class<? extends Entity> entityType,
+                                final String tableName) {
+        return of(metrics, tracer, null, null, entityType, tableName);
+    }
+
+    /**
+     * @param metrics The metrics receiving the operations, or null
+     * @param tracer The tracer opening a span per operation, or null
+     * @param profiler The profiler of the sizes of the values, or null
+     * @param hotKeyDetector The detector of the most frequently accessed rows, or null
+     * @param entityType The entity of the Dao
+     * @param tableName The table of the Dao
+     * @return A recorder of the operations of the Dao, which records nothing when none are defined
+     */
+    static OperationRecorder of(@Nullable final DaoMetrics metrics,
+                                @Nullable final DaoTracer tracer,
+                                @Nullable final PayloadProfiler profiler,
+                                @Nullable final HotKeyDetector hotKeyDetector,
+                                final Class<? extends Entity> entityType,
+                                final String tableName) {
+        return metrics != null || tracer != null || profiler != null || hotKeyDetector != null
+                ? new OperationRecorder(metrics, tracer, profiler, hotKeyDetector, entityType, tableName)
+                : DISABLED;
+    }
+
+    /**
+     * The configuration of an entity only exposes the type of the entity through the entities it creates, so an
+     * entity is only created when any of them is configured.
+     */
+    static <T extends Entity> OperationRecorder of(@Nullable final DaoMetrics metrics,
+                                                   @Nullable final DaoTracer tracer,
+                                                   @Nullable final PayloadProfiler profiler,
+                                                   @Nullable final HotKeyDetector hotKeyDetector,
+                                                   final EntityConfiguration<T> entityConfiguration,
+                                                   final String tableName) {
+        if (metrics == null && tracer == null && profiler == null && hotKeyDetector == null) {
+            return DISABLED;
+        }
+
+        return of(metrics, tracer, profiler, hotKeyDetector, entityConfiguration.getEntityFactory().get().getClass(),
+                tableName);
+    }
+
+    /**
+     * @param type The type of the operation
+     * @return The timer of an operation starting now, which records nothing when neither metrics nor a tracer are
+     *         configured
+     */
+    OperationTimer start(final DaoOperation.Type type) {
+        if (metrics == null && tracer == null) {
+            return OperationTimer.disabled();
+        }
+
+        return new OperationTimer(this, type, startSpan(type));
+    }
+
+    /**
+     * @param type The type of the operation
+     * @param keys The keys of the rows accessed by the operation
+     */
+    void accessed(final DaoOperation.Type type, final Collection<? extends Key<?>> keys) {
+        if (hotKeys != null) {
+            final HotKeySketch sketch = hotKeys[type.ordinal()];
+
+            for (final Key<?> key : keys) {
+                sketch.record(key.toBytes());
+            }
+        }
+    }
+
+    void accessed(final DaoOperation.Type type, final Key<?> key) {
+        if (hotKeys != null) {
+            hotKeys[type.ordinal()].record(key.toBytes());
+        }
+    }
+
+    /**
+     * @param type The type of the operation
+     * @param row The key of the row accessed by the operation, such as the start row of a scan, where the empty start
+     *            row of a scan of the whole table is not counted
+     */
+    void accessed(final DaoOperation.Type type, final byte[] row) {
+        if (hotKeys != null && row.length > 0) {
+            hotKeys[type.ordinal()].record(row);
+        }
+    }
+
+    /**
+     * @param column The column of the value
+     * @param row The key of the row the value is written to
+     * @param bytes The serialized value
+     */
+    void written(final Column column, final byte[] row, final byte[] bytes) {
+        if (profiler != null) {
+            profiler.getStats(entityType, column).recordWritten(row, bytes.length);
+        }
+    }
+
+    /**
+     * @param column The column of the value
+     * @param result The row the value is read from, whose key is only copied when the value is among the largest
+     * @param cell The cell holding the serialized value
+     */
+    void read(final Column column, final Result result, final Cell cell) {
+        if (profiler != null) {
+            profiler.getStats(entityType, column).recordRead(result, cell.getValueLength());
+        }
+    }
+
+    void record(final DaoOperation.Type type,
+                @Nullable final byte[] row,
+                final int rowCount,
+                final int retries,
+                final long bytesRead,
+                final long bytesWritten,
+                final long serializationNanos,
+                final long rpcNanos,
+                final long deserializationNanos,
+                @Nullable final Throwable failure,
+                @Nullable final DaoSpan span) {
+        final DaoOperation operation = new DaoOperation(type, entityType, tableName, row, rowCount, retries, bytesRead,
+                bytesWritten, serializationNanos, rpcNanos, deserializationNanos, failure);
+
+        if (metrics != null) {
+            try {
+                metrics.record(operation);
+            } catch (final RuntimeException e) {
+                // Metrics never fail the operation
+            }
+        }
+
+        if (span != null) {
+            try {
+                span.end(operation);
+            } catch (final RuntimeException e) {
+                // Neither do spans
+            }
+        }
+    }
+
+    @Nullable
+    private DaoSpan startSpan(final DaoOperation.Type type) {
+        if (tracer == null) {
+            return null;
+        }
+
+        try {
+            return tracer.start(type, entityType, tableName);
+        } catch (final RuntimeException e) {
+            // The operation is still recorded to the metrics, without a span
+            return null;
+        }
+    }
+}
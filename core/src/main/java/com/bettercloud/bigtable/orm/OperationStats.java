@@ -0,0 +1,92 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The aggregated operations of one type, see {@link HistogramDaoMetrics#getStats(DaoOperation.Type)}.
+ */
+public final class OperationStats {
+
+    private final LongAdder failures = new LongAdder();
+    private final Histogram rowCounts = new Histogram();
+    private final Histogram bytesRead = new Histogram();
+    private final Histogram bytesWritten = new Histogram();
+    private final Histogram serializationMicros = new Histogram();
+    private final Histogram rpcMicros = new Histogram();
+    private final Histogram deserializationMicros = new Histogram();
+
+    OperationStats() {
+        // Only created by HistogramDaoMetrics
+    }
+
+    void record(final DaoOperation operation) {
+        if (operation.isFailed()) {
+            failures.increment();
+        } else {
+            rowCounts.record(operation.getRowCount());
+            bytesRead.record(operation.getBytesRead());
+            bytesWritten.record(operation.getBytesWritten());
+        }
+
+        serializationMicros.record(TimeUnit.NANOSECONDS.toMicros(operation.getSerializationNanos()));
+        rpcMicros.record(TimeUnit.NANOSECONDS.toMicros(operation.getRpcNanos()));
+        deserializationMicros.record(TimeUnit.NANOSECONDS.toMicros(operation.getDeserializationNanos()));
+    }
+
+    /**
+     * @return The number of operations, successful or not
+     */
+    public long getCount() {
+        return rpcMicros.getCount();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The number of rows per successful operation
+     */
+    public Histogram getRowCounts() {
+        return rowCounts;
+    }
+
+    /**
+     * @return The bytes of cell values read per successful operation
+     */
+    public Histogram getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return The bytes of cell values written per successful operation
+     */
+    public Histogram getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public Histogram getSerializationMicros() {
+        return serializationMicros;
+    }
+
+    public Histogram getRpcMicros() {
+        return rpcMicros;
+    }
+
+    public Histogram getDeserializationMicros() {
+        return deserializationMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationStats{" +
+                "count=" + getCount() +
+                ", failures=" + getFailures() +
+                ", rowCounts=" + rowCounts +
+                ", serializationMicros=" + serializationMicros +
+                ", rpcMicros=" + rpcMicros +
+                ", deserializationMicros=" + deserializationMicros +
+                '}';
+    }
+}
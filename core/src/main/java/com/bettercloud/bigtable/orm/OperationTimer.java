@@ -0,0 +1,284 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits the time of a single operation into its serialization, request and deserialization phases, and counts the
+ * bytes of the values it reads and writes.
+ *
+ * The phases of an operation happen one after another, each on the thread which completed the previous one, so the
+ * timer is never used by two threads at once. Scans alternate between the request and deserialization phases, as rows
+ * are converted while the scan returns more.
+ *
+ * The timer also holds the span of the operation, when tracing, which is ended as the operation is recorded.
+ */
+final class OperationTimer {
+
+    private static final OperationTimer DISABLED = new OperationTimer(null, null, null);
+
+    private static final DaoSpan.Scope NO_SCOPE = () -> {
+    };
+
+    private enum Phase {
+        SERIALIZATION,
+        RPC,
+        DESERIALIZATION
+    }
+
+    @Nullable
+    private final OperationRecorder recorder;
+    private final DaoOperation.Type type;
+    @Nullable
+    private final DaoSpan span;
+    private final long[] phaseNanos = new long[Phase.values().length];
+
+    private Phase phase = Phase.SERIALIZATION;
+    private long phaseStartNanos;
+    private long bytesRead;
+    private long bytesWritten;
+    @Nullable
+    private Key<?> key;
+    @Nullable
+    private byte[] row;
+    private int retries;
+    private boolean recorded;
+
+    OperationTimer(@Nullable final OperationRecorder recorder,
+                   final DaoOperation.Type type,
+                   @Nullable final DaoSpan span) {
+        this.recorder = recorder;
+        this.type = type;
+        this.span = span;
+        this.phaseStartNanos = recorder != null ? System.nanoTime() : 0;
+    }
+
+    static OperationTimer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Keeps the first key of the operation, only converted to a row when the operation is recorded.
+     */
+    void keys(final Collection<? extends Key<?>> keys) {
+        if (recorder == null || keys.isEmpty()) {
+            return;
+        }
+
+        key = keys.iterator().next();
+    }
+
+    void key(final Key<?> key) {
+        if (recorder == null) {
+            return;
+        }
+
+        this.key = key;
+    }
+
+    /**
+     * Keeps the start row of a scan.
+     */
+    void row(final byte[] row) {
+        if (recorder == null) {
+            return;
+        }
+
+        this.row = row;
+    }
+
+    /**
+     * Ends the serialization, or the conversion of the rows scanned so far, as the requests are sent.
+     */
+    void sent() {
+        enter(Phase.RPC);
+    }
+
+    /**
+     * Ends the requests, as their results are converted.
+     */
+    void received() {
+        enter(Phase.DESERIALIZATION);
+    }
+
+    void read(final Result result) {
+        if (recorder == null || result.isEmpty()) {
+            return;
+        }
+
+        for (final Cell cell : result.rawCells()) {
+            bytesRead += cell.getValueLength();
+        }
+    }
+
+    void written(final Collection<? extends Mutation> mutations) {
+        if (recorder == null) {
+            return;
+        }
+
+        for (final Mutation mutation : mutations) {
+            for (final List<Cell> cells : mutation.getFamilyCellMap().values()) {
+                for (final Cell cell : cells) {
+                    bytesWritten += cell.getValueLength();
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a chunk of the operation sent as a separate request, such as an attempt retrying the failed rows.
+     */
+    void chunk(final int index, final int rowCount) {
+        if (span == null) {
+            return;
+        }
+
+        try {
+            span.chunk(index, rowCount);
+        } catch (final RuntimeException e) {
+            // Spans never fail the operation
+        }
+    }
+
+    /**
+     * @return The scope of the span of the operation, made current on the calling thread until it is closed
+     */
+    DaoSpan.Scope activate() {
+        if (span == null) {
+            return NO_SCOPE;
+        }
+
+        try {
+            return span.makeCurrent();
+        } catch (final RuntimeException e) {
+            return NO_SCOPE;
+        }
+    }
+
+    /**
+     * @return The conversion, run with the span of the operation current, so that spans started by the conversion
+     *         are nested in it whichever thread runs it
+     */
+    <R, U> Function<R, U> inSpan(final Function<? super R, ? extends U> conversion) {
+        if (span == null) {
+            return conversion::apply;
+        }
+
+        return value -> {
+            try (DaoSpan.Scope ignored = activate()) {
+                return conversion.apply(value);
+            }
+        };
+    }
+
+    void completed(final int rowCount) {
+        record(rowCount, null);
+    }
+
+    /**
+     * Records an operation retrying its failed rows, with the number of rows which succeeded and of rows retried.
+     */
+    void completed(final BatchResult<?, ?> result) {
+        if (recorder == null) {
+            return;
+        }
+
+        retries = result.getRetries();
+
+        record(result.getSuccesses().size(), null);
+    }
+
+    void failed(final Throwable failure) {
+        record(0, failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+    }
+
+    /**
+     * @return A future completing with the results once the requests are received, or the results themselves when
+     *         nothing is recorded
+     */
+    <R> CompletableFuture<R> receiving(final CompletableFuture<R> results) {
+        if (recorder == null) {
+            return results;
+        }
+
+        return results.whenComplete((value, e) -> received());
+    }
+
+    /**
+     * @return The result, once its completion is recorded with the number of rows it holds
+     */
+    <R> CompletableFuture<R> recording(final CompletableFuture<R> result, final ToIntFunction<? super R> rowCount) {
+        if (recorder != null) {
+            result.whenComplete((value, e) -> {
+                if (e != null) {
+                    failed(e);
+                } else {
+                    completed(rowCount.applyAsInt(value));
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The result of an operation retrying its failed rows, once its completion is recorded
+     */
+    <K, V> CompletableFuture<BatchResult<K, V>> recordingBatch(final CompletableFuture<BatchResult<K, V>> result) {
+        if (recorder != null) {
+            result.whenComplete((value, e) -> {
+                if (e != null) {
+                    failed(e);
+                } else {
+                    completed(value);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Records the completion of every result, with a row per result.
+     */
+    void recordingAll(final List<? extends CompletableFuture<?>> results) {
+        if (recorder != null) {
+            recording(CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])), value -> results.size());
+        }
+    }
+
+    private void enter(final Phase next) {
+        if (recorder == null) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+
+        phaseNanos[phase.ordinal()] += now - phaseStartNanos;
+        phase = next;
+        phaseStartNanos = now;
+    }
+
+    private void record(final int rowCount, @Nullable final Throwable failure) {
+        if (recorder == null || recorded) {
+            return;
+        }
+
+        recorded = true;
+
+        phaseNanos[phase.ordinal()] += System.nanoTime() - phaseStartNanos;
+
+        recorder.record(type, key != null ? key.toBytes() : row, rowCount, retries, bytesRead, bytesWritten,
+                phaseNanos[Phase.SERIALIZATION.ordinal()], phaseNanos[Phase.RPC.ordinal()],
+                phaseNanos[Phase.DESERIALIZATION.ordinal()], failure, span);
+    }
+}
@@ -0,0 +1,274 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures {@link Dao#parallelScan(Key, boolean, Key, boolean, EntityPredicate, ParallelScanOptions, java.util.function.BiConsumer)}.
+ */
+public final class ParallelScanOptions {
+
+    private final int parallelism;
+    private final boolean ordered;
+    private final List<byte[]> splitPoints;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int bufferSize;
+    private final int progressInterval;
+    private final ShardListener listener;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Instant asOf;
+
+    private ParallelScanOptions(final Builder builder) {
+        this.parallelism = builder.parallelism;
+        this.ordered = builder.ordered;
+        this.splitPoints = Collections.unmodifiableList(new ArrayList<>(builder.splitPoints));
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoff = builder.retryBackoff;
+        this.bufferSize = builder.bufferSize;
+        this.progressInterval = builder.progressInterval;
+        this.listener = builder.listener;
+        this.executor = builder.executor;
+        this.timeout = builder.timeout;
+        this.asOf = builder.asOf;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    int getParallelism() {
+        return parallelism;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    List<byte[]> getSplitPoints() {
+        return splitPoints;
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param retry The number of the retry, starting at 1
+     * @return The retry backoff, doubled for every retry after the first, saturating at {@link Long#MAX_VALUE} rather
+     *         than overflowing
+     */
+    long retryBackoffNanos(final int retry) {
+        final long initialNanos = TimeUnit.MILLISECONDS.toNanos(retryBackoff.toMillis());
+
+        if (initialNanos == 0) {
+            return 0;
+        }
+
+        final int shift = retry - 1;
+
+        return shift < Long.numberOfLeadingZeros(initialNanos) ? initialNanos << shift : Long.MAX_VALUE;
+    }
+
+    int getBufferSize() {
+        return bufferSize;
+    }
+
+    int getProgressInterval() {
+        return progressInterval;
+    }
+
+    ShardListener getListener() {
+        return listener;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    Instant getAsOf() {
+        return asOf;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private boolean ordered = false;
+        private List<byte[]> splitPoints = Collections.emptyList();
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(100);
+        private int bufferSize = 1000;
+        private int progressInterval = 10000;
+        private ShardListener listener = new ShardListener() { };
+        private ExecutorService executor;
+        private Duration timeout;
+        private Instant asOf;
+
+        private Builder() {
+            // Only accessible via ParallelScanOptions.builder()
+        }
+
+        /**
+         * @param parallelism The maximum number of shards scanned concurrently, defaulting to the number of processors
+         * @return This builder
+         */
+        public Builder setParallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * When ordered, rows are delivered in key order, and shards further along the range are buffered while earlier
+         * shards are consumed. When unordered (the default), rows are delivered as soon as any shard returns them.
+         *
+         * @param ordered Whether rows must be delivered in key order
+         * @return This builder
+         */
+        public Builder setOrdered(final boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        /**
+         * When no split keys are defined, the range is split at the table's region (tablet) boundaries.
+         *
+         * @param splitKeys The keys at which the scanned range should be split into shards
+         * @return This builder
+         */
+        public Builder setSplitKeys(final Collection<? extends Key<?>> splitKeys) {
+            final List<byte[]> splitPoints = new ArrayList<>(splitKeys.size());
+
+            for (final Key<?> splitKey : splitKeys) {
+                splitPoints.add(Objects.requireNonNull(splitKey).toBytes());
+            }
+
+            this.splitPoints = splitPoints;
+            return this;
+        }
+
+        /**
+         * @param maxRetries The number of times a failed shard is resumed before the scan fails
+         * @return This builder
+         */
+        public Builder setMaxRetries(final int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Max retries must not be negative");
+            }
+
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * @param retryBackoff The delay before the first retry of a shard, doubling for every subsequent retry
+         * @return This builder
+         */
+        public Builder setRetryBackoff(final Duration retryBackoff) {
+            Objects.requireNonNull(retryBackoff);
+
+            if (retryBackoff.isNegative()) {
+                throw new IllegalArgumentException("Retry backoff must not be negative");
+            }
+
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        /**
+         * @param bufferSize The number of rows buffered per shard (or in total, when unordered) before scanning pauses
+         * @return This builder
+         */
+        public Builder setBufferSize(final int bufferSize) {
+            if (bufferSize < 1) {
+                throw new IllegalArgumentException("Buffer size must be positive");
+            }
+
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * @param progressInterval The number of rows between {@link ShardListener#onShardProgress(ScanShard, long)} callbacks
+         * @return This builder
+         */
+        public Builder setProgressInterval(final int progressInterval) {
+            if (progressInterval < 1) {
+                throw new IllegalArgumentException("Progress interval must be positive");
+            }
+
+            this.progressInterval = progressInterval;
+            return this;
+        }
+
+        public Builder setListener(final ShardListener listener) {
+            this.listener = Objects.requireNonNull(listener);
+            return this;
+        }
+
+        /**
+         * When undefined, a thread pool sized to the parallelism is created for, and shut down after, each scan.
+         *
+         * @param executor The executor on which shards are scanned
+         * @return This builder
+         */
+        public Builder setExecutor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * When defined, the scan fails with a {@link org.apache.hadoop.hbase.exceptions.TimeoutIOException} once the
+         * timeout has passed, and its shards stop scanning. Retries of failed shards are only attempted, and only wait
+         * for their backoff, within the time remaining.
+         *
+         * @param timeout The time within which the whole scan must complete
+         * @return This builder
+         */
+        public Builder setTimeout(final Duration timeout) {
+            if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+                throw new IllegalArgumentException("Timeout must be positive");
+            }
+
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * When defined, only cells with a timestamp at or before the time are read, so rows are scanned as they were at
+         * that time, and shards resumed after a failure return the same rows as their first attempt.
+         *
+         * @param asOf The time at which the rows should be read, or null to read the latest cells
+         * @return This builder
+         */
+        public Builder setAsOf(final Instant asOf) {
+            if (asOf != null && asOf.isBefore(Instant.EPOCH)) {
+                throw new IllegalArgumentException("As-of time must not be before the epoch");
+            }
+
+            this.asOf = asOf;
+            return this;
+        }
+
+        public ParallelScanOptions build() {
+            return new ParallelScanOptions(this);
+        }
+    }
+}
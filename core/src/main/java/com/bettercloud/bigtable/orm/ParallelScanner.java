@@ -0,0 +1,307 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Scans the shards of a key range concurrently, delivering every row to a consumer on the calling thread.
+ *
+ * A fixed number of workers pull shards in key order. When ordered, every shard is buffered into its own bounded
+ * queue and the queues are drained one after the other, otherwise all shards share a single bounded queue. A shard
+ * failing with an {@link IOException} is resumed after the last row it returned, so no row is delivered twice.
+ *
+ * When a timeout is defined, its deadline starts when the scanner is created and bounds every shard and retry.
+ */
+final class ParallelScanner<T extends Entity> {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    @FunctionalInterface
+    interface ScanFactory {
+        Scan create(byte[] startRow, boolean startRowInclusive, byte[] stopRow, boolean stopRowInclusive) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ScannerOpener {
+        ResultScanner open(Scan scan) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface ResultConverter<T> {
+        T convert(Result result) throws IOException;
+    }
+
+    private final ScannerOpener scannerOpener;
+    private final ScanFactory scanFactory;
+    private final Function<byte[], Key<T>> keyParser;
+    private final ResultConverter<T> resultConverter;
+    private final ParallelScanOptions options;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled = false;
+
+    ParallelScanner(final ScannerOpener scannerOpener,
+                    final ScanFactory scanFactory,
+                    final Function<byte[], Key<T>> keyParser,
+                    final ResultConverter<T> resultConverter,
+                    final ParallelScanOptions options) {
+        this.scannerOpener = scannerOpener;
+        this.scanFactory = scanFactory;
+        this.keyParser = keyParser;
+        this.resultConverter = resultConverter;
+        this.options = options;
+    }
+
+    void scan(final List<ScanShard> shards, final BiConsumer<Key<T>, T> consumer) throws IOException {
+        final List<BlockingQueue<Item<T>>> queues = new ArrayList<>(shards.size());
+
+        if (options.isOrdered()) {
+            for (int i = 0; i < shards.size(); i++) {
+                queues.add(new ArrayBlockingQueue<>(options.getBufferSize()));
+            }
+        } else {
+            final BlockingQueue<Item<T>> queue = new ArrayBlockingQueue<>(options.getBufferSize());
+
+            for (int i = 0; i < shards.size(); i++) {
+                queues.add(queue);
+            }
+        }
+
+        final Queue<ScanShard> pending = new ConcurrentLinkedQueue<>(shards);
+        final int workerCount = Math.min(options.getParallelism(), shards.size());
+
+        final ExecutorService executor = options.getExecutor() != null
+                ? options.getExecutor()
+                : Executors.newFixedThreadPool(workerCount);
+
+        final List<Future<?>> workers = new ArrayList<>(workerCount);
+
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executor.submit(() -> work(pending, queues)));
+            }
+
+            if (options.isOrdered()) {
+                for (final BlockingQueue<Item<T>> queue : queues) {
+                    Item<T> item;
+                    while (!(item = take(queue)).isEnd()) {
+                        consumer.accept(item.key, item.entity);
+                    }
+                }
+            } else {
+                final BlockingQueue<Item<T>> queue = queues.get(0);
+
+                int remaining = shards.size();
+                while (remaining > 0) {
+                    final Item<T> item = take(queue);
+
+                    if (item.isEnd()) {
+                        remaining--;
+                    } else {
+                        consumer.accept(item.key, item.entity);
+                    }
+                }
+            }
+        } finally {
+            cancelled = true;
+
+            workers.forEach(worker -> worker.cancel(true));
+
+            if (options.getExecutor() == null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void work(final Queue<ScanShard> pending, final List<BlockingQueue<Item<T>>> queues) {
+        ScanShard shard;
+
+        try {
+            while (!cancelled && (shard = pending.poll()) != null) {
+                scanShard(shard, queues.get(shard.getIndex()));
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final UncheckedIOException e) {
+            failure.compareAndSet(null, e.getCause());
+        } catch (final Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void scanShard(final ScanShard shard, final BlockingQueue<Item<T>> queue) throws IOException, InterruptedException {
+        final ShardListener listener = options.getListener();
+
+        listener.onShardStarted(shard);
+
+        byte[] lastRow = null;
+        long rowCount = 0;
+        int attempt = 0;
+
+        while (true) {
+            final Scan scan = lastRow == null
+                    ? scanFactory.create(shard.getStartRow(), shard.isStartRowInclusive(), shard.getStopRow(), shard.isStopRowInclusive())
+                    : scanFactory.create(lastRow, false, shard.getStopRow(), shard.isStopRowInclusive());
+
+            try (final ResultScanner scanner = scannerOpener.open(scan)) {
+                Result result;
+                while (!cancelled && (result = scanner.next()) != null) {
+                    if (!result.isEmpty()) {
+                        put(queue, new Item<>(keyParser.apply(result.getRow()), convert(result)));
+
+                        if (++rowCount % options.getProgressInterval() == 0) {
+                            listener.onShardProgress(shard, rowCount);
+                        }
+                    }
+
+                    lastRow = result.getRow();
+                }
+
+                break;
+            } catch (final IOException e) {
+                if (cancelled || attempt >= options.getMaxRetries()) {
+                    throw e;
+                }
+
+                attempt++;
+
+                listener.onShardRetry(shard, attempt, e);
+
+                final long backoffNanos = options.retryBackoffNanos(attempt);
+
+                if (backoffNanos >= remainingNanos()) {
+                    throw e;
+                }
+
+                TimeUnit.NANOSECONDS.sleep(backoffNanos);
+            }
+        }
+
+        // Before the end marker, so every callback has happened by the time the scan returns
+        listener.onShardCompleted(shard, rowCount);
+
+        put(queue, Item.end());
+    }
+
+    /**
+     * Conversion errors are not caused by the connection, so they are rethrown unchecked to bypass the retry.
+     */
+    private T convert(final Result result) {
+        try {
+            return resultConverter.convert(result);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void put(final BlockingQueue<Item<T>> queue, final Item<T> item) throws InterruptedException {
+        while (!queue.offer(item, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (cancelled) {
+                throw new InterruptedException("Parallel scan was cancelled");
+            }
+        }
+    }
+
+    private Item<T> take(final BlockingQueue<Item<T>> queue) throws IOException {
+        try {
+            while (true) {
+                throwFailure();
+
+                final long remainingNanos = remainingNanos();
+
+                if (remainingNanos <= 0) {
+                    throw new TimeoutIOException("Parallel scan did not complete within " + options.getTimeout());
+                }
+
+                final Item<T> item = queue.poll(Math.min(TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS), remainingNanos),
+                        TimeUnit.NANOSECONDS);
+
+                if (item != null) {
+                    return item;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            final InterruptedIOException exception = new InterruptedIOException("Interrupted while waiting for scanned rows");
+            exception.initCause(e);
+
+            throw exception;
+        }
+    }
+
+    /**
+     * @return The time left until the deadline, which is unbounded when no timeout is defined
+     */
+    private long remainingNanos() {
+        if (options.getTimeout() == null) {
+            return Long.MAX_VALUE;
+        }
+
+        return options.getTimeout().toNanos() - (System.nanoTime() - startNanos);
+    }
+
+    private void throwFailure() throws IOException {
+        final Throwable cause = failure.get();
+
+        if (cause == null) {
+            return;
+        }
+
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        throw new IOException(cause);
+    }
+
+    private static final class Item<T extends Entity> {
+
+        private static final Item<?> END = new Item<>(null, null);
+
+        private final Key<T> key;
+        private final T entity;
+
+        private Item(final Key<T> key, final T entity) {
+            this.key = key;
+            this.entity = entity;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T extends Entity> Item<T> end() {
+            return (Item<T>) END;
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the size of every value serialized by the Daos and AsyncDaos created with it, defined by
+ * {@link DaoFactory.OptionsBuilder#setPayloadProfiler(PayloadProfiler)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setPayloadProfiler(PayloadProfiler)}, per entity type and column, along with
+ * the rows holding the largest values.
+ *
+ * Values are measured as they are written, once serialized, and as they are read, before being deserialized. Null
+ * values are not recorded. A single instance may be shared by all Daos of an application.
+ */
+public final class PayloadProfiler {
+
+    private static final int DEFAULT_LARGEST_PAYLOADS = 10;
+
+    private final int largestPayloads;
+
+    private final Map<Class<? extends Entity>, Map<Column, ColumnPayloadStats>> entities = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public PayloadProfiler() {
+        this(DEFAULT_LARGEST_PAYLOADS);
+    }
+
+    /**
+     * @param largestPayloads The number of largest values kept per column
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public PayloadProfiler(final int largestPayloads) {
+        if (largestPayloads < 0) {
+            throw new IllegalArgumentException("Largest payloads must not be negative");
+        }
+
+        this.largestPayloads = largestPayloads;
+    }
+
+    /**
+     * @return The types of the entities whose values were recorded
+     */
+    public Set<Class<? extends Entity>> getEntityTypes() {
+        return Collections.unmodifiableSet(entities.keySet());
+    }
+
+    /**
+     * @param entityType The type of the entity
+     * @return The stats of every column of the entity whose values were recorded, by family and qualifier joined
+     *         with a colon
+     */
+    public Map<String, ColumnPayloadStats> getColumnStats(final Class<? extends Entity> entityType) {
+        final Map<Column, ColumnPayloadStats> columns = entities.get(entityType);
+
+        if (columns == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, ColumnPayloadStats> stats = new TreeMap<>();
+        columns.forEach((column, columnStats) ->
+                stats.put(column.getFamily() + ":" + column.getQualifier(), columnStats));
+
+        return Collections.unmodifiableMap(stats);
+    }
+
+    ColumnPayloadStats getStats(final Class<? extends Entity> entityType, final Column column) {
+        Map<Column, ColumnPayloadStats> columns = entities.get(entityType);
+
+        if (columns == null) {
+            columns = entities.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>());
+        }
+
+        final ColumnPayloadStats stats = columns.get(column);
+
+        return stats != null ? stats : columns.computeIfAbsent(column, c -> new ColumnPayloadStats(largestPayloads));
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadProfiler" + entities;
+    }
+}
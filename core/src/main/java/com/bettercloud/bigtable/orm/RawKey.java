@@ -8,10 +8,27 @@ public class RawKey<T extends Entity> implements Key<T> {
 
     private final byte[] key;
 
+    // Racy single-check, as in String, where 0 means not yet computed
+    private int hash;
+
     public RawKey(byte[] key) {
         this.key = Arrays.copyOf(key, key.length);
     }
 
+    RawKey(final byte[] key, final boolean copy) {
+        this.key = copy ? Arrays.copyOf(key, key.length) : key;
+    }
+
+    /**
+     * Creates a key backed by the provided array, without copying it.
+     *
+     * Only for arrays which are never modified afterwards, such as the fresh row returned by
+     * {@link org.apache.hadoop.hbase.client.Result#getRow()}.
+     */
+    static <T extends Entity> RawKey<T> wrap(final byte[] key) {
+        return new RawKey<>(key, false);
+    }
+
     @Override
     public byte[] toBytes() {
         return key;
@@ -27,11 +44,23 @@ public class RawKey<T extends Entity> implements Key<T> {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(key);
+        int h = hash;
+
+        if (h == 0) {
+            h = Arrays.hashCode(key);
+            hash = h;
+        }
+
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return Bytes.toStringBinary(key);
     }
 
     @Override
     public int compareTo(Key otherKey) {
-        return Bytes.compareTo(this.toBytes(), otherKey.toBytes());
+        return Bytes.compareTo(key, otherKey.toBytes());
     }
 }
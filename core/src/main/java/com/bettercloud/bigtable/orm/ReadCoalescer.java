@@ -0,0 +1,94 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Deduplicates concurrent reads of the same rows: while a row is being read, later reads of it wait for the same
+ * {@link Result} instead of sending another request.
+ *
+ * Only the immutable {@link Result} is shared, every caller still converts it into an entity of its own.
+ */
+final class ReadCoalescer<T extends Entity> {
+
+    private final ConcurrentMap<Key<T>, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param keys   The keys of the rows to read
+     * @param reader Reads the rows of the keys not already being read, returning a future per key, in the same order
+     * @return A future per key, in the same order as the keys
+     */
+    List<CompletableFuture<Result>> read(final List<? extends Key<T>> keys,
+                                         final Function<List<Key<T>>, List<CompletableFuture<Result>>> reader) {
+        final List<CompletableFuture<Result>> results = new ArrayList<>(keys.size());
+
+        final List<Key<T>> keysToRead = new ArrayList<>();
+        final List<CompletableFuture<Result>> pendingResults = new ArrayList<>();
+
+        for (final Key<T> key : keys) {
+            final Key<T> rowKey = RawKey.wrap(key.toBytes());
+
+            final CompletableFuture<Result> pendingResult = new CompletableFuture<>();
+            final CompletableFuture<Result> inFlightResult = inFlight.putIfAbsent(rowKey, pendingResult);
+
+            if (inFlightResult != null) {
+                results.add(inFlightResult);
+            } else {
+                results.add(pendingResult);
+                keysToRead.add(rowKey);
+                pendingResults.add(pendingResult);
+            }
+        }
+
+        if (keysToRead.isEmpty()) {
+            return results;
+        }
+
+        final List<CompletableFuture<Result>> readResults;
+
+        try {
+            readResults = reader.apply(keysToRead);
+        } catch (final RuntimeException e) {
+            for (int i = 0; i < keysToRead.size(); i++) {
+                complete(keysToRead.get(i), pendingResults.get(i), null, e);
+            }
+
+            throw e;
+        }
+
+        for (int i = 0; i < keysToRead.size(); i++) {
+            final Key<T> rowKey = keysToRead.get(i);
+            final CompletableFuture<Result> pendingResult = pendingResults.get(i);
+
+            readResults.get(i).whenComplete((result, e) -> complete(rowKey, pendingResult, result, e));
+        }
+
+        return results;
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Removed before completing, so reads following the completion send a new request and see later writes.
+     */
+    private void complete(final Key<T> rowKey,
+                          final CompletableFuture<Result> pendingResult,
+                          final Result result,
+                          final Throwable e) {
+        inFlight.remove(rowKey, pendingResult);
+
+        if (e != null) {
+            pendingResult.completeExceptionally(e);
+        } else {
+            pendingResult.complete(result);
+        }
+    }
+}
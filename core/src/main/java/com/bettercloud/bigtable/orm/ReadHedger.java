@@ -0,0 +1,169 @@
+package com.bettercloud.bigtable.orm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends a second read of the rows of a read which have not been returned after the hedge delay, completing each row
+ * with the first successful response. A row only fails once every read of it has failed. The reads of a row still in
+ * flight are cancelled once the row completes, or its future is cancelled.
+ *
+ * Each read sent earns a fraction of a hedge, in proportion to the max hedge percent, and each hedge spends a whole
+ * one, so hedges stay within that percentage of the reads even when every read is slow. At most
+ * {@link #MAX_BURST} unspent hedges are kept.
+ */
+final class ReadHedger {
+
+    /**
+     * The number of latencies observed before a delay is derived from them.
+     */
+    static final int MIN_SAMPLES = 100;
+
+    static final int MAX_BURST = 10;
+
+    private static final long HEDGE_COST = 1000;
+
+    private final Long fixedDelayNanos;
+    private final double delayPercentile;
+    private final long earnedPerRead;
+    private final ScheduledExecutorService scheduler;
+    private final HedgingMetrics metrics;
+    private final AtomicLong budget = new AtomicLong();
+
+    ReadHedger(final HedgingOptions options) {
+        this.fixedDelayNanos = options.getDelay() != null ? options.getDelay().toNanos() : null;
+        this.delayPercentile = options.getDelayPercentile();
+        this.earnedPerRead = Math.round(options.getMaxHedgePercent() / 100 * HEDGE_COST);
+        this.scheduler = options.getScheduler() != null ? options.getScheduler() : DefaultScheduler.get();
+        this.metrics = options.getMetrics();
+    }
+
+    <I, O> List<CompletableFuture<O>> read(final List<I> items,
+                                           final Function<List<I>, List<CompletableFuture<O>>> sender) {
+        final long delayNanos = delayNanos();
+        final long sentNanos = System.nanoTime();
+
+        final List<CompletableFuture<O>> primaries = sender.apply(items);
+
+        metrics.recordReadSent();
+        budget.accumulateAndGet(earnedPerRead, (current, earned) -> Math.min(MAX_BURST * HEDGE_COST, current + earned));
+
+        CompletableFuture.allOf(primaries.toArray(new CompletableFuture<?>[0])).whenComplete((v, e) ->
+                metrics.recordRead(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentNanos)));
+
+        final List<Attempts<O>> attempts = new ArrayList<>(primaries.size());
+
+        for (final CompletableFuture<O> primary : primaries) {
+            final Attempts<O> rowAttempts = new Attempts<>();
+            rowAttempts.track(primary, false);
+            attempts.add(rowAttempts);
+        }
+
+        if (delayNanos > 0 && attempts.stream().anyMatch(rowAttempts -> !rowAttempts.result.isDone())) {
+            scheduler.schedule(() -> hedge(items, attempts, sender), delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        final List<CompletableFuture<O>> results = new ArrayList<>(attempts.size());
+        attempts.forEach(rowAttempts -> results.add(rowAttempts.result));
+
+        return results;
+    }
+
+    /**
+     * @return The hedge delay, or 0 when too few latencies were observed to derive it
+     */
+    private long delayNanos() {
+        if (fixedDelayNanos != null) {
+            return fixedDelayNanos;
+        }
+
+        final Histogram latencies = metrics.getReadLatenciesMicros();
+
+        if (latencies.getCount() < MIN_SAMPLES) {
+            return 0;
+        }
+
+        return TimeUnit.MICROSECONDS.toNanos(Math.max(1, latencies.getValueAtPercentile(delayPercentile)));
+    }
+
+    private <I, O> void hedge(final List<I> items,
+                              final List<Attempts<O>> attempts,
+                              final Function<List<I>, List<CompletableFuture<O>>> sender) {
+        final List<I> pendingItems = new ArrayList<>();
+        final List<Attempts<O>> pendingAttempts = new ArrayList<>();
+
+        for (int i = 0; i < attempts.size(); i++) {
+            if (!attempts.get(i).result.isDone()) {
+                pendingItems.add(items.get(i));
+                pendingAttempts.add(attempts.get(i));
+            }
+        }
+
+        if (pendingItems.isEmpty()) {
+            return;
+        }
+
+        if (!spendHedge()) {
+            metrics.recordHedgeSkipped();
+            return;
+        }
+
+        metrics.recordHedgeSent(pendingItems.size());
+
+        final List<CompletableFuture<O>> hedges;
+
+        try {
+            hedges = sender.apply(pendingItems);
+        } catch (final RuntimeException e) {
+            // The original reads are still in flight
+            return;
+        }
+
+        for (int i = 0; i < pendingAttempts.size(); i++) {
+            pendingAttempts.get(i).track(hedges.get(i), true);
+        }
+    }
+
+    private boolean spendHedge() {
+        long current;
+
+        do {
+            current = budget.get();
+
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - HEDGE_COST));
+
+        return true;
+    }
+
+    private final class Attempts<O> {
+
+        private final CompletableFuture<O> result = new CompletableFuture<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private void track(final CompletableFuture<O> attempt, final boolean hedge) {
+            outstanding.incrementAndGet();
+
+            attempt.whenComplete((value, e) -> {
+                if (e == null) {
+                    if (result.complete(value) && hedge) {
+                        metrics.recordHedgeWin();
+                    }
+                } else if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            });
+
+            // Once a read won, or the caller stopped waiting, the other read of the row is no longer needed
+            result.whenComplete((value, e) -> attempt.cancel(true));
+        }
+    }
+}
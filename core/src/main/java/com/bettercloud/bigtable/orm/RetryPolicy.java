@@ -0,0 +1,234 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Configures the retries of the rows which failed in a batch operation returning a {@link BatchResult}, such as
+ * {@link Dao#tryGetAll(java.util.Set, RetryPolicy)}.
+ *
+ * Only the failed rows are retried, after an exponential backoff with full jitter. The rows retried by a batch are
+ * limited by a retry budget proportional to its size, so a batch in which most rows fail does not multiply its load.
+ */
+public final class RetryPolicy {
+
+    private static final RetryPolicy NO_RETRIES = builder().setMaxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final double retryBudgetPercent;
+    private final int minRetryBudget;
+    private final Predicate<Throwable> retryable;
+    private final ScheduledExecutorService scheduler;
+    private final boolean hasDeadline;
+    private final long deadlineNanos;
+
+    private RetryPolicy(final Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.retryBudgetPercent = builder.retryBudgetPercent;
+        this.minRetryBudget = builder.minRetryBudget;
+        this.retryable = builder.retryable;
+        this.scheduler = builder.scheduler;
+        this.hasDeadline = false;
+        this.deadlineNanos = 0;
+    }
+
+    private RetryPolicy(final RetryPolicy policy, final long deadlineNanos) {
+        this.maxAttempts = policy.maxAttempts;
+        this.initialBackoff = policy.initialBackoff;
+        this.maxBackoff = policy.maxBackoff;
+        this.retryBudgetPercent = policy.retryBudgetPercent;
+        this.minRetryBudget = policy.minRetryBudget;
+        this.retryable = policy.retryable;
+        this.scheduler = policy.scheduler;
+        this.hasDeadline = true;
+        this.deadlineNanos = policy.hasDeadline && policy.deadlineNanos - deadlineNanos < 0
+                ? policy.deadlineNanos
+                : deadlineNanos;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A policy reporting every failed row without retrying it
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static RetryPolicy noRetries() {
+        return NO_RETRIES;
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * @param deadlineNanos The {@link System#nanoTime()} past which the batch result is no longer awaited, such as
+     *                      the timeout of an AsyncDao, keeping any earlier deadline of this policy
+     * @return A copy of this policy which gives up retrying rather than backing off past the deadline
+     */
+    RetryPolicy withDeadline(final long deadlineNanos) {
+        return new RetryPolicy(this, deadlineNanos);
+    }
+
+    /**
+     * @param backoffNanos The delay before the next retry
+     * @return Whether the retry would be sent before the deadline of this policy, if any
+     */
+    boolean isWithinDeadline(final long backoffNanos) {
+        return !hasDeadline || deadlineNanos - System.nanoTime() > backoffNanos;
+    }
+
+    boolean isRetryable(final Throwable cause) {
+        return retryable.test(cause);
+    }
+
+    /**
+     * @param rows The number of rows in the batch
+     * @return The number of row retries the batch may spend
+     */
+    int retryBudget(final int rows) {
+        return Math.max(minRetryBudget, (int) Math.ceil(rows * retryBudgetPercent / 100));
+    }
+
+    /**
+     * @param retry The number of the retry, starting at 1
+     * @return A random delay between zero and the exponential backoff of the retry
+     */
+    long backoffNanos(final int retry) {
+        final long initialNanos = initialBackoff.toNanos();
+        final long maxNanos = maxBackoff.toNanos();
+
+        final int shift = Math.min(retry - 1, Long.numberOfLeadingZeros(Math.max(1, initialNanos)) - 1);
+        final long ceiling = Math.min(maxNanos, initialNanos << shift);
+
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double retryBudgetPercent = 10;
+        private int minRetryBudget = 10;
+        private Predicate<Throwable> retryable = cause -> !(cause instanceof DoNotRetryIOException);
+        private ScheduledExecutorService scheduler;
+
+        private Builder() {
+            // Only accessible via RetryPolicy.builder()
+        }
+
+        /**
+         * @param maxAttempts The number of times a row is attempted, including the first attempt, defaulting to 3
+         * @return This builder
+         */
+        public Builder setMaxAttempts(final int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("Max attempts must be positive");
+            }
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff The upper bound of the delay before the first retry, doubling for every subsequent
+         *                       retry, defaulting to 50 milliseconds
+         * @return This builder
+         */
+        public Builder setInitialBackoff(final Duration initialBackoff) {
+            Objects.requireNonNull(initialBackoff);
+
+            if (initialBackoff.isNegative()) {
+                throw new IllegalArgumentException("Initial backoff must not be negative");
+            }
+
+            this.initialBackoff = initialBackoff;
+            return this;
+        }
+
+        /**
+         * @param maxBackoff The upper bound of the delay before any retry, defaulting to 2 seconds
+         * @return This builder
+         */
+        public Builder setMaxBackoff(final Duration maxBackoff) {
+            Objects.requireNonNull(maxBackoff);
+
+            if (maxBackoff.isNegative()) {
+                throw new IllegalArgumentException("Max backoff must not be negative");
+            }
+
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * @param retryBudgetPercent The number of row retries a batch may spend, as a percentage of its rows,
+         *                           defaulting to 10
+         * @return This builder
+         */
+        public Builder setRetryBudgetPercent(final double retryBudgetPercent) {
+            if (retryBudgetPercent < 0) {
+                throw new IllegalArgumentException("Retry budget percent must not be negative");
+            }
+
+            this.retryBudgetPercent = retryBudgetPercent;
+            return this;
+        }
+
+        /**
+         * @param minRetryBudget The number of row retries any batch may spend, however small, defaulting to 10
+         * @return This builder
+         */
+        public Builder setMinRetryBudget(final int minRetryBudget) {
+            if (minRetryBudget < 0) {
+                throw new IllegalArgumentException("Min retry budget must not be negative");
+            }
+
+            this.minRetryBudget = minRetryBudget;
+            return this;
+        }
+
+        /**
+         * @param retryable Whether a row which failed with the provided cause may be retried, defaulting to every
+         *                  cause but {@link DoNotRetryIOException}
+         * @return This builder
+         */
+        public Builder setRetryable(final Predicate<Throwable> retryable) {
+            this.retryable = Objects.requireNonNull(retryable);
+            return this;
+        }
+
+        /**
+         * When undefined, a single daemon thread shared by all AsyncDaos sends the retries of asynchronous batches.
+         * Retries of blocking batches wait on the calling thread.
+         *
+         * @param scheduler The executor on which asynchronous retries are sent once their backoff has passed
+         * @return This builder
+         */
+        public Builder setScheduler(final ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
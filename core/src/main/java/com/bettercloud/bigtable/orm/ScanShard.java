@@ -0,0 +1,105 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A contiguous slice of a key range, scanned independently of the other shards during a parallel scan.
+ *
+ * Shards never overlap, and are indexed in key order.
+ */
+public final class ScanShard {
+
+    private final int index;
+    private final byte[] startRow;
+    private final boolean startRowInclusive;
+    private final byte[] stopRow;
+    private final boolean stopRowInclusive;
+
+    private ScanShard(final int index,
+                      final byte[] startRow,
+                      final boolean startRowInclusive,
+                      final byte[] stopRow,
+                      final boolean stopRowInclusive) {
+        this.index = index;
+        this.startRow = startRow;
+        this.startRowInclusive = startRowInclusive;
+        this.stopRow = stopRow;
+        this.stopRowInclusive = stopRowInclusive;
+    }
+
+    /**
+     * Splits the provided range at every split point strictly within it.
+     *
+     * @param startRow The first row of the range
+     * @param startRowInclusive Whether the first row is part of the range
+     * @param stopRow The last row of the range
+     * @param stopRowInclusive Whether the last row is part of the range
+     * @param splitPoints Candidate boundaries, such as region start keys, in any order
+     * @return The shards covering the range, in key order
+     */
+    static List<ScanShard> split(final byte[] startRow,
+                                 final boolean startRowInclusive,
+                                 final byte[] stopRow,
+                                 final boolean stopRowInclusive,
+                                 final Collection<byte[]> splitPoints) {
+        final TreeSet<byte[]> boundaries = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+
+        for (final byte[] splitPoint : splitPoints) {
+            if (Bytes.compareTo(splitPoint, startRow) > 0 && Bytes.compareTo(splitPoint, stopRow) < 0) {
+                boundaries.add(splitPoint);
+            }
+        }
+
+        final List<byte[]> rows = new ArrayList<>(boundaries.size() + 2);
+        rows.add(startRow);
+        rows.addAll(boundaries);
+        rows.add(stopRow);
+
+        final List<ScanShard> shards = new ArrayList<>(rows.size() - 1);
+
+        for (int i = 0; i < rows.size() - 1; i++) {
+            final boolean first = i == 0;
+            final boolean last = i == rows.size() - 2;
+
+            shards.add(new ScanShard(i, rows.get(i), !first || startRowInclusive, rows.get(i + 1), last && stopRowInclusive));
+        }
+
+        return Collections.unmodifiableList(shards);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public byte[] getStartRow() {
+        return Arrays.copyOf(startRow, startRow.length);
+    }
+
+    public boolean isStartRowInclusive() {
+        return startRowInclusive;
+    }
+
+    public byte[] getStopRow() {
+        return Arrays.copyOf(stopRow, stopRow.length);
+    }
+
+    public boolean isStopRowInclusive() {
+        return stopRowInclusive;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanShard{"
+                + "index=" + index
+                + ", startRow=" + (startRowInclusive ? "[" : "(") + Bytes.toStringBinary(startRow)
+                + ", stopRow=" + Bytes.toStringBinary(stopRow) + (stopRowInclusive ? "]" : ")")
+                + '}';
+    }
+}
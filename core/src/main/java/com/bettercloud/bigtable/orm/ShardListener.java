@@ -0,0 +1,34 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * Receives progress callbacks for the shards of a parallel scan.
+ *
+ * Callbacks are invoked from the threads scanning each shard, so implementations must be thread-safe.
+ */
+public interface ShardListener {
+
+    default void onShardStarted(final ScanShard shard) {
+    }
+
+    /**
+     * @param shard The shard being scanned
+     * @param rowCount The number of rows read from the shard so far
+     */
+    default void onShardProgress(final ScanShard shard, final long rowCount) {
+    }
+
+    /**
+     * @param shard The shard being retried, which resumes after the last row it already returned
+     * @param attempt The retry attempt, starting at 1
+     * @param cause The error which caused the retry
+     */
+    default void onShardRetry(final ScanShard shard, final int attempt, final Exception cause) {
+    }
+
+    /**
+     * @param shard The completed shard
+     * @param rowCount The total number of rows read from the shard
+     */
+    default void onShardCompleted(final ScanShard shard, final long rowCount) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.bettercloud.bigtable.orm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * A table of a factory created with several connections, sending every call through the table of the same name on the
+ * connection chosen by a {@link ConnectionSelector}.
+ *
+ * A call returning futures is outstanding until all of its futures complete, and fails if any of them fails, while
+ * any other call is outstanding until it returns. Cancelled calls, such as hedged reads which lost, are not failures.
+ * Closing the table closes the tables of every connection.
+ */
+final class ShardedTable implements InvocationHandler {
+
+    private final List<?> tables;
+    private final ConnectionSelector selector;
+
+    private ShardedTable(final List<?> tables, final ConnectionSelector selector) {
+        this.tables = tables;
+        this.selector = selector;
+    }
+
+    /**
+     * @param type The interface of the tables, {@link org.apache.hadoop.hbase.client.Table} or
+     *             {@link org.apache.hadoop.hbase.client.AsyncTable}
+     * @param tables The table of every connection, in the order of the connections of the selector
+     * @param selector The selector choosing the connection of every call
+     * @param <I> The interface of the tables
+     * @return A table sending every call through one of the tables
+     */
+    static <I> I of(final Class<I> type, final List<? extends I> tables, final ConnectionSelector selector) {
+        if (tables.size() != selector.getConnections().size()) {
+            throw new IllegalArgumentException("Every connection must have a table");
+        }
+
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new ShardedTable(new ArrayList<>(tables), selector)));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeOnProxy(proxy, method, args);
+        }
+
+        if (method.getName().equals("close") && method.getParameterCount() == 0) {
+            close();
+            return null;
+        }
+
+        final int connection = selector.select();
+
+        selector.recordSent(connection);
+
+        final Object result;
+
+        try {
+            result = method.invoke(tables.get(connection), args);
+        } catch (final InvocationTargetException e) {
+            selector.recordCompleted(connection, true);
+            throw e.getCause();
+        }
+
+        final CompletableFuture<?> completion = completionOf(result);
+
+        if (completion == null) {
+            selector.recordCompleted(connection, false);
+        } else {
+            completion.whenComplete((value, e) -> selector.recordCompleted(connection, isFailure(e)));
+        }
+
+        return result;
+    }
+
+    private static CompletableFuture<?> completionOf(final Object result) {
+        if (result instanceof CompletableFuture) {
+            return (CompletableFuture<?>) result;
+        }
+
+        if (result instanceof List && !((List<?>) result).isEmpty()
+                && ((List<?>) result).get(0) instanceof CompletableFuture) {
+            return CompletableFuture.allOf(((List<?>) result).toArray(new CompletableFuture<?>[0]));
+        }
+
+        return null;
+    }
+
+    private static boolean isFailure(final Throwable e) {
+        final Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+        return cause != null && !(cause instanceof CancellationException);
+    }
+
+    private void close() throws IOException {
+        IOException failure = null;
+
+        for (final Object table : tables) {
+            try {
+                ((Closeable) table).close();
+            } catch (final IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Object invokeOnProxy(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "ShardedTable" + tables;
+        }
+    }
+}
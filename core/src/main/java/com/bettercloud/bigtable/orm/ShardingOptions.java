@@ -0,0 +1,107 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configures how a {@link DaoFactory} or {@link AsyncDaoFactory} created with several connections spreads the requests
+ * of its DAOs across those connections.
+ *
+ * Every table of such a factory is opened on every connection, and each request is sent through the table of the
+ * connection chosen by the strategy. A connection whose requests fail repeatedly, or which is closed, is unhealthy and
+ * receives no requests until it has rested for the unhealthy duration, unless every connection is unhealthy.
+ */
+public final class ShardingOptions {
+
+    public enum Strategy {
+        /**
+         * Requests are sent through the healthy connections in turn
+         */
+        ROUND_ROBIN,
+        /**
+         * Requests are sent through the healthy connection with the fewest requests still in flight
+         */
+        LEAST_OUTSTANDING_REQUESTS
+    }
+
+    private final Strategy strategy;
+    private final int unhealthyAfterFailures;
+    private final Duration unhealthyDuration;
+
+    private ShardingOptions(final Builder builder) {
+        this.strategy = builder.strategy;
+        this.unhealthyAfterFailures = builder.unhealthyAfterFailures;
+        this.unhealthyDuration = builder.unhealthyDuration;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Strategy getStrategy() {
+        return strategy;
+    }
+
+    int getUnhealthyAfterFailures() {
+        return unhealthyAfterFailures;
+    }
+
+    Duration getUnhealthyDuration() {
+        return unhealthyDuration;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private Strategy strategy = Strategy.LEAST_OUTSTANDING_REQUESTS;
+        private int unhealthyAfterFailures = 5;
+        private Duration unhealthyDuration = Duration.ofSeconds(10);
+
+        private Builder() {
+            // Only accessible via ShardingOptions.builder()
+        }
+
+        /**
+         * @param strategy How the connection of each request is chosen, defaulting to least outstanding requests
+         * @return This builder
+         */
+        public Builder setStrategy(final Strategy strategy) {
+            this.strategy = Objects.requireNonNull(strategy);
+            return this;
+        }
+
+        /**
+         * @param unhealthyAfterFailures The number of consecutive failed requests after which a connection is
+         *                               unhealthy, defaulting to 5
+         * @return This builder
+         */
+        public Builder setUnhealthyAfterFailures(final int unhealthyAfterFailures) {
+            if (unhealthyAfterFailures < 1) {
+                throw new IllegalArgumentException("Unhealthy after failures must be positive");
+            }
+
+            this.unhealthyAfterFailures = unhealthyAfterFailures;
+            return this;
+        }
+
+        /**
+         * @param unhealthyDuration The time an unhealthy connection receives no requests, defaulting to 10 seconds
+         * @return This builder
+         */
+        public Builder setUnhealthyDuration(final Duration unhealthyDuration) {
+            Objects.requireNonNull(unhealthyDuration);
+
+            if (unhealthyDuration.isNegative() || unhealthyDuration.isZero()) {
+                throw new IllegalArgumentException("Unhealthy duration must be positive");
+            }
+
+            this.unhealthyDuration = unhealthyDuration;
+            return this;
+        }
+
+        public ShardingOptions build() {
+            return new ShardingOptions(this);
+        }
+    }
+}
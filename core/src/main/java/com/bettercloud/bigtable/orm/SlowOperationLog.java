@@ -0,0 +1,215 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the most recent operations slower than a threshold, with the key of their first row, their row count, bytes
+ * and the time of each of their phases, so the operations behind a latency outlier can be found after the fact.
+ *
+ * Operations are measured from the start of their serialization to the end of their deserialization, and may be
+ * sampled so a burst of slow operations does not flood the listener. The log is a {@link DaoMetrics}, defined by
+ * {@link DaoFactory.OptionsBuilder#setMetrics(DaoMetrics)} or
+ * {@link AsyncDaoFactory.OptionsBuilder#setMetrics(DaoMetrics)}, and may be combined with other metrics with
+ * {@link DaoMetrics#combine(DaoMetrics...)}.
+ */
+public final class SlowOperationLog implements DaoMetrics {
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final Consumer<SlowOperation> listener;
+
+    private final AtomicReferenceArray<SlowOperation> operations;
+    private final AtomicLong recorded = new AtomicLong();
+
+    private SlowOperationLog(final Builder builder) {
+        this.thresholdNanos = builder.threshold.toNanos();
+        this.sampleRate = builder.sampleRate;
+        this.listener = builder.listener;
+        this.operations = new AtomicReferenceArray<>(builder.capacity);
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void record(final DaoOperation operation) {
+        final long nanos = operation.getSerializationNanos() + operation.getRpcNanos()
+                + operation.getDeserializationNanos();
+
+        if (nanos < thresholdNanos) {
+            return;
+        }
+
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        final SlowOperation slowOperation = new SlowOperation(Instant.now(), Duration.ofNanos(nanos), operation);
+
+        if (operations.length() > 0) {
+            operations.set((int) (recorded.getAndIncrement() % operations.length()), slowOperation);
+        }
+
+        if (listener != null) {
+            listener.accept(slowOperation);
+        }
+    }
+
+    /**
+     * @return The slow operations kept by the log, most recent first
+     */
+    public List<SlowOperation> getOperations() {
+        final long last = recorded.get();
+        final int count = (int) Math.min(last, operations.length());
+
+        final List<SlowOperation> result = new ArrayList<>(count);
+
+        for (long index = last - 1; index >= last - count; index--) {
+            final SlowOperation operation = operations.get((int) (index % operations.length()));
+
+            if (operation != null) {
+                result.add(operation);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * An operation slower than the threshold of the log.
+     */
+    public static final class SlowOperation {
+
+        private final Instant time;
+        private final Duration duration;
+        private final DaoOperation operation;
+
+        private SlowOperation(final Instant time, final Duration duration, final DaoOperation operation) {
+            this.time = time;
+            this.duration = duration;
+            this.operation = operation;
+        }
+
+        /**
+         * @return When the operation completed
+         */
+        public Instant getTime() {
+            return time;
+        }
+
+        /**
+         * @return The time spent serializing, waiting for BigTable and deserializing
+         */
+        public Duration getDuration() {
+            return duration;
+        }
+
+        /**
+         * @return The operation, with its first key, rows, bytes and the time of each of its phases
+         */
+        public DaoOperation getOperation() {
+            return operation;
+        }
+
+        @Override
+        public String toString() {
+            return "SlowOperation{" +
+                    "time=" + time +
+                    ", duration=" + duration +
+                    ", type=" + operation.getType() +
+                    ", entityType=" + operation.getEntityType().getSimpleName() +
+                    ", row=" + (operation.getRow() != null ? Bytes.toStringBinary(operation.getRow()) : null) +
+                    ", rowCount=" + operation.getRowCount() +
+                    ", bytesRead=" + operation.getBytesRead() +
+                    ", bytesWritten=" + operation.getBytesWritten() +
+                    ", serialization=" + Duration.ofNanos(operation.getSerializationNanos()) +
+                    ", rpc=" + Duration.ofNanos(operation.getRpcNanos()) +
+                    ", deserialization=" + Duration.ofNanos(operation.getDeserializationNanos()) +
+                    ", failed=" + operation.isFailed() +
+                    '}';
+        }
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private Duration threshold = Duration.ofSeconds(1);
+        private double sampleRate = 1;
+        private int capacity = 100;
+        private Consumer<SlowOperation> listener;
+
+        private Builder() {
+            // Only accessible via SlowOperationLog.builder()
+        }
+
+        /**
+         * @param threshold The time from which an operation is slow, defaulting to 1 second
+         * @return This builder
+         */
+        public Builder setThreshold(final Duration threshold) {
+            Objects.requireNonNull(threshold);
+
+            if (threshold.isNegative()) {
+                throw new IllegalArgumentException("Threshold must not be negative");
+            }
+
+            this.threshold = threshold;
+            return this;
+        }
+
+        /**
+         * @param sampleRate The fraction of the slow operations which are logged, between 0 and 1, defaulting to 1
+         * @return This builder
+         */
+        public Builder setSampleRate(final double sampleRate) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+            }
+
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * @param capacity The number of most recent slow operations kept, defaulting to 100
+         * @return This builder
+         */
+        public Builder setCapacity(final int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("Capacity must not be negative");
+            }
+
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * The listener is called on the thread completing the operation, so it must not block, and should hand the
+         * operation off to a logger or a queue.
+         *
+         * @param listener Called with every logged slow operation
+         * @return This builder
+         */
+        public Builder setListener(final Consumer<SlowOperation> listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public SlowOperationLog build() {
+            return new SlowOperationLog(this);
+        }
+    }
+}
@@ -4,18 +4,27 @@ import org.apache.hadoop.hbase.util.Bytes;
 
 import java.util.Objects;
 
+/**
+ * A key encoded as UTF-8. The encoded bytes are computed once, on construction, so {@link #toBytes()} and
+ * {@link #compareTo(Key)} do not allocate.
+ */
 public class StringKey<T extends Entity> implements Key<T> {
 
     private final String keyString;
+    private final byte[] bytes;
 
     @SuppressWarnings("WeakerAccess") // Used by generated Entities
     public StringKey(final String keyString) {
         this.keyString = keyString;
+        this.bytes = Bytes.toBytes(keyString);
     }
 
+    /**
+     * @return The UTF-8 encoding of this key, which is shared and must not be modified
+     */
     @Override
     public byte[] toBytes() {
-        return Bytes.toBytes(keyString);
+        return bytes;
     }
 
     @Override
@@ -35,7 +44,8 @@ public class StringKey<T extends Entity> implements Key<T> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(keyString);
+        // String caches its own hash
+        return keyString.hashCode();
     }
 
     @Override
@@ -44,7 +54,7 @@ public class StringKey<T extends Entity> implements Key<T> {
     }
 
     @Override
-    public int compareTo(Key otherKey) {
-        return Bytes.compareTo(this.toBytes(), otherKey.toBytes());
+    public int compareTo(final Key otherKey) {
+        return Bytes.compareTo(bytes, otherKey.toBytes());
     }
 }
@@ -0,0 +1,127 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A row key whose components can be read individually.
+ *
+ * Components are located on first access, and each component is only decoded when it is read, so keys returned
+ * by a scan can be routed or partitioned on a single component cheaply.
+ *
+ * Generated Entities extend this class with a getter for every named key component.
+ */
+public abstract class TypedKey<T extends Entity> extends RawKey<T> {
+
+    private final KeyLayout layout;
+
+    // Located lazily, racing threads compute identical bounds
+    private volatile int[] bounds;
+
+    /**
+     * @param row The row key, which is not copied and must not be modified afterwards
+     * @param layout The layout of the components within the row key
+     */
+    protected TypedKey(final byte[] row, final KeyLayout layout) {
+        super(row, false);
+        this.layout = layout;
+    }
+
+    /**
+     * @param index The position of the component within the key, including constant components
+     * @return The component decoded as a UTF-8 String
+     * @throws IllegalStateException when the row key does not match the layout of this key
+     */
+    protected final String getStringComponent(final int index) {
+        final int start = start(index);
+        final int end = end(index);
+
+        if (layout.isDelimited()) {
+            return Bytes.toString(toBytes(), start, end - start);
+        }
+
+        checkComponentType(index, KeyLayout.ComponentType.STRING);
+
+        final byte[] row = toBytes();
+        final byte[] unescaped = new byte[end - start];
+
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            unescaped[length++] = row[i];
+
+            if (row[i] == KeyEncoder.ESCAPE) {
+                // Skip the escaped byte
+                i++;
+            }
+        }
+
+        return Bytes.toString(unescaped, 0, length);
+    }
+
+    protected final int getIntComponent(final int index) {
+        checkComponentType(index, KeyLayout.ComponentType.INT);
+
+        return Bytes.toInt(toBytes(), start(index)) ^ Integer.MIN_VALUE;
+    }
+
+    protected final long getLongComponent(final int index) {
+        checkComponentType(index, KeyLayout.ComponentType.LONG);
+
+        return Bytes.toLong(toBytes(), start(index)) ^ Long.MIN_VALUE;
+    }
+
+    protected final UUID getUuidComponent(final int index) {
+        checkComponentType(index, KeyLayout.ComponentType.UUID);
+
+        final int start = start(index);
+
+        return new UUID(Bytes.toLong(toBytes(), start), Bytes.toLong(toBytes(), start + Bytes.SIZEOF_LONG));
+    }
+
+    protected final Instant getInstantComponent(final int index) {
+        checkComponentType(index, KeyLayout.ComponentType.INSTANT);
+
+        final int start = start(index);
+
+        final long epochSecond = Bytes.toLong(toBytes(), start) ^ Long.MIN_VALUE;
+        final int nanos = Bytes.toInt(toBytes(), start + Bytes.SIZEOF_LONG);
+
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /**
+     * Delimited keys are printed as text, like a {@link StringKey}.
+     */
+    @Override
+    public String toString() {
+        return layout.isDelimited() ? Bytes.toString(toBytes()) : super.toString();
+    }
+
+    private void checkComponentType(final int index, final KeyLayout.ComponentType componentType) {
+        if (layout.isDelimited() || layout.getComponentType(index) != componentType) {
+            throw new IllegalStateException("Key component " + index + " is not encoded as " + componentType);
+        }
+    }
+
+    private int start(final int index) {
+        return bounds()[2 * index];
+    }
+
+    private int end(final int index) {
+        return bounds()[2 * index + 1];
+    }
+
+    private int[] bounds() {
+        int[] b = bounds;
+
+        if (b == null) {
+            b = layout.locate(toBytes());
+            bounds = b;
+        }
+
+        return b;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Selects the versions of a versioned column returned by
+ * {@link Dao#getColumnHistory(java.util.Set, Column, VersionQuery)}. Both limits are applied by BigTable, so versions
+ * outside of them are never sent.
+ */
+public final class VersionQuery {
+
+    private final int maxVersions;
+    private final Instant from;
+    private final Instant until;
+
+    private VersionQuery(final Builder builder) {
+        this.maxVersions = builder.maxVersions;
+        this.from = builder.from;
+        this.until = builder.until;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    int getMaxVersions() {
+        return maxVersions;
+    }
+
+    boolean hasTimeRange() {
+        return from != null;
+    }
+
+    long getMinTimestamp() {
+        return from.toEpochMilli();
+    }
+
+    long getMaxTimestamp() {
+        return until.toEpochMilli();
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private int maxVersions = Integer.MAX_VALUE;
+        private Instant from;
+        private Instant until;
+
+        private Builder() {
+            // Only accessible via VersionQuery.builder()
+        }
+
+        /**
+         * @param maxVersions The number of most recent versions returned per row, defaulting to every version
+         * @return This builder
+         */
+        public Builder setMaxVersions(final int maxVersions) {
+            if (maxVersions < 1) {
+                throw new IllegalArgumentException("Max versions must be positive");
+            }
+
+            this.maxVersions = maxVersions;
+            return this;
+        }
+
+        /**
+         * @param from The earliest timestamp of the returned versions, inclusive
+         * @param until The latest timestamp of the returned versions, exclusive
+         * @return This builder
+         */
+        public Builder setTimeRange(final Instant from, final Instant until) {
+            Objects.requireNonNull(from);
+            Objects.requireNonNull(until);
+
+            if (!from.isBefore(until)) {
+                throw new IllegalArgumentException("Time range must start before it ends");
+            }
+
+            this.from = from;
+            this.until = until;
+            return this;
+        }
+
+        public VersionQuery build() {
+            return new VersionQuery(this);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+
+/**
+ * The steps of a warm-up shared by the factories.
+ */
+final class WarmUp {
+
+    private static final byte[] NULL_JSON = Bytes.toBytes("null");
+
+    private static final byte[] PROBE_ROW = Bytes.toBytes("bigtable-orm-warm-up");
+
+    private WarmUp() {
+        // Only static access
+    }
+
+    /**
+     * Builds and caches the Jackson deserializer and serializer of the type of every column, which are otherwise built
+     * by the first read and write of each column.
+     *
+     * @throws IOException when Jackson cannot handle the type of a column
+     */
+    static void prepareObjectMapper(final ObjectMapper objectMapper,
+                                    final Iterable<? extends Column> columns) throws IOException {
+        for (final Column column : columns) {
+            // Reading a JSON null resolves the root deserializer of the type, as a read of the column does
+            objectMapper.readValue(NULL_JSON, column.getTypeReference());
+
+            // Writes look the serializer up by the class of the value, which is usually the declared class
+            final JavaType type = objectMapper.getTypeFactory().constructType(column.getTypeReference());
+            objectMapper.getSerializerProviderInstance().findTypedValueSerializer(type.getRawClass(), true, null);
+        }
+    }
+
+    /**
+     * @return A key-only existence check of a single row, whichever the table
+     */
+    static Get probe() {
+        final Get get = new Get(PROBE_ROW);
+        get.setCheckExistenceOnly(true);
+        return get;
+    }
+}
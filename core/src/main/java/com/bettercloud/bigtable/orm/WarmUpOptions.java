@@ -0,0 +1,50 @@
+package com.bettercloud.bigtable.orm;
+
+/**
+ * Configures the warm-up of a factory, see
+ * {@link DaoFactory#warmUp(java.util.Collection, DaoFactory.Options, WarmUpOptions)} and
+ * {@link AsyncDaoFactory#warmUp(java.util.Collection, AsyncDaoFactory.Options, WarmUpOptions)}.
+ */
+public final class WarmUpOptions {
+
+    private final boolean probingTables;
+
+    private WarmUpOptions(final Builder builder) {
+        this.probingTables = builder.probingTables;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    boolean isProbingTables() {
+        return probingTables;
+    }
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static class Builder {
+
+        private boolean probingTables = false;
+
+        private Builder() {
+            // Only accessible via WarmUpOptions.builder()
+        }
+
+        /**
+         * When enabled, the existence of a single row is checked on every warmed table through every connection, which
+         * opens their channels before the first request. The tables must therefore exist, or the warm-up fails.
+         *
+         * @param probingTables Whether to read from every warmed table, defaulting to false
+         * @return This builder
+         */
+        public Builder setProbingTables(final boolean probingTables) {
+            this.probingTables = probingTables;
+            return this;
+        }
+
+        public WarmUpOptions build() {
+            return new WarmUpOptions(this);
+        }
+    }
+}
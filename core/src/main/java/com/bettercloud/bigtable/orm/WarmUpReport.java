@@ -0,0 +1,65 @@
+package com.bettercloud.bigtable.orm;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The outcome of the warm-up of a factory.
+ */
+public final class WarmUpReport {
+
+    private final List<Class<? extends Entity>> entityTypes;
+    private final Set<String> tableNames;
+    private final boolean tablesProbed;
+    private final Duration duration;
+
+    WarmUpReport(final List<Class<? extends Entity>> entityTypes,
+                 final Set<String> tableNames,
+                 final boolean tablesProbed,
+                 final Duration duration) {
+        this.entityTypes = Collections.unmodifiableList(entityTypes);
+        this.tableNames = Collections.unmodifiableSet(tableNames);
+        this.tablesProbed = tablesProbed;
+        this.duration = duration;
+    }
+
+    /**
+     * @return The warmed entities, whose DAOs were created and whose column types were prepared for serialization
+     */
+    public List<Class<? extends Entity>> getEntityTypes() {
+        return entityTypes;
+    }
+
+    /**
+     * @return The names of the tables of the created DAOs
+     */
+    public Set<String> getTableNames() {
+        return tableNames;
+    }
+
+    /**
+     * @return Whether a row was read from every table through every connection
+     */
+    public boolean isTablesProbed() {
+        return tablesProbed;
+    }
+
+    /**
+     * @return The time taken by the whole warm-up
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpReport{" +
+                "entityTypes=" + entityTypes.size() +
+                ", tableNames=" + tableNames +
+                ", tablesProbed=" + tablesProbed +
+                ", duration=" + duration +
+                '}';
+    }
+}
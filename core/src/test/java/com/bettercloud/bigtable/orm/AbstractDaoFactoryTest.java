@@ -1,5 +1,6 @@
 package com.bettercloud.bigtable.orm;
 
+import java.util.Arrays;
 import java.util.function.Supplier;
 
 abstract class AbstractDaoFactoryTest {
@@ -51,7 +52,8 @@ abstract class AbstractDaoFactoryTest {
 
             @Override
             public Iterable<Column> getColumns() {
-                return null;
+                return Arrays.asList(AbstractBigTableEntityDaoTest.TestColumns.STRING_VALUE,
+                        AbstractBigTableEntityDaoTest.TestColumns.NESTED_OBJECT);
             }
 
             @Override
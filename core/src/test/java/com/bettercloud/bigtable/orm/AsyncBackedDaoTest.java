@@ -0,0 +1,113 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.AsyncTableRegionLocator;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class AsyncBackedDaoTest extends AbstractBigTableEntityDaoTest {
+
+    @Mock
+    private AsyncDao<TestEntity> asyncDao;
+
+    @Mock
+    private BigTableEntityAsyncDao<TestEntity> tableDao;
+
+    @Mock
+    private AsyncTableRegionLocator regionLocator;
+
+    private Dao<TestEntity> dao;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+
+        dao = new AsyncBackedDao<>(asyncDao, tableDao, regionLocator);
+    }
+
+    @After
+    public void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    public void testGetAllReturnsResultOfAsyncDao() throws IOException {
+        final StringKey<TestEntity> key = new StringKey<>("a");
+        final Map<StringKey<TestEntity>, TestEntity> entities = Collections.singletonMap(key, new TestEntity());
+
+        doReturn(CompletableFuture.completedFuture(entities)).when(asyncDao).getAll(anySet());
+
+        assertSame(entities, dao.getAll(Collections.singleton(key)));
+    }
+
+    @Test
+    public void testFailedOperationRethrowsIOException() {
+        final IOException failure = new IOException("Expected");
+
+        when(asyncDao.exists(anySet())).thenReturn(failedFuture(failure));
+
+        try {
+            dao.exists(Collections.singleton(new StringKey<>("a")));
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testTimedOutOperationThrowsTimeoutIOException() {
+        when(asyncDao.deleteAll(anySet())).thenReturn(failedFuture(new TimeoutException()));
+
+        try {
+            dao.deleteAll(Collections.singleton(new StringKey<>("a")));
+            fail("Expected TimeoutIOException");
+        } catch (final IOException e) {
+            assertEquals(TimeoutIOException.class, e.getClass());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOperationFailingWithRuntimeExceptionRethrowsIt() throws IOException {
+        when(asyncDao.exists(anySet())).thenReturn(failedFuture(new IllegalArgumentException()));
+
+        dao.exists(Collections.singleton(new StringKey<>("a")));
+    }
+
+    @Test
+    public void testInterruptedCallerThrowsInterruptedIOExceptionAndStaysInterrupted() throws IOException {
+        when(asyncDao.exists(anySet())).thenReturn(new CompletableFuture<>());
+
+        Thread.currentThread().interrupt();
+
+        try {
+            dao.exists(Collections.singleton(new StringKey<>("a")));
+            fail("Expected InterruptedIOException");
+        } catch (final InterruptedIOException e) {
+            assertTrue(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    private static <R> CompletableFuture<R> failedFuture(final Throwable failure) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+}
@@ -4,12 +4,28 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
 import org.apache.hadoop.hbase.client.AsyncConnection;
 import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.Get;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -109,4 +125,128 @@ public class AsyncDaoFactoryTest extends AbstractDaoFactoryTest {
 
         verify(connection).getTable(eq(TableName.valueOf(TABLE_NAME)));
     }
+
+    @Test
+    public void testDaoForRegisteredEntityTypeWithCacheOptionsReturnsCachingAsyncDao() {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final AsyncDaoFactory.Options options = AsyncDaoFactory.optionsBuilder()
+                .setCacheOptions(CacheOptions.builder().build())
+                .build();
+
+        assertTrue(asyncDaoFactory.daoFor(RegisteredEntity.class, options) instanceof CachingAsyncDao);
+        assertFalse(asyncDaoFactory.daoFor(RegisteredEntity.class) instanceof CachingAsyncDao);
+    }
+
+    @Test
+    public void testDaoForRegisteredEntityTypeWithTimeoutReturnsDeadlineAsyncDao() {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final AsyncDaoFactory.Options options = AsyncDaoFactory.optionsBuilder()
+                .setTimeout(Duration.ofSeconds(1))
+                .build();
+
+        assertTrue(asyncDaoFactory.daoFor(RegisteredEntity.class, options) instanceof DeadlineAsyncDao);
+        assertFalse(asyncDaoFactory.daoFor(RegisteredEntity.class) instanceof DeadlineAsyncDao);
+    }
+
+    @Test
+    public void testDaoForSameEntityAndOptionsReturnsSameDao() {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        assertSame(asyncDaoFactory.daoFor(RegisteredEntity.class), asyncDaoFactory.daoFor(RegisteredEntity.class));
+
+        verify(connection, times(1)).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test
+    public void testDaoForEqualOptionsSharesDaoAndTable() {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final AsyncDao<RegisteredEntity> dao = asyncDaoFactory.daoFor(RegisteredEntity.class,
+                AsyncDaoFactory.optionsBuilder()
+                        .setCacheOptions(CacheOptions.builder().setExpireAfterWrite(Duration.ofMinutes(1)).build())
+                        .setTimeout(Duration.ofSeconds(1))
+                        .build());
+
+        assertSame(dao, asyncDaoFactory.daoFor(RegisteredEntity.class, AsyncDaoFactory.optionsBuilder()
+                .setCacheOptions(CacheOptions.builder().setExpireAfterWrite(Duration.ofMinutes(1)).build())
+                .setTimeout(Duration.ofSeconds(1))
+                .build()));
+        assertNotSame(dao, asyncDaoFactory.daoFor(RegisteredEntity.class, AsyncDaoFactory.optionsBuilder()
+                .setCacheOptions(CacheOptions.builder().setExpireAfterWrite(Duration.ofMinutes(1)).build())
+                .setTimeout(Duration.ofSeconds(2))
+                .build()));
+
+        verify(connection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test
+    public void testBlockingDaoForSameEntityAndOptionsReturnsSameDaoSharingTable() {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final Dao<RegisteredEntity> blockingDao = asyncDaoFactory.blockingDaoFor(RegisteredEntity.class);
+
+        assertTrue(blockingDao instanceof AsyncBackedDao);
+        assertSame(blockingDao, asyncDaoFactory.blockingDaoFor(RegisteredEntity.class));
+
+        asyncDaoFactory.daoFor(RegisteredEntity.class);
+
+        verify(connection, times(1)).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test
+    public void testShardedFactoryOpensTableOnEveryConnection() {
+        final AsyncConnection otherConnection = mock(AsyncConnection.class);
+
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+        when(otherConnection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final AsyncDaoFactory shardedFactory = new AsyncDaoFactory(Arrays.asList(connection, otherConnection),
+                ShardingOptions.builder().build());
+
+        assertNotNull(shardedFactory.daoFor(RegisteredEntity.class));
+        assertEquals(2, shardedFactory.getConnectionMetrics().size());
+
+        verify(connection).getTable(TableName.valueOf(TABLE_NAME));
+        verify(otherConnection).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDaoForAfterCloseThrowsIllegalStateException() throws IOException {
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        asyncDaoFactory.daoFor(RegisteredEntity.class);
+        asyncDaoFactory.close();
+
+        verify(connection, never()).close();
+
+        asyncDaoFactory.daoFor(RegisteredEntity.class);
+    }
+
+    @Test
+    public void testWarmUpCreatesReusedDaoAndProbesTableOnEveryConnection() {
+        final AsyncConnection otherConnection = mock(AsyncConnection.class);
+
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+        when(otherConnection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+        when(table.exists(any(Get.class))).thenReturn(CompletableFuture.completedFuture(false));
+
+        final AsyncDaoFactory shardedFactory = new AsyncDaoFactory(Arrays.asList(connection, otherConnection),
+                ShardingOptions.builder().build());
+
+        final WarmUpReport report = shardedFactory.warmUp(Collections.singletonList(RegisteredEntity.class), null,
+                WarmUpOptions.builder().setProbingTables(true).build()).join();
+
+        assertEquals(Collections.singletonList(RegisteredEntity.class), report.getEntityTypes());
+        assertEquals(Collections.singleton(TABLE_NAME), report.getTableNames());
+        assertTrue(report.isTablesProbed());
+
+        shardedFactory.daoFor(RegisteredEntity.class);
+
+        // Once for the AsyncDao, and once for the probe
+        verify(connection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+        verify(otherConnection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+        verify(table, times(2)).exists(any(Get.class));
+    }
 }
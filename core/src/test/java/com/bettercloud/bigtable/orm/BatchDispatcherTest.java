@@ -0,0 +1,209 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BatchDispatcherTest {
+
+    private final List<List<String>> sentBatches = new ArrayList<>();
+    private final List<CompletableFuture<String>> sentResults = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+    private BatchingOptions options;
+
+    @Before
+    public void setup() {
+        scheduler = mock(ScheduledExecutorService.class);
+
+        options = BatchingOptions.builder()
+                .setMaxBatchSize(3)
+                .setMaxWait(Duration.ofMillis(1))
+                .setScheduler(scheduler)
+                .build();
+    }
+
+    @Test
+    public void testFullBatchIsSentImmediately() throws ExecutionException, InterruptedException {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.GET);
+
+        final CompletableFuture<String> a = dispatcher.submit("a");
+        final CompletableFuture<String> b = dispatcher.submit("b");
+
+        assertTrue(sentBatches.isEmpty());
+
+        final CompletableFuture<String> c = dispatcher.submit("c");
+
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), sentBatches);
+
+        sentResults.forEach(result -> result.complete("done"));
+
+        assertEquals("done", a.get());
+        assertEquals("done", b.get());
+        assertEquals("done", c.get());
+
+        assertEquals(1, options.getMetrics().getBatchSizes(BatchingMetrics.Operation.GET).getCount());
+        assertEquals(3, options.getMetrics().getBatchSizes(BatchingMetrics.Operation.GET).getMax());
+        assertEquals(3, options.getMetrics().getWaitTimesMicros(BatchingMetrics.Operation.GET).getCount());
+    }
+
+    @Test
+    public void testIncompleteBatchIsSentAfterMaxWait() {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.SAVE);
+
+        dispatcher.submit("a");
+        dispatcher.submit("b");
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flush.capture(), eq(TimeUnit.MILLISECONDS.toNanos(1)), eq(TimeUnit.NANOSECONDS));
+
+        assertTrue(sentBatches.isEmpty());
+
+        flush.getValue().run();
+
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b")), sentBatches);
+    }
+
+    @Test
+    public void testCancelledOperationsAreNotSent() {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.SAVE);
+
+        dispatcher.submit("a").cancel(true);
+        dispatcher.submit("b");
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+
+        flush.getValue().run();
+
+        assertEquals(Collections.singletonList(Collections.singletonList("b")), sentBatches);
+        assertEquals(1, options.getMetrics().getBatchSizes(BatchingMetrics.Operation.SAVE).getMax());
+    }
+
+    @Test
+    public void testBatchOfOnlyCancelledOperationsIsNotSent() {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.DELETE);
+
+        dispatcher.submit("a").cancel(true);
+        dispatcher.submit("b").completeExceptionally(new IOException("Timed out"));
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+
+        flush.getValue().run();
+
+        assertTrue(sentBatches.isEmpty());
+        assertEquals(0, options.getMetrics().getBatchSizes(BatchingMetrics.Operation.DELETE).getCount());
+    }
+
+    @Test
+    public void testScheduledSendOfAlreadyFullBatchDoesNotSendNextBatch() {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.DELETE);
+
+        dispatcher.submit("a");
+        dispatcher.submit("b");
+        dispatcher.submit("c");
+        dispatcher.submit("d");
+
+        final ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).schedule(flush.capture(), anyLong(), any(TimeUnit.class));
+
+        flush.getAllValues().get(0).run();
+
+        assertEquals(1, sentBatches.size());
+
+        flush.getAllValues().get(1).run();
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b", "c"), Collections.singletonList("d")), sentBatches);
+    }
+
+    @Test
+    public void testRejectedScheduleFailsOperationWithoutQueueingIt() throws InterruptedException {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.SAVE);
+
+        final RejectedExecutionException rejection = new RejectedExecutionException("Shut down");
+        doThrow(rejection).doReturn(null).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        final CompletableFuture<String> a = dispatcher.submit("a");
+
+        try {
+            a.get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertEquals(rejection, e.getCause());
+        }
+
+        dispatcher.submit("b");
+        dispatcher.submit("c");
+        dispatcher.submit("d");
+
+        assertEquals(Collections.singletonList(Arrays.asList("b", "c", "d")), sentBatches);
+        verify(scheduler, times(2)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testFailedOperationDoesNotFailRestOfBatch() throws ExecutionException, InterruptedException {
+        final BatchDispatcher<String, String> dispatcher = new BatchDispatcher<>(this::send, options,
+                BatchingMetrics.Operation.GET);
+
+        final CompletableFuture<String> a = dispatcher.submit("a");
+        final CompletableFuture<String> b = dispatcher.submit("b");
+        dispatcher.submit("c");
+
+        sentResults.get(0).completeExceptionally(new IOException("failed"));
+        sentResults.get(1).complete("done");
+
+        try {
+            a.get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertEquals(IOException.class, e.getCause().getClass());
+        }
+
+        assertEquals("done", b.get());
+        assertFalse(sentResults.get(2).isDone());
+    }
+
+    private List<CompletableFuture<String>> send(final List<String> items) {
+        sentBatches.add(new ArrayList<>(items));
+
+        final List<CompletableFuture<String>> results = items.stream()
+                .map(item -> new CompletableFuture<String>())
+                .collect(Collectors.toList());
+
+        sentResults.addAll(results);
+
+        return results;
+    }
+}
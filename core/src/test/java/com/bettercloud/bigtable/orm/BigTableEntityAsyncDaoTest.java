@@ -8,11 +8,13 @@ import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -22,30 +24,45 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -602,6 +619,525 @@ public class BigTableEntityAsyncDaoTest extends AbstractBigTableEntityDaoTest {
         assertNull(retrievedEntity.get());
     }
 
+    @Test
+    public void testGetDoesNotReadKeysRecentlyFoundAbsent() throws ExecutionException, InterruptedException {
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.of(NegativeCacheOptions.builder().build()));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(result));
+
+        assertNull(dao.get(new StringKey<>("key")).get());
+        assertNull(dao.get(new StringKey<>("key")).get());
+        assertTrue(dao.getAll(Collections.singleton(new StringKey<>("key"))).get().isEmpty());
+
+        verify(table, times(1)).get(any(Get.class));
+    }
+
+    @Test
+    public void testSaveForgetsKeysRecentlyFoundAbsent() throws ExecutionException, InterruptedException, IOException {
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.of(NegativeCacheOptions.builder().build()));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(result));
+        when(table.put(any(Put.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        dao.get(new StringKey<>("key")).get();
+        dao.save(new StringKey<>("key"), new TestEntity()).get();
+        dao.get(new StringKey<>("key")).get();
+
+        verify(table, times(2)).get(any(Get.class));
+    }
+
+    @Test
+    public void testCoalescedGetsShareOneRequestButNotEntities() throws ExecutionException, InterruptedException {
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), new ReadCoalescer<>());
+
+        final CompletableFuture<Result> pendingResult = new CompletableFuture<>();
+        when(table.get(anyList())).thenReturn(Collections.singletonList(pendingResult));
+
+        final CompletableFuture<TestEntity> first = dao.get(new StringKey<>("key"));
+        final CompletableFuture<TestEntity> second = dao.get(new StringKey<>("key"));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(false);
+        pendingResult.complete(result);
+
+        assertNotNull(first.get());
+        assertNotNull(second.get());
+        assertNotSame(first.get(), second.get());
+
+        verify(table, times(1)).get(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCoalescedGetAllReadsOnlyRowsNotAlreadyInFlight() {
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), new ReadCoalescer<>());
+
+        when(table.get(anyList())).thenAnswer(invocation -> ((List<Get>) invocation.getArgument(0)).stream()
+                .map(get -> new CompletableFuture<Result>())
+                .collect(Collectors.toList()));
+
+        dao.getAll(new HashSet<>(Arrays.asList(new StringKey<>("a"), new StringKey<>("b"))));
+        dao.getAll(new HashSet<>(Arrays.asList(new StringKey<>("b"), new StringKey<>("c"))));
+
+        final ArgumentCaptor<List<Get>> getsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(table, times(2)).get(getsArgumentCaptor.capture());
+
+        final List<Get> secondGets = getsArgumentCaptor.getAllValues().get(1);
+        assertEquals(1, secondGets.size());
+        assertArrayEquals(Bytes.toBytes("c"), secondGets.get(0).getRow());
+    }
+
+    @Test
+    public void testCoalescedReadIsForgottenOnceCompleted() throws InterruptedException {
+        final ReadCoalescer<TestEntity> readCoalescer = new ReadCoalescer<>();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), readCoalescer);
+
+        final CompletableFuture<Result> failedResult = new CompletableFuture<>();
+        when(table.get(anyList())).thenReturn(Collections.singletonList(failedResult));
+
+        final CompletableFuture<TestEntity> first = dao.get(new StringKey<>("key"));
+
+        assertEquals(1, readCoalescer.getInFlightCount());
+
+        failedResult.completeExceptionally(new IOException("failed"));
+
+        try {
+            first.get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertEquals(IOException.class, e.getCause().getClass());
+        }
+
+        assertEquals(0, readCoalescer.getInFlightCount());
+
+        dao.get(new StringKey<>("key"));
+
+        verify(table, times(2)).get(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBatchedGetsAreSentAsOneRequest() throws ExecutionException, InterruptedException {
+        final BatchingOptions batchingOptions = BatchingOptions.builder()
+                .setMaxBatchSize(2)
+                .setMaxWait(Duration.ofMinutes(1))
+                .build();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, batchingOptions, null, null);
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(anyList())).thenAnswer(invocation -> ((List<Get>) invocation.getArgument(0)).stream()
+                .map(get -> CompletableFuture.completedFuture(result))
+                .collect(Collectors.toList()));
+
+        final CompletableFuture<TestEntity> first = dao.get(new StringKey<>("a"));
+        final CompletableFuture<TestEntity> second = dao.get(new StringKey<>("b"));
+
+        assertNull(first.get());
+        assertNull(second.get());
+
+        final ArgumentCaptor<List<Get>> getsArgumentCaptor = ArgumentCaptor.forClass(List.class);
+        verify(table, times(1)).get(getsArgumentCaptor.capture());
+        assertEquals(2, getsArgumentCaptor.getValue().size());
+
+        assertEquals(2, batchingOptions.getMetrics().getBatchSizes(BatchingMetrics.Operation.GET).getMax());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHedgedGetCompletesWithHedgeWhenReadIsSlow() throws ExecutionException, InterruptedException {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+        final HedgingOptions hedgingOptions = HedgingOptions.builder()
+                .setDelay(Duration.ofMillis(5))
+                .setMaxHedgePercent(100)
+                .setScheduler(scheduler)
+                .build();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, hedgingOptions, null);
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        final CompletableFuture<Result> slowRead = new CompletableFuture<>();
+
+        when(table.get(anyList()))
+                .thenReturn(Collections.singletonList(slowRead))
+                .thenReturn(Collections.singletonList(CompletableFuture.completedFuture(result)));
+
+        final CompletableFuture<TestEntity> entity = dao.get(new StringKey<>("a"));
+
+        assertFalse(entity.isDone());
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getValue().run();
+
+        assertNull(entity.get());
+        verify(table, times(2)).get(anyList());
+        assertEquals(1, hedgingOptions.getMetrics().getHedgeWins());
+    }
+
+    @Test
+    public void testGetConvertsRowOnConversionExecutor() throws ExecutionException, InterruptedException {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final ConversionOptions conversionOptions = ConversionOptions.builder()
+                .setExecutor(tasks::add)
+                .build();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null, conversionOptions);
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(result));
+
+        final CompletableFuture<TestEntity> entity = dao.get(new StringKey<>("a"));
+
+        assertFalse(entity.isDone());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        assertNull(entity.get());
+        assertEquals(1, conversionOptions.getMetrics().getQueueDelaysMicros().getCount());
+    }
+
+    @Test
+    public void testSaveSerializingWritesSendsPutOnConversionExecutor() throws IOException, ExecutionException, InterruptedException {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final ConversionOptions conversionOptions = ConversionOptions.builder()
+                .setExecutor(tasks::add)
+                .setSerializingWrites(true)
+                .build();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null, conversionOptions);
+
+        when(table.put(any(Put.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        final TestEntity entity = new TestEntity();
+        entity.setStringValue("value");
+
+        final CompletableFuture<TestEntity> saved = dao.save(new StringKey<>("a"), entity);
+
+        verify(table, times(0)).put(any(Put.class));
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+
+        assertEquals("value", saved.get().getStringValue());
+        verify(table).put(any(Put.class));
+    }
+
+    @Test
+    public void testCancellingQueuedSerializingSaveDoesNotSendPut() throws IOException {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final ConversionOptions conversionOptions = ConversionOptions.builder()
+                .setExecutor(tasks::add)
+                .setSerializingWrites(true)
+                .build();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null, conversionOptions);
+
+        dao.save(new StringKey<>("a"), new TestEntity()).cancel(true);
+
+        tasks.get(0).run();
+
+        verify(table, times(0)).put(any(Put.class));
+    }
+
+    @Test
+    public void testCancellingGetCancelsTableGet() {
+        final CompletableFuture<Result> tableGet = new CompletableFuture<>();
+
+        when(table.get(any(Get.class))).thenReturn(tableGet);
+
+        testEntityDao.get(new StringKey<>("a")).cancel(true);
+
+        assertTrue(tableGet.isCancelled());
+    }
+
+    @Test
+    public void testTryGetAllRetriesOnlyFailedRows() throws ExecutionException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        final List<List<Row>> batches = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            final List<Row> actions = invocation.getArgument(0);
+
+            batches.add(new ArrayList<>(actions));
+
+            return actions.stream()
+                    .map(action -> batches.size() == 1 && Bytes.equals(action.getRow(), b.toBytes())
+                            ? CompletableFuture.failedFuture(new IOException("Tablet unavailable"))
+                            : CompletableFuture.completedFuture(result))
+                    .collect(Collectors.toList());
+        }).when(table).batch(anyList());
+
+        final BatchResult<StringKey<TestEntity>, TestEntity> batchResult = testEntityDao.tryGetAll(
+                new HashSet<>(Arrays.asList(a, b)),
+                RetryPolicy.builder().setInitialBackoff(Duration.ZERO).build()).get();
+
+        assertFalse(batchResult.hasFailures());
+        assertEquals(new HashSet<>(Arrays.asList(a, b)), batchResult.getSuccesses().keySet());
+        assertEquals(1, batchResult.getRetries());
+
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(1).size());
+        assertArrayEquals(b.toBytes(), batches.get(1).get(0).getRow());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTryDeleteAllReportsFailedRowsWithoutRetries() throws ExecutionException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final IOException cause = new IOException("Tablet unavailable");
+
+        doAnswer(invocation -> ((List<Row>) invocation.getArgument(0)).stream()
+                .map(action -> Bytes.equals(action.getRow(), b.toBytes())
+                        ? CompletableFuture.failedFuture(cause)
+                        : CompletableFuture.completedFuture(null))
+                .collect(Collectors.toList())).when(table).batch(anyList());
+
+        final BatchResult<StringKey<TestEntity>, Void> batchResult = testEntityDao.tryDeleteAll(
+                new HashSet<>(Arrays.asList(a, b)), RetryPolicy.noRetries()).get();
+
+        assertEquals(Collections.singleton(a), batchResult.getSuccesses().keySet());
+        assertEquals(Collections.singletonMap(b, cause), batchResult.getFailures());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTryGetAllStopsRetryingOnceCancelled() {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        final ScheduledFuture<?> scheduledRetry = mock(ScheduledFuture.class);
+        doReturn(scheduledRetry).when(scheduler).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        doAnswer(invocation -> ((List<Row>) invocation.getArgument(0)).stream()
+                .map(action -> CompletableFuture.failedFuture(new IOException("Tablet unavailable")))
+                .collect(Collectors.toList())).when(table).batch(anyList());
+
+        final CompletableFuture<BatchResult<StringKey<TestEntity>, TestEntity>> batchResult = testEntityDao.tryGetAll(
+                Collections.singleton(new StringKey<>("a")),
+                RetryPolicy.builder().setScheduler(scheduler).build());
+
+        final ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(retry.capture(), anyLong(), any(TimeUnit.class));
+
+        assertTrue(batchResult.cancel(true));
+        verify(scheduledRetry).cancel(false);
+
+        // A retry which started running before the cancellation sends nothing
+        retry.getValue().run();
+
+        verify(table, times(1)).batch(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTryGetAllStopsRetryingOnceTimedOut() throws InterruptedException {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+
+        doAnswer(invocation -> ((List<Row>) invocation.getArgument(0)).stream()
+                .map(action -> CompletableFuture.failedFuture(new IOException("Tablet unavailable")))
+                .collect(Collectors.toList())).when(table).batch(anyList());
+
+        final CompletableFuture<BatchResult<StringKey<TestEntity>, TestEntity>> batchResult = testEntityDao
+                .withTimeout(Duration.ofMillis(20))
+                .tryGetAll(Collections.singleton(new StringKey<>("a")),
+                        RetryPolicy.builder().setInitialBackoff(Duration.ZERO).setScheduler(scheduler).build());
+
+        final ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).schedule(retry.capture(), anyLong(), any(TimeUnit.class));
+
+        try {
+            batchResult.get();
+            fail("Expected the batch to time out");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+
+        retry.getValue().run();
+
+        verify(table, times(1)).batch(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTryGetAllDoesNotRetryPastTimeout() throws ExecutionException, InterruptedException {
+        final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+
+        final StringKey<TestEntity> key = new StringKey<>("a");
+        final IOException cause = new IOException("Tablet unavailable");
+
+        doAnswer(invocation -> ((List<Row>) invocation.getArgument(0)).stream()
+                .map(action -> CompletableFuture.failedFuture(cause))
+                .collect(Collectors.toList())).when(table).batch(anyList());
+
+        // The timeout passes before the retry could be sent, so the row is reported as failed right away
+        final BatchResult<StringKey<TestEntity>, TestEntity> batchResult = testEntityDao
+                .withTimeout(Duration.ofNanos(1))
+                .tryGetAll(Collections.singleton(key), RetryPolicy.builder().setScheduler(scheduler).build())
+                .get();
+
+        assertEquals(Collections.singletonMap(key, cause), batchResult.getFailures());
+
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        verify(table, times(1)).batch(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGetAllAsOfReadsCellsAtOrBeforeTime() throws ExecutionException, InterruptedException {
+        final StringKey<TestEntity> key = new StringKey<>("key");
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        final ArgumentCaptor<List<Get>> getCaptor = ArgumentCaptor.forClass(List.class);
+        when(table.getAll(getCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Collections.singletonList(result)));
+
+        final Map<StringKey<TestEntity>, TestEntity> entities =
+                testEntityDao.getAll(Collections.singleton(key), Instant.ofEpochMilli(1000)).get();
+
+        assertTrue(entities.isEmpty());
+        assertEquals(1001, getCaptor.getValue().get(0).getTimeRange().getMax());
+    }
+
+    @Test
+    public void testScanAsOfReadsCellsAtOrBeforeTime() {
+        when(table.scanAll(scanArgumentCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        testEntityDao.scan(new StringKey<>("a"), true, new StringKey<>("z"), true, 10, null, null, Instant.ofEpochMilli(1000));
+
+        assertEquals(0, scanArgumentCaptor.getValue().getTimeRange().getMin());
+        assertEquals(1001, scanArgumentCaptor.getValue().getTimeRange().getMax());
+    }
+
+    @Test
+    public void testScanAsOfKeepsTimeRangeOfPredicate() {
+        when(table.scanAll(scanArgumentCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        testEntityDao.scan(new StringKey<>("a"), true, new StringKey<>("z"), true, 10, null,
+                EntityPredicate.timestampsBetween(500, 2000), Instant.ofEpochMilli(1000));
+
+        assertEquals(500, scanArgumentCaptor.getValue().getTimeRange().getMin());
+        assertEquals(1001, scanArgumentCaptor.getValue().getTimeRange().getMax());
+    }
+
+    @Test
+    public void testExistsReturnsKeysOfNonEmptyRows() throws ExecutionException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final Result existing = mock(Result.class);
+        when(existing.isEmpty()).thenReturn(false);
+
+        doAnswer(invocation -> {
+            final List<Get> gets = invocation.getArgument(0);
+
+            return CompletableFuture.completedFuture(gets.stream()
+                    .map(get -> Bytes.equals(get.getRow(), a.toBytes()) ? existing : Result.EMPTY_RESULT)
+                    .collect(Collectors.toList()));
+        }).when(table).getAll(anyList());
+
+        assertEquals(Collections.singleton(a), testEntityDao.exists(new HashSet<>(Arrays.asList(a, b))).get());
+    }
+
+    @Test
+    public void testCountReadsRangeOnePageAtATime() throws ExecutionException, InterruptedException {
+        final Result lastOfPage = mock(Result.class);
+        when(lastOfPage.getRow()).thenReturn(Bytes.toBytes("m"));
+
+        final List<Result> fullPage = new ArrayList<>(Collections.nCopies(9_999, mock(Result.class)));
+        fullPage.add(lastOfPage);
+
+        when(table.scanAll(scanArgumentCaptor.capture())).thenReturn(
+                CompletableFuture.completedFuture(fullPage),
+                CompletableFuture.completedFuture(Collections.nCopies(5, mock(Result.class))));
+
+        assertEquals(10_005L, (long) testEntityDao.count(new StringKey<>("a"), true, new StringKey<>("z"), true).get());
+
+        final List<Scan> scans = scanArgumentCaptor.getAllValues();
+        assertEquals(2, scans.size());
+        assertArrayEquals(Bytes.toBytes("m"), scans.get(1).getStartRow());
+        assertFalse(scans.get(1).includeStartRow());
+        assertArrayEquals(Bytes.toBytes("z"), scans.get(1).getStopRow());
+    }
+
+    @Test
+    public void testCancelledCountReadsNoFurtherPages() {
+        final CompletableFuture<List<Result>> page = new CompletableFuture<>();
+        when(table.scanAll(any(Scan.class))).thenReturn(page);
+
+        final CompletableFuture<Long> count = testEntityDao.count(new StringKey<>("a"), true, new StringKey<>("z"), true);
+        count.cancel(true);
+
+        final Result result = mock(Result.class);
+        when(result.getRow()).thenReturn(Bytes.toBytes("m"));
+        page.complete(Collections.nCopies(10_000, result));
+
+        verify(table, times(1)).scanAll(any(Scan.class));
+    }
+
+    @Test
+    public void testGetColumnHistoryReturnsVersionsOfEachKey() throws IOException, ExecutionException, InterruptedException {
+        final StringKey<TestVersionedEntity> key = new StringKey<>("key");
+        final TestColumns<Boolean> column = TestVersionedColumns.VERSIONED_BOOLEAN_VALUE;
+
+        final byte[] bytes = new byte[] { 1 };
+
+        final Cell cell = mock(Cell.class);
+        when(cell.getValueArray()).thenReturn(bytes);
+        when(cell.getTimestamp()).thenReturn(1000L);
+
+        when(objectMapper.readValue(bytes, column.getTestTypeReference())).thenReturn(true);
+
+        final Result result = mock(Result.class);
+        when(result.getColumnCells(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier())))
+                .thenReturn(Collections.singletonList(cell));
+
+        when(table.getAll(anyList())).thenReturn(CompletableFuture.completedFuture(Collections.singletonList(result)));
+
+        final Map<StringKey<TestVersionedEntity>, List<ColumnVersion<Boolean>>> history = testVersionedEntityDao
+                .<StringKey<TestVersionedEntity>, Boolean>getColumnHistory(Collections.singleton(key), column,
+                        VersionQuery.builder().setMaxVersions(1).build())
+                .get();
+
+        assertEquals(Collections.singletonMap(key, Collections.singletonList(new ColumnVersion<>(true, 1000L))), history);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testGetWithNullSetThrowsNullPointerException() {
         final Set<StringKey<TestEntity>> keys = null;
@@ -2974,6 +3510,38 @@ public class BigTableEntityAsyncDaoTest extends AbstractBigTableEntityDaoTest {
                 .isPresent());
     }
 
+    @Test
+    public void testScanAddsPredicateFilter() throws IOException, ExecutionException, InterruptedException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        when(table.scanAll(scanArgumentCaptor.capture())).thenReturn(CompletableFuture.completedFuture(Collections.emptyList()));
+
+        final EntityPredicate<TestEntity> predicate = new ColumnReference<TestEntity, String>(TestColumns.STRING_VALUE)
+                .isEqualTo("some string");
+
+        when(objectMapper.writeValueAsBytes("some string")).thenReturn(Bytes.toBytes("\"some string\""));
+
+        testEntityDao.scan(startKey, true, endKey, true, 5, null, predicate).get();
+
+        FilterList filterList = (FilterList) scanArgumentCaptor.getValue().getFilter();
+        List<Filter> listOfFilters = filterList.getFilters();
+        assertEquals(2, listOfFilters.size());
+        assertTrue(listOfFilters.stream().anyMatch(PageFilter.class::isInstance));
+        assertTrue(listOfFilters.stream().anyMatch(SingleColumnValueFilter.class::isInstance));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScanWithUnsupportedPredicateThrowsBeforeScanning() {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final EntityPredicate<TestEntity> predicate = new ColumnReference<TestEntity, TestNestedObject>(TestColumns.NESTED_OBJECT)
+                .isEqualTo(new TestNestedObject());
+
+        testEntityDao.scan(startKey, true, endKey, true, 5, null, predicate);
+    }
+
     @Test(expected = NullPointerException.class)
     public void testSaveWithNullKeyThrowsNullPointerException() throws IOException {
         final TestEntity testEntity = new TestEntity();
@@ -4726,4 +5294,148 @@ public class BigTableEntityAsyncDaoTest extends AbstractBigTableEntityDaoTest {
         final Delete delete2 = deletes.get(1);
         assertNotNull(delete2);
     }
+
+    @Test
+    public void testGetAllRecordsOperationMetricsOnCompletion() throws IOException {
+        final HistogramDaoMetrics metrics = new HistogramDaoMetrics();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null, null,
+                OperationRecorder.of(metrics, TestEntity.class, "table"));
+
+        final byte[] value = liveObjectMapper.writeValueAsBytes("some string");
+
+        final Cell cell = mock(Cell.class);
+        when(cell.getValueArray()).thenReturn(value);
+        when(cell.getValueLength()).thenReturn(value.length);
+
+        final Result result = mock(Result.class);
+        when(result.rawCells()).thenReturn(new Cell[] { cell });
+        when(result.getColumnLatestCell(Bytes.toBytes(TestColumns.STRING_VALUE.getFamily()),
+                Bytes.toBytes(TestColumns.STRING_VALUE.getQualifier()))).thenReturn(cell);
+
+        final CompletableFuture<List<Result>> results = new CompletableFuture<>();
+        doReturn(results).when(table).getAll(anyList());
+
+        final CompletableFuture<Map<Key<TestEntity>, TestEntity>> entities =
+                dao.getAll(Collections.singleton(new StringKey<>("key")));
+
+        assertEquals(0, metrics.getStats(DaoOperation.Type.GET).getCount());
+
+        results.complete(Collections.singletonList(result));
+
+        assertEquals(1, entities.join().size());
+
+        final OperationStats stats = metrics.getStats(DaoOperation.Type.GET);
+        assertEquals(1, stats.getCount());
+        assertEquals(0, stats.getFailures());
+        assertEquals(1, stats.getRowCounts().getMax());
+        assertEquals(value.length, stats.getBytesRead().getMax());
+    }
+
+    @Test
+    public void testGetConvertsRowWithSpanCurrent() throws IOException, ExecutionException, InterruptedException {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final ConversionOptions conversionOptions = ConversionOptions.builder()
+                .setExecutor(tasks::add)
+                .build();
+
+        final RecordingSpan span = new RecordingSpan();
+        final List<Boolean> convertedInSpan = new ArrayList<>();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, () -> {
+            convertedInSpan.add(span.current);
+
+            return new TestEntity();
+        }, delegateFactory, RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null,
+                conversionOptions, OperationRecorder.of(null, (type, entityType, tableName) -> span, TestEntity.class,
+                "table"));
+
+        final Cell cell = mock(Cell.class);
+        when(cell.getValueArray()).thenReturn(liveObjectMapper.writeValueAsBytes("some string"));
+
+        final Result result = mock(Result.class);
+        when(result.rawCells()).thenReturn(new Cell[] { cell });
+        when(result.getColumnLatestCell(Bytes.toBytes(TestColumns.STRING_VALUE.getFamily()),
+                Bytes.toBytes(TestColumns.STRING_VALUE.getQualifier()))).thenReturn(cell);
+
+        when(table.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(result));
+
+        final CompletableFuture<TestEntity> entity = dao.get(new StringKey<>("a"));
+
+        assertNull(span.operation);
+
+        tasks.get(0).run();
+
+        assertEquals("some string", entity.get().getStringValue());
+        assertEquals(Collections.singletonList(true), convertedInSpan);
+        assertFalse(span.current);
+
+        assertEquals(DaoOperation.Type.GET, span.operation.getType());
+        assertEquals("table", span.operation.getTableName());
+        assertEquals(1, span.operation.getRowCount());
+        assertFalse(span.operation.isFailed());
+    }
+
+    @Test
+    public void testTryGetAllRecordsChunksAndRetriesToSpan() throws ExecutionException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final RecordingSpan span = new RecordingSpan();
+
+        final AsyncDao<TestEntity> dao = new BigTableEntityAsyncDao<>(table, columns, entityFactory, delegateFactory,
+                RawKey::wrap, liveObjectMapper, AbsentKeyCache.disabled(), null, null, null, null,
+                OperationRecorder.of(null, (type, entityType, tableName) -> span, TestEntity.class, "table"));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        final AtomicInteger attempts = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            final List<Row> actions = invocation.getArgument(0);
+            final boolean firstAttempt = attempts.getAndIncrement() == 0;
+
+            return actions.stream()
+                    .map(action -> firstAttempt && Bytes.equals(action.getRow(), b.toBytes())
+                            ? CompletableFuture.failedFuture(new IOException("Tablet unavailable"))
+                            : CompletableFuture.completedFuture(result))
+                    .collect(Collectors.toList());
+        }).when(table).batch(anyList());
+
+        dao.tryGetAll(new HashSet<>(Arrays.asList(a, b)),
+                RetryPolicy.builder().setInitialBackoff(Duration.ZERO).build()).get();
+
+        assertEquals(Arrays.asList("0:2", "1:1"), span.chunks);
+        assertEquals(2, span.operation.getRowCount());
+        assertEquals(1, span.operation.getRetries());
+    }
+
+    private static class RecordingSpan implements DaoSpan {
+
+        private final List<String> chunks = new ArrayList<>();
+
+        private volatile boolean current;
+
+        private volatile DaoOperation operation;
+
+        @Override
+        public Scope makeCurrent() {
+            current = true;
+
+            return () -> current = false;
+        }
+
+        @Override
+        public void chunk(final int index, final int rowCount) {
+            chunks.add(index + ":" + rowCount);
+        }
+
+        @Override
+        public void end(final DaoOperation operation) {
+            this.operation = operation;
+        }
+    }
 }
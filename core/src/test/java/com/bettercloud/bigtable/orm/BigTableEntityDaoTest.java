@@ -1,18 +1,25 @@
 package com.bettercloud.bigtable.orm;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import com.google.common.collect.Lists;
 import org.junit.Before;
@@ -24,28 +31,41 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.SortedSet;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -1187,6 +1207,230 @@ public class BigTableEntityDaoTest extends AbstractBigTableEntityDaoTest {
         assertFalse(retrievedEntities.containsKey(key));
     }
 
+    @Test
+    public void testGetAllDoesNotReadKeysRecentlyFoundAbsent() throws IOException {
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.of(NegativeCacheOptions.builder().build()));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(anyList())).thenReturn(new Result[] { result });
+
+        final Set<Key<TestEntity>> keys = Collections.singleton(new StringKey<>("key"));
+
+        assertTrue(dao.getAll(keys).isEmpty());
+        assertTrue(dao.getAll(keys).isEmpty());
+
+        verify(table, times(1)).get(anyList());
+    }
+
+    @Test
+    public void testSaveAllForgetsKeysRecentlyFoundAbsent() throws IOException {
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.of(NegativeCacheOptions.builder().build()));
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        when(table.get(anyList())).thenReturn(new Result[] { result });
+
+        final Key<TestEntity> key = new StringKey<>("key");
+
+        dao.getAll(Collections.singleton(key));
+        dao.saveAll(Collections.singletonMap(key, new TestEntity()));
+        dao.getAll(Collections.singleton(key));
+
+        verify(table, times(2)).get(anyList());
+    }
+
+    @Test
+    public void testGetAllRecordsOperationMetrics() throws IOException {
+        final List<DaoOperation> operations = new ArrayList<>();
+
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.disabled(), OperationRecorder.of(operations::add, TestEntity.class, "table"));
+
+        final byte[] value = liveObjectMapper.writeValueAsBytes("some string");
+
+        final Cell cell = mock(Cell.class);
+        when(cell.getValueArray()).thenReturn(value);
+        when(cell.getValueLength()).thenReturn(value.length);
+
+        final Result result = mock(Result.class);
+        when(result.rawCells()).thenReturn(new Cell[] { cell });
+        when(result.getColumnLatestCell(Bytes.toBytes(TestColumns.STRING_VALUE.getFamily()),
+                Bytes.toBytes(TestColumns.STRING_VALUE.getQualifier()))).thenReturn(cell);
+        final Result emptyResult = mock(Result.class);
+        when(emptyResult.isEmpty()).thenReturn(true);
+
+        when(table.get(anyList())).thenReturn(new Result[] { result, emptyResult });
+
+        final Set<Key<TestEntity>> keys = new LinkedHashSet<>(Arrays.asList(new StringKey<>("key"), new StringKey<>("other")));
+
+        assertEquals(1, dao.getAll(keys).size());
+
+        assertEquals(1, operations.size());
+
+        final DaoOperation operation = operations.get(0);
+        assertEquals(DaoOperation.Type.GET, operation.getType());
+        assertEquals(TestEntity.class, operation.getEntityType());
+        assertEquals("table", operation.getTableName());
+        assertEquals(1, operation.getRowCount());
+        assertEquals(value.length, operation.getBytesRead());
+        assertEquals(0, operation.getBytesWritten());
+        assertFalse(operation.isFailed());
+    }
+
+    @Test
+    public void testSaveAllRecordsBytesWrittenAndFailures() throws IOException {
+        final HistogramDaoMetrics metrics = new HistogramDaoMetrics();
+
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.disabled(), OperationRecorder.of(metrics, TestEntity.class, "table"));
+
+        final TestEntity entity = new TestEntity();
+        entity.setStringValue("some string");
+
+        dao.saveAll(Collections.singletonMap(new StringKey<>("key"), entity));
+
+        final IOException failure = new IOException("Unavailable");
+        doThrow(failure).when(table).put(anyList());
+
+        try {
+            dao.saveAll(Collections.singletonMap(new StringKey<>("key"), entity));
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertEquals(failure, e);
+        }
+
+        final OperationStats stats = metrics.getStats(DaoOperation.Type.SAVE);
+        assertEquals(2, stats.getCount());
+        assertEquals(1, stats.getFailures());
+        assertEquals(1, stats.getRowCounts().getMax());
+        assertEquals(liveObjectMapper.writeValueAsBytes("some string").length, stats.getBytesWritten().getMax());
+        assertEquals(0, metrics.getStats(DaoOperation.Type.GET).getCount());
+    }
+
+    @Test
+    public void testPayloadProfilerRecordsWrittenAndReadSizesWithLargestRows() throws IOException {
+        final PayloadProfiler profiler = new PayloadProfiler(1);
+
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.disabled(),
+                OperationRecorder.of(null, null, profiler, null, TestEntity.class, "table"));
+
+        final TestEntity small = new TestEntity();
+        small.setStringValue("small");
+        final TestEntity large = new TestEntity();
+        large.setStringValue("a much larger string");
+
+        final Map<Key<TestEntity>, TestEntity> entities = new LinkedHashMap<>();
+        entities.put(new StringKey<>("small"), small);
+        entities.put(new StringKey<>("large"), large);
+
+        dao.saveAll(entities);
+
+        final byte[] value = liveObjectMapper.writeValueAsBytes("the largest string of them all");
+
+        final Cell cell = mock(Cell.class);
+        when(cell.getValueArray()).thenReturn(value);
+        when(cell.getValueLength()).thenReturn(value.length);
+
+        final Result result = mock(Result.class);
+        when(result.getRow()).thenReturn(Bytes.toBytes("read"));
+        when(result.getColumnLatestCell(Bytes.toBytes(TestColumns.STRING_VALUE.getFamily()),
+                Bytes.toBytes(TestColumns.STRING_VALUE.getQualifier()))).thenReturn(cell);
+
+        when(table.get(anyList())).thenReturn(new Result[] { result });
+
+        dao.getAll(Collections.singleton(new StringKey<>("read")));
+
+        final ColumnPayloadStats stats = profiler.getColumnStats(TestEntity.class).get(
+                TestColumns.STRING_VALUE.getFamily() + ":" + TestColumns.STRING_VALUE.getQualifier());
+
+        assertEquals(2, stats.getWrittenBytes().getCount());
+        assertEquals(liveObjectMapper.writeValueAsBytes("a much larger string").length,
+                stats.getWrittenBytes().getMax());
+        assertEquals(1, stats.getReadBytes().getCount());
+        assertEquals(value.length, stats.getReadBytes().getMax());
+
+        assertEquals(1, stats.getLargestPayloads().size());
+
+        final ColumnPayloadStats.Payload payload = stats.getLargestPayloads().get(0);
+        assertArrayEquals(Bytes.toBytes("read"), payload.getRow());
+        assertEquals(value.length, payload.getBytes());
+        assertFalse(payload.isWritten());
+    }
+
+    @Test
+    public void testHotKeyDetectorCountsKeysPerOperation() throws IOException {
+        final HotKeyDetector detector = HotKeyDetector.builder().build();
+
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.disabled(),
+                OperationRecorder.of(null, null, null, detector, TestEntity.class, "table"));
+
+        final Result emptyResult = mock(Result.class);
+        when(emptyResult.isEmpty()).thenReturn(true);
+
+        when(table.get(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream()
+                .map(get -> emptyResult)
+                .toArray(Result[]::new));
+
+        final Key<TestEntity> hotKey = new StringKey<>("hot");
+
+        dao.getAll(new LinkedHashSet<>(Arrays.asList(hotKey, new StringKey<>("cold"))));
+        dao.getAll(Collections.singleton(hotKey));
+        dao.deleteAll(Collections.singleton(new StringKey<>("deleted")));
+
+        final List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys(TestEntity.class, DaoOperation.Type.GET);
+
+        assertEquals(2, hotKeys.size());
+        assertArrayEquals(hotKey.toBytes(), hotKeys.get(0).getRow());
+        assertEquals(2, hotKeys.get(0).getCount());
+
+        final List<HotKeyDetector.HotKey> deletedKeys = detector.getHotKeys(TestEntity.class,
+                DaoOperation.Type.DELETE);
+
+        assertEquals(1, deletedKeys.size());
+        assertArrayEquals(Bytes.toBytes("deleted"), deletedKeys.get(0).getRow());
+    }
+
+    @Test
+    public void testSlowOperationLogKeepsOperationsAboveThreshold() throws IOException {
+        final List<SlowOperationLog.SlowOperation> listened = new ArrayList<>();
+        final SlowOperationLog everyOperation = SlowOperationLog.builder()
+                .setThreshold(Duration.ZERO)
+                .setCapacity(1)
+                .setListener(listened::add)
+                .build();
+        final SlowOperationLog noOperation = SlowOperationLog.builder()
+                .setThreshold(Duration.ofDays(1))
+                .build();
+
+        final Dao<TestEntity> dao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory, RawKey::wrap,
+                liveObjectMapper, AbsentKeyCache.disabled(), OperationRecorder.of(
+                        DaoMetrics.combine(everyOperation, noOperation), TestEntity.class, "table"));
+
+        final TestEntity entity = new TestEntity();
+        entity.setStringValue("some string");
+
+        dao.saveAll(Collections.singletonMap(new StringKey<>("first"), entity));
+        dao.saveAll(Collections.singletonMap(new StringKey<>("second"), entity));
+
+        assertEquals(2, listened.size());
+        assertEquals(1, everyOperation.getOperations().size());
+
+        final DaoOperation operation = everyOperation.getOperations().get(0).getOperation();
+        assertEquals(DaoOperation.Type.SAVE, operation.getType());
+        assertArrayEquals(Bytes.toBytes("second"), operation.getRow());
+        assertEquals(1, operation.getRowCount());
+        assertEquals(liveObjectMapper.writeValueAsBytes("some string").length, operation.getBytesWritten());
+
+        assertTrue(noOperation.getOperations().isEmpty());
+    }
+
     @Test(expected = NullPointerException.class)
     public void testScanWithNullStartKeyThrowsNullPointerException() throws IOException {
         Key<TestEntity> endKey = new StringKey<>("key");
@@ -2206,6 +2450,564 @@ public class BigTableEntityDaoTest extends AbstractBigTableEntityDaoTest {
                 .isPresent());
     }
 
+    @Test
+    public void testScanAddsPredicateFilter() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        when(table.getScanner(scanArgumentCaptor.capture())).thenReturn(scanner);
+        when(scanner.next()).thenReturn(null);
+
+        final EntityPredicate<TestEntity> predicate = new ColumnReference<TestEntity, String>(TestColumns.STRING_VALUE)
+                .isEqualTo("some string");
+
+        when(objectMapper.writeValueAsBytes("some string")).thenReturn(Bytes.toBytes("\"some string\""));
+
+        testEntityDao.scan(startKey, true, endKey, true, 5, null, predicate);
+
+        FilterList filterList = (FilterList) scanArgumentCaptor.getValue().getFilter();
+        List<Filter> listOfFilters = filterList.getFilters();
+        assertEquals(2, listOfFilters.size());
+        assertTrue(listOfFilters.stream().anyMatch(PageFilter.class::isInstance));
+        assertTrue(listOfFilters.stream().anyMatch(SingleColumnValueFilter.class::isInstance));
+    }
+
+    @Test
+    public void testScanWithUnsupportedPredicateThrowsBeforeScanning() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final EntityPredicate<TestEntity> predicate = new ColumnReference<TestEntity, TestNestedObject>(TestColumns.NESTED_OBJECT)
+                .isEqualTo(new TestNestedObject());
+
+        try {
+            testEntityDao.scan(startKey, true, endKey, true, 5, null, predicate);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            verify(table, never()).getScanner(any(Scan.class));
+        }
+    }
+
+    @Test
+    public void testScanParsesRowKeysWithConfiguredKeyParser() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final Dao<TestEntity> parsingDao = new BigTableEntityDao<>(table, columns, entityFactory, delegateFactory,
+                row -> new StringKey<>(Bytes.toString(row)), objectMapper);
+
+        final Result result = rowResult("b");
+
+        when(table.getScanner(any(Scan.class))).thenReturn(scanner);
+        when(scanner.next()).thenReturn(result, (Result) null);
+
+        final SortedMap<Key<TestEntity>, TestEntity> retrievedEntities =
+                parsingDao.scan(startKey, true, endKey, true, 1);
+
+        assertEquals(1, retrievedEntities.size());
+        assertTrue(retrievedEntities.firstKey() instanceof StringKey);
+        assertEquals("b", retrievedEntities.firstKey().toString());
+    }
+
+    @Test
+    public void testParallelScanSplitsRangeAtRegionStartKeysAndMergesInOrder() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final RegionLocator regionLocator = mock(RegionLocator.class);
+        when(table.getRegionLocator()).thenReturn(regionLocator);
+        when(regionLocator.getStartKeys()).thenReturn(new byte[][] { new byte[0], Bytes.toBytes("m") });
+
+        final ResultScanner firstShardScanner = scannerOf(rowResult("b"), rowResult("c"));
+        final ResultScanner secondShardScanner = scannerOf(rowResult("n"));
+
+        when(table.getScanner(any(Scan.class))).thenAnswer(invocation -> {
+            final Scan scan = invocation.getArgument(0);
+            return Bytes.equals(scan.getStartRow(), Bytes.toBytes("m")) ? secondShardScanner : firstShardScanner;
+        });
+
+        final List<Key<TestEntity>> keys = new ArrayList<>();
+
+        testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                ParallelScanOptions.builder().setParallelism(2).setOrdered(true).build(),
+                (key, entity) -> keys.add(key));
+
+        assertEquals(Arrays.asList(new RawKey<>(Bytes.toBytes("b")), new RawKey<>(Bytes.toBytes("c")),
+                new RawKey<>(Bytes.toBytes("n"))), keys);
+
+        verify(table, times(2)).getScanner(scanArgumentCaptor.capture());
+
+        final List<Scan> scans = scanArgumentCaptor.getAllValues();
+        assertTrue(scans.stream().anyMatch(scan -> Bytes.equals(scan.getStartRow(), Bytes.toBytes("a"))
+                && Bytes.equals(scan.getStopRow(), Bytes.toBytes("m")) && !scan.includeStopRow()));
+        assertTrue(scans.stream().anyMatch(scan -> Bytes.equals(scan.getStartRow(), Bytes.toBytes("m"))
+                && scan.includeStartRow() && Bytes.equals(scan.getStopRow(), Bytes.toBytes("z"))));
+        assertTrue(scans.stream().allMatch(scan -> scan.getFilter() == null));
+    }
+
+    @Test
+    public void testParallelScanUsesConfiguredSplitKeysInsteadOfRegions() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final ResultScanner emptyScanner = scannerOf();
+
+        when(table.getScanner(any(Scan.class))).thenReturn(emptyScanner);
+
+        testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                ParallelScanOptions.builder()
+                        .setSplitKeys(Arrays.asList(new StringKey<TestEntity>("h"), new StringKey<TestEntity>("q")))
+                        .build(),
+                (key, entity) -> fail("Expected no rows"));
+
+        verify(table, never()).getRegionLocator();
+        verify(table, times(3)).getScanner(any(Scan.class));
+    }
+
+    @Test
+    public void testParallelScanResumesFailedShardAfterLastReturnedRow() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final Result first = rowResult("b");
+
+        final ResultScanner failingScanner = mock(ResultScanner.class);
+        when(failingScanner.next()).thenReturn(first).thenThrow(new IOException("Connection reset"));
+
+        final ResultScanner resumedScanner = scannerOf(rowResult("c"));
+
+        final RegionLocator regionLocator = mock(RegionLocator.class);
+        when(table.getRegionLocator()).thenReturn(regionLocator);
+        when(regionLocator.getStartKeys()).thenReturn(new byte[][] { new byte[0] });
+
+        when(table.getScanner(any(Scan.class))).thenReturn(failingScanner, resumedScanner);
+
+        final ShardListener listener = mock(ShardListener.class);
+        final List<Key<TestEntity>> keys = new ArrayList<>();
+
+        testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                ParallelScanOptions.builder()
+                        .setRetryBackoff(Duration.ZERO)
+                        .setListener(listener)
+                        .build(),
+                (key, entity) -> keys.add(key));
+
+        assertEquals(Arrays.asList(new RawKey<>(Bytes.toBytes("b")), new RawKey<>(Bytes.toBytes("c"))), keys);
+
+        verify(table, times(2)).getScanner(scanArgumentCaptor.capture());
+
+        final Scan resumed = scanArgumentCaptor.getAllValues().get(1);
+        assertArrayEquals(Bytes.toBytes("b"), resumed.getStartRow());
+        assertFalse(resumed.includeStartRow());
+
+        verify(listener).onShardRetry(any(ScanShard.class), eq(1), any(IOException.class));
+        verify(listener).onShardCompleted(any(ScanShard.class), eq(2L));
+    }
+
+    @Test
+    public void testParallelScanThrowsOnceRetriesAreExhausted() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final IOException cause = new IOException("Connection reset");
+
+        when(table.getScanner(any(Scan.class))).thenThrow(cause);
+
+        try {
+            testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                    ParallelScanOptions.builder()
+                            .setSplitKeys(Collections.singletonList(new StringKey<TestEntity>("m")))
+                            .setMaxRetries(1)
+                            .setRetryBackoff(Duration.ZERO)
+                            .build(),
+                    (key, entity) -> { });
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertEquals(cause, e);
+        }
+    }
+
+    @Test
+    public void testParallelScanThrowsOnceTimeoutHasPassed() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final ResultScanner stuckScanner = mock(ResultScanner.class);
+        when(stuckScanner.next()).thenAnswer(invocation -> {
+            Thread.sleep(60_000);
+            return null;
+        });
+
+        when(table.getScanner(any(Scan.class))).thenReturn(stuckScanner);
+
+        try {
+            testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                    ParallelScanOptions.builder()
+                            .setSplitKeys(Collections.singletonList(new StringKey<TestEntity>("m")))
+                            .setTimeout(Duration.ofMillis(100))
+                            .build(),
+                    (key, entity) -> { });
+            fail("Expected TimeoutIOException");
+        } catch (final TimeoutIOException e) {
+            assertTrue(e.getMessage().contains("PT0.1S"));
+        }
+    }
+
+    @Test
+    public void testParallelScanDoesNotRetryBeyondTimeout() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final IOException cause = new IOException("Connection reset");
+
+        final RegionLocator regionLocator = mock(RegionLocator.class);
+        when(table.getRegionLocator()).thenReturn(regionLocator);
+        when(regionLocator.getStartKeys()).thenReturn(new byte[][] { new byte[0] });
+
+        when(table.getScanner(any(Scan.class))).thenThrow(cause);
+
+        try {
+            testEntityDao.parallelScan(startKey, true, endKey, true, null,
+                    ParallelScanOptions.builder()
+                            .setRetryBackoff(Duration.ofMinutes(1))
+                            .setTimeout(Duration.ofSeconds(10))
+                            .build(),
+                    (key, entity) -> { });
+            fail("Expected IOException");
+        } catch (final IOException e) {
+            assertEquals(cause, e);
+        }
+
+        verify(table, times(1)).getScanner(any(Scan.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTryGetAllRetriesOnlyFailedRows() throws IOException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final Result emptyResult = mock(Result.class);
+        when(emptyResult.isEmpty()).thenReturn(true);
+
+        final List<List<Row>> batches = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            final List<Row> actions = invocation.getArgument(0);
+            final Object[] results = invocation.getArgument(1);
+
+            batches.add(new ArrayList<>(actions));
+
+            boolean failed = false;
+
+            for (int i = 0; i < actions.size(); i++) {
+                if (batches.size() == 1 && Bytes.equals(actions.get(i).getRow(), b.toBytes())) {
+                    results[i] = new IOException("Tablet unavailable");
+                    failed = true;
+                } else {
+                    results[i] = emptyResult;
+                }
+            }
+
+            if (failed) {
+                throw new IOException("Some rows failed");
+            }
+
+            return null;
+        }).when(table).batch(anyList(), any(Object[].class));
+
+        final BatchResult<StringKey<TestEntity>, TestEntity> result = testEntityDao.tryGetAll(
+                new HashSet<>(Arrays.asList(a, b)),
+                RetryPolicy.builder().setInitialBackoff(Duration.ZERO).build());
+
+        assertFalse(result.hasFailures());
+        assertEquals(new HashSet<>(Arrays.asList(a, b)), result.getSuccesses().keySet());
+        assertNull(result.getSuccesses().get(b));
+        assertEquals(1, result.getRetries());
+
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(1).size());
+        assertArrayEquals(b.toBytes(), batches.get(1).get(0).getRow());
+    }
+
+    @Test
+    public void testTryDeleteAllReportsFailedRowsWithoutFailingOthers() throws IOException, InterruptedException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final IOException cause = new IOException("Tablet unavailable");
+
+        doAnswer(invocation -> {
+            final List<Row> actions = invocation.getArgument(0);
+            final Object[] results = invocation.getArgument(1);
+
+            for (int i = 0; i < actions.size(); i++) {
+                results[i] = Bytes.equals(actions.get(i).getRow(), b.toBytes()) ? cause : Result.EMPTY_RESULT;
+            }
+
+            throw new IOException("Some rows failed");
+        }).when(table).batch(anyList(), any(Object[].class));
+
+        final BatchResult<StringKey<TestEntity>, Void> result = testEntityDao.tryDeleteAll(
+                new HashSet<>(Arrays.asList(a, b)), RetryPolicy.noRetries());
+
+        assertEquals(Collections.singleton(a), result.getSuccesses().keySet());
+        assertEquals(Collections.singletonMap(b, cause), result.getFailures());
+        assertEquals(0, result.getRetries());
+
+        verify(table, times(1)).batch(anyList(), any(Object[].class));
+    }
+
+    @Test
+    public void testTryDeleteAllRetriesAreLimitedByRetryBudget() throws IOException, InterruptedException {
+        doAnswer(invocation -> {
+            throw new IOException("Table unavailable");
+        }).when(table).batch(anyList(), any(Object[].class));
+
+        final BatchResult<StringKey<TestEntity>, Void> result = testEntityDao.tryDeleteAll(
+                new HashSet<>(Arrays.asList(new StringKey<>("a"), new StringKey<>("b"), new StringKey<>("c"))),
+                RetryPolicy.builder()
+                        .setMaxAttempts(5)
+                        .setInitialBackoff(Duration.ZERO)
+                        .setRetryBudgetPercent(0)
+                        .setMinRetryBudget(1)
+                        .build());
+
+        assertEquals(3, result.getFailures().size());
+        assertEquals(1, result.getRetries());
+
+        verify(table, times(2)).batch(anyList(), any(Object[].class));
+    }
+
+    @Test
+    public void testGetColumnHistoryReturnsVersionsInRange() throws IOException {
+        final StringKey<TestVersionedEntity> key = new StringKey<>("key");
+        final TestColumns<Boolean> column = TestVersionedColumns.VERSIONED_BOOLEAN_VALUE;
+
+        final byte[] newerBytes = new byte[] { 1 };
+        final byte[] olderBytes = new byte[] { 0 };
+
+        final Cell newerCell = mock(Cell.class);
+        when(newerCell.getValueArray()).thenReturn(newerBytes);
+        when(newerCell.getTimestamp()).thenReturn(2000L);
+
+        final Cell olderCell = mock(Cell.class);
+        when(olderCell.getValueArray()).thenReturn(olderBytes);
+        when(olderCell.getTimestamp()).thenReturn(1000L);
+
+        when(objectMapper.readValue(newerBytes, column.getTestTypeReference())).thenReturn(true);
+        when(objectMapper.readValue(olderBytes, column.getTestTypeReference())).thenReturn(false);
+
+        final Result result = mock(Result.class);
+        when(result.getColumnCells(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier())))
+                .thenReturn(Arrays.asList(newerCell, olderCell));
+
+        final ArgumentCaptor<List<Get>> getCaptor = ArgumentCaptor.forClass(List.class);
+        when(table.get(getCaptor.capture())).thenReturn(new Result[] { result });
+
+        final Map<StringKey<TestVersionedEntity>, List<ColumnVersion<Boolean>>> history =
+                testVersionedEntityDao.getColumnHistory(Collections.singleton(key), column, VersionQuery.builder()
+                        .setMaxVersions(2)
+                        .setTimeRange(Instant.ofEpochMilli(500), Instant.ofEpochMilli(2500))
+                        .build());
+
+        assertEquals(Arrays.asList(new ColumnVersion<>(true, 2000L), new ColumnVersion<>(false, 1000L)), history.get(key));
+
+        final Get get = getCaptor.getValue().get(0);
+        assertEquals(2, get.getMaxVersions());
+        assertEquals(500, get.getTimeRange().getMin());
+        assertEquals(2500, get.getTimeRange().getMax());
+        assertTrue(get.getFamilyMap().get(Bytes.toBytes(column.getFamily())).stream()
+                .anyMatch(qualifier -> Bytes.equals(qualifier, Bytes.toBytes(column.getQualifier()))));
+    }
+
+    @Test
+    public void testGetColumnHistoryOfMissingRowIsEmpty() throws IOException {
+        final StringKey<TestVersionedEntity> key = new StringKey<>("key");
+
+        final Result result = mock(Result.class);
+        when(result.getColumnCells(any(byte[].class), any(byte[].class))).thenReturn(Collections.emptyList());
+        when(table.get(anyList())).thenReturn(new Result[] { result });
+
+        final Map<StringKey<TestVersionedEntity>, List<ColumnVersion<Boolean>>> history =
+                testVersionedEntityDao.getColumnHistory(Collections.singleton(key),
+                        TestVersionedColumns.VERSIONED_BOOLEAN_VALUE, VersionQuery.builder().build());
+
+        assertEquals(Collections.singletonMap(key, Collections.emptyList()), history);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetColumnHistoryOfUnversionedColumnIsRejected() throws IOException {
+        testVersionedEntityDao.getColumnHistory(Collections.singleton(new StringKey<>("key")),
+                TestVersionedColumns.STRING_VALUE, VersionQuery.builder().build());
+    }
+
+    @Test
+    public void testGetAllAsOfReadsCellsAtOrBeforeTime() throws IOException {
+        final StringKey<TestEntity> key = new StringKey<>("key");
+
+        final Result result = mock(Result.class);
+        when(result.isEmpty()).thenReturn(true);
+
+        final ArgumentCaptor<List<Get>> getCaptor = ArgumentCaptor.forClass(List.class);
+        when(table.get(getCaptor.capture())).thenReturn(new Result[] { result });
+
+        final Map<StringKey<TestEntity>, TestEntity> entities =
+                testEntityDao.getAll(Collections.singleton(key), Instant.ofEpochMilli(1000));
+
+        assertTrue(entities.isEmpty());
+
+        final Get get = getCaptor.getValue().get(0);
+        assertEquals(0, get.getTimeRange().getMin());
+        assertEquals(1001, get.getTimeRange().getMax());
+    }
+
+    @Test
+    public void testScanAsOfReadsCellsAtOrBeforeTime() throws IOException {
+        final ResultScanner scanner = scannerOf(rowResult("b"));
+        when(table.getScanner(scanArgumentCaptor.capture())).thenReturn(scanner);
+
+        final SortedMap<Key<TestEntity>, TestEntity> entities = testEntityDao.scan(new StringKey<>("a"), true,
+                new StringKey<>("z"), true, 10, null, null, Instant.ofEpochMilli(1000));
+
+        assertEquals(Collections.singleton(new RawKey<>(Bytes.toBytes("b"))), entities.keySet());
+        assertEquals(0, scanArgumentCaptor.getValue().getTimeRange().getMin());
+        assertEquals(1001, scanArgumentCaptor.getValue().getTimeRange().getMax());
+    }
+
+    @Test
+    public void testScanAsOfKeepsTimeRangeOfPredicate() throws IOException {
+        final ResultScanner emptyScanner = scannerOf();
+        when(table.getScanner(scanArgumentCaptor.capture())).thenReturn(emptyScanner);
+
+        testEntityDao.scan(new StringKey<>("a"), true, new StringKey<>("z"), true, 10, null,
+                EntityPredicate.timestampsBetween(500, 2000), Instant.ofEpochMilli(1000));
+
+        assertEquals(500, scanArgumentCaptor.getValue().getTimeRange().getMin());
+        assertEquals(1001, scanArgumentCaptor.getValue().getTimeRange().getMax());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScanAsOfBeforeTimeRangeOfPredicateIsRejected() throws IOException {
+        testEntityDao.scan(new StringKey<>("a"), true, new StringKey<>("z"), true, 10, null,
+                EntityPredicate.timestampsBetween(500, 2000), Instant.ofEpochMilli(100));
+    }
+
+    @Test
+    public void testParallelScanAsOfReadsEveryShardAtSameTime() throws IOException {
+        final ResultScanner emptyScanner = scannerOf();
+        when(table.getScanner(any(Scan.class))).thenReturn(emptyScanner);
+
+        testEntityDao.parallelScan(new StringKey<>("a"), true, new StringKey<>("z"), true, null,
+                ParallelScanOptions.builder()
+                        .setSplitKeys(Collections.singletonList(new StringKey<TestEntity>("m")))
+                        .setAsOf(Instant.ofEpochMilli(1000))
+                        .build(),
+                (key, entity) -> fail("Expected no rows"));
+
+        verify(table, times(2)).getScanner(scanArgumentCaptor.capture());
+
+        assertTrue(scanArgumentCaptor.getAllValues().stream()
+                .allMatch(scan -> scan.getTimeRange().getMax() == 1001));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetAllAsOfBeforeEpochIsRejected() throws IOException {
+        testEntityDao.getAll(Collections.singleton(new StringKey<>("key")), Instant.ofEpochMilli(-1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExistsReadsOnlyFirstKeyOfRows() throws IOException {
+        final StringKey<TestEntity> a = new StringKey<>("a");
+        final StringKey<TestEntity> b = new StringKey<>("b");
+
+        final ArgumentCaptor<List<Get>> getCaptor = ArgumentCaptor.forClass(List.class);
+
+        when(table.get(getCaptor.capture())).thenAnswer(invocation -> ((List<Get>) invocation.getArgument(0)).stream()
+                .map(get -> Bytes.equals(get.getRow(), a.toBytes()) ? rowResult("a") : Result.EMPTY_RESULT)
+                .toArray(Result[]::new));
+
+        final Set<StringKey<TestEntity>> existingKeys = testEntityDao.exists(new HashSet<>(Arrays.asList(a, b)));
+
+        assertEquals(Collections.singleton(a), existingKeys);
+
+        for (final Get get : getCaptor.getValue()) {
+            assertKeyOnly(get.getFilter());
+            assertTrue(get.hasFamilies());
+        }
+
+        verify(objectMapper, never()).readValue(any(byte[].class), any(TypeReference.class));
+    }
+
+    @Test
+    public void testScanKeysReturnsKeysOfRowsInRange() throws IOException {
+        final ResultScanner scanner = scannerOf(rowResult("b"), rowResult("c"));
+        when(table.getScanner(scanArgumentCaptor.capture())).thenReturn(scanner);
+
+        final SortedSet<Key<TestEntity>> keys = testEntityDao.scanKeys(new StringKey<>("a"), true, new StringKey<>("z"), false, 2);
+
+        assertEquals(Arrays.asList(new RawKey<>(Bytes.toBytes("b")), new RawKey<>(Bytes.toBytes("c"))), new ArrayList<>(keys));
+
+        final FilterList filterList = (FilterList) scanArgumentCaptor.getValue().getFilter();
+        assertKeyOnly(filterList.getFilters().get(0));
+        assertEquals(2, ((PageFilter) filterList.getFilters().get(1)).getPageSize());
+        assertFalse(scanArgumentCaptor.getValue().includeStopRow());
+
+        verify(scanner).close();
+    }
+
+    @Test
+    public void testCountStreamsWholeRange() throws IOException {
+        final ResultScanner scanner = scannerOf(rowResult("b"), rowResult("c"), rowResult("d"));
+        when(table.getScanner(scanArgumentCaptor.capture())).thenReturn(scanner);
+
+        assertEquals(3, testEntityDao.count(new StringKey<>("a"), true, new StringKey<>("z"), true));
+
+        assertKeyOnly(scanArgumentCaptor.getValue().getFilter());
+
+        verify(scanner).close();
+    }
+
+    private static void assertKeyOnly(final Filter filter) {
+        final List<Filter> filters = ((FilterList) filter).getFilters();
+
+        assertTrue(filters.get(0) instanceof FirstKeyOnlyFilter);
+        assertTrue(filters.get(1) instanceof KeyOnlyFilter);
+    }
+
+    @Test
+    public void testParallelScanWithUnsupportedPredicateThrowsBeforeScanning() throws IOException {
+        final Key<TestEntity> startKey = new StringKey<>("a"); // [97]
+        final Key<TestEntity> endKey = new StringKey<>("z"); // [122]
+
+        final EntityPredicate<TestEntity> predicate = new ColumnReference<TestEntity, TestNestedObject>(TestColumns.NESTED_OBJECT)
+                .isEqualTo(new TestNestedObject());
+
+        try {
+            testEntityDao.parallelScan(startKey, true, endKey, true, predicate,
+                    ParallelScanOptions.builder().build(), (key, entity) -> { });
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            verify(table, never()).getRegionLocator();
+            verify(table, never()).getScanner(any(Scan.class));
+        }
+    }
+
+    private static Result rowResult(final String row) {
+        final Result result = mock(Result.class);
+        when(result.getRow()).thenReturn(Bytes.toBytes(row));
+        when(result.isEmpty()).thenReturn(false);
+        return result;
+    }
+
+    private static ResultScanner scannerOf(final Result... results) throws IOException {
+        final ResultScanner scanner = mock(ResultScanner.class);
+        final Result[] next = Arrays.copyOf(results, results.length + 1);
+        when(scanner.next()).thenReturn(next[0], Arrays.copyOfRange(next, 1, next.length));
+        return scanner;
+    }
+
     @Test(expected = NullPointerException.class)
     public void testSaveWithNullKeyThrowsNullPointerException() throws IOException {
         final TestEntity testEntity = new TestEntity();
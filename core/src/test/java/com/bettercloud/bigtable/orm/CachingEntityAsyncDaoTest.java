@@ -0,0 +1,160 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class CachingEntityAsyncDaoTest extends AbstractBigTableEntityDaoTest {
+
+    private final Map<String, TestEntity> rows = new HashMap<>();
+    private final List<Set<String>> requestedRows = new ArrayList<>();
+
+    private AsyncDao<TestEntity> dao;
+    private CachingAsyncDao<TestEntity> cachingDao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        dao = mock(AsyncDao.class);
+
+        doAnswer(invocation -> {
+            final Set<Key<TestEntity>> keys = invocation.getArgument(0);
+
+            final Set<String> requested = new HashSet<>();
+            final Map<Key<TestEntity>, TestEntity> result = new HashMap<>();
+
+            for (final Key<TestEntity> key : keys) {
+                final String row = new String(key.toBytes());
+
+                requested.add(row);
+
+                if (rows.containsKey(row)) {
+                    result.put(key, rows.get(row));
+                }
+            }
+
+            requestedRows.add(requested);
+
+            return CompletableFuture.completedFuture(result);
+        }).when(dao).getAll(anySet());
+
+        doAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0))).when(dao).saveAll(anyMap());
+
+        final EntitySnapshotCodec<TestEntity> codec = new EntitySnapshotCodec<>(
+                Arrays.asList(TestColumns.STRING_VALUE, TestColumns.BOOLEAN_VALUE, TestColumns.NESTED_OBJECT),
+                TestEntity::new, TestDelegate::new, new ObjectMapper());
+
+        cachingDao = new CachingEntityAsyncDao<>(dao, codec, CacheOptions.builder().build());
+
+        rows.put("a", entity("value a"));
+        rows.put("b", entity("value b"));
+    }
+
+    @Test
+    public void testGetAllReadsOnlyMissingKeysInOneBatch() throws ExecutionException, InterruptedException {
+        assertEquals("value a", cachingDao.get(new StringKey<>("a")).get().getStringValue());
+
+        final Map<StringKey<TestEntity>, TestEntity> result = cachingDao.getAll(keys("a", "b", "c")).get();
+
+        assertEquals(Arrays.asList(Collections.singleton("a"), new HashSet<>(Arrays.asList("b", "c"))), requestedRows);
+
+        assertEquals(2, result.size());
+        assertEquals("value b", result.get(new StringKey<TestEntity>("b")).getStringValue());
+
+        assertEquals(1, cachingDao.getCacheMetrics().getHitCount());
+        assertEquals(3, cachingDao.getCacheMetrics().getMissCount());
+    }
+
+    @Test
+    public void testGetOfSetSharesOneBatch() throws ExecutionException, InterruptedException {
+        final Map<StringKey<TestEntity>, CompletableFuture<TestEntity>> result = cachingDao.get(keys("a", "c"));
+
+        assertEquals("value a", result.get(new StringKey<TestEntity>("a")).get().getStringValue());
+        assertNull(result.get(new StringKey<TestEntity>("c")).get());
+        assertEquals(1, requestedRows.size());
+    }
+
+    @Test
+    public void testSaveAllUpdatesCache() throws ExecutionException, InterruptedException, IOException {
+        cachingDao.get(new StringKey<>("a")).get();
+        cachingDao.saveAll(Collections.singletonMap(new StringKey<>("a"), entity("saved a"))).get();
+
+        assertEquals("saved a", cachingDao.get(new StringKey<>("a")).get().getStringValue());
+        assertEquals(1, requestedRows.size());
+    }
+
+    @Test
+    public void testDeleteInvalidatesCache() throws ExecutionException, InterruptedException {
+        doReturn(CompletableFuture.completedFuture(null)).when(dao).delete(any(Key.class));
+
+        cachingDao.get(new StringKey<>("a")).get();
+        rows.remove("a");
+        cachingDao.delete(new StringKey<>("a")).get();
+
+        assertNull(cachingDao.get(new StringKey<>("a")).get());
+        assertEquals(2, requestedRows.size());
+    }
+
+    @Test
+    public void testFailedGetAllCompletesExceptionally() throws InterruptedException {
+        final CompletableFuture<Map<Key<TestEntity>, TestEntity>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("failed"));
+
+        doReturn(failed).when(dao).getAll(anySet());
+
+        try {
+            cachingDao.getAll(keys("a")).get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertEquals(IOException.class, e.getCause().getClass());
+        }
+
+        // Failures are not cached
+        doReturn(CompletableFuture.completedFuture(Collections.emptyMap())).when(dao).getAll(anySet());
+
+        try {
+            assertSame(0, cachingDao.getAll(keys("a")).get().size());
+        } catch (final ExecutionException e) {
+            fail();
+        }
+    }
+
+    private static TestEntity entity(final String stringValue) {
+        final TestEntity entity = new TestEntity();
+        entity.setStringValue(stringValue);
+        return entity;
+    }
+
+    private static Set<StringKey<TestEntity>> keys(final String... rows) {
+        final Set<StringKey<TestEntity>> keys = new HashSet<>();
+
+        for (final String row : rows) {
+            keys.add(new StringKey<>(row));
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,241 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CachingEntityDaoTest extends AbstractBigTableEntityDaoTest {
+
+    private final Map<String, TestEntity> rows = new HashMap<>();
+    private final List<Set<String>> requestedRows = new ArrayList<>();
+
+    private Dao<TestEntity> dao;
+    private EntitySnapshotCodec<TestEntity> codec;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        dao = mock(Dao.class);
+
+        doAnswer(invocation -> {
+            final Set<Key<TestEntity>> keys = invocation.getArgument(0);
+
+            final Set<String> requested = new HashSet<>();
+            final Map<Key<TestEntity>, TestEntity> result = new HashMap<>();
+
+            for (final Key<TestEntity> key : keys) {
+                final String row = new String(key.toBytes());
+
+                requested.add(row);
+
+                if (rows.containsKey(row)) {
+                    result.put(key, rows.get(row));
+                }
+            }
+
+            requestedRows.add(requested);
+
+            return result;
+        }).when(dao).getAll(anySet());
+
+        doAnswer(invocation -> invocation.getArgument(0)).when(dao).saveAll(anyMap());
+
+        codec = new EntitySnapshotCodec<>(
+                Arrays.asList(TestColumns.STRING_VALUE, TestColumns.BOOLEAN_VALUE, TestColumns.NESTED_OBJECT),
+                TestEntity::new, TestDelegate::new, new ObjectMapper());
+
+        rows.put("a", entity("value a"));
+        rows.put("b", entity("value b"));
+    }
+
+    @Test
+    public void testGetAllReadsOnlyMissingKeysInOneBatch() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+
+        final Map<StringKey<TestEntity>, TestEntity> result = cachingDao.getAll(keys("a", "b", "c"));
+
+        assertEquals(Arrays.asList(Collections.singleton("a"), new HashSet<>(Arrays.asList("b", "c"))), requestedRows);
+
+        assertEquals(2, result.size());
+        assertEquals("value a", result.get(new StringKey<TestEntity>("a")).getStringValue());
+        assertEquals("value b", result.get(new StringKey<TestEntity>("b")).getStringValue());
+        assertFalse(result.containsKey(new StringKey<TestEntity>("c")));
+
+        final CacheMetrics metrics = cachingDao.getCacheMetrics();
+
+        assertEquals(1, metrics.getHitCount());
+        assertEquals(3, metrics.getMissCount());
+        assertEquals(2, metrics.getEstimatedSize());
+    }
+
+    @Test
+    public void testExistsChecksOnlyUncachedKeys() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+
+        doAnswer(invocation -> Collections.singleton(new StringKey<TestEntity>("b"))).when(dao).exists(anySet());
+
+        assertEquals(keys("a", "b"), cachingDao.exists(keys("a", "b", "c")));
+
+        verify(dao).exists(keys("b", "c"));
+    }
+
+    @Test
+    public void testGetAllReturnsNewEntityForEveryHit() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        final TestEntity first = cachingDao.getAll(keys("a")).get(new StringKey<TestEntity>("a"));
+        first.setStringValue("modified");
+
+        final TestEntity second = cachingDao.getAll(keys("a")).get(new StringKey<TestEntity>("a"));
+
+        assertNotSame(first, second);
+        assertEquals("value a", second.getStringValue());
+    }
+
+    @Test
+    public void testSaveAllUpdatesCache() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+        cachingDao.saveAll(Collections.singletonMap(new StringKey<>("a"), entity("saved a")));
+
+        final TestEntity result = cachingDao.getAll(keys("a")).get(new StringKey<TestEntity>("a"));
+
+        assertEquals("saved a", result.getStringValue());
+        assertEquals(1, requestedRows.size());
+    }
+
+    @Test
+    public void testDeleteAllInvalidatesCache() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+
+        final Set<StringKey<TestEntity>> deleted = keys("a");
+        cachingDao.deleteAll(deleted);
+        rows.remove("a");
+
+        assertTrue(cachingDao.getAll(keys("a")).isEmpty());
+        assertEquals(2, requestedRows.size());
+
+        verify(dao).deleteAll(deleted);
+    }
+
+    @Test
+    public void testFailedSaveAllInvalidatesCache() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+
+        doThrow(new IOException("failed")).when(dao).saveAll(anyMap());
+
+        try {
+            cachingDao.saveAll(Collections.singletonMap(new StringKey<>("a"), entity("saved a")));
+            fail();
+        } catch (final IOException e) {
+            assertEquals("failed", e.getMessage());
+        }
+
+        cachingDao.getAll(keys("a"));
+
+        assertEquals(2, requestedRows.size());
+    }
+
+    @Test
+    public void testGetAllRethrowsIOExceptionOfDao() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        doThrow(new IOException("failed")).when(dao).getAll(anySet());
+
+        try {
+            cachingDao.getAll(keys("a"));
+            fail();
+        } catch (final IOException e) {
+            assertEquals("failed", e.getMessage());
+        }
+
+        assertEquals(1, cachingDao.getCacheMetrics().getLoadFailureCount());
+    }
+
+    @Test
+    public void testCacheEvictsBeyondMaximumSize() throws IOException {
+        final CacheOptions options = CacheOptions.builder()
+                .setMaximumSize(1)
+                .setExecutor(Runnable::run)
+                .build();
+
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, options);
+
+        cachingDao.getAll(keys("a"));
+        cachingDao.getAll(keys("b"));
+
+        assertEquals(1, cachingDao.getCacheMetrics().getEvictionCount());
+        assertEquals(1, cachingDao.getCacheMetrics().getEstimatedSize());
+    }
+
+    @Test
+    public void testInvalidateAllEmptiesCache() throws IOException {
+        final CachingDao<TestEntity> cachingDao = new CachingEntityDao<>(dao, codec, CacheOptions.builder().build());
+
+        cachingDao.getAll(keys("a"));
+        cachingDao.invalidateAll();
+
+        assertNull(cachingDao.getAll(keys("c")).get(new StringKey<TestEntity>("c")));
+        cachingDao.getAll(keys("a"));
+
+        assertEquals(3, requestedRows.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRefreshNotShorterThanExpiryIsRejected() {
+        CacheOptions.builder()
+                .setExpireAfterWrite(Duration.ofSeconds(1))
+                .setRefreshAfterWrite(Duration.ofSeconds(1))
+                .build();
+    }
+
+    private static TestEntity entity(final String stringValue) {
+        final TestEntity entity = new TestEntity();
+        entity.setStringValue(stringValue);
+        entity.setBooleanValue(true);
+        return entity;
+    }
+
+    private static Set<StringKey<TestEntity>> keys(final String... rows) {
+        final Set<StringKey<TestEntity>> keys = new HashSet<>();
+
+        for (final String row : rows) {
+            keys.add(new StringKey<>(row));
+        }
+
+        return keys;
+    }
+}
@@ -2,16 +2,31 @@ package com.bettercloud.bigtable.orm;
 
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
@@ -66,6 +81,30 @@ public class DaoFactoryTest extends AbstractDaoFactoryTest {
         verify(connection).getTable(eq(TableName.valueOf(TABLE_NAME)));
     }
 
+    @Test
+    public void testDaoForWithTimeoutOpensTableWithTimeout() throws IOException {
+        final DaoFactory.Options options = DaoFactory.optionsBuilder()
+                .setTimeout(Duration.ofSeconds(2))
+                .build();
+
+        final TableBuilder tableBuilder = mock(TableBuilder.class, RETURNS_SELF);
+        final Table table = mock(Table.class);
+        when(tableBuilder.build()).thenReturn(table);
+        when(connection.getTableBuilder(TableName.valueOf(TABLE_NAME), null)).thenReturn(tableBuilder);
+
+        assertNotNull(daoFactory.daoFor(RegisteredEntity.class, options));
+
+        verify(tableBuilder).setOperationTimeout(2000);
+        verify(tableBuilder).setReadRpcTimeout(2000);
+        verify(tableBuilder).setWriteRpcTimeout(2000);
+        verify(connection, never()).getTable(any(TableName.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTimeoutIsRejected() {
+        DaoFactory.optionsBuilder().setTimeout(Duration.ZERO);
+    }
+
     @Test
     public void testDaoForRegisteredEntityTypeWithNullTableNameReturnsDaoForEntityUsingDefaultTableName() throws IOException {
         final String tableName = null;
@@ -113,4 +152,120 @@ public class DaoFactoryTest extends AbstractDaoFactoryTest {
 
         verify(connection).getTable(eq(TableName.valueOf(TABLE_NAME)));
     }
+
+    @Test
+    public void testDaoForRegisteredEntityTypeWithCacheOptionsReturnsCachingDao() throws IOException {
+        final Table table = mock(Table.class);
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final DaoFactory.Options options = DaoFactory.optionsBuilder()
+                .setCacheOptions(CacheOptions.builder().build())
+                .build();
+
+        assertTrue(daoFactory.daoFor(RegisteredEntity.class, options) instanceof CachingDao);
+        assertFalse(daoFactory.daoFor(RegisteredEntity.class) instanceof CachingDao);
+    }
+
+    @Test
+    public void testDaoForSameEntityAndOptionsReturnsSameDao() throws IOException {
+        final Table table = mock(Table.class);
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final DaoFactory.Options options = DaoFactory.optionsBuilder().build();
+
+        assertSame(daoFactory.daoFor(RegisteredEntity.class), daoFactory.daoFor(RegisteredEntity.class));
+        assertSame(daoFactory.daoFor(RegisteredEntity.class, options), daoFactory.daoFor(RegisteredEntity.class, options));
+        assertNotSame(daoFactory.daoFor(RegisteredEntity.class), daoFactory.daoFor(RegisteredEntity.class, options));
+
+        verify(connection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test
+    public void testDaoForEqualOptionsSharesDaoAndTable() throws IOException {
+        final Table table = mock(Table.class);
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final Dao<RegisteredEntity> dao = daoFactory.daoFor(RegisteredEntity.class, DaoFactory.optionsBuilder()
+                .setNegativeCacheOptions(NegativeCacheOptions.builder()
+                        .setExpireAfterWrite(Duration.ofSeconds(1))
+                        .build())
+                .build());
+
+        assertSame(dao, daoFactory.daoFor(RegisteredEntity.class, DaoFactory.optionsBuilder()
+                .setNegativeCacheOptions(NegativeCacheOptions.builder()
+                        .setExpireAfterWrite(Duration.ofSeconds(1))
+                        .build())
+                .build()));
+        assertNotSame(dao, daoFactory.daoFor(RegisteredEntity.class, DaoFactory.optionsBuilder()
+                .setNegativeCacheOptions(NegativeCacheOptions.builder()
+                        .setExpireAfterWrite(Duration.ofSeconds(2))
+                        .build())
+                .build()));
+
+        verify(connection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+    }
+
+    @Test
+    public void testShardedFactoryOpensAndClosesTableOnEveryConnection() throws IOException {
+        final Connection otherConnection = mock(Connection.class);
+        final Table table = mock(Table.class);
+        final Table otherTable = mock(Table.class);
+
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+        when(otherConnection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(otherTable);
+
+        final DaoFactory shardedFactory = new DaoFactory(Arrays.asList(connection, otherConnection),
+                ShardingOptions.builder().build());
+
+        assertNotNull(shardedFactory.daoFor(RegisteredEntity.class));
+        assertEquals(2, shardedFactory.getConnectionMetrics().size());
+
+        shardedFactory.close();
+
+        verify(table).close();
+        verify(otherTable).close();
+        verify(connection, never()).close();
+        verify(otherConnection, never()).close();
+    }
+
+    @Test
+    public void testCloseClosesTablesAndRejectsNewDaos() throws IOException {
+        final Table table = mock(Table.class);
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        daoFactory.daoFor(RegisteredEntity.class);
+        daoFactory.close();
+        daoFactory.close();
+
+        verify(table, times(1)).close();
+        verify(connection, never()).close();
+
+        try {
+            daoFactory.daoFor(RegisteredEntity.class);
+            fail("Expected IllegalStateException");
+        } catch (final IllegalStateException e) {
+            assertEquals("DaoFactory is closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testWarmUpCreatesReusedDaoAndProbesTable() throws IOException {
+        final Table table = mock(Table.class);
+        when(connection.getTable(TableName.valueOf(TABLE_NAME))).thenReturn(table);
+
+        final WarmUpReport report = daoFactory.warmUp(Collections.singletonList(RegisteredEntity.class), null,
+                WarmUpOptions.builder().setProbingTables(true).build());
+
+        assertEquals(Collections.singletonList(RegisteredEntity.class), report.getEntityTypes());
+        assertEquals(Collections.singleton(TABLE_NAME), report.getTableNames());
+        assertTrue(report.isTablesProbed());
+        assertFalse(report.getDuration().isNegative());
+
+        daoFactory.daoFor(RegisteredEntity.class);
+
+        // Once for the Dao, and once for the probe, whose table is closed afterwards
+        verify(connection, times(2)).getTable(TableName.valueOf(TABLE_NAME));
+        verify(table).exists(any(Get.class));
+        verify(table).close();
+    }
 }
@@ -0,0 +1,93 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class DeadlineAsyncDaoTest extends AbstractBigTableEntityDaoTest {
+
+    @Mock
+    private AsyncDao<TestEntity> dao;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+    }
+
+    @Test
+    public void testOperationCompletingWithinTimeoutReturnsResult() throws ExecutionException, InterruptedException {
+        final TestEntity entity = new TestEntity();
+
+        when(dao.get(any(StringKey.class))).thenReturn(CompletableFuture.completedFuture(entity));
+
+        final AsyncDao<TestEntity> deadlineDao = new DeadlineAsyncDao<>(dao, Duration.ofSeconds(10));
+
+        assertEquals(entity, deadlineDao.get(new StringKey<>("a")).get());
+    }
+
+    @Test
+    public void testOperationNotCompletingWithinTimeoutFailsAndIsCancelled() throws InterruptedException {
+        final CompletableFuture<TestEntity> result = new CompletableFuture<>();
+
+        when(dao.get(any(StringKey.class))).thenReturn(result);
+
+        final AsyncDao<TestEntity> deadlineDao = new DeadlineAsyncDao<>(dao, Duration.ofMillis(10));
+
+        try {
+            deadlineDao.get(new StringKey<>("a")).get();
+            fail("Expected TimeoutException");
+        } catch (final ExecutionException e) {
+            assertEquals(TimeoutException.class, e.getCause().getClass());
+        }
+
+        assertTrue(result.isCancelled());
+    }
+
+    @Test
+    public void testCancellingReturnedFutureCancelsOperation() {
+        final CompletableFuture<TestEntity> result = new CompletableFuture<>();
+
+        when(dao.get(any(StringKey.class))).thenReturn(result);
+
+        final AsyncDao<TestEntity> deadlineDao = new DeadlineAsyncDao<>(dao, Duration.ofSeconds(10));
+
+        deadlineDao.get(new StringKey<>("a")).cancel(true);
+
+        assertTrue(result.isCancelled());
+    }
+
+    @Test
+    public void testWithTimeoutReplacesTimeout() throws InterruptedException {
+        final CompletableFuture<TestEntity> result = new CompletableFuture<>();
+
+        when(dao.get(any(StringKey.class))).thenReturn(result);
+
+        final AsyncDao<TestEntity> deadlineDao = new DeadlineAsyncDao<>(dao, Duration.ofMillis(1))
+                .withTimeout(Duration.ofMinutes(1));
+
+        final CompletableFuture<TestEntity> entity = deadlineDao.get(new StringKey<>("a"));
+
+        Thread.sleep(50);
+
+        assertFalse(entity.isDone());
+        assertFalse(result.isCancelled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveTimeoutIsRejected() {
+        new DeadlineAsyncDao<>(dao, Duration.ZERO);
+    }
+}
@@ -0,0 +1,166 @@
+package com.bettercloud.bigtable.orm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.CompareOperator;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.RegexStringComparator;
+import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.filter.TimestampsFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EntityPredicateTest extends AbstractBigTableEntityDaoTest {
+
+    private static final ColumnReference<TestEntity, String> STRING_VALUE = new ColumnReference<>(TestColumns.STRING_VALUE);
+
+    private static final ColumnReference<TestEntity, Boolean> BOOLEAN_VALUE = new ColumnReference<>(TestColumns.BOOLEAN_VALUE);
+
+    private static final ColumnReference<TestEntity, TestNestedObject> NESTED_OBJECT = new ColumnReference<>(TestColumns.NESTED_OBJECT);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testIsEqualToCompilesToSingleColumnValueFilterOnSerializedValue() throws IOException {
+        final Filter filter = STRING_VALUE.isEqualTo("hello").compile(new Scan(), objectMapper);
+
+        assertTrue(filter instanceof SingleColumnValueFilter);
+
+        final SingleColumnValueFilter columnFilter = (SingleColumnValueFilter) filter;
+
+        assertArrayEquals(Bytes.toBytes(TestColumns.STRING_VALUE.getFamily()), columnFilter.getFamily());
+        assertArrayEquals(Bytes.toBytes(TestColumns.STRING_VALUE.getQualifier()), columnFilter.getQualifier());
+        assertEquals(CompareOperator.EQUAL, columnFilter.getCompareOperator());
+        assertArrayEquals(objectMapper.writeValueAsBytes("hello"), columnFilter.getComparator().getValue());
+        assertTrue(columnFilter.getFilterIfMissing());
+    }
+
+    @Test
+    public void testIsEqualToOnBooleanColumnIsSupported() throws IOException {
+        final Filter filter = BOOLEAN_VALUE.isEqualTo(true).compile(new Scan(), objectMapper);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(true),
+                ((SingleColumnValueFilter) filter).getComparator().getValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIsEqualToOnNonScalarColumnIsRejected() throws IOException {
+        NESTED_OBJECT.isEqualTo(new TestNestedObject()).compile(new Scan(), objectMapper);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeOnNonStringColumnIsRejected() throws IOException {
+        BOOLEAN_VALUE.isGreaterThan(false).compile(new Scan(), objectMapper);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRangeWithBoundSortingBeforeQuoteIsRejected() throws IOException {
+        STRING_VALUE.isLessThan("hello world").compile(new Scan(), objectMapper);
+    }
+
+    @Test
+    public void testIsGreaterThanOrEqualToComparesAgainstUnterminatedSerializedValue() throws IOException {
+        final Filter filter = STRING_VALUE.isGreaterThanOrEqualTo("abc").compile(new Scan(), objectMapper);
+
+        final SingleColumnValueFilter columnFilter = (SingleColumnValueFilter) filter;
+
+        assertEquals(CompareOperator.GREATER_OR_EQUAL, columnFilter.getCompareOperator());
+        assertArrayEquals(Bytes.toBytes("\"abc"), columnFilter.getComparator().getValue());
+    }
+
+    @Test
+    public void testIsBetweenCompilesToConjunctionOfBounds() throws IOException {
+        final Filter filter = STRING_VALUE.isBetween("a", "m").compile(new Scan(), objectMapper);
+
+        assertTrue(filter instanceof FilterList);
+
+        final FilterList filterList = (FilterList) filter;
+
+        assertEquals(FilterList.Operator.MUST_PASS_ALL, filterList.getOperator());
+        assertEquals(2, filterList.getFilters().size());
+    }
+
+    @Test
+    public void testExistsCompilesToNotEqualEmptyValue() throws IOException {
+        final Filter filter = NESTED_OBJECT.exists().compile(new Scan(), objectMapper);
+
+        final SingleColumnValueFilter columnFilter = (SingleColumnValueFilter) filter;
+
+        assertEquals(CompareOperator.NOT_EQUAL, columnFilter.getCompareOperator());
+        assertArrayEquals(new byte[0], columnFilter.getComparator().getValue());
+        assertTrue(columnFilter.getFilterIfMissing());
+    }
+
+    @Test
+    public void testKeyMatchesCompilesToRowRegexFilter() throws IOException {
+        final Filter filter = EntityPredicate.<TestEntity>keyMatches("^tenant\\|.*").compile(new Scan(), objectMapper);
+
+        assertTrue(filter instanceof RowFilter);
+        assertTrue(((RowFilter) filter).getComparator() instanceof RegexStringComparator);
+    }
+
+    @Test
+    public void testTimestampsInCompilesToTimestampsFilter() throws IOException {
+        final Filter filter = EntityPredicate.<TestEntity>timestampsIn(3L, 1L, 2L, 1L).compile(new Scan(), objectMapper);
+
+        assertTrue(filter instanceof TimestampsFilter);
+        assertEquals(Arrays.asList(1L, 2L, 3L), ((TimestampsFilter) filter).getTimestamps());
+    }
+
+    @Test
+    public void testTimestampsBetweenIsAppliedToScanTimeRange() throws IOException {
+        final Scan scan = new Scan();
+
+        final Filter filter = EntityPredicate.<TestEntity>timestampsBetween(10L, 20L)
+                .and(STRING_VALUE.exists())
+                .compile(scan, objectMapper);
+
+        assertTrue(filter instanceof SingleColumnValueFilter);
+        assertEquals(10L, scan.getTimeRange().getMin());
+        assertEquals(20L, scan.getTimeRange().getMax());
+    }
+
+    @Test
+    public void testTimestampsBetweenAloneCompilesToNoFilter() throws IOException {
+        assertNull(EntityPredicate.<TestEntity>timestampsBetween(10L, 20L).compile(new Scan(), objectMapper));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimestampsBetweenWithinDisjunctionIsRejected() throws IOException {
+        EntityPredicate.<TestEntity>timestampsBetween(10L, 20L)
+                .or(STRING_VALUE.exists())
+                .compile(new Scan(), objectMapper);
+    }
+
+    @Test
+    public void testOrCompilesToMustPassOneFilterList() throws IOException {
+        final Filter filter = STRING_VALUE.isEqualTo("a")
+                .or(BOOLEAN_VALUE.isEqualTo(false))
+                .compile(new Scan(), objectMapper);
+
+        assertEquals(FilterList.Operator.MUST_PASS_ONE, ((FilterList) filter).getOperator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectionOfNestedPredicateHappensBeforeAnyFilterIsBuilt() throws IOException {
+        final Scan scan = new Scan();
+
+        try {
+            EntityPredicate.<TestEntity>timestampsBetween(10L, 20L)
+                    .and(STRING_VALUE.exists().or(NESTED_OBJECT.isEqualTo(new TestNestedObject())))
+                    .compile(scan, objectMapper);
+        } finally {
+            assertTrue(scan.getTimeRange().isAllTime());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class EntityRegistryTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testIndexedEntityFailingInitializationIsSkipped() throws Exception {
+        final File index = temporaryFolder.newFile();
+        Files.write(index.toPath(), Arrays.asList(FailingEntity.class.getName(), IndexedEntity.class.getName()),
+                StandardCharsets.UTF_8);
+
+        // The index is read once per class loader, so the registry is loaded again with the test index
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+
+        try (IsolatingClassLoader classLoader = new IsolatingClassLoader(index.toURI().toURL())) {
+            thread.setContextClassLoader(classLoader);
+
+            final Class<?> registry = classLoader.loadClass(EntityRegistry.class.getName());
+
+            final Set<?> indexedTypes = (Set<?>) registry.getMethod("getIndexedTypes").invoke(null);
+
+            assertEquals(Collections.singleton(IndexedEntity.class.getName()), indexedTypes.stream()
+                    .map(type -> ((Class<?>) type).getName())
+                    .collect(Collectors.toSet()));
+
+            final Method getConfigurationForType = registry.getDeclaredMethod("getConfigurationForType", Class.class);
+            getConfigurationForType.setAccessible(true);
+
+            assertNotNull(getConfigurationForType.invoke(null,
+                    classLoader.loadClass(IndexedEntity.class.getName())));
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+    }
+
+    @SuppressWarnings("unused") // Initialized through the index
+    private static class FailingEntity implements Entity {
+
+        private static final int VALUE = fail();
+
+        private static int fail() {
+            throw new IllegalStateException("Initialization failed");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static class IndexedEntity implements Entity {
+
+        static {
+            EntityRegistry.register((EntityConfiguration<IndexedEntity>) Proxy.newProxyInstance(
+                    IndexedEntity.class.getClassLoader(), new Class<?>[] { EntityConfiguration.class },
+                    (proxy, method, args) -> null), IndexedEntity.class);
+        }
+    }
+
+    /**
+     * Loads the classes of the library and of this test again, and serves the provided index.
+     */
+    private static final class IsolatingClassLoader extends URLClassLoader {
+
+        private final URL index;
+
+        private IsolatingClassLoader(final URL index) {
+            super(new URL[] {
+                    EntityRegistry.class.getProtectionDomain().getCodeSource().getLocation(),
+                    EntityRegistryTest.class.getProtectionDomain().getCodeSource().getLocation()
+            }, EntityRegistryTest.class.getClassLoader());
+
+            this.index = index;
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(EntityRegistry.class.getPackage().getName() + ".")) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+
+                if (type == null) {
+                    type = findClass(name);
+                }
+
+                if (resolve) {
+                    resolveClass(type);
+                }
+
+                return type;
+            }
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            return EntityRegistry.INDEX_RESOURCE.equals(name)
+                    ? Collections.enumeration(Collections.singleton(index))
+                    : super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest {
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        final Histogram histogram = new Histogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final Histogram histogram = new Histogram();
+
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void testLargeValuesAreWithinBucketPrecision() {
+        final Histogram histogram = new Histogram();
+
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+
+        final long p95 = histogram.getValueAtPercentile(95);
+
+        assertTrue(p95 >= 95000);
+        assertTrue(p95 <= 95000 * 1.125);
+        assertEquals(100000, histogram.getValueAtPercentile(100));
+        assertEquals(100000, histogram.getMax());
+    }
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        for (final long value : new long[] { 0, 15, 16, 17, 31, 32, 1000, 1L << 40, Long.MAX_VALUE }) {
+            final int bucket = Histogram.bucketOf(value);
+
+            assertTrue(Histogram.upperBoundOf(bucket) >= value);
+            assertTrue(bucket == 0 || Histogram.upperBoundOf(bucket - 1) < value);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPercentileAboveHundredIsRejected() {
+        new Histogram().getValueAtPercentile(101);
+    }
+}
@@ -0,0 +1,129 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HotKeyDetectorTest {
+
+    @Test
+    public void testHottestKeysAreReportedFirst() {
+        final HotKeyDetector detector = HotKeyDetector.builder()
+                .setTopKeys(2)
+                .build();
+
+        final HotKeySketch sketch = detector.getSketches(TestEntity.class)[DaoOperation.Type.GET.ordinal()];
+
+        for (int i = 0; i < 10_000; i++) {
+            sketch.record(Bytes.toBytes("cold-" + i));
+
+            if (i % 2 == 0) {
+                sketch.record(Bytes.toBytes("hottest"));
+            }
+
+            if (i % 5 == 0) {
+                sketch.record(Bytes.toBytes("hot"));
+            }
+        }
+
+        final List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys(TestEntity.class, DaoOperation.Type.GET);
+
+        assertEquals(2, hotKeys.size());
+        assertArrayEquals(Bytes.toBytes("hottest"), hotKeys.get(0).getRow());
+        assertTrue(hotKeys.get(0).getCount() >= 5_000);
+        assertArrayEquals(Bytes.toBytes("hot"), hotKeys.get(1).getRow());
+        assertTrue(hotKeys.get(1).getCount() >= 2_000);
+
+        assertTrue(detector.getHotKeys(TestEntity.class, DaoOperation.Type.SAVE).isEmpty());
+    }
+
+    @Test
+    public void testKeysAreForgottenOnceOutsideWindow() {
+        final AtomicLong nanos = new AtomicLong();
+
+        final HotKeyDetector detector = HotKeyDetector.builder()
+                .setWindow(Duration.ofSeconds(60))
+                .setBuckets(6)
+                .setNanoClock(nanos::get)
+                .build();
+
+        final HotKeySketch sketch = detector.getSketches(TestEntity.class)[DaoOperation.Type.GET.ordinal()];
+
+        sketch.record(Bytes.toBytes("old"));
+
+        nanos.set(TimeUnit.SECONDS.toNanos(30));
+
+        sketch.record(Bytes.toBytes("new"));
+        sketch.record(Bytes.toBytes("new"));
+
+        List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys(TestEntity.class, DaoOperation.Type.GET);
+
+        assertEquals(2, hotKeys.size());
+        assertArrayEquals(Bytes.toBytes("new"), hotKeys.get(0).getRow());
+        assertEquals(2, hotKeys.get(0).getCount());
+        assertEquals(1, hotKeys.get(1).getCount());
+
+        nanos.set(TimeUnit.SECONDS.toNanos(65));
+
+        hotKeys = detector.getHotKeys(TestEntity.class, DaoOperation.Type.GET);
+
+        assertEquals(1, hotKeys.size());
+        assertArrayEquals(Bytes.toBytes("new"), hotKeys.get(0).getRow());
+
+        nanos.set(TimeUnit.SECONDS.toNanos(95));
+
+        assertTrue(detector.getHotKeys(TestEntity.class, DaoOperation.Type.GET).isEmpty());
+    }
+
+    @Test
+    public void testConcurrentRecordsAreNotLost() throws Exception {
+        final HotKeyDetector detector = HotKeyDetector.builder().build();
+
+        final HotKeySketch sketch = detector.getSketches(TestEntity.class)[DaoOperation.Type.SAVE.ordinal()];
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        sketch.record(Bytes.toBytes("hot"));
+                    }
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final List<HotKeyDetector.HotKey> hotKeys = detector.getHotKeys(TestEntity.class, DaoOperation.Type.SAVE);
+
+        assertEquals(1, hotKeys.size());
+        assertEquals(40_000, hotKeys.get(0).getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveWindowIsRejected() {
+        HotKeyDetector.builder().setWindow(Duration.ZERO);
+    }
+
+    private static class TestEntity implements Entity {
+    }
+}
@@ -0,0 +1,109 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeyEncoderTest {
+
+    @Test
+    public void testWriteIntIsFixedWidthAndSortsNumerically() {
+        final byte[] negative = new KeyEncoder().writeInt(-1).toBytes();
+        final byte[] zero = new KeyEncoder().writeInt(0).toBytes();
+        final byte[] nine = new KeyEncoder().writeInt(9).toBytes();
+        final byte[] ten = new KeyEncoder().writeInt(10).toBytes();
+
+        assertEquals(Bytes.SIZEOF_INT, ten.length);
+        assertTrue(Bytes.compareTo(negative, zero) < 0);
+        assertTrue(Bytes.compareTo(zero, nine) < 0);
+        assertTrue(Bytes.compareTo(nine, ten) < 0);
+        assertTrue(Bytes.compareTo(new KeyEncoder().writeInt(Integer.MIN_VALUE).toBytes(), negative) < 0);
+    }
+
+    @Test
+    public void testWriteLongIsFixedWidthAndSortsNumerically() {
+        final byte[] min = new KeyEncoder().writeLong(Long.MIN_VALUE).toBytes();
+        final byte[] negative = new KeyEncoder().writeLong(-10L).toBytes();
+        final byte[] positive = new KeyEncoder().writeLong(9L).toBytes();
+        final byte[] max = new KeyEncoder().writeLong(Long.MAX_VALUE).toBytes();
+
+        assertEquals(Bytes.SIZEOF_LONG, max.length);
+        assertTrue(Bytes.compareTo(min, negative) < 0);
+        assertTrue(Bytes.compareTo(negative, positive) < 0);
+        assertTrue(Bytes.compareTo(positive, max) < 0);
+    }
+
+    @Test
+    public void testWriteUuidWritesRawBytes() {
+        final UUID uuid = UUID.randomUUID();
+
+        final byte[] bytes = new KeyEncoder().writeUuid(uuid).toBytes();
+
+        assertEquals(16, bytes.length);
+        assertEquals(uuid.getMostSignificantBits(), Bytes.toLong(bytes, 0));
+        assertEquals(uuid.getLeastSignificantBits(), Bytes.toLong(bytes, Bytes.SIZEOF_LONG));
+    }
+
+    @Test
+    public void testWriteStringTerminatesValue() {
+        assertArrayEquals(new byte[] { 'a', 'b', 0x00, 0x01 }, new KeyEncoder().writeString("ab").toBytes());
+    }
+
+    @Test
+    public void testWriteStringEscapesNullBytes() {
+        assertArrayEquals(new byte[] { 'a', 0x00, (byte) 0xFF, 'b', 0x00, 0x01 },
+                new KeyEncoder().writeString("a\u0000b").toBytes());
+    }
+
+    @Test
+    public void testWriteStringSortsPrefixBeforeLongerStringRegardlessOfFollowingComponents() {
+        final byte[] shorter = new KeyEncoder().writeString("ab").writeInt(Integer.MAX_VALUE).toBytes();
+        final byte[] withNull = new KeyEncoder().writeString("ab\u0000").writeInt(0).toBytes();
+        final byte[] longer = new KeyEncoder().writeString("abc").writeInt(0).toBytes();
+
+        assertTrue(Bytes.compareTo(shorter, withNull) < 0);
+        assertTrue(Bytes.compareTo(withNull, longer) < 0);
+    }
+
+    @Test
+    public void testWriteInstantSortsChronologically() {
+        final Instant instant = Instant.parse("2020-01-01T00:00:00.5Z");
+
+        final byte[] beforeEpoch = new KeyEncoder().writeInstant(Instant.EPOCH.minusNanos(1)).toBytes();
+        final byte[] epoch = new KeyEncoder().writeInstant(Instant.EPOCH).toBytes();
+        final byte[] earlier = new KeyEncoder().writeInstant(instant).toBytes();
+        final byte[] later = new KeyEncoder().writeInstant(instant.plusNanos(1)).toBytes();
+
+        assertEquals(Bytes.SIZEOF_LONG + Bytes.SIZEOF_INT, epoch.length);
+        assertTrue(Bytes.compareTo(beforeEpoch, epoch) < 0);
+        assertTrue(Bytes.compareTo(epoch, earlier) < 0);
+        assertTrue(Bytes.compareTo(earlier, later) < 0);
+    }
+
+    @Test
+    public void testBufferGrowsBeyondInitialCapacity() {
+        final String value = "0123456789012345678901234567890123456789";
+
+        final byte[] bytes = new KeyEncoder().writeLong(1L).writeString(value).toBytes();
+
+        assertEquals(Bytes.SIZEOF_LONG + value.length() + 2, bytes.length);
+    }
+
+    @Test
+    public void testToKeyReturnsKeyOfWrittenBytes() {
+        final KeyEncoder encoder = new KeyEncoder().writeString("a").writeInt(1);
+
+        assertEquals(new RawKey<Entity>(encoder.toBytes()), encoder.<Entity>toKey());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testWriteStringWithNullValueThrowsNullPointerException() {
+        new KeyEncoder().writeString(null);
+    }
+}
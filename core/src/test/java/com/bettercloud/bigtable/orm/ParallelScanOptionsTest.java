@@ -0,0 +1,47 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelScanOptionsTest {
+
+    @Test
+    public void testRetryBackoffDoublesPerRetry() {
+        final ParallelScanOptions options = ParallelScanOptions.builder()
+                .setRetryBackoff(Duration.ofMillis(100))
+                .build();
+
+        assertEquals(Duration.ofMillis(100).toNanos(), options.retryBackoffNanos(1));
+        assertEquals(Duration.ofMillis(200).toNanos(), options.retryBackoffNanos(2));
+        assertEquals(Duration.ofMillis(800).toNanos(), options.retryBackoffNanos(4));
+    }
+
+    @Test
+    public void testRetryBackoffSaturatesInsteadOfOverflowing() {
+        final ParallelScanOptions options = ParallelScanOptions.builder()
+                .setRetryBackoff(Duration.ofMillis(100))
+                .setMaxRetries(100)
+                .build();
+
+        for (int retry = 40; retry <= 100; retry++) {
+            assertEquals(Long.MAX_VALUE, options.retryBackoffNanos(retry));
+        }
+    }
+
+    @Test
+    public void testZeroRetryBackoffNeverBacksOff() {
+        final ParallelScanOptions options = ParallelScanOptions.builder()
+                .setRetryBackoff(Duration.ZERO)
+                .build();
+
+        assertEquals(0, options.retryBackoffNanos(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRetryBackoffIsRejected() {
+        ParallelScanOptions.builder().setRetryBackoff(Duration.ofMillis(-1));
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class RawKeyTest {
@@ -37,6 +38,26 @@ public class RawKeyTest {
         assertNotEquals(rawKey, key.toBytes());
     }
 
+    @Test
+    public void testWrappedKeyIsNotCopied() {
+        final byte[] rawKey = new byte[] {
+                1, 2, 3
+        };
+
+        final Key<Entity> key = RawKey.wrap(rawKey);
+
+        assertSame(rawKey, key.toBytes());
+        assertEquals(new RawKey<>(rawKey), key);
+    }
+
+    @Test
+    public void testCompareToTreatsBytesAsUnsigned() {
+        final Key<Entity> a = new RawKey<>(new byte[] { (byte) 0x7F });
+        final Key<Entity> b = new RawKey<>(new byte[] { (byte) 0x80 });
+
+        assertTrue(0 > a.compareTo(b));
+    }
+
     @Test
     public void testEqualsReturnsTrueWhenKeysAreEqual() {
         final Key<Entity> a = new RawKey<>("goodbye".getBytes());
@@ -0,0 +1,184 @@
+package com.bettercloud.bigtable.orm;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ReadHedgerTest {
+
+    private final List<List<String>> sentReads = new ArrayList<>();
+    private final List<CompletableFuture<String>> sentResults = new ArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setup() {
+        scheduler = mock(ScheduledExecutorService.class);
+    }
+
+    @Test
+    public void testSlowRowsAreReadAgainAndCompleteWithFirstResponse() throws ExecutionException, InterruptedException {
+        final HedgingOptions options = optionsWithPercent(100);
+        final ReadHedger hedger = new ReadHedger(options);
+
+        final List<CompletableFuture<String>> results = hedger.read(Arrays.asList("a", "b"), this::send);
+
+        sentResults.get(0).complete("a-primary");
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(hedge.capture(), eq(TimeUnit.MILLISECONDS.toNanos(10)), eq(TimeUnit.NANOSECONDS));
+
+        hedge.getValue().run();
+
+        assertEquals(Arrays.asList(Arrays.asList("a", "b"), Collections.singletonList("b")), sentReads);
+
+        sentResults.get(2).complete("b-hedge");
+        sentResults.get(1).complete("b-primary");
+
+        assertEquals("a-primary", results.get(0).get());
+        assertEquals("b-hedge", results.get(1).get());
+
+        assertEquals(1, options.getMetrics().getReads());
+        assertEquals(1, options.getMetrics().getHedges());
+        assertEquals(1, options.getMetrics().getHedgedRows());
+        assertEquals(1, options.getMetrics().getHedgeWins());
+        assertEquals(1, options.getMetrics().getReadLatenciesMicros().getCount());
+    }
+
+    @Test
+    public void testLosingReadIsCancelledOnceRowCompletes() {
+        final ReadHedger hedger = new ReadHedger(optionsWithPercent(100));
+
+        hedger.read(Collections.singletonList("a"), this::send);
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getValue().run();
+
+        sentResults.get(1).complete("a-hedge");
+
+        assertTrue(sentResults.get(0).isCancelled());
+    }
+
+    @Test
+    public void testCancellingRowCancelsEveryReadOfRow() {
+        final ReadHedger hedger = new ReadHedger(optionsWithPercent(100));
+
+        final List<CompletableFuture<String>> results = hedger.read(Collections.singletonList("a"), this::send);
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getValue().run();
+
+        results.get(0).cancel(true);
+
+        assertTrue(sentResults.get(0).isCancelled());
+        assertTrue(sentResults.get(1).isCancelled());
+    }
+
+    @Test
+    public void testRowFailsOnlyOnceEveryReadFailed() throws InterruptedException {
+        final ReadHedger hedger = new ReadHedger(optionsWithPercent(100));
+
+        final List<CompletableFuture<String>> results = hedger.read(Collections.singletonList("a"), this::send);
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(1)).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getValue().run();
+
+        sentResults.get(0).completeExceptionally(new IOException("primary"));
+
+        assertFalse(results.get(0).isDone());
+
+        sentResults.get(1).completeExceptionally(new IOException("hedge"));
+
+        try {
+            results.get(0).get();
+            fail();
+        } catch (final ExecutionException e) {
+            assertEquals("hedge", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testHedgesAreCappedAtPercentageOfReads() {
+        final HedgingOptions options = optionsWithPercent(50);
+        final ReadHedger hedger = new ReadHedger(options);
+
+        hedger.read(Collections.singletonList("a"), this::send);
+        hedger.read(Collections.singletonList("b"), this::send);
+
+        final ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(2)).schedule(hedge.capture(), anyLong(), any(TimeUnit.class));
+        hedge.getAllValues().forEach(Runnable::run);
+
+        assertEquals(3, sentReads.size());
+        assertEquals(1, options.getMetrics().getHedges());
+        assertEquals(1, options.getMetrics().getSkippedHedges());
+    }
+
+    @Test
+    public void testNoHedgeIsScheduledUntilEnoughLatenciesAreObserved() {
+        final HedgingOptions options = HedgingOptions.builder()
+                .setScheduler(scheduler)
+                .build();
+
+        final ReadHedger hedger = new ReadHedger(options);
+
+        for (int i = 0; i < ReadHedger.MIN_SAMPLES; i++) {
+            hedger.read(Collections.singletonList("a"), this::send);
+            sentResults.get(i).complete("a");
+        }
+
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        hedger.read(Collections.singletonList("b"), this::send);
+
+        verify(scheduler, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.NANOSECONDS));
+        assertTrue(options.getMetrics().getReadLatenciesMicros().getCount() >= ReadHedger.MIN_SAMPLES);
+    }
+
+    private HedgingOptions optionsWithPercent(final double maxHedgePercent) {
+        return HedgingOptions.builder()
+                .setDelay(Duration.ofMillis(10))
+                .setMaxHedgePercent(maxHedgePercent)
+                .setScheduler(scheduler)
+                .build();
+    }
+
+    private List<CompletableFuture<String>> send(final List<String> items) {
+        sentReads.add(new ArrayList<>(items));
+
+        final List<CompletableFuture<String>> results = items.stream()
+                .map(item -> new CompletableFuture<String>())
+                .collect(Collectors.toList());
+
+        sentResults.addAll(results);
+
+        return results;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testBackoffIsJitteredBelowExponentialCeiling() {
+        final RetryPolicy policy = RetryPolicy.builder()
+                .setInitialBackoff(Duration.ofMillis(10))
+                .setMaxBackoff(Duration.ofMillis(25))
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(policy.backoffNanos(1) <= Duration.ofMillis(10).toNanos());
+            assertTrue(policy.backoffNanos(2) <= Duration.ofMillis(20).toNanos());
+            assertTrue(policy.backoffNanos(3) <= Duration.ofMillis(25).toNanos());
+            assertTrue(policy.backoffNanos(100) <= Duration.ofMillis(25).toNanos());
+            assertTrue(policy.backoffNanos(100) >= 0);
+        }
+    }
+
+    @Test
+    public void testRetryBudgetIsPercentageOfRowsWithMinimum() {
+        final RetryPolicy policy = RetryPolicy.builder()
+                .setRetryBudgetPercent(10)
+                .setMinRetryBudget(5)
+                .build();
+
+        assertEquals(5, policy.retryBudget(2));
+        assertEquals(1000, policy.retryBudget(10000));
+    }
+
+    @Test
+    public void testDoNotRetryExceptionsAreNotRetryable() {
+        final RetryPolicy policy = RetryPolicy.builder().build();
+
+        assertTrue(policy.isRetryable(new IOException("Connection reset")));
+        assertFalse(policy.isRetryable(new DoNotRetryIOException("Bad row")));
+    }
+
+    @Test
+    public void testNoRetriesAttemptsOnce() {
+        assertEquals(1, RetryPolicy.noRetries().getMaxAttempts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroMaxAttemptsIsRejected() {
+        RetryPolicy.builder().setMaxAttempts(0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScanShardTest {
+
+    @Test
+    public void testSplitWithoutSplitPointsReturnsWholeRange() {
+        final List<ScanShard> shards = ScanShard.split(Bytes.toBytes("a"), true, Bytes.toBytes("z"), true,
+                Collections.emptyList());
+
+        assertEquals(1, shards.size());
+
+        final ScanShard shard = shards.get(0);
+        assertEquals(0, shard.getIndex());
+        assertArrayEquals(Bytes.toBytes("a"), shard.getStartRow());
+        assertTrue(shard.isStartRowInclusive());
+        assertArrayEquals(Bytes.toBytes("z"), shard.getStopRow());
+        assertTrue(shard.isStopRowInclusive());
+    }
+
+    @Test
+    public void testSplitIgnoresSplitPointsOutsideOrOnBoundsOfRange() {
+        final List<ScanShard> shards = ScanShard.split(Bytes.toBytes("b"), false, Bytes.toBytes("y"), false,
+                Arrays.asList(new byte[0], Bytes.toBytes("a"), Bytes.toBytes("b"), Bytes.toBytes("y"), Bytes.toBytes("z")));
+
+        assertEquals(1, shards.size());
+        assertFalse(shards.get(0).isStartRowInclusive());
+        assertFalse(shards.get(0).isStopRowInclusive());
+    }
+
+    @Test
+    public void testSplitSortsAndDeduplicatesSplitPoints() {
+        final List<ScanShard> shards = ScanShard.split(Bytes.toBytes("a"), false, Bytes.toBytes("z"), true,
+                Arrays.asList(Bytes.toBytes("p"), Bytes.toBytes("g"), Bytes.toBytes("p")));
+
+        assertEquals(3, shards.size());
+
+        assertArrayEquals(Bytes.toBytes("a"), shards.get(0).getStartRow());
+        assertFalse(shards.get(0).isStartRowInclusive());
+        assertArrayEquals(Bytes.toBytes("g"), shards.get(0).getStopRow());
+        assertFalse(shards.get(0).isStopRowInclusive());
+
+        assertArrayEquals(Bytes.toBytes("g"), shards.get(1).getStartRow());
+        assertTrue(shards.get(1).isStartRowInclusive());
+        assertArrayEquals(Bytes.toBytes("p"), shards.get(1).getStopRow());
+        assertFalse(shards.get(1).isStopRowInclusive());
+
+        assertEquals(2, shards.get(2).getIndex());
+        assertArrayEquals(Bytes.toBytes("p"), shards.get(2).getStartRow());
+        assertTrue(shards.get(2).isStartRowInclusive());
+        assertArrayEquals(Bytes.toBytes("z"), shards.get(2).getStopRow());
+        assertTrue(shards.get(2).isStopRowInclusive());
+    }
+}
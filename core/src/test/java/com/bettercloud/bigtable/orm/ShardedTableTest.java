@@ -0,0 +1,167 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ShardedTableTest {
+
+    @Mock
+    private AsyncTable<AdvancedScanResultConsumer> first;
+
+    @Mock
+    private AsyncTable<AdvancedScanResultConsumer> second;
+
+    private List<ConnectionMetrics> connections;
+
+    @Before
+    public void setup() {
+        initMocks(this);
+
+        connections = Arrays.asList(new ConnectionMetrics(() -> false), new ConnectionMetrics(() -> false));
+    }
+
+    @Test
+    public void testLeastOutstandingRequestsAvoidsBusyConnection() {
+        final CompletableFuture<Result> pending = new CompletableFuture<>();
+
+        when(first.get(any(Get.class))).thenReturn(pending);
+        when(second.get(any(Get.class))).thenReturn(pending);
+
+        final AsyncTable<?> table = sharded(ShardingOptions.builder().build());
+
+        table.get(new Get(new byte[]{1}));
+        table.get(new Get(new byte[]{2}));
+
+        assertEquals(1, connections.get(0).getOutstandingRequests());
+        assertEquals(1, connections.get(1).getOutstandingRequests());
+
+        pending.complete(Result.EMPTY_RESULT);
+
+        assertEquals(0, connections.get(0).getOutstandingRequests());
+        assertEquals(0, connections.get(1).getOutstandingRequests());
+    }
+
+    @Test
+    public void testRoundRobinAlternatesConnections() {
+        when(first.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(Result.EMPTY_RESULT));
+        when(second.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(Result.EMPTY_RESULT));
+
+        final AsyncTable<?> table = sharded(ShardingOptions.builder()
+                .setStrategy(ShardingOptions.Strategy.ROUND_ROBIN)
+                .build());
+
+        for (int i = 0; i < 4; i++) {
+            table.get(new Get(new byte[]{1}));
+        }
+
+        verify(first, times(2)).get(any(Get.class));
+        verify(second, times(2)).get(any(Get.class));
+    }
+
+    @Test
+    public void testConnectionFailingRepeatedlyIsUnhealthyAndSkipped() {
+        final CompletableFuture<Result> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Expected"));
+
+        when(first.get(any(Get.class))).thenReturn(failed);
+        when(second.get(any(Get.class))).thenReturn(CompletableFuture.completedFuture(Result.EMPTY_RESULT));
+
+        final AsyncTable<?> table = sharded(ShardingOptions.builder()
+                .setStrategy(ShardingOptions.Strategy.ROUND_ROBIN)
+                .setUnhealthyAfterFailures(1)
+                .setUnhealthyDuration(Duration.ofMinutes(1))
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            table.get(new Get(new byte[]{1}));
+        }
+
+        assertFalse(connections.get(0).isHealthy());
+        assertEquals(1, connections.get(0).getRequests());
+        assertEquals(1, connections.get(0).getUnhealthyPeriods());
+        assertEquals(4, connections.get(1).getRequests());
+    }
+
+    @Test
+    public void testCancelledRequestIsNotFailure() {
+        final CompletableFuture<Result> cancelled = new CompletableFuture<>();
+
+        when(first.get(any(Get.class))).thenReturn(cancelled);
+        when(second.get(any(Get.class))).thenReturn(cancelled);
+
+        final AsyncTable<?> table = sharded(ShardingOptions.builder()
+                .setUnhealthyAfterFailures(1)
+                .build());
+
+        table.get(new Get(new byte[]{1}));
+        cancelled.cancel(true);
+
+        assertEquals(0, connections.get(0).getFailures() + connections.get(1).getFailures());
+        assertTrue(connections.get(0).isHealthy());
+        assertTrue(connections.get(1).isHealthy());
+    }
+
+    @Test
+    public void testClosedConnectionIsUnhealthy() {
+        final ConnectionMetrics closedConnection = new ConnectionMetrics(() -> true);
+
+        assertFalse(closedConnection.isHealthy());
+    }
+
+    @Test
+    public void testCloseClosesTableOfEveryConnection() throws IOException {
+        final Table firstTable = mock(Table.class);
+        final Table secondTable = mock(Table.class);
+
+        final Table table = ShardedTable.of(Table.class, Arrays.asList(firstTable, secondTable),
+                new ConnectionSelector(connections, ShardingOptions.builder().build()));
+
+        table.close();
+
+        verify(firstTable).close();
+        verify(secondTable).close();
+    }
+
+    @Test
+    public void testBlockingCallReturnsResultOfSelectedTable() throws IOException {
+        final Table firstTable = mock(Table.class);
+        final Table secondTable = mock(Table.class);
+
+        when(firstTable.get(any(Get.class))).thenReturn(Result.EMPTY_RESULT);
+        when(secondTable.get(any(Get.class))).thenReturn(Result.EMPTY_RESULT);
+
+        final Table table = ShardedTable.of(Table.class, Arrays.asList(firstTable, secondTable),
+                new ConnectionSelector(connections, ShardingOptions.builder().build()));
+
+        assertSame(Result.EMPTY_RESULT, table.get(new Get(new byte[]{1})));
+        assertEquals(1, connections.get(0).getRequests() + connections.get(1).getRequests());
+        assertEquals(0, connections.get(0).getOutstandingRequests() + connections.get(1).getOutstandingRequests());
+    }
+
+    private AsyncTable<?> sharded(final ShardingOptions options) {
+        return ShardedTable.of(AsyncTable.class, Arrays.asList(first, second), new ConnectionSelector(connections, options));
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Map;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class StringKeyTest {
@@ -22,6 +23,22 @@ public class StringKeyTest {
         assertArrayEquals(keyString.getBytes(Charset.forName("UTF-8")), key.toBytes());
     }
 
+    @Test
+    public void testToBytesIsEncodedOnce() {
+        final Key<Entity> key = new StringKey<>("my key");
+
+        assertSame(key.toBytes(), key.toBytes());
+    }
+
+    @Test
+    public void testCompareToOrdersByEncodedBytesRatherThanChars() {
+        final Key<Entity> a = new StringKey<>("\uFFFF"); // [239][191][191]
+        final Key<Entity> b = new StringKey<>("\uD83D\uDE00"); // [240][159][152][128]
+
+        // Note: String.compareTo would order the surrogate pair first
+        assertTrue(0 > a.compareTo(b));
+    }
+
     @Test
     public void testEqualsReturnsFalseWhenKeysAreNotEqual() {
         final Key<Entity> a = new StringKey<>("hello");
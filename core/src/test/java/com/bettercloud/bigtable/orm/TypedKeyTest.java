@@ -0,0 +1,100 @@
+package com.bettercloud.bigtable.orm;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class TypedKeyTest {
+
+    private static final KeyLayout DELIMITED = KeyLayout.delimited("::", 3);
+
+    private static final KeyLayout BINARY = KeyLayout.binary(KeyLayout.ComponentType.STRING,
+            KeyLayout.ComponentType.INT, KeyLayout.ComponentType.UUID, KeyLayout.ComponentType.STRING,
+            KeyLayout.ComponentType.INSTANT);
+
+    @Test
+    public void testDelimitedComponentsAreSplitOnDelimiter() {
+        final TestKey key = new TestKey(Bytes.toBytes("first::second::third"), DELIMITED);
+
+        assertEquals("first", key.getStringComponent(0));
+        assertEquals("second", key.getStringComponent(1));
+        assertEquals("third", key.getStringComponent(2));
+    }
+
+    @Test
+    public void testLastDelimitedComponentAbsorbsDelimiters() {
+        final TestKey key = new TestKey(Bytes.toBytes("first::second::third::fourth"), DELIMITED);
+
+        assertEquals("third::fourth", key.getStringComponent(2));
+    }
+
+    @Test
+    public void testEmptyDelimitedComponentsAreSupported() {
+        final TestKey key = new TestKey(Bytes.toBytes("::::"), DELIMITED);
+
+        assertEquals("", key.getStringComponent(1));
+        assertEquals("", key.getStringComponent(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDelimitedKeyWithTooFewComponentsIsRejected() {
+        new TestKey(Bytes.toBytes("first::second"), DELIMITED).getStringComponent(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBinaryReadOfDelimitedKeyIsRejected() {
+        new TestKey(Bytes.toBytes("1::2::3"), DELIMITED).getIntComponent(0);
+    }
+
+    @Test
+    public void testBinaryComponentsRoundTripThroughKeyEncoder() {
+        final UUID uuid = UUID.randomUUID();
+        final Instant instant = Instant.ofEpochSecond(-1, 5);
+
+        final byte[] row = new KeyEncoder()
+                .writeString("a\u0000b")
+                .writeInt(-3)
+                .writeUuid(uuid)
+                .writeString("")
+                .writeInstant(instant)
+                .toBytes();
+
+        final TestKey key = new TestKey(row, BINARY);
+
+        assertEquals("a\u0000b", key.getStringComponent(0));
+        assertEquals(-3, key.getIntComponent(1));
+        assertEquals(uuid, key.getUuidComponent(2));
+        assertEquals("", key.getStringComponent(3));
+        assertEquals(instant, key.getInstantComponent(4));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBinaryKeyWithTrailingBytesIsRejected() {
+        final byte[] row = new KeyEncoder().writeLong(1L).writeLong(2L).toBytes();
+
+        new TestKey(row, KeyLayout.binary(KeyLayout.ComponentType.LONG)).getLongComponent(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testBinaryReadOfWrongComponentTypeIsRejected() {
+        final byte[] row = new KeyEncoder().writeLong(1L).toBytes();
+
+        new TestKey(row, KeyLayout.binary(KeyLayout.ComponentType.LONG)).getIntComponent(0);
+    }
+
+    @Test
+    public void testToStringOfDelimitedKeyIsText() {
+        assertEquals("a::b::c", new TestKey(Bytes.toBytes("a::b::c"), DELIMITED).toString());
+    }
+
+    private static class TestKey extends TypedKey<Entity> {
+
+        private TestKey(final byte[] row, final KeyLayout layout) {
+            super(row, layout);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.bettercloud.bigtable.orm;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the operations of the Daos and AsyncDaos to a Micrometer {@link MeterRegistry}.
+ *
+ * Every operation records a timer per phase, named {@code <prefix>.serialization}, {@code <prefix>.rpc} and
+ * {@code <prefix>.deserialization}, and distribution summaries named {@code <prefix>.rows},
+ * {@code <prefix>.bytes.read} and {@code <prefix>.bytes.written}. All meters are tagged with the operation, the
+ * simple name of the entity type, the table and the outcome, either {@code success} or {@code failure}.
+ */
+public final class MicrometerDaoMetrics implements DaoMetrics {
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static final String DEFAULT_PREFIX = "bigtable.orm";
+
+    private final MeterRegistry registry;
+    private final String prefix;
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public MicrometerDaoMetrics(final MeterRegistry registry) {
+        this(registry, DEFAULT_PREFIX);
+    }
+
+    /**
+     * @param registry The registry the meters are registered with
+     * @param prefix The prefix of the names of the meters
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public MicrometerDaoMetrics(final MeterRegistry registry, final String prefix) {
+        this.registry = Objects.requireNonNull(registry);
+        this.prefix = Objects.requireNonNull(prefix);
+    }
+
+    @Override
+    public void record(final DaoOperation operation) {
+        final Tags tags = Tags.of(
+                "operation", operation.getType().name().toLowerCase(Locale.ROOT),
+                "entity", operation.getEntityType().getSimpleName(),
+                "table", operation.getTableName(),
+                "outcome", operation.isFailed() ? "failure" : "success");
+
+        timer("serialization", tags).record(operation.getSerializationNanos(), TimeUnit.NANOSECONDS);
+        timer("rpc", tags).record(operation.getRpcNanos(), TimeUnit.NANOSECONDS);
+        timer("deserialization", tags).record(operation.getDeserializationNanos(), TimeUnit.NANOSECONDS);
+
+        summary("rows", null, tags).record(operation.getRowCount());
+        summary("bytes.read", "bytes", tags).record(operation.getBytesRead());
+        summary("bytes.written", "bytes", tags).record(operation.getBytesWritten());
+    }
+
+    private Timer timer(final String name, final Tags tags) {
+        return Timer.builder(prefix + "." + name)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private DistributionSummary summary(final String name, final String baseUnit, final Tags tags) {
+        return DistributionSummary.builder(prefix + "." + name)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.bettercloud.bigtable.orm;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class MicrometerDaoMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private MicrometerDaoMetrics metrics;
+
+    @Before
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+
+        metrics = new MicrometerDaoMetrics(registry);
+    }
+
+    @Test
+    public void testRecordRegistersTaggedMeters() {
+        metrics.record(new DaoOperation(DaoOperation.Type.GET, TestEntity.class, "table", null, 3, 0, 120, 0,
+                1_000, 2_000_000, 3_000, null));
+
+        final Timer rpc = registry.get("bigtable.orm.rpc")
+                .tag("operation", "get")
+                .tag("entity", "TestEntity")
+                .tag("table", "table")
+                .tag("outcome", "success")
+                .timer();
+
+        assertEquals(1, rpc.count());
+        assertEquals(2, rpc.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        final DistributionSummary bytesRead = registry.get("bigtable.orm.bytes.read").summary();
+
+        assertEquals(1, bytesRead.count());
+        assertEquals(120, bytesRead.totalAmount(), 0.001);
+        assertEquals(3, registry.get("bigtable.orm.rows").summary().totalAmount(), 0.001);
+    }
+
+    @Test
+    public void testRecordTagsFailures() {
+        metrics.record(new DaoOperation(DaoOperation.Type.SAVE, TestEntity.class, "table", null, 0, 0, 0, 0,
+                0, 0, 0, new IOException("Expected")));
+
+        assertEquals(1, registry.get("bigtable.orm.serialization")
+                .tag("operation", "save")
+                .tag("outcome", "failure")
+                .timer()
+                .count());
+    }
+
+    private static class TestEntity implements Entity {
+    }
+}
@@ -0,0 +1,110 @@
+package com.bettercloud.bigtable.orm;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Traces the operations of the Daos and AsyncDaos with OpenTelemetry, in a client span per operation named after the
+ * operation and the table, such as {@code get my_table}.
+ *
+ * Spans are nested in the context current when the operation is called, and are made current while AsyncDaos convert
+ * the rows they read, so spans started by the conversions are nested in them. Every attempt of an operation retrying
+ * its failed rows is recorded as a {@code chunk} event. Once the operation completes, its row count, retries, bytes
+ * and the time of each of its phases are set as attributes, and failures are recorded as exceptions.
+ */
+public final class OpenTelemetryDaoTracer implements DaoTracer {
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public static final String INSTRUMENTATION_NAME = "com.bettercloud.bigtable-orm";
+
+    static final AttributeKey<String> OPERATION = AttributeKey.stringKey("bigtable_orm.operation");
+    static final AttributeKey<String> ENTITY = AttributeKey.stringKey("bigtable_orm.entity");
+    static final AttributeKey<String> TABLE = AttributeKey.stringKey("bigtable_orm.table");
+    static final AttributeKey<Long> ROW_COUNT = AttributeKey.longKey("bigtable_orm.row_count");
+    static final AttributeKey<Long> RETRIES = AttributeKey.longKey("bigtable_orm.retries");
+    static final AttributeKey<Long> BYTES_READ = AttributeKey.longKey("bigtable_orm.bytes_read");
+    static final AttributeKey<Long> BYTES_WRITTEN = AttributeKey.longKey("bigtable_orm.bytes_written");
+    static final AttributeKey<Long> SERIALIZATION_NANOS = AttributeKey.longKey("bigtable_orm.serialization_nanos");
+    static final AttributeKey<Long> RPC_NANOS = AttributeKey.longKey("bigtable_orm.rpc_nanos");
+    static final AttributeKey<Long> DESERIALIZATION_NANOS = AttributeKey.longKey("bigtable_orm.deserialization_nanos");
+    static final AttributeKey<Long> CHUNK_INDEX = AttributeKey.longKey("bigtable_orm.chunk.index");
+    static final AttributeKey<Long> CHUNK_ROW_COUNT = AttributeKey.longKey("bigtable_orm.chunk.row_count");
+
+    private final Tracer tracer;
+
+    @SuppressWarnings("WeakerAccess") // Public API
+    public OpenTelemetryDaoTracer(final OpenTelemetry openTelemetry) {
+        this(openTelemetry.getTracer(INSTRUMENTATION_NAME));
+    }
+
+    /**
+     * @param tracer The tracer creating the spans
+     */
+    @SuppressWarnings("WeakerAccess") // Public API
+    public OpenTelemetryDaoTracer(final Tracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer);
+    }
+
+    @Override
+    public DaoSpan start(final DaoOperation.Type type,
+                         final Class<? extends Entity> entityType,
+                         final String tableName) {
+        final String operation = type.name().toLowerCase(Locale.ROOT);
+
+        final Span span = tracer.spanBuilder(operation + " " + tableName)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(OPERATION, operation)
+                .setAttribute(ENTITY, entityType.getName())
+                .setAttribute(TABLE, tableName)
+                .startSpan();
+
+        return new OpenTelemetryDaoSpan(span);
+    }
+
+    private static final class OpenTelemetryDaoSpan implements DaoSpan {
+
+        private final Span span;
+
+        private OpenTelemetryDaoSpan(final Span span) {
+            this.span = span;
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            final io.opentelemetry.context.Scope scope = span.makeCurrent();
+
+            return scope::close;
+        }
+
+        @Override
+        public void chunk(final int index, final int rowCount) {
+            span.addEvent("chunk", Attributes.of(CHUNK_INDEX, (long) index, CHUNK_ROW_COUNT, (long) rowCount));
+        }
+
+        @Override
+        public void end(final DaoOperation operation) {
+            span.setAttribute(ROW_COUNT, (long) operation.getRowCount());
+            span.setAttribute(RETRIES, (long) operation.getRetries());
+            span.setAttribute(BYTES_READ, operation.getBytesRead());
+            span.setAttribute(BYTES_WRITTEN, operation.getBytesWritten());
+            span.setAttribute(SERIALIZATION_NANOS, operation.getSerializationNanos());
+            span.setAttribute(RPC_NANOS, operation.getRpcNanos());
+            span.setAttribute(DESERIALIZATION_NANOS, operation.getDeserializationNanos());
+
+            if (operation.isFailed()) {
+                span.recordException(operation.getFailure());
+                span.setStatus(StatusCode.ERROR);
+            }
+
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bettercloud.bigtable.orm;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.api.trace.Tracer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class OpenTelemetryDaoTracerTest {
+
+    private Tracer tracer;
+
+    private SpanBuilder spanBuilder;
+
+    private Span span;
+
+    private OpenTelemetryDaoTracer daoTracer;
+
+    @Before
+    public void setup() {
+        tracer = mock(Tracer.class);
+        spanBuilder = mock(SpanBuilder.class, RETURNS_SELF);
+        span = mock(Span.class);
+
+        when(tracer.spanBuilder("get table")).thenReturn(spanBuilder);
+        when(spanBuilder.startSpan()).thenReturn(span);
+
+        daoTracer = new OpenTelemetryDaoTracer(tracer);
+    }
+
+    @Test
+    public void testStartOpensClientSpanWithAttributes() {
+        daoTracer.start(DaoOperation.Type.GET, TestEntity.class, "table");
+
+        verify(spanBuilder).setSpanKind(SpanKind.CLIENT);
+        verify(spanBuilder).setAttribute(OpenTelemetryDaoTracer.OPERATION, "get");
+        verify(spanBuilder).setAttribute(OpenTelemetryDaoTracer.ENTITY, TestEntity.class.getName());
+        verify(spanBuilder).setAttribute(OpenTelemetryDaoTracer.TABLE, "table");
+    }
+
+    @Test
+    public void testChunkAddsEvent() {
+        daoTracer.start(DaoOperation.Type.GET, TestEntity.class, "table").chunk(1, 20);
+
+        verify(span).addEvent("chunk", Attributes.of(OpenTelemetryDaoTracer.CHUNK_INDEX, 1L,
+                OpenTelemetryDaoTracer.CHUNK_ROW_COUNT, 20L));
+    }
+
+    @Test
+    public void testEndSetsOperationAttributes() {
+        daoTracer.start(DaoOperation.Type.GET, TestEntity.class, "table").end(new DaoOperation(DaoOperation.Type.GET,
+                TestEntity.class, "table", null, 3, 1, 120, 0, 1_000, 2_000, 3_000, null));
+
+        verify(span).setAttribute(OpenTelemetryDaoTracer.ROW_COUNT, 3L);
+        verify(span).setAttribute(OpenTelemetryDaoTracer.RETRIES, 1L);
+        verify(span).setAttribute(OpenTelemetryDaoTracer.BYTES_READ, 120L);
+        verify(span).setAttribute(OpenTelemetryDaoTracer.RPC_NANOS, 2_000L);
+        verify(span, never()).setStatus(StatusCode.ERROR);
+        verify(span).end();
+    }
+
+    @Test
+    public void testEndRecordsFailure() {
+        final IOException failure = new IOException("Expected");
+
+        daoTracer.start(DaoOperation.Type.GET, TestEntity.class, "table").end(new DaoOperation(DaoOperation.Type.GET,
+                TestEntity.class, "table", null, 0, 0, 0, 0, 0, 0, 0, failure));
+
+        verify(span).recordException(failure);
+        verify(span).setStatus(StatusCode.ERROR);
+        verify(span).end();
+    }
+
+    @Test
+    public void testMakeCurrentPropagatesContext() {
+        final Span contextSpan = Span.wrap(SpanContext.create("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331",
+                TraceFlags.getSampled(), TraceState.getDefault()));
+
+        when(spanBuilder.startSpan()).thenReturn(contextSpan);
+
+        final DaoSpan daoSpan = daoTracer.start(DaoOperation.Type.GET, TestEntity.class, "table");
+
+        try (DaoSpan.Scope ignored = daoSpan.makeCurrent()) {
+            assertEquals(contextSpan.getSpanContext(), Span.current().getSpanContext());
+        }
+
+        assertFalse(Span.current().getSpanContext().isValid());
+    }
+
+    private static class TestEntity implements Entity {
+    }
+}